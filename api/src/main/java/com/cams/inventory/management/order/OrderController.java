@@ -1,19 +1,29 @@
 package com.cams.inventory.management.order;
 
 import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.dto.OrderHistoryPageDto;
 import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.handler.InvalidRequestException;
 import com.cams.inventory.management.request.OrderRequest;
 import com.cams.inventory.management.response.ApiResponse;
 import com.cams.inventory.management.service.order.OrderService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +77,92 @@ public class OrderController {
         return ResponseEntity.status(status).body(apiResponse);
     }
 
+    /**
+     * Endpoint to browse the order history, newest first, one page at a time.
+     * Pass the nextCursor of a page to get the following one; it is null on the last page.
+     *
+     * @param status the status of the orders; all statuses if omitted
+     * @param from   the inclusive lower bound of the creation date, ISO-8601 local date-time
+     * @param to     the exclusive upper bound of the creation date, ISO-8601 local date-time
+     * @param cursor the cursor returned with the previous page; the first page if omitted
+     * @param size   the maximum number of orders of the page
+     * @return an ApiResponse containing the page of orders and the cursor of the next page
+     */
+    @GetMapping("/v1/history")
+    public ApiResponse<String, OrderHistoryPageDto> getOrderHistory(@RequestParam(required = false) OrderStatus status,
+                                                                    @RequestParam(required = false)
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                    @RequestParam(required = false)
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "50") int size) {
+
+        logger.info("Fetching order history with status: {}, from: {}, to: {}, size: {}", status, from, to, size);
+        // Retrieve the page, an invalid size or cursor is answered with 400 by the controller advice
+        OrderHistoryPageDto page = orderService.getOrderHistory(status, from, to, cursor, size);
+
+        // Build and return the API response
+        return ApiResponse.<String, OrderHistoryPageDto>builder()
+                .success(true)
+                .data(page)
+                .build();
+    }
+
+    /**
+     * Endpoint to export the items of the orders created in a date range as a CSV file.
+     * The file is streamed to the client while the rows are read from the database, outside the
+     * request thread, so exports of any size use the same amount of memory.
+     *
+     * @param from the inclusive lower bound of the creation date, ISO-8601 local date-time
+     * @param to   the exclusive upper bound of the creation date, ISO-8601 local date-time
+     * @return ResponseEntity streaming the CSV file as an attachment
+     * @throws InvalidRequestException if the range is empty or starts before the archive cutoff
+     */
+    @GetMapping("/v1/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        logger.info("Exporting orders created from {} to {}", from, to);
+        // Validate before the response is committed, errors cannot be reported once streaming has started
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Export range is empty, from must be before to: " + from + " - " + to);
+        }
+        LocalDateTime cutoff = orderService.getArchiveCutoff();
+        if (from.isBefore(cutoff)) {
+            throw new InvalidRequestException("Export range starts before the archive cutoff " + cutoff + ": " + from);
+        }
+
+        StreamingResponseBody body = outputStream -> orderService.exportOrders(from, to, outputStream);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders-" + from.toLocalDate() + "-" + to.toLocalDate() + ".csv")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Endpoint to retrieve a single order by its unique identifier.
+     * Recently created, updated or read orders are served from the order cache.
+     *
+     * @param orderId the unique identifier of the order
+     * @return an ApiResponse containing the requested order
+     */
+    @GetMapping("/v1/{orderId}")
+    public ApiResponse<String, OrderDto> getOrder(@PathVariable("orderId") UUID orderId) {
+
+        logger.info("Fetching order with ID: {}", orderId);
+        // Retrieve the order, a missing order is answered with 404 by the controller advice
+        OrderDto order = orderService.getOrder(orderId);
+
+        // Build and return the API response
+        return ApiResponse.<String, OrderDto>builder()
+                .success(true)
+                .data(order)
+                .build();
+    }
+
     /**
      * Endpoint to update the status of an existing order.
      *
@@ -98,14 +194,22 @@ public class OrderController {
 
     /**
      * Endpoint to retrieve a summary of product details based on the provided order details.
+     * Supports conditional requests: a matching If-None-Match header yields 304 Not Modified.
      *
-     * @param orderId the orderId to calculate the product summary
-     * @return an ApiResponse containing the success status, product summary data, or error messages
+     * @param orderId    the orderId to calculate the product summary
+     * @param webRequest the current request, used to evaluate If-None-Match
+     * @return an ApiResponse containing the success status, product summary data, or error messages, or null when not modified
      */
     @GetMapping("/v1/product-summary")
-    public ApiResponse<String, Map<String, BigDecimal>> getProductSummaryDetails(@RequestParam UUID orderId) {
+    public ApiResponse<String, Map<String, BigDecimal>> getProductSummaryDetails(@RequestParam UUID orderId,
+                                                                                 WebRequest webRequest) {
 
         logger.info("Retrieving product summary details for orderId {}", orderId);
+        // Answer conditional requests from the order status and product versions before loading the order
+        if (webRequest.checkNotModified(orderService.getProductSummaryETag(orderId))) {
+            return null;
+        }
+
         // Call the service layer to retrieve the product summary details
         Map<String, BigDecimal> productSummary = orderService.getProductSummaryDetails(orderId);
 
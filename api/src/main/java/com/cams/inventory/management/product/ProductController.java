@@ -1,20 +1,44 @@
 package com.cams.inventory.management.product;
 
+import com.cams.inventory.management.dto.PriceUpdateProgressDto;
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ReorderPointDto;
+import com.cams.inventory.management.dto.ReorderProductDto;
+import com.cams.inventory.management.dto.StockLevelDto;
+import com.cams.inventory.management.dto.StockReceiptDto;
+import com.cams.inventory.management.dto.StockSeriesDto;
+import com.cams.inventory.management.handler.PreconditionFailedException;
+import com.cams.inventory.management.handler.PreconditionRequiredException;
+import com.cams.inventory.management.request.ProductPriceChangeRequest;
+import com.cams.inventory.management.request.ProductPriceUpdateRequest;
+import com.cams.inventory.management.request.ProductReorderThresholdUpdateRequest;
 import com.cams.inventory.management.request.ProductRequest;
+import com.cams.inventory.management.request.ProductStockUpdateRequest;
+import com.cams.inventory.management.request.StockReceiptLineRequest;
 import com.cams.inventory.management.response.ApiResponse;
+import com.cams.inventory.management.service.product.PriceUpdateService;
 import com.cams.inventory.management.service.product.ProductService;
+import com.cams.inventory.management.service.stock.StockReceiptService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.util.Pair;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * REST controller for creating new products.
@@ -30,13 +54,29 @@ public class ProductController {
     // Product service to handle business logic
     private final ProductService productService;
 
+    // Stock receipt service to receive stock in bulk
+    private final StockReceiptService stockReceiptService;
+
+    // Price update service to apply price feeds
+    private final PriceUpdateService priceUpdateService;
+
+    // Object mapper writing the progress of price feeds
+    private final ObjectMapper objectMapper;
+
     /**
-     * Constructor-based injection of ProductService.
+     * Constructor-based injection of the product, stock receipt and price update services.
      *
-     * @param productService the product service instance
+     * @param productService      the product service instance
+     * @param stockReceiptService the stock receipt service instance
+     * @param priceUpdateService  the price update service instance
+     * @param objectMapper        the object mapper writing the progress of price feeds
      */
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, StockReceiptService stockReceiptService,
+                             PriceUpdateService priceUpdateService, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.stockReceiptService = stockReceiptService;
+        this.priceUpdateService = priceUpdateService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -71,14 +111,22 @@ public class ProductController {
 
     /**
      * Endpoint to retrieve products with stock below a specified threshold.
+     * Supports conditional requests: a matching If-None-Match header yields 304 Not Modified.
      *
      * @param stockThreshold the stock level threshold to filter low-stock products
-     * @return an ApiResponse containing a list of low-stock products and a success flag
+     * @param webRequest     the current request, used to evaluate If-None-Match
+     * @return an ApiResponse containing a list of low-stock products and a success flag, or null when not modified
      */
     @GetMapping("/v1/low-stock-products")
-    public ApiResponse<String, List<ProductDto>> getLowStockProducts(@RequestParam int stockThreshold) {
+    public ApiResponse<String, List<ProductDto>> getLowStockProducts(@RequestParam int stockThreshold,
+                                                                     WebRequest webRequest) {
         log.info("Fetching products with stock below threshold: {}", stockThreshold); // Log the stock threshold being used
 
+        // Answer conditional requests from the product versions before loading any product
+        if (webRequest.checkNotModified(productService.getLowStockProductsETag(stockThreshold))) {
+            return null;
+        }
+
         // Retrieve the list of products with stock below the specified threshold
         List<ProductDto> lowStockProducts = productService.getLowStockProducts(stockThreshold);
 
@@ -92,4 +140,290 @@ public class ProductController {
                 .errors(hasLowStockProductsFound ? null : Collections.singletonList("No products found with the given stock threshold")) // Add an error message if no products were found
                 .build();
     }
+
+    /**
+     * Endpoint to retrieve the products whose stock is at or below their own reorder threshold.
+     *
+     * @return an ApiResponse containing the products needing replenishment, ordered by id
+     */
+    @GetMapping("/v1/at-reorder-point")
+    public ApiResponse<String, List<ReorderPointDto>> getProductsAtReorderPoint() {
+        log.info("Fetching products at or below their reorder threshold");
+
+        // Read the products flagged by the database
+        List<ReorderPointDto> products = productService.getProductsAtReorderPoint();
+
+        // Build and return the API response
+        return ApiResponse.<String, List<ReorderPointDto>>builder()
+                .success(true)
+                .data(products)
+                .build();
+    }
+
+    /**
+     * Endpoint to rank the products projected to run out of stock within a horizon at their current
+     * demand rate, soonest first.
+     *
+     * @param horizonDays the days ahead the stock is projected
+     * @param limit       the maximum number of products
+     * @return an ApiResponse containing the products needing a reorder
+     */
+    @GetMapping("/v1/reorder")
+    public ApiResponse<String, List<ReorderProductDto>> getReorderProducts(@RequestParam(defaultValue = "14") int horizonDays,
+                                                                           @RequestParam(defaultValue = "50") int limit) {
+        log.info("Fetching products running out of stock within {} days", horizonDays);
+
+        // Project the stock against the demand rates, out of range parameters are answered with 400
+        List<ReorderProductDto> reorderProducts = productService.getReorderProducts(horizonDays, limit);
+
+        // Build and return the API response
+        return ApiResponse.<String, List<ReorderProductDto>>builder()
+                .success(true)
+                .data(reorderProducts)
+                .build();
+    }
+
+    /**
+     * Endpoint to retrieve a single product by its unique identifier.
+     * The entity tag is the product version; a matching If-None-Match header yields 304 Not Modified.
+     *
+     * @param productId  the unique identifier of the product
+     * @param webRequest the current request, used to evaluate If-None-Match
+     * @return an ApiResponse containing the requested product, or null when not modified
+     */
+    @GetMapping("/v1/{productId}")
+    public ApiResponse<String, ProductDto> getProductById(@PathVariable("productId") UUID productId,
+                                                          WebRequest webRequest) {
+        log.info("Fetching product with ID: {}", productId);
+
+        // Answer conditional requests from the product version
+        if (webRequest.checkNotModified(productService.getProductETag(productId))) {
+            return null;
+        }
+
+        // Retrieve the product, served from the product cache whenever possible
+        ProductDto product = productService.getProductById(productId);
+
+        // Build and return the API response
+        return ApiResponse.<String, ProductDto>builder()
+                .success(true)
+                .data(product)
+                .build();
+    }
+
+    /**
+     * Endpoint to replace the stock of a product.
+     * The If-Match header must carry the product ETag; a stale ETag yields 412 Precondition Failed.
+     *
+     * @param productId the unique identifier of the product
+     * @param ifMatch   the If-Match header carrying the expected product version
+     * @param request   the request payload containing the new stock
+     * @return ResponseEntity containing the updated product and its new ETag
+     */
+    @PatchMapping("/v1/{productId}/stock")
+    public ResponseEntity<Object> updateProductStock(@PathVariable("productId") UUID productId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @RequestBody @Valid ProductStockUpdateRequest request) {
+        log.info("Updating stock of product {} with If-Match {}", productId, ifMatch);
+
+        // Apply the update as a single compare-and-set on the product version
+        Pair<ProductDto, String> result = productService.updateProductStock(productId, parseIfMatchVersion(ifMatch),
+                request.getStock());
+        return updatedProductResponse(result);
+    }
+
+    /**
+     * Endpoint to replace the price of a product.
+     * The If-Match header must carry the product ETag; a stale ETag yields 412 Precondition Failed.
+     *
+     * @param productId the unique identifier of the product
+     * @param ifMatch   the If-Match header carrying the expected product version
+     * @param request   the request payload containing the new price
+     * @return ResponseEntity containing the updated product and its new ETag
+     */
+    @PatchMapping("/v1/{productId}/price")
+    public ResponseEntity<Object> updateProductPrice(@PathVariable("productId") UUID productId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @RequestBody @Valid ProductPriceUpdateRequest request) {
+        log.info("Updating price of product {} with If-Match {}", productId, ifMatch);
+
+        // Apply the update as a single compare-and-set on the product version
+        Pair<ProductDto, String> result = productService.updateProductPrice(productId, parseIfMatchVersion(ifMatch),
+                request.getPrice());
+        return updatedProductResponse(result);
+    }
+
+    /**
+     * Endpoint to replace the reorder threshold of a product.
+     * The If-Match header must carry the product ETag; a stale ETag yields 412 Precondition Failed.
+     *
+     * @param productId the unique identifier of the product
+     * @param ifMatch   the If-Match header carrying the expected product version
+     * @param request   the request payload containing the new reorder threshold
+     * @return ResponseEntity containing the updated product and its new ETag
+     */
+    @PatchMapping("/v1/{productId}/reorder-threshold")
+    public ResponseEntity<Object> updateProductReorderThreshold(@PathVariable("productId") UUID productId,
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                @RequestBody @Valid ProductReorderThresholdUpdateRequest request) {
+        log.info("Updating reorder threshold of product {} with If-Match {}", productId, ifMatch);
+
+        // Apply the update as a single compare-and-set on the product version
+        Pair<ProductDto, String> result = productService.updateProductReorderThreshold(productId, parseIfMatchVersion(ifMatch),
+                request.getReorderThreshold());
+        return updatedProductResponse(result);
+    }
+
+    /**
+     * Endpoint to receive stock in bulk: the quantity of every line is added to the stock of the product
+     * it identifies by id or SKU. Lines are checked one by one and their outcomes returned in order.
+     *
+     * @param lines the lines of the receipt
+     * @return an ApiResponse containing the outcome of every line
+     */
+    @PostMapping("/v1/stock/receipts")
+    public ApiResponse<String, StockReceiptDto> receiveStock(@RequestBody List<StockReceiptLineRequest> lines) {
+        log.info("Receiving stock of {} lines", lines.size());
+
+        // Add the quantities a chunk of lines per transaction
+        StockReceiptDto receipt = stockReceiptService.receiveStock(lines);
+
+        log.info("Stock receipt result: {} lines received, {} rejected", receipt.getReceived(), receipt.getRejected());
+
+        // Build and return the API response, successful if any line was received
+        return ApiResponse.<String, StockReceiptDto>builder()
+                .success(receipt.getReceived() > 0)
+                .data(receipt)
+                .build();
+    }
+
+    /**
+     * Endpoint to apply a price feed: the price of every line replaces the price of the product it
+     * identifies by id or SKU. The feed is applied a chunk of lines per transaction, outside the request
+     * thread, and the progress is streamed as one JSON line per chunk, flushed as soon as the chunk
+     * committed, so a long feed can be followed while it runs. The last line holds the outcome of the feed.
+     * A client that disconnects does not stop the feed: the progress is no longer written, but the
+     * remaining chunks are still applied, rather than leaving the feed half-applied.
+     *
+     * @param changes the lines of the feed
+     * @return ResponseEntity streaming the progress as newline-delimited JSON
+     */
+    @PostMapping(value = "/v1/prices", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> updatePrices(@RequestBody List<ProductPriceChangeRequest> changes) {
+        log.info("Updating prices from a feed of {} lines", changes.size());
+        // Validate before the response is committed, errors cannot be reported once streaming has started
+        priceUpdateService.checkPriceChanges(changes);
+
+        StreamingResponseBody body = outputStream -> {
+            AtomicBoolean disconnected = new AtomicBoolean();
+            PriceUpdateProgressDto outcome = priceUpdateService.updatePrices(changes, progress -> {
+                if (disconnected.get()) {
+                    return;
+                }
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(progress));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                } catch (IOException e) {
+                    // Keep applying the feed, only its progress is lost
+                    log.warn("Error while writing the price feed progress, the feed goes on without it - {}",
+                            e.getMessage());
+                    disconnected.set(true);
+                }
+            });
+            log.info("Price feed result: {} lines updated, {} unchanged, {} rejected", outcome.getUpdated(),
+                    outcome.getUnchanged(), outcome.getRejected());
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Endpoint to retrieve the stock of a product at a point in time, derived from the stock ledger.
+     *
+     * @param productId the unique identifier of the product
+     * @param asOf      the point in time, ISO-8601 local date-time; defaults to now
+     * @return an ApiResponse containing the stock level of the product at that time
+     */
+    @GetMapping("/v1/{productId}/stock")
+    public ApiResponse<String, StockLevelDto> getStockAsOf(@PathVariable("productId") UUID productId,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        log.info("Fetching stock of product {} as of {}", productId, asOf);
+
+        // Replay the stock ledger from the nearest snapshot
+        StockLevelDto stockLevel = productService.getStockAsOf(productId, asOf == null ? LocalDateTime.now() : asOf);
+
+        // Build and return the API response
+        return ApiResponse.<String, StockLevelDto>builder()
+                .success(true)
+                .data(stockLevel)
+                .build();
+    }
+
+    /**
+     * Endpoint to retrieve the stock of a product over a time range, from its compressed stock series.
+     *
+     * @param productId the unique identifier of the product
+     * @param from      the inclusive start of the range, ISO-8601 local date-time; defaults to a day before to
+     * @param to        the exclusive end of the range, ISO-8601 local date-time; defaults to now
+     * @return an ApiResponse containing the stock at the start of the range and every change within it
+     */
+    @GetMapping("/v1/{productId}/stock/series")
+    public ApiResponse<String, StockSeriesDto> getStockSeries(@PathVariable("productId") UUID productId,
+                                                              @RequestParam(required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam(required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Fetching stock series of product {} from {} to {}", productId, from, to);
+
+        // Decode the chunks of the series overlapping the range
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        StockSeriesDto stockSeries = productService.getStockSeries(productId, from == null ? end.minusDays(1) : from, end);
+
+        // Build and return the API response
+        return ApiResponse.<String, StockSeriesDto>builder()
+                .success(true)
+                .data(stockSeries)
+                .build();
+    }
+
+    /**
+     * Builds the response of a successful conditional update.
+     *
+     * @param result the updated product and its new ETag
+     * @return ResponseEntity carrying the new ETag header and the updated product
+     */
+    private ResponseEntity<Object> updatedProductResponse(Pair<ProductDto, String> result) {
+        ApiResponse<String, ProductDto> apiResponse = ApiResponse.<String, ProductDto>builder()
+                .success(true)
+                .data(result.getFirst())
+                .build();
+        return ResponseEntity.ok().eTag(result.getSecond()).body(apiResponse);
+    }
+
+    /**
+     * Extracts the expected product version from an If-Match header.
+     * Product ETags are the quoted version, e.g. "3". Weak or unparsable tags can never match.
+     *
+     * @param ifMatch the If-Match header value
+     * @return the expected product version
+     * @throws PreconditionRequiredException if the header is missing
+     * @throws PreconditionFailedException   if the header does not carry a strong product ETag
+     */
+    private static int parseIfMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("If-Match header with the product ETag is required");
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must carry a single strong product ETag, got: " + ifMatch);
+        }
+        try {
+            return Integer.parseInt(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match must carry a single strong product ETag, got: " + ifMatch);
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package com.cams.inventory.management.report;
+
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.dto.TopSellerDto;
+import com.cams.inventory.management.response.ApiResponse;
+import com.cams.inventory.management.service.report.SalesReportService;
+import com.cams.inventory.management.service.report.TopSellerWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/reports")
+public class SalesReportController {
+
+    Logger logger = LoggerFactory.getLogger(SalesReportController.class);
+
+    /**
+     * Service layer dependency for computing the sales report.
+     * This is injected via constructor-based dependency injection.
+     */
+    private final SalesReportService salesReportService;
+
+    public SalesReportController(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+
+    /**
+     * Endpoint to report the units sold and the revenue of the orders created in a time range,
+     * in total, per product, per day and per order status.
+     *
+     * @param from the inclusive lower bound of the creation date, ISO-8601 local date-time
+     * @param to   the exclusive upper bound of the creation date, ISO-8601 local date-time
+     * @return an ApiResponse containing the sales report
+     */
+    @GetMapping("/v1/sales")
+    public ApiResponse<String, SalesReportDto> getSalesReport(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        logger.info("Fetching sales report from {} to {}", from, to);
+        // Compute the report, an empty range or one starting before the archive cutoff is answered with 400 by the controller advice
+        SalesReportDto report = salesReportService.getSalesReport(from, to);
+
+        // Build and return the API response
+        return ApiResponse.<String, SalesReportDto>builder()
+                .success(true)
+                .data(report)
+                .build();
+    }
+
+    /**
+     * Endpoint to report the units sold, the revenue and the number of orders of a range of days
+     * from the sales rollups, in total, per product, per day and per order status.
+     *
+     * @param from the first day, ISO-8601 date
+     * @param to   the day after the last day, ISO-8601 date
+     * @return an ApiResponse containing the sales report of the days
+     */
+    @GetMapping("/v1/sales/daily")
+    public ApiResponse<String, SalesReportDto> getDailySalesReport(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        logger.info("Fetching daily sales report from {} to {}", from, to);
+        // Read the rollups, an empty range is answered with 400 by the controller advice
+        SalesReportDto report = salesReportService.getDailySalesReport(from, to);
+
+        // Build and return the API response
+        return ApiResponse.<String, SalesReportDto>builder()
+                .success(true)
+                .data(report)
+                .build();
+    }
+
+    /**
+     * Endpoint to recompute the sales rollups of a range of days from the orders.
+     *
+     * @param from the first day, ISO-8601 date
+     * @param to   the day after the last day, ISO-8601 date
+     * @return an ApiResponse containing the number of rollup rows of the rebuilt days
+     */
+    @PostMapping("/v1/sales/rollups/rebuild")
+    public ApiResponse<String, Integer> rebuildSalesRollups(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        logger.info("Rebuilding sales rollups from {} to {}", from, to);
+        int rows = salesReportService.rebuildSalesRollups(from, to);
+
+        // Build and return the API response
+        return ApiResponse.<String, Integer>builder()
+                .success(true)
+                .data(rows)
+                .build();
+    }
+
+    /**
+     * Endpoint to list the best-selling products of the last hour or the last day, tracked in memory.
+     * The units are estimates: every product sold between units - maxError and units in the window.
+     *
+     * @param window the window, LAST_HOUR or LAST_DAY
+     * @param limit  the maximum number of products
+     * @return an ApiResponse containing the products, highest estimate first
+     */
+    @GetMapping("/v1/top-sellers")
+    public ApiResponse<String, List<TopSellerDto>> getTopSellers(@RequestParam(defaultValue = "LAST_HOUR") TopSellerWindow window,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+
+        logger.info("Fetching top {} sellers of {}", limit, window);
+        // Read the tracker, a limit out of range is answered with 400 by the controller advice
+        List<TopSellerDto> topSellers = salesReportService.getTopSellers(window, limit);
+
+        // Build and return the API response
+        return ApiResponse.<String, List<TopSellerDto>>builder()
+                .success(true)
+                .data(topSellers)
+                .build();
+    }
+}
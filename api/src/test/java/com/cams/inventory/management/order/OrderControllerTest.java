@@ -2,7 +2,9 @@ package com.cams.inventory.management.order;
 
 
 import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.dto.OrderHistoryPageDto;
 import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.handler.InvalidRequestException;
 import com.cams.inventory.management.request.OrderRequest;
 import com.cams.inventory.management.request.ProductItemRequest;
 import com.cams.inventory.management.response.ApiResponse;
@@ -14,12 +16,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.util.ObjectUtils;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
 
 /**
@@ -42,6 +50,108 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    /**
+     * Mocks the current web request used to evaluate conditional requests.
+     */
+    @Mock
+    private WebRequest webRequest;
+
+    /**
+     * Test case for the `getOrder` method in `OrderController`.
+     * Verifies that the order returned by the service is wrapped in a successful response.
+     */
+    @Test
+    @DisplayName("Test Get Order Success - Verifies the order is returned")
+    void testGetOrder_success() {
+
+        UUID orderId = UUID.randomUUID();
+        OrderDto orderDto = new OrderDto();
+        orderDto.setId(orderId.toString());
+        orderDto.setStatus(OrderStatus.COMPLETED);
+        Mockito.when(orderService.getOrder(orderId)).thenReturn(orderDto);
+
+        ApiResponse<String, OrderDto> response = orderController.getOrder(orderId);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(orderDto, response.getData());
+    }
+
+    /**
+     * Test case for the `getOrderHistory` method in `OrderController`.
+     * Verifies that the page returned by the service is passed through with its cursor.
+     */
+    @Test
+    @DisplayName("Test Get Order History Success - Verifies the page and its next cursor are returned")
+    void testGetOrderHistory_success() {
+
+        OrderDto orderDto = new OrderDto();
+        orderDto.setId(UUID.randomUUID().toString());
+        orderDto.setStatus(OrderStatus.COMPLETED);
+        OrderHistoryPageDto page = new OrderHistoryPageDto(List.of(orderDto), "next-cursor");
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Mockito.when(orderService.getOrderHistory(OrderStatus.COMPLETED, from, null, null, 50)).thenReturn(page);
+
+        ApiResponse<String, OrderHistoryPageDto> response =
+                orderController.getOrderHistory(OrderStatus.COMPLETED, from, null, null, 50);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(List.of(orderDto), response.getData().getOrders());
+        Assertions.assertEquals("next-cursor", response.getData().getNextCursor());
+    }
+
+    /**
+     * Test case for the `exportOrders` method in `OrderController`.
+     * Verifies that the CSV attachment headers are set and that the body is written by the service.
+     */
+    @Test
+    @DisplayName("Test Export Orders Success - Verifies the CSV attachment is streamed by the service")
+    void testExportOrders_success() throws IOException {
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Mockito.when(orderService.getArchiveCutoff()).thenReturn(from.minusDays(1));
+
+        ResponseEntity<StreamingResponseBody> response = orderController.exportOrders(from, to);
+        Mockito.verify(orderService, Mockito.never()).exportOrders(Mockito.any(), Mockito.any(), Mockito.any());
+        response.getBody().writeTo(outputStream);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        Assertions.assertEquals("attachment; filename=\"orders-2024-01-01-2024-02-01.csv\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        Mockito.verify(orderService).exportOrders(from, to, outputStream);
+    }
+
+    /**
+     * Test case for the `exportOrders` method in `OrderController` with an empty range.
+     * Verifies that the request is rejected before anything is streamed.
+     */
+    @Test
+    @DisplayName("Test Export Orders Failure - Verifies an empty range is rejected")
+    void testExportOrders_emptyRange() {
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> orderController.exportOrders(from, from));
+        Mockito.verifyNoInteractions(orderService);
+    }
+
+    /**
+     * Test case for the `exportOrders` method in `OrderController` with a range starting before the archive cutoff.
+     * Verifies that the request is rejected before anything is streamed, archived orders are not exported.
+     */
+    @Test
+    @DisplayName("Test Export Orders Failure - Verifies a range before the archive cutoff is rejected")
+    void testExportOrders_beforeArchiveCutoff() {
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Mockito.when(orderService.getArchiveCutoff()).thenReturn(from.plusDays(1));
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> orderController.exportOrders(from, from.plusDays(2)));
+        Mockito.verify(orderService, Mockito.never()).exportOrders(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
     /**
      * Test case for the `updateOrderStatus` method in `OrderController`.
      * Verifies that the method successfully updates the order status when valid inputs are provided.
@@ -216,7 +326,7 @@ class OrderControllerTest {
 
         // Call the controller method and capture the response
         ApiResponse<String, Map<String, BigDecimal>> response = orderController
-                .getProductSummaryDetails(orderId);
+                .getProductSummaryDetails(orderId, webRequest);
 
         // Assert that the response is not null
         Assertions.assertNotNull(response);
@@ -244,7 +354,7 @@ class OrderControllerTest {
 
         // Call the controller method and capture the response
         ApiResponse<String, Map<String, BigDecimal>> response = orderController
-                .getProductSummaryDetails(UUID.randomUUID());
+                .getProductSummaryDetails(UUID.randomUUID(), webRequest);
 
         // Assert that the response is not null
         Assertions.assertNotNull(response);
@@ -256,4 +366,26 @@ class OrderControllerTest {
         // Assert that the error message matches the expected value
         Assertions.assertEquals("No product summary found for the given orders", response.getErrors().get(0));
     }
+
+    /**
+     * Test case for a conditional `getProductSummaryDetails` request in `OrderController`.
+     * Verifies that a matching entity tag short-circuits without computing the summary.
+     */
+    @Test
+    @DisplayName("Summarize product details based on order details requests - Not modified")
+    void testProductSummaryDetails_notModified() {
+
+        UUID orderId = UUID.randomUUID();
+        // Mock the entity tag of the summary and a matching If-None-Match header
+        Mockito.when(orderService.getProductSummaryETag(orderId)).thenReturn("\"abc\"");
+        Mockito.when(webRequest.checkNotModified("\"abc\"")).thenReturn(true);
+
+        // Call the controller method and capture the response
+        ApiResponse<String, Map<String, BigDecimal>> response = orderController
+                .getProductSummaryDetails(orderId, webRequest);
+
+        // Assert that no body is produced and the summary is never computed
+        Assertions.assertNull(response);
+        Mockito.verify(orderService, Mockito.never()).getProductSummaryDetails(orderId);
+    }
 }
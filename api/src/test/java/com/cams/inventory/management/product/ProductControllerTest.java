@@ -1,9 +1,27 @@
 package com.cams.inventory.management.product;
 
+import com.cams.inventory.management.dto.PriceChangeLineDto;
+import com.cams.inventory.management.dto.PriceUpdateProgressDto;
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ReorderPointDto;
+import com.cams.inventory.management.dto.ReorderProductDto;
+import com.cams.inventory.management.dto.StockReceiptDto;
+import com.cams.inventory.management.dto.StockReceiptLineDto;
+import com.cams.inventory.management.dto.StockSeriesDto;
+import com.cams.inventory.management.dto.StockSeriesPointDto;
+import com.cams.inventory.management.handler.PreconditionFailedException;
+import com.cams.inventory.management.handler.PreconditionRequiredException;
+import com.cams.inventory.management.request.ProductPriceChangeRequest;
+import com.cams.inventory.management.request.ProductPriceUpdateRequest;
+import com.cams.inventory.management.request.ProductReorderThresholdUpdateRequest;
 import com.cams.inventory.management.request.ProductRequest;
+import com.cams.inventory.management.request.ProductStockUpdateRequest;
+import com.cams.inventory.management.request.StockReceiptLineRequest;
 import com.cams.inventory.management.response.ApiResponse;
+import com.cams.inventory.management.service.product.PriceUpdateService;
 import com.cams.inventory.management.service.product.ProductService;
+import com.cams.inventory.management.service.stock.StockReceiptService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,14 +29,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.data.util.Pair;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.util.ObjectUtils;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Unit tests for the `ProductController` class.
@@ -40,6 +67,30 @@ class ProductControllerTest {
     @Mock
     ProductService productService;
 
+    /**
+     * Mocks the `StockReceiptService` dependency to simulate stock receipts.
+     */
+    @Mock
+    StockReceiptService stockReceiptService;
+
+    /**
+     * Mocks the `PriceUpdateService` dependency to simulate price feeds.
+     */
+    @Mock
+    PriceUpdateService priceUpdateService;
+
+    /**
+     * Object mapper writing the progress of price feeds.
+     */
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Mocks the current web request used to evaluate conditional requests.
+     */
+    @Mock
+    WebRequest webRequest;
+
     /**
      * Test case for the `createProduct` method in `ProductController`.
      * Verifies that the method successfully creates a product when valid inputs are provided.
@@ -144,7 +195,7 @@ class ProductControllerTest {
         Mockito.when(productService.getLowStockProducts(10)).thenReturn(List.of(productDto));
 
         // Call the controller method and capture the response
-        ApiResponse<String, List<ProductDto>> response = productController.getLowStockProducts(10);
+        ApiResponse<String, List<ProductDto>> response = productController.getLowStockProducts(10, webRequest);
 
         // Assert that the response is not null
         Assertions.assertNotNull(response);
@@ -170,7 +221,7 @@ class ProductControllerTest {
         Mockito.when(productService.getLowStockProducts(10)).thenReturn(Collections.emptyList());
 
         // Call the controller method and capture the response
-        ApiResponse<String, List<ProductDto>> response = productController.getLowStockProducts(10);
+        ApiResponse<String, List<ProductDto>> response = productController.getLowStockProducts(10, webRequest);
 
         // Assert that the response is not null
         Assertions.assertNotNull(response);
@@ -182,4 +233,296 @@ class ProductControllerTest {
         // Assert that the error message matches the expected value
         Assertions.assertEquals("No products found with the given stock threshold", response.getErrors().get(0));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case for the `getProductById` method in `ProductController`.
+     * Verifies that the method returns the requested product.
+     */
+    @Test
+    @DisplayName("Retrieve product by id - Success")
+    void testGetProductById_success() {
+
+        // Create a mock product DTO to simulate the stored product
+        UUID productId = UUID.randomUUID();
+        ProductDto productDto = new ProductDto(productId.toString(), "Apple", "5412897", new BigDecimal("100"), 5);
+
+        // Mock the behavior of the productService to return the product
+        Mockito.when(productService.getProductById(productId)).thenReturn(productDto);
+
+        // Call the controller method and capture the response
+        ApiResponse<String, ProductDto> response = productController.getProductById(productId, webRequest);
+
+        // Assert that the response indicates success and carries the product
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals("Apple", response.getData().getName());
+        Assertions.assertNull(response.getErrors());
+    }
+
+    /**
+     * Test case for a conditional `getProductById` request in `ProductController`.
+     * Verifies that a matching entity tag short-circuits without loading the product.
+     */
+    @Test
+    @DisplayName("Retrieve product by id - Not modified")
+    void testGetProductById_notModified() {
+
+        UUID productId = UUID.randomUUID();
+        // Mock the entity tag of the product and a matching If-None-Match header
+        Mockito.when(productService.getProductETag(productId)).thenReturn("\"3\"");
+        Mockito.when(webRequest.checkNotModified("\"3\"")).thenReturn(true);
+
+        // Call the controller method and capture the response
+        ApiResponse<String, ProductDto> response = productController.getProductById(productId, webRequest);
+
+        // Assert that no body is produced and the product is never loaded
+        Assertions.assertNull(response);
+        Mockito.verify(productService, Mockito.never()).getProductById(productId);
+    }
+
+    /**
+     * Test case for a conditional `getLowStockProducts` request in `ProductController`.
+     * Verifies that a matching entity tag short-circuits without loading the products.
+     */
+    @Test
+    @DisplayName("Retrieve products with stock below the specified threshold - Not modified")
+    void testLowStockProducts_notModified() {
+
+        // Mock the entity tag of the list and a matching If-None-Match header
+        Mockito.when(productService.getLowStockProductsETag(10)).thenReturn("\"abc\"");
+        Mockito.when(webRequest.checkNotModified("\"abc\"")).thenReturn(true);
+
+        // Call the controller method and capture the response
+        ApiResponse<String, List<ProductDto>> response = productController.getLowStockProducts(10, webRequest);
+
+        // Assert that no body is produced and the products are never loaded
+        Assertions.assertNull(response);
+        Mockito.verify(productService, Mockito.never()).getLowStockProducts(10);
+    }
+
+    /**
+     * Test case for the `getReorderProducts` method in `ProductController`.
+     * Verifies that the ranking of the service is returned as is.
+     */
+    @Test
+    @DisplayName("Retrieve products running out of stock within the horizon - Success")
+    void testGetReorderProducts_success() {
+
+        List<ReorderProductDto> reorderProducts = List.of(
+                new ReorderProductDto(UUID.randomUUID().toString(), "Apple", 4, 2.0, 2.0));
+        Mockito.when(productService.getReorderProducts(7, 20)).thenReturn(reorderProducts);
+
+        ApiResponse<String, List<ReorderProductDto>> response = productController.getReorderProducts(7, 20);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(reorderProducts, response.getData());
+    }
+
+    /**
+     * Test case for the `getStockSeries` method in `ProductController`.
+     * Verifies that the range is passed to the service and the series returned as is.
+     */
+    @Test
+    @DisplayName("Retrieve the stock series of a product over a range - Success")
+    void testGetStockSeries_success() {
+
+        UUID productId = UUID.randomUUID();
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        StockSeriesDto stockSeries = new StockSeriesDto(productId.toString(), from, to, 40,
+                List.of(new StockSeriesPointDto(from.plusHours(3), 38)));
+        Mockito.when(productService.getStockSeries(productId, from, to)).thenReturn(stockSeries);
+
+        ApiResponse<String, StockSeriesDto> response = productController.getStockSeries(productId, from, to);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(stockSeries, response.getData());
+    }
+
+    /**
+     * Test case for the `receiveStock` method in `ProductController`.
+     * Verifies that the outcomes of the service are returned and a partly received receipt is successful.
+     */
+    @Test
+    @DisplayName("Receive stock in bulk - Success")
+    void testReceiveStock_success() {
+
+        String productId = UUID.randomUUID().toString();
+        List<StockReceiptLineRequest> lines = List.of(new StockReceiptLineRequest(null, "SKU-APPLE", 10),
+                new StockReceiptLineRequest(null, "SKU-UNKNOWN", 5));
+        StockReceiptDto receipt = new StockReceiptDto(1, 1, List.of(
+                new StockReceiptLineDto(0, productId, "SKU-APPLE", 10, StockReceiptLineDto.Status.RECEIVED, 110, null),
+                new StockReceiptLineDto(1, null, "SKU-UNKNOWN", 5, StockReceiptLineDto.Status.NOT_FOUND, null,
+                        "Product not found")));
+        Mockito.when(stockReceiptService.receiveStock(lines)).thenReturn(receipt);
+
+        ApiResponse<String, StockReceiptDto> response = productController.receiveStock(lines);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(receipt, response.getData());
+    }
+
+    /**
+     * Test case for the `updatePrices` method in `ProductController`.
+     * Verifies that the feed is checked before streaming and that every chunk is streamed as a JSON line.
+     */
+    @Test
+    @DisplayName("Update prices from a feed - Progress streamed per chunk")
+    void testUpdatePrices_success() throws IOException {
+
+        List<ProductPriceChangeRequest> changes = List.of(new ProductPriceChangeRequest(null, "SKU-APPLE", new BigDecimal("1.20")),
+                new ProductPriceChangeRequest(null, "SKU-UNKNOWN", new BigDecimal("2.00")));
+        PriceUpdateProgressDto first = new PriceUpdateProgressDto(0, 2, 1, 2, 1, 0, 0, 5, List.of());
+        PriceUpdateProgressDto last = new PriceUpdateProgressDto(1, 2, 2, 2, 1, 0, 1, 9, List.of(
+                new PriceChangeLineDto(1, null, "SKU-UNKNOWN", new BigDecimal("2.00"),
+                        PriceChangeLineDto.Status.NOT_FOUND, "Product not found")));
+        Mockito.when(priceUpdateService.updatePrices(Mockito.eq(changes), Mockito.any())).thenAnswer(invocation -> {
+            Consumer<PriceUpdateProgressDto> progressHandler = invocation.getArgument(1);
+            progressHandler.accept(first);
+            progressHandler.accept(last);
+            return last;
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = productController.updatePrices(changes);
+        Mockito.verify(priceUpdateService).checkPriceChanges(changes);
+        Mockito.verify(priceUpdateService, Mockito.never()).updatePrices(Mockito.any(), Mockito.any());
+        response.getBody().writeTo(outputStream);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals(first, objectMapper.readValue(lines[0], PriceUpdateProgressDto.class));
+        Assertions.assertEquals(last, objectMapper.readValue(lines[1], PriceUpdateProgressDto.class));
+    }
+
+    /**
+     * Test case for the `updatePrices` method in `ProductController` when the client disconnects.
+     * Verifies that the feed goes on to its last chunk once the progress can no longer be written.
+     */
+    @Test
+    @DisplayName("Update prices from a feed - Client disconnected, feed completed")
+    void testUpdatePrices_clientDisconnected() throws IOException {
+
+        List<ProductPriceChangeRequest> changes = List.of(new ProductPriceChangeRequest(null, "SKU-APPLE", new BigDecimal("1.20")),
+                new ProductPriceChangeRequest(null, "SKU-CHERRY", new BigDecimal("2.00")),
+                new ProductPriceChangeRequest(null, "SKU-PEAR", new BigDecimal("0.80")));
+        List<PriceUpdateProgressDto> progresses = List.of(new PriceUpdateProgressDto(0, 3, 1, 3, 1, 0, 0, 5, List.of()),
+                new PriceUpdateProgressDto(1, 3, 2, 3, 2, 0, 0, 9, List.of()),
+                new PriceUpdateProgressDto(2, 3, 3, 3, 3, 0, 0, 14, List.of()));
+        Mockito.when(priceUpdateService.updatePrices(Mockito.eq(changes), Mockito.any())).thenAnswer(invocation -> {
+            Consumer<PriceUpdateProgressDto> progressHandler = invocation.getArgument(1);
+            progresses.forEach(progressHandler);
+            return progresses.get(2);
+        });
+        // The client goes away after the first line
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void flush() throws IOException {
+                if (size() > 0) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        ResponseEntity<StreamingResponseBody> response = productController.updatePrices(changes);
+        response.getBody().writeTo(outputStream);
+
+        Mockito.verify(priceUpdateService).updatePrices(Mockito.eq(changes), Mockito.any());
+        Mockito.verify(objectMapper, Mockito.times(1)).writeValueAsBytes(Mockito.any());
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(1, lines.length);
+        Assertions.assertEquals(progresses.get(0), objectMapper.readValue(lines[0], PriceUpdateProgressDto.class));
+    }
+
+    /**
+     * Test case for the `updateProductStock` method in `ProductController`.
+     * Verifies that the If-Match version is passed to the service and the new ETag is returned.
+     */
+    @Test
+    @DisplayName("Update product stock with If-Match - Success")
+    void testUpdateProductStock_success() {
+
+        UUID productId = UUID.randomUUID();
+        ProductDto productDto = new ProductDto(productId.toString(), "Apple", "5412897", new BigDecimal("100"), 40);
+
+        // Mock the behavior of the productService to apply the update at version 3
+        Mockito.when(productService.updateProductStock(productId, 3, 40)).thenReturn(Pair.of(productDto, "\"4\""));
+
+        // Call the controller method and capture the response
+        ResponseEntity<Object> response = productController.updateProductStock(productId, "\"3\"",
+                new ProductStockUpdateRequest(40));
+
+        // Assert that the update succeeded and the new ETag is returned
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    /**
+     * Test case for the `updateProductPrice` method in `ProductController` without an If-Match header.
+     * Verifies that the request is rejected before reaching the service.
+     */
+    @Test
+    @DisplayName("Update product price without If-Match - Precondition required")
+    void testUpdateProductPrice_missingIfMatch() {
+
+        UUID productId = UUID.randomUUID();
+        ProductPriceUpdateRequest request = new ProductPriceUpdateRequest(new BigDecimal("2.50"));
+
+        Assertions.assertThrows(PreconditionRequiredException.class,
+                () -> productController.updateProductPrice(productId, null, request));
+        Mockito.verifyNoInteractions(productService);
+    }
+
+    /**
+     * Test case for the `updateProductPrice` method in `ProductController` with a weak ETag.
+     * Verifies that a weak ETag never matches.
+     */
+    @Test
+    @DisplayName("Update product price with weak If-Match - Precondition failed")
+    void testUpdateProductPrice_weakIfMatch() {
+
+        UUID productId = UUID.randomUUID();
+        ProductPriceUpdateRequest request = new ProductPriceUpdateRequest(new BigDecimal("2.50"));
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> productController.updateProductPrice(productId, "W/\"3\"", request));
+        Mockito.verifyNoInteractions(productService);
+    }
+
+    /**
+     * Test case for the `getProductsAtReorderPoint` method in `ProductController`.
+     * Verifies that the flagged products are returned as is.
+     */
+    @Test
+    @DisplayName("Retrieve products at or below their reorder threshold - Success")
+    void testGetProductsAtReorderPoint_success() {
+
+        List<ReorderPointDto> products = List.of(new ReorderPointDto(UUID.randomUUID().toString(), "Apple", "5412897", 3, 10));
+        Mockito.when(productService.getProductsAtReorderPoint()).thenReturn(products);
+
+        ApiResponse<String, List<ReorderPointDto>> response = productController.getProductsAtReorderPoint();
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(products, response.getData());
+    }
+
+    /**
+     * Test case for the `updateProductReorderThreshold` method in `ProductController`.
+     * Verifies that the If-Match version is passed to the service and the new ETag is returned.
+     */
+    @Test
+    @DisplayName("Update product reorder threshold with If-Match - Success")
+    void testUpdateProductReorderThreshold_success() {
+
+        UUID productId = UUID.randomUUID();
+        ProductDto productDto = new ProductDto(productId.toString(), "Apple", "5412897", new BigDecimal("100"), 40);
+        Mockito.when(productService.updateProductReorderThreshold(productId, 3, 50)).thenReturn(Pair.of(productDto, "\"4\""));
+
+        ResponseEntity<Object> response = productController.updateProductReorderThreshold(productId, "\"3\"",
+                new ProductReorderThresholdUpdateRequest(50));
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+}
@@ -0,0 +1,112 @@
+package com.cams.inventory.management.report;
+
+import com.cams.inventory.management.dto.SalesFiguresDto;
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.dto.TopSellerDto;
+import com.cams.inventory.management.response.ApiResponse;
+import com.cams.inventory.management.service.report.SalesReportService;
+import com.cams.inventory.management.service.report.TopSellerWindow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unit tests for the `SalesReportController` class.
+ * Verifies that the report computed by the `SalesReportService` is wrapped in a successful response.
+ */
+@ExtendWith(SpringExtension.class)
+class SalesReportControllerTest {
+
+    /**
+     * Injects a mock instance of the `SalesReportController` for testing purposes.
+     */
+    @InjectMocks
+    private SalesReportController salesReportController;
+
+    /**
+     * Mocks the `SalesReportService` dependency to simulate its behavior during tests.
+     */
+    @Mock
+    private SalesReportService salesReportService;
+
+    /**
+     * Test case for the `getSalesReport` method in `SalesReportController`.
+     */
+    @Test
+    @DisplayName("Test Get Sales Report Success - Verifies the report of the range is returned")
+    void testGetSalesReport_success() {
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        SalesReportDto report = new SalesReportDto();
+        report.setFrom(from);
+        report.setTo(to);
+        report.setTotal(new SalesFiguresDto(3, new BigDecimal("4.50"), 2));
+        Mockito.when(salesReportService.getSalesReport(from, to)).thenReturn(report);
+
+        ApiResponse<String, SalesReportDto> response = salesReportController.getSalesReport(from, to);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(report, response.getData());
+    }
+
+    /**
+     * Test case for the `getDailySalesReport` method in `SalesReportController`.
+     */
+    @Test
+    @DisplayName("Test Get Daily Sales Report Success - Verifies the report of the days is returned")
+    void testGetDailySalesReport_success() {
+
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        SalesReportDto report = new SalesReportDto();
+        report.setTotal(new SalesFiguresDto(3, new BigDecimal("4.50"), 2));
+        Mockito.when(salesReportService.getDailySalesReport(from, from.plusDays(7))).thenReturn(report);
+
+        ApiResponse<String, SalesReportDto> response = salesReportController.getDailySalesReport(from, from.plusDays(7));
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(report, response.getData());
+    }
+
+    /**
+     * Test case for the `rebuildSalesRollups` method in `SalesReportController`.
+     */
+    @Test
+    @DisplayName("Test Rebuild Sales Rollups Success - Verifies the number of rebuilt rows is returned")
+    void testRebuildSalesRollups_success() {
+
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        Mockito.when(salesReportService.rebuildSalesRollups(from, from.plusDays(2))).thenReturn(12);
+
+        ApiResponse<String, Integer> response = salesReportController.rebuildSalesRollups(from, from.plusDays(2));
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(12, response.getData());
+    }
+
+    /**
+     * Test case for the `getTopSellers` method in `SalesReportController`.
+     */
+    @Test
+    @DisplayName("Test Get Top Sellers Success - Verifies the top sellers of the window are returned")
+    void testGetTopSellers_success() {
+
+        List<TopSellerDto> topSellers = List.of(new TopSellerDto("d290f1ee-6c54-4b01-90e6-d701748f0851", 12, 2));
+        Mockito.when(salesReportService.getTopSellers(TopSellerWindow.LAST_DAY, 5)).thenReturn(topSellers);
+
+        ApiResponse<String, List<TopSellerDto>> response = salesReportController.getTopSellers(TopSellerWindow.LAST_DAY, 5);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(topSellers, response.getData());
+    }
+}
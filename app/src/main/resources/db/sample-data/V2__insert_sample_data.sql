@@ -1,14 +1,16 @@
+-- Sample products and orders, applied from the db/sample-data location configured by the application.
+
 -- Products (Fruit names)
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('d290f1ee-6c54-4b01-90e6-d701748f0851', 'Apple', 'SKU-APPLE', 1.50, 0, 100);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('f47ac10b-58cc-4372-a567-0e02b2c3d479', 'Banana', 'SKU-BANANA', 0.50, 0, 150);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('7c9e6679-7425-40de-944b-e07fc1f90ae7', 'Cherry', 'SKU-CHERRY', 3.00, 0, 200);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('123e4567-e89b-12d3-a456-426614174000', 'Date', 'SKU-DATE', 2.00, 0, 120);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('5a4d7f9a-6b58-41d6-9174-22936d5ecaa4', 'Elderberry', 'SKU-ELDERBERRY', 4.00, 0, 80);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('3b241101-e2bb-4255-8caf-4136c566a962', 'Fig', 'SKU-FIG', 2.50, 0, 90);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('fbdc6a0c-05a1-4d21-a79c-4a9e86f07f01', 'Grape', 'SKU-GRAPE', 2.20, 0, 110);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('e58c4c5a-93d3-4b14-ae8c-faa21db0f2e2', 'Honeydew Melon', 'SKU-HONEYDEW', 3.50, 0, 60);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('a1d8c9f9-6a49-4a23-bac0-74f1e6d20792', 'Indian Fig (Prickly Pear)', 'SKU-INDIANFIG', 3.80, 0, 40);
-INSERT INTO product_entity (id, name, sku, price, version, stock) VALUES ('45d3c691-8a54-4f0c-85c2-1e3882c8a7b6', 'Jackfruit', 'SKU-JACKFRUIT', 1.80, 0, 70);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('d290f1ee-6c54-4b01-90e6-d701748f0851', 'Apple', 'SKU-APPLE', 150, 0, 100);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('f47ac10b-58cc-4372-a567-0e02b2c3d479', 'Banana', 'SKU-BANANA', 50, 0, 150);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('7c9e6679-7425-40de-944b-e07fc1f90ae7', 'Cherry', 'SKU-CHERRY', 300, 0, 200);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('123e4567-e89b-12d3-a456-426614174000', 'Date', 'SKU-DATE', 200, 0, 120);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('5a4d7f9a-6b58-41d6-9174-22936d5ecaa4', 'Elderberry', 'SKU-ELDERBERRY', 400, 0, 80);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('3b241101-e2bb-4255-8caf-4136c566a962', 'Fig', 'SKU-FIG', 250, 0, 90);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('fbdc6a0c-05a1-4d21-a79c-4a9e86f07f01', 'Grape', 'SKU-GRAPE', 220, 0, 110);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('e58c4c5a-93d3-4b14-ae8c-faa21db0f2e2', 'Honeydew Melon', 'SKU-HONEYDEW', 350, 0, 60);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('a1d8c9f9-6a49-4a23-bac0-74f1e6d20792', 'Indian Fig (Prickly Pear)', 'SKU-INDIANFIG', 380, 0, 40);
+INSERT INTO product_entity (id, name, sku, price_minor, version, stock) VALUES ('45d3c691-8a54-4f0c-85c2-1e3882c8a7b6', 'Jackfruit', 'SKU-JACKFRUIT', 180, 0, 70);
 
 -- Orders
 INSERT INTO order_entity (id, status) VALUES ('56e8b2e3-984c-4c0e-9d48-2d3c63d8e05f', 'COMPLETED');
@@ -0,0 +1,73 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Integration tests for the file-backed h2file profile.
+ * Verifies that data survives a restart and that the sample data is applied only once.
+ */
+class H2FileProfileTest {
+
+    /**
+     * Directory holding the database file of the test.
+     */
+    @TempDir
+    Path databaseDirectory;
+
+    /**
+     * Test case for restarting the application on an existing database file.
+     */
+    @Test
+    @DisplayName("Restart on existing database - data is kept and sample data is not replayed")
+    void testRestart_keepsData() {
+        Path databasePath = databaseDirectory.resolve("inventorydb");
+        UUID productId;
+        long productCount;
+
+        // First start creates and migrates the database file
+        try (ConfigurableApplicationContext context = start(databasePath)) {
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            ProductEntity product = new ProductEntity();
+            product.setName("Kiwi");
+            product.setSku("SKU-KIWI");
+            product.setPrice(new BigDecimal("0.80"));
+            product.setStock(25);
+            productId = productRepository.save(product).getId();
+            productCount = productRepository.count();
+        }
+        Assertions.assertTrue(Files.exists(databaseDirectory.resolve("inventorydb.mv.db")));
+
+        // Second start opens the existing file
+        try (ConfigurableApplicationContext context = start(databasePath)) {
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            Assertions.assertEquals(productCount, productRepository.count());
+            Assertions.assertEquals(25, productRepository.findById(productId).orElseThrow().getStock());
+        }
+    }
+
+    /**
+     * Starts the application with the h2file profile on the given database file.
+     *
+     * @param databasePath the path of the database, without the .mv.db extension
+     * @return the started application context
+     */
+    private ConfigurableApplicationContext start(Path databasePath) {
+        return new SpringApplicationBuilder(InventoryManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2file")
+                .run("--inventory.h2.path=" + databasePath.toAbsolutePath());
+    }
+}
@@ -0,0 +1,169 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.archive.OrderArchive;
+import com.cams.inventory.management.archive.OrderArchiveSegment;
+import com.cams.inventory.management.dto.SalesFiguresDto;
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.handler.OrderArchivedException;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.order.OrderArchiveScheduler;
+import com.cams.inventory.management.service.order.OrderService;
+import com.cams.inventory.management.service.report.SalesReportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration tests for archiving old completed orders into segment files and reading them back.
+ * Every run archives into its own directory under target.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivingdb",
+        "inventory.order-archive.directory=target/order-archive/${random.uuid}",
+        "inventory.order-archive.min-age-days=90",
+        "inventory.order-archive.chunk-size=2"})
+class OrderArchivingTest {
+
+    /**
+     * Identifier of the sample product Cherry, priced 3.00.
+     */
+    private static final String PRODUCT_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Scheduler archiving the old orders.
+     */
+    @Autowired
+    private OrderArchiveScheduler orderArchiveScheduler;
+
+    /**
+     * Archive the orders are moved to.
+     */
+    @Autowired
+    private OrderArchive orderArchive;
+
+    /**
+     * Template for backdating orders and reading the order tables.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Service reading and rebuilding the sales rollups.
+     */
+    @Autowired
+    private SalesReportService salesReportService;
+
+    /**
+     * Test case for archiving old orders in chunks while recent orders stay in the database,
+     * and for reading the archived orders back.
+     */
+    @Test
+    @DisplayName("Archive orders - old completed orders moved to segments and still readable")
+    void testArchiveOrders() {
+        List<UUID> oldOrderIds = List.of(createOrder(2), createOrder(1), createOrder(4));
+        UUID recentOrderId = createOrder(1);
+        String eTagBefore = orderService.getProductSummaryETag(oldOrderIds.get(0));
+        int ordersBefore = orderArchive.getSegments().stream().mapToInt(OrderArchiveSegment::getOrderCount).sum();
+        oldOrderIds.forEach(orderId -> jdbcTemplate.update(
+                "UPDATE order_entity SET order_created_date = DATEADD('DAY', -100, order_created_date) WHERE id = ?",
+                orderId));
+
+        // Three orders in chunks of two, whose segments are merged with the earlier ones
+        Assertions.assertEquals(3, orderArchiveScheduler.archiveOrders());
+
+        Assertions.assertEquals(1, orderArchive.getSegments().size());
+        Assertions.assertEquals(ordersBefore + 3, orderArchive.getSegments().get(0).getOrderCount());
+        for (UUID orderId : oldOrderIds) {
+            Assertions.assertEquals(0, countRows("order_entity", "id", orderId));
+            Assertions.assertEquals(0, countRows("order_item_entity", "order_id", orderId));
+        }
+        Assertions.assertEquals(1, countRows("order_entity", "id", recentOrderId));
+
+        Assertions.assertEquals(Map.of("Cherry", new BigDecimal("6.00")),
+                orderService.getProductSummaryDetails(oldOrderIds.get(0)));
+        Assertions.assertEquals(Map.of("Cherry", new BigDecimal("12.00")),
+                orderService.getProductSummaryDetails(oldOrderIds.get(2)));
+        Assertions.assertEquals(eTagBefore, orderService.getProductSummaryETag(oldOrderIds.get(0)));
+        Assertions.assertThrows(OrderArchivedException.class,
+                () -> orderService.updateOrderStatus(oldOrderIds.get(1), OrderStatus.CANCELLED));
+
+        // Nothing left to archive
+        Assertions.assertEquals(0, orderArchiveScheduler.archiveOrders());
+        Assertions.assertEquals(1, orderArchive.getSegments().size());
+    }
+
+    /**
+     * Test case for rebuilding the rollups of a day whose orders were archived: the rebuild is rejected,
+     * and the rollups still count the archived orders.
+     */
+    @Test
+    @DisplayName("Archive orders - rollups of an archived day are not rebuilt")
+    void testRebuildSalesRollups_archivedDay() {
+        LocalDate day = LocalDate.now().minusDays(100);
+        UUID orderId = createOrder(3);
+        jdbcTemplate.update("UPDATE order_entity SET order_created_date = ? WHERE id = ?",
+                Timestamp.valueOf(day.atTime(10, 0)), orderId);
+        // The rollups recorded when the order was created, on what is now its day
+        jdbcTemplate.update("INSERT INTO sales_rollup_day (sale_date, status, units, revenue_minor, order_count) "
+                + "VALUES (?, 'COMPLETED', 3, 900, 1)", day);
+        jdbcTemplate.update("INSERT INTO sales_rollup_product_day (sale_date, product_id, status, units, revenue_minor, "
+                + "order_count) VALUES (?, ?, 'COMPLETED', 3, 900, 1)", day, UUID.fromString(PRODUCT_ID));
+        orderArchiveScheduler.archiveOrders();
+        Assertions.assertEquals(0, countRows("order_entity", "id", orderId));
+
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> salesReportService.rebuildSalesRollups(day, day.plusDays(1)));
+
+        SalesReportDto rollups = salesReportService.getDailySalesReport(day, day.plusDays(1));
+        Assertions.assertEquals(new SalesFiguresDto(3, new BigDecimal("9.00"), 1), rollups.getTotal());
+        Assertions.assertEquals(Map.of(PRODUCT_ID, new SalesFiguresDto(3, new BigDecimal("9.00"), 1)),
+                rollups.getByProduct());
+    }
+
+    /**
+     * Creates an order of the sample product through the order service.
+     *
+     * @param quantity the ordered quantity
+     * @return the identifier of the created order
+     */
+    private UUID createOrder(int quantity) {
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(PRODUCT_ID);
+        itemRequest.setQuantity(quantity);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest));
+        return UUID.fromString(orderService.createOrder(orderRequest).getId());
+    }
+
+    /**
+     * Counts the rows of a table with the given value in a column.
+     *
+     * @param table  the table name
+     * @param column the column name
+     * @param value  the value
+     * @return the number of rows
+     */
+    private int countRows(String table, String column, UUID value) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?",
+                Integer.class, value);
+    }
+}
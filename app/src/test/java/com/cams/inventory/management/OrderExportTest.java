@@ -0,0 +1,156 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the order export.
+ * Orders are moved to a recent day in the past, after the archive cutoff, and exported from the database as CSV.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderexportdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "inventory.outbox.relay.enabled=false"})
+class OrderExportTest {
+
+    /**
+     * Identifier of the sample product Apple, priced 1.50.
+     */
+    private static final String APPLE_ID = "d290f1ee-6c54-4b01-90e6-d701748f0851";
+
+    /**
+     * Identifier of the sample product Cherry, priced 3.00.
+     */
+    private static final String CHERRY_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Template for moving the orders to their creation dates.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Entity manager factory exposing the Hibernate statistics.
+     */
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Test case for the export of a day: one line per item at the price it was ordered at, newest order first,
+     * and no entity loaded.
+     */
+    @Test
+    @DisplayName("Order export - one line per item at its ordered price, newest order first, no entities loaded")
+    void testExportOrders() {
+        LocalDateTime day = LocalDate.now().minusDays(10).atStartOfDay();
+        List<String> orderIds = new ArrayList<>();
+        for (int hour = 1; hour <= 3; hour++) {
+            String orderId = orderService.createOrder(orderRequest(hour)).getId();
+            jdbcTemplate.update("UPDATE order_entity SET order_created_date = ? WHERE id = ?",
+                    Timestamp.valueOf(day.plusHours(hour)), UUID.fromString(orderId));
+            orderIds.add(0, orderId);
+        }
+        // Created the next day, outside of the range
+        String otherDayOrderId = orderService.createOrder(orderRequest(1)).getId();
+        jdbcTemplate.update("UPDATE order_entity SET order_created_date = ? WHERE id = ?",
+                Timestamp.valueOf(day.plusDays(1)), UUID.fromString(otherDayOrderId));
+        // Repriced after the orders, which keep the prices they were ordered at
+        jdbcTemplate.update("UPDATE product_entity SET price_minor = price_minor * 2 WHERE id IN (?, ?)",
+                UUID.fromString(APPLE_ID), UUID.fromString(CHERRY_ID));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        Assertions.assertEquals(6, orderService.exportOrders(day, day.plusDays(1), outputStream));
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertEquals(7, lines.size());
+        Assertions.assertTrue(lines.get(0).startsWith("order_id,"));
+        for (int i = 0; i < 3; i++) {
+            // Two lines per order, for Apple and Cherry; the newest order was created at hour 3
+            for (String line : lines.subList(1 + 2 * i, 3 + 2 * i)) {
+                String[] fields = line.split(",");
+                int quantity = 3 - i;
+                Assertions.assertEquals(List.of(orderIds.get(i), "COMPLETED", day.plusHours(quantity).toString()),
+                        List.of(fields[0], fields[1], fields[2]), line);
+                boolean apple = APPLE_ID.equals(fields[4]);
+                BigDecimal unitPrice = new BigDecimal(apple ? "1.50" : "3.00");
+                Assertions.assertEquals(List.of(apple ? "SKU-APPLE" : "SKU-CHERRY", apple ? "Apple" : "Cherry",
+                                unitPrice.toPlainString(), String.valueOf(quantity),
+                                unitPrice.multiply(BigDecimal.valueOf(quantity)).toPlainString()),
+                        List.of(fields).subList(5, 10), line);
+            }
+        }
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test case for the export of a range starting before the archive cutoff, whose completed orders may
+     * no longer be in the database: the export is rejected rather than silently incomplete.
+     */
+    @Test
+    @DisplayName("Order export - range before the archive cutoff rejected")
+    void testExportOrders_beforeArchiveCutoff() {
+        LocalDateTime from = orderService.getArchiveCutoff().minusDays(1);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> orderService.exportOrders(from, from.plusDays(2), outputStream));
+        Assertions.assertEquals(0, outputStream.size());
+    }
+
+    /**
+     * Builds an order request for the sample products Apple and Cherry.
+     *
+     * @param quantity the quantity of each product
+     * @return the order request
+     */
+    private static OrderRequest orderRequest(int quantity) {
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest(APPLE_ID, quantity), itemRequest(CHERRY_ID, quantity)));
+        return orderRequest;
+    }
+
+    /**
+     * Builds an order item request.
+     *
+     * @param productId the identifier of the product
+     * @param quantity  the ordered quantity
+     * @return the order item request
+     */
+    private static ProductItemRequest itemRequest(String productId, int quantity) {
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(productId);
+        itemRequest.setQuantity(quantity);
+        return itemRequest;
+    }
+}
@@ -0,0 +1,151 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.dto.OrderHistoryPageDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the order history.
+ * Orders are moved to their own day in the past, several of them sharing a creation date, and the
+ * history of that day is walked page by page.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderhistorydb",
+        "inventory.outbox.relay.enabled=false"})
+class OrderHistoryTest {
+
+    /**
+     * Identifier of the sample product Cherry, ordered by every test order.
+     */
+    private static final String PRODUCT_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Template for moving the orders to their creation dates.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * The test orders, newest first, as the history must return them.
+     */
+    private List<UUID> expected;
+
+    /**
+     * Start of the day the test orders are moved to.
+     */
+    private LocalDateTime day;
+
+    /**
+     * Creates seven orders on a day of their own: three share the same creation date, one of them is
+     * cancelled, and the others are one hour apart.
+     */
+    @BeforeEach
+    void setUp() {
+        day = LocalDateTime.of(2001, 1, 1, 0, 0).plusDays(UUID.randomUUID().getLeastSignificantBits() & 0xFFFF);
+        List<UUID> orderIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            UUID orderId = UUID.fromString(orderService.createOrder(orderRequest()).getId());
+            LocalDateTime createdDate = i < 3 ? day.plusHours(12) : day.plusHours(i);
+            jdbcTemplate.update("UPDATE order_entity SET order_created_date = ? WHERE id = ?",
+                    Timestamp.valueOf(createdDate), orderId);
+            orderIds.add(orderId);
+        }
+        orderService.updateOrderStatus(orderIds.get(1), OrderStatus.CANCELLED);
+
+        // Newest first; ties on the creation date are broken by descending id
+        expected = jdbcTemplate.queryForList("SELECT id FROM order_entity WHERE order_created_date >= ? "
+                        + "AND order_created_date < ? ORDER BY order_created_date DESC, id DESC",
+                UUID.class, Timestamp.valueOf(day), Timestamp.valueOf(day.plusDays(1)));
+        Assertions.assertEquals(7, expected.size());
+    }
+
+    /**
+     * Test case for walking the history of the day two orders at a time.
+     */
+    @Test
+    @DisplayName("Order history - every order once, newest first, across pages")
+    void testGetOrderHistory_allPages() {
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            OrderHistoryPageDto page = orderService.getOrderHistory(null, day, day.plusDays(1), cursor, 2);
+            page.getOrders().forEach(order -> {
+                Assertions.assertEquals(1, order.getItems().size());
+                Assertions.assertEquals(PRODUCT_ID, order.getItems().get(0).getProduct().getId());
+                seen.add(UUID.fromString(order.getId()));
+            });
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Assertions.assertEquals(expected, seen);
+        Assertions.assertEquals(4, pages);
+    }
+
+    /**
+     * Test case for the history filtered by status, in one page.
+     */
+    @Test
+    @DisplayName("Order history - filtered by status, partial page has no next cursor")
+    void testGetOrderHistory_byStatus() {
+        OrderHistoryPageDto completed = orderService.getOrderHistory(OrderStatus.COMPLETED, day, day.plusDays(1), null, 10);
+        OrderHistoryPageDto cancelled = orderService.getOrderHistory(OrderStatus.CANCELLED, day, day.plusDays(1), null, 10);
+
+        Assertions.assertEquals(6, completed.getOrders().size());
+        Assertions.assertNull(completed.getNextCursor());
+        Assertions.assertEquals(1, cancelled.getOrders().size());
+        Assertions.assertEquals(OrderStatus.CANCELLED, cancelled.getOrders().get(0).getStatus());
+        Assertions.assertEquals(expected.stream().filter(id -> !id.toString().equals(cancelled.getOrders().get(0).getId())).toList(),
+                completed.getOrders().stream().map(order -> UUID.fromString(order.getId())).toList());
+    }
+
+    /**
+     * Test case for the bounds of the creation date: the lower bound is inclusive, the upper bound exclusive.
+     */
+    @Test
+    @DisplayName("Order history - from is inclusive, to is exclusive")
+    void testGetOrderHistory_dateRange() {
+        List<OrderDto> orders = orderService.getOrderHistory(null, day.plusHours(4), day.plusHours(6), null, 10).getOrders();
+
+        Assertions.assertEquals(List.of(expected.get(4), expected.get(5)),
+                orders.stream().map(order -> UUID.fromString(order.getId())).toList());
+        Assertions.assertEquals(day.plusHours(5), orders.get(0).getOrderCreatedDate());
+    }
+
+    /**
+     * Builds an order request for one unit of the sample product Cherry.
+     *
+     * @return the order request
+     */
+    private static OrderRequest orderRequest() {
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(PRODUCT_ID);
+        itemRequest.setQuantity(1);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest));
+        return orderRequest;
+    }
+}
@@ -0,0 +1,229 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.entity.constant.OrderEventType;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.outbox.OutboxMessage;
+import com.cams.inventory.management.outbox.OutboxRelay;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Integration tests for the transactional outbox of order events with the in-process listener sink.
+ * The poll interval is long enough for the tests to drain the outbox explicitly.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdb",
+        "inventory.outbox.sink=listener",
+        "inventory.outbox.batch-size=2",
+        "inventory.outbox.poll-interval-ms=3600000"})
+class OrderOutboxTest {
+
+    /**
+     * Identifier of a sample product with enough stock.
+     */
+    private static final String PRODUCT_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Relay draining the outbox.
+     */
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    /**
+     * Listener collecting the delivered events.
+     */
+    @Autowired
+    private CollectingListener listener;
+
+    /**
+     * Template for reading the outbox table.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mapper reading the event payloads.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Starts every test with an empty outbox and a working listener.
+     */
+    @BeforeEach
+    void setUp() {
+        outboxRelay.drain();
+        listener.clear();
+    }
+
+    /**
+     * Restores the working listener.
+     */
+    @AfterEach
+    void tearDown() {
+        listener.failing = false;
+    }
+
+    /**
+     * Test case for the events of an order, written with the order and delivered in batches.
+     *
+     * @throws JsonProcessingException if a payload cannot be read
+     */
+    @Test
+    @DisplayName("Order events - written with the order, delivered in order and removed")
+    void testOrderEvents_delivered() throws JsonProcessingException {
+        OrderDto order = orderService.createOrder(orderRequest(2));
+        orderService.updateOrderStatus(UUID.fromString(order.getId()), OrderStatus.CANCELLED);
+        orderService.createOrder(orderRequest(1));
+        Assertions.assertEquals(3, outboxSize());
+
+        // A full batch of two, then a batch with the last event
+        Assertions.assertEquals(3, outboxRelay.drain());
+
+        Assertions.assertEquals(0, outboxSize());
+        List<OutboxMessage> messages = listener.messages;
+        Assertions.assertEquals(3, messages.size());
+        Assertions.assertEquals(OrderEventType.ORDER_CREATED.name(), messages.get(0).getEventType());
+        Assertions.assertEquals(OrderEventType.ORDER_STATUS_CHANGED.name(), messages.get(1).getEventType());
+        Assertions.assertEquals(order.getId(), messages.get(1).getAggregateId().toString());
+        JsonNode payload = objectMapper.readTree(messages.get(1).getPayload());
+        Assertions.assertEquals("CANCELLED", payload.get("status").asText());
+        Assertions.assertEquals(PRODUCT_ID, payload.get("items").get(0).get("productId").asText());
+        Assertions.assertEquals(2, payload.get("items").get(0).get("quantity").asInt());
+    }
+
+    /**
+     * Test case for an order that fails, which must not leave an event behind.
+     */
+    @Test
+    @DisplayName("Order events - none written when the order is rolled back")
+    void testOrderEvents_rolledBackWithOrder() {
+        Assertions.assertThrows(RuntimeException.class, () -> orderService.createOrder(orderRequest(Integer.MAX_VALUE)));
+
+        Assertions.assertEquals(0, outboxSize());
+    }
+
+    /**
+     * Test case for a failing sink: the batch stays in the outbox and is delivered again.
+     */
+    @Test
+    @DisplayName("Order events - retained when delivery fails and redelivered")
+    void testOrderEvents_redeliveredAfterFailure() {
+        orderService.createOrder(orderRequest(1));
+        listener.failing = true;
+
+        Assertions.assertEquals(0, outboxRelay.drain());
+        Assertions.assertEquals(1, outboxSize());
+
+        listener.failing = false;
+        Assertions.assertEquals(1, outboxRelay.drain());
+        Assertions.assertEquals(0, outboxSize());
+
+        // The failed attempt saw the event too: consumers deduplicate by id
+        Assertions.assertEquals(2, listener.messages.size());
+        Assertions.assertEquals(listener.messages.get(0).getId(), listener.messages.get(1).getId());
+    }
+
+    /**
+     * Counts the events waiting in the outbox.
+     *
+     * @return the number of events
+     */
+    private int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event", Integer.class);
+    }
+
+    /**
+     * Builds an order request for the sample product.
+     *
+     * @param quantity the ordered quantity
+     * @return the order request
+     */
+    private static OrderRequest orderRequest(int quantity) {
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(PRODUCT_ID);
+        itemRequest.setQuantity(quantity);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest));
+        return orderRequest;
+    }
+
+    /**
+     * Test configuration registering the collecting listener.
+     */
+    @TestConfiguration
+    static class ListenerConfig {
+
+        /**
+         * Creates the collecting listener.
+         *
+         * @return the listener
+         */
+        @Bean
+        CollectingListener collectingListener() {
+            return new CollectingListener();
+        }
+    }
+
+    /**
+     * Listener collecting every delivered event, optionally failing after collecting it.
+     */
+    static class CollectingListener {
+
+        /**
+         * Events received, in delivery order.
+         */
+        final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+
+        /**
+         * Whether the listener fails every delivery.
+         */
+        volatile boolean failing;
+
+        /**
+         * Collects a delivered event.
+         *
+         * @param message the event
+         */
+        @EventListener
+        void onMessage(OutboxMessage message) {
+            messages.add(message);
+            if (failing) {
+                throw new IllegalStateException("Listener unavailable");
+            }
+        }
+
+        /**
+         * Forgets the collected events.
+         */
+        void clear() {
+            messages.clear();
+        }
+    }
+}
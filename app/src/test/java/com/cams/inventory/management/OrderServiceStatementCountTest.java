@@ -0,0 +1,216 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.dto.OrderHistoryPageDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Regression tests for the number of SQL statements executed by each OrderService method.
+ * Guards the lazy order associations and their fetch plans against N+1 selects.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementcountdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "inventory.outbox.relay.enabled=false"})
+class OrderServiceStatementCountTest {
+
+    /**
+     * Service for handling order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Repository for performing CRUD operations on products.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Entity manager factory exposing the Hibernate statistics.
+     */
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Hibernate statistics used to count executed statements.
+     */
+    private Statistics statistics;
+
+    /**
+     * Products ordered by each test.
+     */
+    private List<ProductEntity> products;
+
+    /**
+     * Creates two products with unique SKUs and clears the statistics.
+     */
+    @BeforeEach
+    void setUp() {
+        products = List.of(saveProduct("Kiwi"), saveProduct("Lemon"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Test case for creating an order with two items.
+     * Products are loaded with one query, then the order, its items, the stock changes and
+     * the stock ledger movements are written.
+     */
+    @Test
+    @DisplayName("Create order - one product select plus the inserts and stock updates")
+    void testCreateOrder_statementCount() {
+        orderService.createOrder(orderRequest());
+
+        // 1 product select + 1 order insert + 2 item inserts + 2 product updates + 2 movement inserts + 1 outbox insert
+        Assertions.assertEquals(9, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test case for cancelling an order with two items.
+     * The order, items and products are fetched with a single joined query, then the status,
+     * the returned stock and the stock ledger movements are written.
+     */
+    @Test
+    @DisplayName("Cancel order - one joined select plus the updates and movement inserts")
+    void testUpdateOrderStatus_statementCount() {
+        UUID orderId = createOrder();
+
+        OrderDto result = orderService.updateOrderStatus(orderId, OrderStatus.CANCELLED);
+
+        // 1 joined select + 1 order update + 2 product updates + 2 movement inserts + 1 outbox insert
+        Assertions.assertEquals(2, result.getItems().size());
+        Assertions.assertEquals(7, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test case for the product summary of an order with two items.
+     */
+    @Test
+    @DisplayName("Product summary - one joined select")
+    void testGetProductSummaryDetails_statementCount() {
+        UUID orderId = createOrder();
+
+        Map<String, BigDecimal> result = orderService.getProductSummaryDetails(orderId);
+
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test case for the entity tag of the product summary of an order with two items.
+     */
+    @Test
+    @DisplayName("Product summary entity tag - one projection select")
+    void testGetProductSummaryETag_statementCount() {
+        UUID orderId = createOrder();
+
+        Assertions.assertNotNull(orderService.getProductSummaryETag(orderId));
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test case for reading an order back: a new order and its products are served from the caches,
+     * an updated order is evicted and loaded again with one joined select.
+     */
+    @Test
+    @DisplayName("Get order - cached after create, one joined select after an update")
+    void testGetOrder_statementCount() {
+        UUID orderId = createOrder();
+
+        Assertions.assertEquals(OrderStatus.COMPLETED, orderService.getOrder(orderId).getStatus());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+
+        orderService.updateOrderStatus(orderId, OrderStatus.CANCELLED);
+        statistics.clear();
+
+        OrderDto result = orderService.getOrder(orderId);
+        Assertions.assertEquals(OrderStatus.CANCELLED, result.getStatus());
+        Assertions.assertEquals(products.get(0).getStock(), result.getItems().stream()
+                .filter(item -> item.getProductId().equals(products.get(0).getId().toString()))
+                .findFirst().orElseThrow().getProduct().getStock());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        orderService.getOrder(orderId);
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test case for a page of the order history: the orders, then the items and products of the
+     * whole page, whatever the number of orders on it.
+     */
+    @Test
+    @DisplayName("Order history page - keyset select and one joined select for the items")
+    void testGetOrderHistory_statementCount() {
+        createOrder();
+        createOrder();
+        createOrder();
+
+        OrderHistoryPageDto page = orderService.getOrderHistory(OrderStatus.COMPLETED, null, null, null, 3);
+
+        Assertions.assertEquals(3, page.getOrders().size());
+        page.getOrders().forEach(order -> Assertions.assertEquals(2, order.getItems().size()));
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Creates an order for the test products and clears the statistics.
+     *
+     * @return the id of the created order
+     */
+    private UUID createOrder() {
+        UUID orderId = UUID.fromString(orderService.createOrder(orderRequest()).getId());
+        statistics.clear();
+        return orderId;
+    }
+
+    /**
+     * Builds an order request for one unit of each test product.
+     *
+     * @return the order request
+     */
+    private OrderRequest orderRequest() {
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(products.stream().map(product -> {
+            ProductItemRequest itemRequest = new ProductItemRequest();
+            itemRequest.setProductId(product.getId().toString());
+            itemRequest.setQuantity(1);
+            return itemRequest;
+        }).toList());
+        return orderRequest;
+    }
+
+    /**
+     * Saves a product with a unique SKU.
+     *
+     * @param name the name of the product
+     * @return the saved product
+     */
+    private ProductEntity saveProduct(String name) {
+        ProductEntity product = new ProductEntity();
+        product.setName(name);
+        product.setSku("COUNT-" + UUID.randomUUID());
+        product.setPrice(new BigDecimal("1.00"));
+        product.setStock(100);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,62 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.handler.PreconditionFailedException;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.service.product.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.util.Pair;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for If-Match style conditional product updates.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class)
+@Transactional
+class ProductConditionalUpdateTest {
+
+    /**
+     * Service for handling product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Repository for performing CRUD operations on products.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Test case for two writers racing on the same product version.
+     * Only the first conditional update succeeds; the second fails its precondition.
+     */
+    @Test
+    @DisplayName("Conditional stock update - second writer with the same version is rejected")
+    void testUpdateProductStock_compareAndSet() {
+        //Create and save a product at version 0
+        ProductEntity product = new ProductEntity();
+        product.setName("Conditional Product");
+        product.setSku("TEST-PRODUCT-CAS");
+        product.setStock(10);
+        ProductEntity savedProduct = productRepository.saveAndFlush(product);
+        int version = savedProduct.getVersion();
+
+        //First writer updates at the current version
+        Pair<ProductDto, String> result = productService.updateProductStock(savedProduct.getId(), version, 25);
+        Assertions.assertEquals(25, result.getFirst().getStock());
+        Assertions.assertEquals("\"" + (version + 1) + "\"", result.getSecond());
+
+        //Second writer still holds the old version
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> productService.updateProductStock(savedProduct.getId(), version, 5));
+
+        //Verify the first write is kept
+        Assertions.assertEquals(25, productRepository.findById(savedProduct.getId()).orElseThrow().getStock());
+    }
+}
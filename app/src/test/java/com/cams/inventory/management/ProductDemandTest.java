@@ -0,0 +1,110 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dao.demand.ProductDemandDao;
+import com.cams.inventory.management.dto.ReorderProductDto;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.demand.DemandTracker;
+import com.cams.inventory.management.service.order.OrderService;
+import com.cams.inventory.management.service.product.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the demand rates.
+ * Orders of the sample product Cherry raise its demand rate once committed, the rate is saved and read
+ * back by a new tracker as after a restart, and the reorder projection divides the stock by it.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:productdemanddb",
+        "inventory.outbox.relay.enabled=false"})
+class ProductDemandTest {
+
+    /**
+     * Identifier of the sample product Cherry, 200 in stock.
+     */
+    private static final UUID CHERRY_ID = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Service for product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Tracker of the demand rates.
+     */
+    @Autowired
+    private DemandTracker demandTracker;
+
+    /**
+     * DAO reading and saving the rates.
+     */
+    @Autowired
+    private ProductDemandDao productDemandDao;
+
+    /**
+     * Template for reading the saved rates.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case for the demand of committed orders, its projection and its persistence.
+     */
+    @Test
+    @DisplayName("Product demand - raised by committed orders, projected against the stock and saved")
+    void testProductDemand() {
+        for (int i = 0; i < 4; i++) {
+            orderService.createOrder(orderRequest(10));
+        }
+        // 40 units sold now weigh 40 / (7 days / ln 2) units a day
+        double dailyDemand = 40 * Math.log(2) / 7;
+        Assertions.assertEquals(dailyDemand, demandTracker.getDailyDemand(CHERRY_ID, Instant.now()), 0.01);
+
+        List<ReorderProductDto> reorderProducts = productService.getReorderProducts(365, 10);
+        Assertions.assertEquals(1, reorderProducts.size());
+        Assertions.assertEquals("Cherry", reorderProducts.get(0).getName());
+        Assertions.assertEquals(160, reorderProducts.get(0).getStock());
+        Assertions.assertEquals(160 / dailyDemand, reorderProducts.get(0).getDaysUntilStockout(), 0.1);
+        Assertions.assertTrue(productService.getReorderProducts(30, 10).isEmpty());
+
+        Assertions.assertEquals(1, demandTracker.save());
+        Assertions.assertEquals(0, demandTracker.save());
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_demand", Integer.class));
+
+        // A new tracker reads the saved rate back, as after a restart
+        DemandTracker restarted = new DemandTracker(productDemandDao, 7, 16);
+        restarted.load();
+        Assertions.assertEquals(dailyDemand, restarted.getDailyDemand(CHERRY_ID, Instant.now()), 0.01);
+    }
+
+    /**
+     * Builds an order request for the sample product Cherry.
+     *
+     * @param quantity the ordered quantity
+     * @return the order request
+     */
+    private static OrderRequest orderRequest(int quantity) {
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(CHERRY_ID.toString());
+        itemRequest.setQuantity(quantity);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest));
+        return orderRequest;
+    }
+}
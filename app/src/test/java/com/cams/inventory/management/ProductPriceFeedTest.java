@@ -0,0 +1,95 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.PriceChangeLineDto;
+import com.cams.inventory.management.dto.PriceUpdateProgressDto;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.request.ProductPriceChangeRequest;
+import com.cams.inventory.management.service.product.PriceUpdateService;
+import com.cams.inventory.management.service.product.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the bulk price update.
+ * The sample products Apple and Cherry are repriced by id and SKU from a feed of three chunks; the new
+ * prices must show in the products and their cached snapshots, and the progress of every chunk be reported.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:pricefeeddb",
+        "inventory.price-update.chunk-size=2",
+        "inventory.outbox.relay.enabled=false"})
+class ProductPriceFeedTest {
+
+    /**
+     * Identifier of the sample product Apple.
+     */
+    private static final UUID APPLE_ID = UUID.fromString("d290f1ee-6c54-4b01-90e6-d701748f0851");
+
+    /**
+     * Identifier of the sample product Cherry.
+     */
+    private static final UUID CHERRY_ID = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+
+    /**
+     * Service applying price feeds.
+     */
+    @Autowired
+    private PriceUpdateService priceUpdateService;
+
+    /**
+     * Service for product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Repository for reading the products back.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Test case for a feed of three chunks: prices, versions, cache and progress all follow.
+     */
+    @Test
+    @DisplayName("Price feed - prices replaced by id and SKU, versions bumped once, cache current")
+    void testUpdatePrices() {
+        ProductEntity apple = productRepository.findById(APPLE_ID).orElseThrow();
+        ProductEntity cherry = productRepository.findById(CHERRY_ID).orElseThrow();
+        // Cache the snapshot of Apple, the feed must evict it
+        Assertions.assertEquals(0, apple.getPrice().compareTo(productService.getProductById(APPLE_ID).getPrice()));
+        BigDecimal applePrice = apple.getPrice().add(new BigDecimal("0.25"));
+        List<PriceUpdateProgressDto> progress = new ArrayList<>();
+
+        PriceUpdateProgressDto outcome = priceUpdateService.updatePrices(List.of(
+                new ProductPriceChangeRequest(null, "SKU-APPLE", applePrice),
+                new ProductPriceChangeRequest(CHERRY_ID.toString(), null, cherry.getPrice()),
+                new ProductPriceChangeRequest(null, "SKU-NOT-SOLD", BigDecimal.ONE),
+                new ProductPriceChangeRequest(null, "SKU-CHERRY", new BigDecimal("-1")),
+                new ProductPriceChangeRequest(APPLE_ID.toString(), null, applePrice)), progress::add);
+
+        Assertions.assertEquals(List.of(2, 4, 5), progress.stream().map(PriceUpdateProgressDto::getLinesDone).toList());
+        Assertions.assertEquals(outcome, progress.get(2));
+        // The last Apple line finds the price already set
+        Assertions.assertEquals(1, outcome.getUpdated());
+        Assertions.assertEquals(2, outcome.getUnchanged());
+        Assertions.assertEquals(List.of(PriceChangeLineDto.Status.NOT_FOUND, PriceChangeLineDto.Status.INVALID),
+                progress.get(1).getRejections().stream().map(PriceChangeLineDto::getStatus).toList());
+
+        ProductEntity repricedApple = productRepository.findById(APPLE_ID).orElseThrow();
+        ProductEntity repricedCherry = productRepository.findById(CHERRY_ID).orElseThrow();
+        Assertions.assertEquals(0, applePrice.compareTo(repricedApple.getPrice()));
+        Assertions.assertEquals(apple.getVersion() + 1, repricedApple.getVersion());
+        Assertions.assertEquals(cherry.getVersion(), repricedCherry.getVersion());
+        Assertions.assertEquals(0, applePrice.compareTo(productService.getProductById(APPLE_ID).getPrice()));
+    }
+}
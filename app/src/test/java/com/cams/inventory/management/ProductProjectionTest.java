@@ -0,0 +1,93 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dao.product.ProductDao;
+import com.cams.inventory.management.dto.ProductDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Integration tests for the read-only product list projections.
+ * Verifies that rows are built in the query and no managed entities are loaded.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:projectiondb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "inventory.outbox.relay.enabled=false"})
+class ProductProjectionTest {
+
+    /**
+     * DAO for product-related database operations.
+     */
+    @Autowired
+    private ProductDao productDao;
+
+    /**
+     * Entity manager factory exposing the Hibernate statistics.
+     */
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Hibernate statistics used to count loaded entities.
+     */
+    private Statistics statistics;
+
+    /**
+     * Clears the statistics before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Test case for projecting products by SKU.
+     */
+    @Test
+    @DisplayName("Products by SKU - projected without loading entities")
+    void testGetProductsBySku() {
+        List<ProductDto> products = productDao.getProductsBySku(List.of("SKU-APPLE"));
+
+        Assertions.assertEquals(1, products.size());
+        Assertions.assertEquals("d290f1ee-6c54-4b01-90e6-d701748f0851", products.get(0).getId());
+        Assertions.assertEquals("Apple", products.get(0).getName());
+        Assertions.assertEquals(0, new BigDecimal("1.50").compareTo(products.get(0).getPrice()));
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Test case for projecting all products.
+     */
+    @Test
+    @DisplayName("All products - projected without loading entities")
+    void testGetAllProducts() {
+        List<ProductDto> products = productDao.getAllProducts();
+
+        Assertions.assertFalse(products.isEmpty());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Test case for projecting low-stock products, filtered by the database.
+     */
+    @Test
+    @DisplayName("Low stock products - filtered in the query and projected without loading entities")
+    void testGetLowStockProducts() {
+        List<ProductDto> products = productDao.getLowStockProducts(61);
+
+        Assertions.assertFalse(products.isEmpty());
+        Assertions.assertTrue(products.stream().allMatch(product -> product.getStock() < 61));
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,117 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.ReorderPointDto;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import com.cams.inventory.management.service.product.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the per-product reorder thresholds.
+ * Products enter and leave the reorder point as their threshold and their stock change, whatever the write.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reorderpointdb",
+        "inventory.outbox.relay.enabled=false"})
+class ProductReorderPointTest {
+
+    /**
+     * Service for product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Repository for creating the test products.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Test case for a fast mover and a slow mover with their own thresholds.
+     */
+    @Test
+    @DisplayName("Reorder point - products flagged by their own threshold after threshold, order and stock changes")
+    void testProductsAtReorderPoint() {
+        UUID fastMover = createProduct("REORDER-FAST", 600);
+        UUID slowMover = createProduct("REORDER-SLOW", 8);
+        Assertions.assertTrue(reorderPointIds().isEmpty());
+
+        // 600 units are above the default threshold, but not above 500 once an order takes 150
+        productService.updateProductReorderThreshold(fastMover, 0, 500);
+        productService.updateProductReorderThreshold(slowMover, 0, 5);
+        Assertions.assertTrue(reorderPointIds().isEmpty());
+        orderService.createOrder(orderRequest(fastMover, 150));
+        orderService.createOrder(orderRequest(slowMover, 2));
+
+        List<ReorderPointDto> products = productService.getProductsAtReorderPoint();
+        Assertions.assertEquals(List.of(fastMover.toString()), products.stream().map(ReorderPointDto::getId).toList());
+        Assertions.assertEquals(450, products.get(0).getStock());
+        Assertions.assertEquals(500, products.get(0).getReorderThreshold());
+
+        // The slow mover reaches its threshold, the fast mover is restocked
+        orderService.createOrder(orderRequest(slowMover, 1));
+        int fastMoverVersion = productRepository.findById(fastMover).orElseThrow().getVersion();
+        productService.updateProductStock(fastMover, fastMoverVersion, 1000);
+        Assertions.assertEquals(List.of(slowMover), reorderPointIds());
+    }
+
+    /**
+     * Reads the ids of the products at their reorder point, leaving out the sample products.
+     *
+     * @return the ids of the test products at their reorder point
+     */
+    private List<UUID> reorderPointIds() {
+        return productService.getProductsAtReorderPoint().stream()
+                .filter(product -> product.getSku().startsWith("REORDER-"))
+                .map(product -> UUID.fromString(product.getId()))
+                .toList();
+    }
+
+    /**
+     * Creates a product with the default reorder threshold.
+     *
+     * @param sku   the SKU of the product
+     * @param stock the stock of the product
+     * @return the id of the product
+     */
+    private UUID createProduct(String sku, int stock) {
+        ProductEntity product = new ProductEntity();
+        product.setName(sku);
+        product.setSku(sku);
+        product.setStock(stock);
+        return productRepository.saveAndFlush(product).getId();
+    }
+
+    /**
+     * Builds an order request for one product.
+     *
+     * @param productId the identifier of the product
+     * @param quantity  the ordered quantity
+     * @return the order request
+     */
+    private static OrderRequest orderRequest(UUID productId, int quantity) {
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(productId.toString());
+        itemRequest.setQuantity(quantity);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest));
+        return orderRequest;
+    }
+}
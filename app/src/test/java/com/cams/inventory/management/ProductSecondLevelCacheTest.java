@@ -0,0 +1,221 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.request.ProductPriceChangeRequest;
+import com.cams.inventory.management.request.StockReceiptLineRequest;
+import com.cams.inventory.management.service.product.PriceUpdateService;
+import com.cams.inventory.management.service.stock.StockReceiptService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the opt-in second-level and query cache of ProductEntity.
+ * Compares the number of SQL statements executed with and without the cache.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cachedb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "inventory.outbox.relay.enabled=false"})
+@ActiveProfiles("l2cache")
+class ProductSecondLevelCacheTest {
+
+    /**
+     * SKUs of products seeded by the sample data.
+     */
+    private static final List<String> SKUS = List.of("SKU-APPLE", "SKU-BANANA");
+
+    /**
+     * Repository for performing CRUD operations on products.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Entity manager bound to the current transaction.
+     */
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * Entity manager factory exposing the cache and the Hibernate statistics.
+     */
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Service receiving stock with plain JDBC, bypassing the persistence context.
+     */
+    @Autowired
+    private StockReceiptService stockReceiptService;
+
+    /**
+     * Service applying price feeds with plain JDBC, bypassing the persistence context.
+     */
+    @Autowired
+    private PriceUpdateService priceUpdateService;
+
+    /**
+     * Template for running each lookup in its own transaction and session.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Hibernate statistics used to count executed statements.
+     */
+    private Statistics statistics;
+
+    /**
+     * Starts every test with empty caches and cleared statistics.
+     */
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Test case for repeated SKU lookups served from the query cache.
+     * Only the first lookup should reach the database.
+     */
+    @Test
+    @DisplayName("SKU lookup with cache - repeated lookups execute a single statement")
+    void testFindAllBySkuIn_withCache() {
+        findBySkus(CacheMode.NORMAL);
+        findBySkus(CacheMode.NORMAL);
+        List<ProductEntity> products = findBySkus(CacheMode.NORMAL);
+
+        Assertions.assertEquals(2, products.size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Test case for repeated SKU lookups bypassing the cache.
+     * Every lookup should reach the database.
+     */
+    @Test
+    @DisplayName("SKU lookup without cache - every lookup executes a statement")
+    void testFindAllBySkuIn_withoutCache() {
+        findBySkus(CacheMode.IGNORE);
+        findBySkus(CacheMode.IGNORE);
+        List<ProductEntity> products = findBySkus(CacheMode.IGNORE);
+
+        Assertions.assertEquals(2, products.size());
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Test case for loading a product by id after it has been cached.
+     * The second load should be served from the entity region.
+     */
+    @Test
+    @DisplayName("Product by id with cache - second load executes no statement")
+    void testFindById_withCache() {
+        UUID productId = findBySkus(CacheMode.NORMAL).get(0).getId();
+        statistics.clear();
+
+        ProductEntity product = transactionTemplate.execute(status -> productRepository.findById(productId).orElseThrow());
+
+        Assertions.assertNotNull(product);
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    /**
+     * Test case for a stock update invalidating cached SKU lookups.
+     * The lookup following the update should reach the database again.
+     */
+    @Test
+    @DisplayName("SKU lookup after stock update - cached result is invalidated")
+    void testFindAllBySkuIn_invalidatedByStockUpdate() {
+        UUID productId = findBySkus(CacheMode.NORMAL).get(0).getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            ProductEntity product = productRepository.findById(productId).orElseThrow();
+            product.setStock(product.getStock() + 1);
+        });
+        statistics.clear();
+
+        findBySkus(CacheMode.NORMAL);
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test case for a product receiving stock after it has been cached.
+     * Only the entry of the product received is evicted, so its next load reads the new stock.
+     */
+    @Test
+    @DisplayName("Product by id after stock receipt - evicted entry reloaded with the new stock")
+    void testFindById_evictedByStockReceipt() {
+        List<ProductEntity> products = findBySkus(CacheMode.NORMAL);
+        ProductEntity received = products.get(0);
+        ProductEntity untouched = products.get(1);
+
+        stockReceiptService.receiveStock(List.of(new StockReceiptLineRequest(null, received.getSku(), 5)));
+
+        Assertions.assertFalse(entityManagerFactory.getCache().contains(ProductEntity.class, received.getId()));
+        Assertions.assertTrue(entityManagerFactory.getCache().contains(ProductEntity.class, untouched.getId()));
+        ProductEntity reloaded = transactionTemplate.execute(status ->
+                productRepository.findById(received.getId()).orElseThrow());
+        Assertions.assertEquals(received.getStock() + 5, reloaded.getStock());
+        Assertions.assertEquals(received.getVersion() + 1, reloaded.getVersion());
+    }
+
+    /**
+     * Test case for a product repriced by a price feed after it has been cached.
+     * Only the entry of the repriced product is evicted, so its next load reads the new price.
+     */
+    @Test
+    @DisplayName("Product by id after price feed - evicted entry reloaded with the new price")
+    void testFindById_evictedByPriceFeed() {
+        List<ProductEntity> products = findBySkus(CacheMode.NORMAL);
+        ProductEntity repriced = products.get(0);
+        ProductEntity untouched = products.get(1);
+        BigDecimal price = repriced.getPrice().add(BigDecimal.ONE);
+
+        priceUpdateService.updatePrices(List.of(new ProductPriceChangeRequest(null, repriced.getSku(), price)),
+                progress -> {
+                });
+
+        Assertions.assertFalse(entityManagerFactory.getCache().contains(ProductEntity.class, repriced.getId()));
+        Assertions.assertTrue(entityManagerFactory.getCache().contains(ProductEntity.class, untouched.getId()));
+        ProductEntity reloaded = transactionTemplate.execute(status ->
+                productRepository.findById(repriced.getId()).orElseThrow());
+        Assertions.assertEquals(0, price.compareTo(reloaded.getPrice()));
+        Assertions.assertEquals(repriced.getVersion() + 1, reloaded.getVersion());
+    }
+
+    /**
+     * Looks up the sample products by SKU in a new transaction.
+     *
+     * @param cacheMode the cache mode of the session
+     * @return the products found
+     */
+    private List<ProductEntity> findBySkus(CacheMode cacheMode) {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+            return productRepository.findAllBySkuIn(SKUS);
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.StockReceiptDto;
+import com.cams.inventory.management.dto.StockReceiptLineDto;
+import com.cams.inventory.management.entity.constant.StockMovementReason;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.entity.stock.StockMovementEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.repository.stock.StockMovementRepository;
+import com.cams.inventory.management.request.StockReceiptLineRequest;
+import com.cams.inventory.management.service.product.ProductService;
+import com.cams.inventory.management.service.stock.StockReceiptService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the bulk stock receipt.
+ * Stock of the sample products Apple and Cherry is received by id and SKU, and must show in the
+ * products, their cached snapshots and the stock ledger.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockreceiptdb",
+        "inventory.stock-receipt.chunk-size=2",
+        "inventory.outbox.relay.enabled=false"})
+class ProductStockReceiptTest {
+
+    /**
+     * Identifier of the sample product Apple.
+     */
+    private static final UUID APPLE_ID = UUID.fromString("d290f1ee-6c54-4b01-90e6-d701748f0851");
+
+    /**
+     * Identifier of the sample product Cherry.
+     */
+    private static final UUID CHERRY_ID = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+
+    /**
+     * Service receiving stock in bulk.
+     */
+    @Autowired
+    private StockReceiptService stockReceiptService;
+
+    /**
+     * Service for product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Repository for reading the products back.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Repository for reading the stock ledger back.
+     */
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    /**
+     * Test case for a receipt of three chunks: stock, version, cache and ledger all follow.
+     */
+    @Test
+    @DisplayName("Stock receipt - stock added by id and SKU, versions bumped, cache and ledger current")
+    void testReceiveStock() {
+        ProductEntity apple = productRepository.findById(APPLE_ID).orElseThrow();
+        ProductEntity cherry = productRepository.findById(CHERRY_ID).orElseThrow();
+        // Cache the snapshot of Apple, the receipt must evict it
+        Assertions.assertEquals(apple.getStock(), productService.getProductById(APPLE_ID).getStock());
+
+        StockReceiptDto receipt = stockReceiptService.receiveStock(List.of(
+                new StockReceiptLineRequest(null, "SKU-APPLE", 10),
+                new StockReceiptLineRequest(APPLE_ID.toString(), null, 5),
+                new StockReceiptLineRequest(null, "SKU-NOT-STOCKED", 3),
+                new StockReceiptLineRequest(CHERRY_ID.toString(), null, 20),
+                new StockReceiptLineRequest(null, "SKU-CHERRY", -1)));
+
+        Assertions.assertEquals(3, receipt.getReceived());
+        Assertions.assertEquals(List.of(StockReceiptLineDto.Status.RECEIVED, StockReceiptLineDto.Status.RECEIVED,
+                        StockReceiptLineDto.Status.NOT_FOUND, StockReceiptLineDto.Status.RECEIVED,
+                        StockReceiptLineDto.Status.INVALID),
+                receipt.getLines().stream().map(StockReceiptLineDto::getStatus).toList());
+        Assertions.assertEquals(apple.getStock() + 15, receipt.getLines().get(1).getStock());
+
+        ProductEntity receivedApple = productRepository.findById(APPLE_ID).orElseThrow();
+        ProductEntity receivedCherry = productRepository.findById(CHERRY_ID).orElseThrow();
+        Assertions.assertEquals(apple.getStock() + 15, receivedApple.getStock());
+        Assertions.assertEquals(apple.getVersion() + 1, receivedApple.getVersion());
+        Assertions.assertEquals(cherry.getStock() + 20, receivedCherry.getStock());
+        Assertions.assertEquals(apple.getStock() + 15, productService.getProductById(APPLE_ID).getStock());
+        Assertions.assertEquals(apple.getStock() + 15,
+                productService.getStockAsOf(APPLE_ID, LocalDateTime.now()).getStock());
+        // The ledger tells the goods received apart from the manual adjustments
+        List<StockMovementEntity> received = stockMovementRepository.findAll().stream()
+                .filter(movement -> movement.getReason() == StockMovementReason.STOCK_RECEIVED)
+                .toList();
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertEquals(15, received.stream()
+                .filter(movement -> movement.getProductId().equals(APPLE_ID))
+                .mapToInt(StockMovementEntity::getQuantityDelta)
+                .sum());
+    }
+}
@@ -0,0 +1,131 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.StockSeriesDto;
+import com.cams.inventory.management.dto.StockSeriesPointDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.request.ProductRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import com.cams.inventory.management.service.product.ProductService;
+import com.cams.inventory.management.service.stock.StockSeriesRecorder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the stock series.
+ * A product is created, ordered, the order cancelled and the stock adjusted; every change must show
+ * in its series, both as recorded on commit and as rebuilt from the stock ledger.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockseriesdb",
+        "inventory.outbox.relay.enabled=false"})
+class ProductStockSeriesTest {
+
+    /**
+     * Service for product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Recorder of the stock series.
+     */
+    @Autowired
+    private StockSeriesRecorder stockSeriesRecorder;
+
+    /**
+     * Repository for reading the product versions.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Test case for the series recorded as the changes commit.
+     */
+    @Test
+    @DisplayName("Stock series - every committed change, stock at the start from the ledger")
+    void testGetStockSeries_recorded() {
+        LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+        UUID productId = createHistory("SKU-SERIES-PLUM");
+
+        StockSeriesDto series = productService.getStockSeries(productId, from, LocalDateTime.now().plusMinutes(1));
+
+        // The product did not exist at the start of the range
+        Assertions.assertEquals(0, series.getInitialStock());
+        Assertions.assertEquals(List.of(50, 42, 50, 30), levels(series));
+        Assertions.assertTrue(series.getPoints().stream().allMatch(point -> !point.getAt().isBefore(from)));
+    }
+
+    /**
+     * Test case for the series rebuilt from the stock ledger, as on startup.
+     */
+    @Test
+    @DisplayName("Stock series - rebuilt from the stock ledger")
+    void testRebuild() {
+        LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+        UUID productId = createHistory("SKU-SERIES-FIG");
+
+        Assertions.assertTrue(stockSeriesRecorder.rebuild(Instant.now()) >= 4);
+
+        StockSeriesDto series = productService.getStockSeries(productId, from, LocalDateTime.now().plusMinutes(1));
+        Assertions.assertEquals(List.of(50, 42, 50, 30), levels(series));
+
+        // A change committed after the rebuild is added on top of it
+        int version = productRepository.findById(productId).orElseThrow().getVersion();
+        productService.updateProductStock(productId, version, 25);
+        series = productService.getStockSeries(productId, from, LocalDateTime.now().plusMinutes(1));
+        Assertions.assertEquals(List.of(50, 42, 50, 30, 25), levels(series));
+    }
+
+    /**
+     * Creates a product with a stock of 50, orders 8, cancels the order and adjusts the stock to 30.
+     *
+     * @param sku the SKU of the product
+     * @return the identifier of the product
+     */
+    private UUID createHistory(String sku) {
+        List<ProductDto> created = productService.createProduct(
+                List.of(new ProductRequest("Series " + sku, sku, new BigDecimal("2.00"), 50))).getFirst();
+        UUID productId = UUID.fromString(created.get(0).getId());
+
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(productId.toString());
+        itemRequest.setQuantity(8);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest));
+        UUID orderId = UUID.fromString(orderService.createOrder(orderRequest).getId());
+        orderService.updateOrderStatus(orderId, OrderStatus.CANCELLED);
+
+        int version = productRepository.findById(productId).orElseThrow().getVersion();
+        productService.updateProductStock(productId, version, 30);
+        return productId;
+    }
+
+    /**
+     * Lists the stock levels of a series, oldest first.
+     *
+     * @param series the series
+     * @return the stock of every point
+     */
+    private static List<Integer> levels(StockSeriesDto series) {
+        return series.getPoints().stream().map(StockSeriesPointDto::getStock).toList();
+    }
+}
@@ -0,0 +1,172 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.datasource.H2ReplicationStandIn;
+import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.service.product.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the read replica routing, with two in-memory H2 instances and the replication stand-in.
+ * The stand-in interval is long enough for the tests to replicate explicitly.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingprimarydb",
+        "inventory.datasource.replica.url=jdbc:h2:mem:routingreplicadb",
+        "inventory.datasource.replica.username=sa",
+        "inventory.datasource.replica.stand-in.enabled=true",
+        "inventory.datasource.replica.stand-in.interval-ms=3600000"})
+class ReadReplicaRoutingTest {
+
+    /**
+     * Service for product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Repository for performing CRUD operations on products.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Stand-in copying the primary into the replica.
+     */
+    @Autowired
+    private H2ReplicationStandIn replicationStandIn;
+
+    /**
+     * Transaction manager for running read-only transactions.
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Datasource of the primary database.
+     */
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    /**
+     * Datasource of the read replica.
+     */
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    /**
+     * Brings the replica up to date before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        replicationStandIn.replicate();
+    }
+
+    /**
+     * Test case for the schema of the replica.
+     */
+    @Test
+    @DisplayName("Replica - migrated by Flyway to the primary schema version")
+    void testReplicaSchema() {
+        String query = "SELECT MAX(\"version\") FROM \"flyway_schema_history\" WHERE \"success\"";
+
+        Assertions.assertEquals(new JdbcTemplate(primaryDataSource).queryForObject(query, String.class),
+                new JdbcTemplate(replicaDataSource).queryForObject(query, String.class));
+    }
+
+    /**
+     * Test case for a read-only service method, served by the replica until the write is replicated.
+     */
+    @Test
+    @DisplayName("Low stock products - read from the replica, write visible after replication")
+    void testGetLowStockProducts_readsReplica() {
+        UUID productId = saveProduct("SKU-ROUTING-LOW", 1);
+
+        // Written to the primary only
+        Assertions.assertEquals(1, new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT COUNT(*) FROM product_entity WHERE id = ?", Integer.class, productId));
+        Assertions.assertFalse(containsProduct(productService.getLowStockProducts(2), productId));
+
+        replicationStandIn.replicate();
+
+        Assertions.assertTrue(containsProduct(productService.getLowStockProducts(2), productId));
+    }
+
+    /**
+     * Test case for a read-write transaction, served by the primary.
+     */
+    @Test
+    @DisplayName("Read-write transaction - reads the primary")
+    void testReadWriteTransaction_readsPrimary() {
+        UUID productId = saveProduct("SKU-ROUTING-PRIMARY", 5);
+
+        // Not replicated yet, so only the primary has the product
+        Boolean found = new TransactionTemplate(transactionManager).execute(status ->
+                productRepository.findById(productId).isPresent());
+
+        Assertions.assertEquals(Boolean.TRUE, found);
+    }
+
+    /**
+     * Test case for Hibernate flushing in a read-only transaction.
+     */
+    @Test
+    @DisplayName("Read-only transaction - changes to managed entities are not flushed")
+    void testReadOnlyTransaction_doesNotFlush() {
+        UUID productId = saveProduct("SKU-ROUTING-FLUSH", 7);
+        replicationStandIn.replicate();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> productRepository.findById(productId).orElseThrow().setStock(0));
+
+        Assertions.assertEquals(7, new JdbcTemplate(replicaDataSource).queryForObject(
+                "SELECT stock FROM product_entity WHERE id = ?", Integer.class, productId));
+        Assertions.assertEquals(7, new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT stock FROM product_entity WHERE id = ?", Integer.class, productId));
+    }
+
+    /**
+     * Saves a product on the primary.
+     *
+     * @param sku   the SKU of the product
+     * @param stock the stock of the product
+     * @return the identifier of the saved product
+     */
+    private UUID saveProduct(String sku, int stock) {
+        ProductEntity product = new ProductEntity();
+        product.setName("Routing " + sku);
+        product.setSku(sku);
+        product.setPrice(new BigDecimal("1.00"));
+        product.setStock(stock);
+        return productRepository.save(product).getId();
+    }
+
+    /**
+     * Tells whether the given products contain the product with the given identifier.
+     *
+     * @param products  the products to search
+     * @param productId the identifier of the product
+     * @return true if the product is contained
+     */
+    private static boolean containsProduct(List<ProductDto> products, UUID productId) {
+        return products.stream().anyMatch(product -> productId.toString().equals(product.getId()));
+    }
+}
@@ -0,0 +1,385 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.OrderExportRow;
+import com.cams.inventory.management.dto.StockMovementRow;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.repository.order.OrderRepository;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.repository.stock.StockMovementRepository;
+import com.cams.inventory.management.repository.stock.StockSnapshotRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Integration tests confirming with EXPLAIN that every filtered repository query is served by an index.
+ * The SQL generated by Hibernate is recorded while the repository method runs and then explained by H2.
+ * Listing all products reads the whole table by design and is not covered.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplandb",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.cams.inventory.management.RepositoryQueryPlanTest$RecordingStatementInspector",
+        "inventory.outbox.relay.enabled=false"})
+class RepositoryQueryPlanTest {
+
+    /**
+     * Name prefix H2 gives to primary-key indexes, whatever the name of the constraint.
+     */
+    private static final String PRIMARY_KEY_INDEX = "PRIMARY_KEY_";
+
+    /**
+     * Identifier of a sample order with two items.
+     */
+    private static final UUID ORDER_ID = UUID.fromString("56e8b2e3-984c-4c0e-9d48-2d3c63d8e05f");
+
+    /**
+     * Identifier of a sample product.
+     */
+    private static final UUID PRODUCT_ID = UUID.fromString("d290f1ee-6c54-4b01-90e6-d701748f0851");
+
+    /**
+     * Repository for performing CRUD operations on products.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Repository for performing CRUD operations on orders.
+     */
+    @Autowired
+    private OrderRepository orderRepository;
+
+    /**
+     * Repository for replaying stock movements.
+     */
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    /**
+     * Repository for reading stock snapshots.
+     */
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    /**
+     * Template for explaining the recorded statements.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Template for running modifying queries in a transaction.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Statement inspector recording every SQL statement prepared by Hibernate.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        /**
+         * Statements recorded since the last clear.
+         */
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        /**
+         * Records the statement and leaves it unchanged.
+         *
+         * @param sql the statement about to be prepared
+         * @return the unchanged statement
+         */
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    /**
+     * Clears the recorded statements before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    /**
+     * Test case for the product lookup by SKU.
+     */
+    @Test
+    @DisplayName("Products by SKU - unique SKU index")
+    void testFindAllBySkuIn() {
+        productRepository.findAllBySkuIn(List.of("SKU-APPLE", "SKU-BANANA"));
+
+        assertPlansUse("UK_PRODUCT_ENTITY_SKU");
+    }
+
+    /**
+     * Test case for the product DTO projection by SKU.
+     */
+    @Test
+    @DisplayName("Product projections by SKU - unique SKU index")
+    void testFindProductDtosBySkuIn() {
+        productRepository.findProductDtosBySkuIn(List.of("SKU-APPLE", "SKU-BANANA"));
+
+        assertPlansUse("UK_PRODUCT_ENTITY_SKU");
+    }
+
+    /**
+     * Test case for the low-stock product DTO projection.
+     */
+    @Test
+    @DisplayName("Low stock product projections - stock index")
+    void testFindProductDtosByStockLessThan() {
+        productRepository.findProductDtosByStockLessThan(50);
+
+        assertPlansUse("IDX_PRODUCT_ENTITY_STOCK");
+    }
+
+    /**
+     * Test case for the low-stock product versions.
+     */
+    @Test
+    @DisplayName("Low stock product versions - stock index")
+    void testFindVersionsByStockLessThan() {
+        productRepository.findVersionsByStockLessThan(50);
+
+        assertPlansUse("IDX_PRODUCT_ENTITY_STOCK");
+    }
+
+    /**
+     * Test case for the products at their reorder point.
+     */
+    @Test
+    @DisplayName("Products at their reorder point - reorder flag index, sorted by the index")
+    void testFindReorderPointDtos() {
+        productRepository.findReorderPointDtos();
+
+        assertPlansUse("IDX_PRODUCT_ENTITY_NEEDS_REORDER", "index sorted");
+    }
+
+    /**
+     * Test case for the conditional stock, price and reorder threshold updates.
+     */
+    @Test
+    @DisplayName("Conditional stock, price and reorder threshold updates - primary key")
+    void testConditionalUpdates() {
+        // Stale version, nothing is changed
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.updateStockByIdAndVersion(PRODUCT_ID, -1, 1);
+            productRepository.updatePriceByIdAndVersion(PRODUCT_ID, -1, 1L);
+            productRepository.updateReorderThresholdByIdAndVersion(PRODUCT_ID, -1, 1);
+        });
+
+        assertPlansUse(PRIMARY_KEY_INDEX);
+    }
+
+    /**
+     * Test case for the order fetch plan with items and products.
+     */
+    @Test
+    @DisplayName("Order with items and products - primary keys and order id index")
+    void testFindWithItemsById() {
+        orderRepository.findWithItemsById(ORDER_ID);
+
+        assertPlansUse(PRIMARY_KEY_INDEX, "IDX_ORDER_ITEM_ENTITY_ORDER_ID");
+    }
+
+    /**
+     * Test case for the order summary versions.
+     */
+    @Test
+    @DisplayName("Order summary versions - primary keys and order id index")
+    void testFindSummaryVersionsById() {
+        orderRepository.findSummaryVersionsById(ORDER_ID);
+
+        assertPlansUse(PRIMARY_KEY_INDEX, "IDX_ORDER_ITEM_ENTITY_ORDER_ID");
+    }
+
+    /**
+     * Test case for a page of the order history in a status, deep into the history.
+     */
+    @Test
+    @DisplayName("Order history page by status - status and creation date index, sorted by the index")
+    void testFindHistoryPageByStatus() {
+        LocalDateTime now = LocalDateTime.now();
+        orderRepository.findHistoryPageByStatus(OrderStatus.COMPLETED, now.minusDays(30), now, ORDER_ID, Limit.of(50));
+
+        assertPlansUse("IDX_ORDER_ENTITY_STATUS_CREATED", "index sorted");
+    }
+
+    /**
+     * Test case for a page of the order history of all statuses, deep into the history.
+     */
+    @Test
+    @DisplayName("Order history page - creation date index, sorted by the index")
+    void testFindHistoryPage() {
+        LocalDateTime now = LocalDateTime.now();
+        orderRepository.findHistoryPage(now.minusDays(30), now, ORDER_ID, Limit.of(50));
+
+        assertPlansUse("IDX_ORDER_ENTITY_CREATED", "index sorted");
+    }
+
+    /**
+     * Test case for the items and products of a page of the order history.
+     */
+    @Test
+    @DisplayName("Orders with items and products - primary keys and order id index")
+    void testFindWithItemsAndProductsByIdIn() {
+        orderRepository.findWithItemsAndProductsByIdIn(List.of(ORDER_ID));
+
+        assertPlansUse(PRIMARY_KEY_INDEX, "IDX_ORDER_ITEM_ENTITY_ORDER_ID");
+    }
+
+    /**
+     * Test case for the order export of a date range.
+     */
+    @Test
+    @DisplayName("Order export - creation date index without sorting, order id index and product primary key")
+    void testStreamExportRows() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(now.minusDays(30), now)) {
+                rows.forEach(row -> { });
+            }
+        });
+
+        assertPlansUse("IDX_ORDER_ENTITY_CREATED", "index sorted", "IDX_ORDER_ITEM_ENTITY_ORDER_ID", PRIMARY_KEY_INDEX);
+    }
+
+    /**
+     * Test case for the ids of a chunk of completed orders to archive.
+     */
+    @Test
+    @DisplayName("Orders to archive - status and creation date index, sorted by the index")
+    void testFindIdsByStatusCreatedBefore() {
+        orderRepository.findIdsByStatusCreatedBefore(OrderStatus.COMPLETED, LocalDateTime.now().minusDays(90),
+                Limit.of(1000));
+
+        assertPlansUse("IDX_ORDER_ENTITY_STATUS_CREATED", "index sorted");
+    }
+
+    /**
+     * Test case for locking a chunk of orders to archive.
+     */
+    @Test
+    @DisplayName("Orders to archive locked by id - primary key")
+    void testFindAndLockByIdIn() {
+        transactionTemplate.executeWithoutResult(status -> orderRepository.findAndLockByIdIn(List.of(ORDER_ID)));
+
+        assertPlansUse(PRIMARY_KEY_INDEX);
+    }
+
+    /**
+     * Test case for the items of a chunk of orders to archive.
+     */
+    @Test
+    @DisplayName("Orders with items - primary key and order id index")
+    void testFindWithItemsByIdIn() {
+        orderRepository.findWithItemsByIdIn(List.of(ORDER_ID));
+
+        assertPlansUse(PRIMARY_KEY_INDEX, "IDX_ORDER_ITEM_ENTITY_ORDER_ID");
+    }
+
+    /**
+     * Test case for the deletion of the items of archived orders.
+     */
+    @Test
+    @DisplayName("Item deletion by order - order id index")
+    void testDeleteItemsByOrderIdIn() {
+        // Unknown order, nothing is deleted
+        transactionTemplate.executeWithoutResult(status -> orderRepository.deleteItemsByOrderIdIn(List.of(UUID.randomUUID())));
+
+        assertPlansUse("IDX_ORDER_ITEM_ENTITY_ORDER_ID");
+    }
+
+    /**
+     * Test case for the nearest stock snapshot of a product.
+     */
+    @Test
+    @DisplayName("Nearest stock snapshot - primary key")
+    void testFindNearestSnapshot() {
+        stockSnapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(PRODUCT_ID, LocalDateTime.now());
+
+        assertPlansUse(PRIMARY_KEY_INDEX);
+    }
+
+    /**
+     * Test case for the replay of the stock movements of a product.
+     */
+    @Test
+    @DisplayName("Stock movement replay - product and time index")
+    void testSumQuantityDelta() {
+        stockMovementRepository.sumQuantityDelta(PRODUCT_ID, LocalDateTime.now().minusDays(1), LocalDateTime.now());
+
+        assertPlansUse("IDX_STOCK_MOVEMENT_PRODUCT_OCCURRED");
+    }
+
+    /**
+     * Test case for the replay of the recent stock movements of every product, on startup.
+     */
+    @Test
+    @DisplayName("Stock movements since - time index, products by primary key")
+    void testStreamMovementsSince() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<StockMovementRow> rows = stockMovementRepository.streamMovementsSince(since)) {
+                rows.forEach(row -> { });
+            }
+        });
+
+        assertPlansUse("IDX_STOCK_MOVEMENT_OCCURRED", PRIMARY_KEY_INDEX);
+    }
+
+    /**
+     * Test case for the secondary indexes created by the migrations.
+     */
+    @Test
+    @DisplayName("Schema - secondary indexes exist")
+    void testSecondaryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_schema = 'PUBLIC'", String.class);
+
+        Assertions.assertTrue(indexes.containsAll(List.of("IDX_PRODUCT_ENTITY_STOCK",
+                "IDX_ORDER_ENTITY_STATUS_CREATED", "IDX_ORDER_ENTITY_CREATED", "IDX_ORDER_ITEM_ENTITY_ORDER_ID",
+                "IDX_ORDER_ITEM_ENTITY_PRODUCT_ID", "IDX_STOCK_MOVEMENT_PRODUCT_OCCURRED",
+                "IDX_STOCK_MOVEMENT_OCCURRED", "IDX_PRODUCT_ENTITY_NEEDS_REORDER")), indexes.toString());
+    }
+
+    /**
+     * Explains every recorded statement and asserts that no table is scanned
+     * and that the given indexes are used.
+     *
+     * @param indexNames the indexes the plans must use
+     */
+    private void assertPlansUse(String... indexNames) {
+        List<String> statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+        Assertions.assertFalse(statements.isEmpty());
+
+        StringBuilder plans = new StringBuilder();
+        for (String statement : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + statement, String.class);
+            Assertions.assertFalse(plan.contains("tableScan"), plan);
+            plans.append(plan).append('\n');
+        }
+        for (String indexName : indexNames) {
+            Assertions.assertTrue(plans.toString().contains(indexName), indexName + " not used by:\n" + plans);
+        }
+    }
+}
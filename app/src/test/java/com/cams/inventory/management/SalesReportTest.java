@@ -0,0 +1,126 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.SalesFiguresDto;
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import com.cams.inventory.management.service.product.ProductService;
+import com.cams.inventory.management.service.report.SalesReportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration tests for the sales report.
+ * Orders are moved to recent days in the past, after the archive cutoff, one of them after a price change,
+ * and reported from the database.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:salesreportdb",
+        "inventory.sales-report.parallelism=3",
+        "inventory.outbox.relay.enabled=false"})
+class SalesReportTest {
+
+    /**
+     * Identifier of the sample product Apple, priced 1.50.
+     */
+    private static final String APPLE_ID = "d290f1ee-6c54-4b01-90e6-d701748f0851";
+
+    /**
+     * Identifier of the sample product Cherry, priced 3.00.
+     */
+    private static final String CHERRY_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Service for product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Service computing the sales report.
+     */
+    @Autowired
+    private SalesReportService salesReportService;
+
+    /**
+     * Template for moving the orders to their creation dates.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case for a report of two days: items count at the price they were ordered at, per product,
+     * per day and per status, and orders outside the range are left out.
+     */
+    @Test
+    @DisplayName("Sales report - figures per product, day and status at the ordered prices")
+    void testGetSalesReport() {
+        LocalDateTime day = LocalDate.now().minusDays(10).atStartOfDay();
+        // Day one: 2 apples and 1 cherry, then 1 apple in a cancelled order
+        createOrder(day.plusHours(9), Map.of(APPLE_ID, 2, CHERRY_ID, 1));
+        UUID cancelled = createOrder(day.plusHours(17), Map.of(APPLE_ID, 1));
+        orderService.updateOrderStatus(cancelled, OrderStatus.CANCELLED);
+        // Day two, after Cherry went up to 4.00: 3 cherries
+        productService.updateProductPrice(UUID.fromString(CHERRY_ID), jdbcTemplate.queryForObject(
+                "SELECT version FROM product_entity WHERE id = ?", Integer.class, UUID.fromString(CHERRY_ID)), new BigDecimal("4.00"));
+        createOrder(day.plusDays(1).plusHours(23).plusMinutes(59), Map.of(CHERRY_ID, 3));
+        // Outside of the range
+        createOrder(day.plusDays(2), Map.of(APPLE_ID, 5));
+        createOrder(day.minusNanos(1000), Map.of(APPLE_ID, 5));
+
+        SalesReportDto report = salesReportService.getSalesReport(day, day.plusDays(2));
+
+        Assertions.assertEquals(new SalesFiguresDto(7, new BigDecimal("19.50"), 3), report.getTotal());
+        Assertions.assertEquals(Map.of(
+                        APPLE_ID, new SalesFiguresDto(3, new BigDecimal("4.50"), 2),
+                        CHERRY_ID, new SalesFiguresDto(4, new BigDecimal("15.00"), 2)),
+                report.getByProduct());
+        Assertions.assertEquals(List.of(day.toLocalDate(), day.toLocalDate().plusDays(1)), List.copyOf(report.getByDay().keySet()));
+        Assertions.assertEquals(new SalesFiguresDto(4, new BigDecimal("7.50"), 2), report.getByDay().get(day.toLocalDate()));
+        Assertions.assertEquals(Map.of(
+                        OrderStatus.COMPLETED, new SalesFiguresDto(6, new BigDecimal("18.00"), 2),
+                        OrderStatus.CANCELLED, new SalesFiguresDto(1, new BigDecimal("1.50"), 1)),
+                report.getByStatus());
+    }
+
+    /**
+     * Creates an order and moves it to its creation date.
+     *
+     * @param createdDate the creation date of the order
+     * @param quantities  the ordered quantity per product identifier
+     * @return the unique identifier of the order
+     */
+    private UUID createOrder(LocalDateTime createdDate, Map<String, Integer> quantities) {
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(quantities.entrySet().stream().map(entry -> {
+            ProductItemRequest itemRequest = new ProductItemRequest();
+            itemRequest.setProductId(entry.getKey());
+            itemRequest.setQuantity(entry.getValue());
+            return itemRequest;
+        }).toList());
+        UUID orderId = UUID.fromString(orderService.createOrder(orderRequest).getId());
+        jdbcTemplate.update("UPDATE order_entity SET order_created_date = ? WHERE id = ?",
+                Timestamp.valueOf(createdDate), orderId);
+        return orderId;
+    }
+}
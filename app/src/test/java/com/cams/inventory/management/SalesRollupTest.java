@@ -0,0 +1,133 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dto.SalesFiguresDto;
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import com.cams.inventory.management.service.report.SalesReportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the sales rollups.
+ * The rollups of the orders created and cancelled today must match the report computed from the order
+ * items, and rebuilding days from the orders must repair rollups that drifted from them.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:salesrollupdb",
+        "inventory.outbox.relay.enabled=false"})
+class SalesRollupTest {
+
+    /**
+     * Identifier of the sample product Apple, priced 1.50.
+     */
+    private static final String APPLE_ID = "d290f1ee-6c54-4b01-90e6-d701748f0851";
+
+    /**
+     * Identifier of the sample product Cherry, priced 3.00.
+     */
+    private static final String CHERRY_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * Service computing the sales reports.
+     */
+    @Autowired
+    private SalesReportService salesReportService;
+
+    /**
+     * Template for moving an order behind the back of the rollups.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case for the rollups kept current by order creation and cancellation, then repaired by a rebuild
+     * after an order was moved to another day without them.
+     */
+    @Test
+    @DisplayName("Sales rollups - current after commit, repaired by a rebuild")
+    void testSalesRollups() {
+        LocalDate today = LocalDate.now();
+        UUID kept = createOrder(2, 1);
+        UUID cancelled = createOrder(1, 0);
+        orderService.updateOrderStatus(cancelled, OrderStatus.CANCELLED);
+
+        // The sample orders were created today too, by the migrations
+        SalesReportDto rollups = salesReportService.getDailySalesReport(today, today.plusDays(1));
+        Assertions.assertEquals(rawReport(today, today.plusDays(1)), rollups);
+        Assertions.assertEquals(new SalesFiguresDto(1, new BigDecimal("1.50"), 1), rollups.getByStatus().get(OrderStatus.CANCELLED));
+
+        // Moved without the rollups: today still counts the order and its new day does not
+        LocalDate otherDay = today.minusDays(20);
+        jdbcTemplate.update("UPDATE order_entity SET order_created_date = ? WHERE id = ?",
+                Timestamp.valueOf(otherDay.atTime(10, 0)), kept);
+        Assertions.assertNotEquals(rawReport(today, today.plusDays(1)), salesReportService.getDailySalesReport(today, today.plusDays(1)));
+        Assertions.assertTrue(salesReportService.getDailySalesReport(otherDay, otherDay.plusDays(1)).getByProduct().isEmpty());
+
+        salesReportService.rebuildSalesRollups(otherDay, otherDay.plusDays(1));
+        salesReportService.rebuildSalesRollups(today, today.plusDays(1));
+
+        Assertions.assertEquals(rawReport(today, today.plusDays(1)), salesReportService.getDailySalesReport(today, today.plusDays(1)));
+        SalesReportDto otherDayRollups = salesReportService.getDailySalesReport(otherDay, otherDay.plusDays(1));
+        Assertions.assertEquals(rawReport(otherDay, otherDay.plusDays(1)), otherDayRollups);
+        Assertions.assertEquals(new SalesFiguresDto(3, new BigDecimal("6.00"), 1), otherDayRollups.getTotal());
+    }
+
+    /**
+     * Computes the report of whole days from the order items.
+     *
+     * @param from the first day
+     * @param to   the day after the last day
+     * @return the sales report
+     */
+    private SalesReportDto rawReport(LocalDate from, LocalDate to) {
+        return salesReportService.getSalesReport(from.atStartOfDay(), to.atStartOfDay());
+    }
+
+    /**
+     * Creates an order for the sample products Apple and Cherry.
+     *
+     * @param apples   the number of apples, 0 to leave them out
+     * @param cherries the number of cherries, 0 to leave them out
+     * @return the unique identifier of the order
+     */
+    private UUID createOrder(int apples, int cherries) {
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest(APPLE_ID, apples), itemRequest(CHERRY_ID, cherries)).stream()
+                .filter(itemRequest -> itemRequest.getQuantity() > 0)
+                .toList());
+        return UUID.fromString(orderService.createOrder(orderRequest).getId());
+    }
+
+    /**
+     * Builds an order item request.
+     *
+     * @param productId the identifier of the product
+     * @param quantity  the ordered quantity
+     * @return the order item request
+     */
+    private static ProductItemRequest itemRequest(String productId, int quantity) {
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(productId);
+        itemRequest.setQuantity(quantity);
+        return itemRequest;
+    }
+}
@@ -0,0 +1,197 @@
+package com.cams.inventory.management;
+
+import com.cams.inventory.management.dao.stock.StockLedgerDao;
+import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.request.ProductItemRequest;
+import com.cams.inventory.management.request.ProductRequest;
+import com.cams.inventory.management.service.order.OrderService;
+import com.cams.inventory.management.service.product.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Integration tests for the stock ledger.
+ * Verifies that every stock change is recorded and that point-in-time stock, replayed from
+ * the nearest snapshot, matches the stock the product had at that time.
+ */
+@SpringBootTest(classes = InventoryManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockledgerdb"})
+class StockLedgerTest {
+
+    /**
+     * Service for product-related operations.
+     */
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Service for order-related operations.
+     */
+    @Autowired
+    private OrderService orderService;
+
+    /**
+     * DAO for the stock ledger and its snapshots.
+     */
+    @Autowired
+    private StockLedgerDao stockLedgerDao;
+
+    /**
+     * Repository for performing CRUD operations on products.
+     */
+    @Autowired
+    private ProductRepository productRepository;
+
+    /**
+     * Template for reading the ledger timestamps.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Template for taking snapshots in a transaction.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Test case for the products that existed before the ledger.
+     */
+    @Test
+    @DisplayName("Sample products - opening balance matches the current stock")
+    void testOpeningBalance() {
+        for (ProductEntity product : productRepository.findAll()) {
+            Assertions.assertEquals(product.getStock(),
+                    productService.getStockAsOf(product.getId(), LocalDateTime.now()).getStock(), product.getSku());
+        }
+    }
+
+    /**
+     * Test case for the history of a product through creation, an order, its cancellation and
+     * a stock adjustment, with a snapshot in the middle of it.
+     */
+    @Test
+    @DisplayName("Product history - stock as of every step, with and without snapshots")
+    void testStockAsOf_history() {
+        UUID productId = createProduct("SKU-LEDGER-KIWI", 50);
+        LocalDateTime created = lastMovementTime(productId);
+
+        UUID orderId = UUID.fromString(orderService.createOrder(orderRequest(productId, 8)).getId());
+        LocalDateTime ordered = lastMovementTime(productId);
+
+        // Snapshot everything up to the order; later queries replay from it
+        transactionTemplate.execute(status -> stockLedgerDao.takeSnapshots(ordered));
+        Assertions.assertEquals(42, snapshotStock(productId, ordered));
+
+        orderService.updateOrderStatus(orderId, OrderStatus.CANCELLED);
+        LocalDateTime cancelled = lastMovementTime(productId);
+
+        int version = productRepository.findById(productId).orElseThrow().getVersion();
+        productService.updateProductStock(productId, version, 30);
+        LocalDateTime adjusted = lastMovementTime(productId);
+
+        Assertions.assertEquals(0, stockAsOf(productId, created.minusNanos(1_000)));
+        Assertions.assertEquals(50, stockAsOf(productId, created));
+        Assertions.assertEquals(42, stockAsOf(productId, ordered));
+        Assertions.assertEquals(50, stockAsOf(productId, cancelled));
+        Assertions.assertEquals(30, stockAsOf(productId, adjusted));
+        Assertions.assertEquals(productRepository.findById(productId).orElseThrow().getStock(),
+                stockAsOf(productId, LocalDateTime.now()));
+    }
+
+    /**
+     * Test case for consecutive snapshot runs: only products that moved are snapshotted again.
+     */
+    @Test
+    @DisplayName("Snapshots - only products with new movements are snapshotted")
+    void testTakeSnapshots_onlyMovedProducts() {
+        UUID movedId = createProduct("SKU-LEDGER-LIME", 10);
+        UUID idleId = createProduct("SKU-LEDGER-PLUM", 10);
+        transactionTemplate.execute(status -> stockLedgerDao.takeSnapshots(lastMovementTime(idleId)));
+
+        orderService.createOrder(orderRequest(movedId, 4));
+        LocalDateTime cutoff = lastMovementTime(movedId);
+
+        Assertions.assertEquals(1, (int) transactionTemplate.execute(status -> stockLedgerDao.takeSnapshots(cutoff)));
+        Assertions.assertEquals(6, snapshotStock(movedId, cutoff));
+        Assertions.assertEquals(10, stockAsOf(idleId, cutoff));
+    }
+
+    /**
+     * Creates a product through the product service.
+     *
+     * @param sku   the SKU of the product
+     * @param stock the initial stock of the product
+     * @return the identifier of the created product
+     */
+    private UUID createProduct(String sku, int stock) {
+        List<ProductDto> created = productService.createProduct(
+                List.of(new ProductRequest("Ledger " + sku, sku, new BigDecimal("2.00"), stock))).getFirst();
+        return UUID.fromString(created.get(0).getId());
+    }
+
+    /**
+     * Builds an order request for a single product.
+     *
+     * @param productId the identifier of the product
+     * @param quantity  the ordered quantity
+     * @return the order request
+     */
+    private static OrderRequest orderRequest(UUID productId, int quantity) {
+        ProductItemRequest itemRequest = new ProductItemRequest();
+        itemRequest.setProductId(productId.toString());
+        itemRequest.setQuantity(quantity);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setOrderItems(List.of(itemRequest));
+        return orderRequest;
+    }
+
+    /**
+     * Reads the time of the latest ledger movement of a product.
+     *
+     * @param productId the identifier of the product
+     * @return the time of the latest movement
+     */
+    private LocalDateTime lastMovementTime(UUID productId) {
+        return jdbcTemplate.queryForObject("SELECT MAX(occurred_at) FROM stock_movement WHERE product_id = ?",
+                Timestamp.class, productId).toLocalDateTime();
+    }
+
+    /**
+     * Reads the stock recorded by a snapshot.
+     *
+     * @param productId the identifier of the product
+     * @param takenAt   the point in time of the snapshot
+     * @return the snapshot stock
+     */
+    private int snapshotStock(UUID productId, LocalDateTime takenAt) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM stock_snapshot WHERE product_id = ? AND taken_at = ?",
+                Integer.class, productId, Timestamp.valueOf(takenAt));
+    }
+
+    /**
+     * Reads the stock of a product as of a point in time through the product service.
+     *
+     * @param productId the identifier of the product
+     * @param asOf      the point in time
+     * @return the stock at that time
+     */
+    private int stockAsOf(UUID productId, LocalDateTime asOf) {
+        return productService.getStockAsOf(productId, asOf).getStock();
+    }
+}
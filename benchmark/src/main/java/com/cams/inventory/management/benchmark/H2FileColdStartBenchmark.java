@@ -0,0 +1,120 @@
+package com.cams.inventory.management.benchmark;
+
+import com.cams.inventory.management.dao.product.ProductDao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cold start on an existing file-backed H2 database: opening the file and serving
+ * a first indexed read over plain JDBC ({@code openDatabase}), and the same behind the persistence
+ * layer, including Flyway and schema validation ({@code coldStart}).
+ * Every measurement runs in a fresh JVM, so class loading and JIT warm-up are included.
+ * The database is seeded once (about 3 GB at the default size) and reused across runs.
+ * <p>
+ * Run with: {@code java -jar benchmark/target/benchmarks.jar H2FileColdStartBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class H2FileColdStartBenchmark {
+
+    /**
+     * Number of orders, with two items each, in the database.
+     */
+    @Param({"5000000"})
+    public int orders;
+
+    /**
+     * Connection settings: TUNED for the h2file profile, DEFAULT for the H2 defaults.
+     */
+    @Param({"DEFAULT", "TUNED"})
+    public String settings;
+
+    /**
+     * Path of the seeded database.
+     */
+    private Path databasePath;
+
+    /**
+     * Context started by the measured invocation.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Connection opened by the measured invocation.
+     */
+    private Connection connection;
+
+    /**
+     * Seeds the database if it does not exist yet.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        databasePath = H2FileDatabases.seeded(orders);
+    }
+
+    /**
+     * Starts the persistence layer on the existing database and runs a first read.
+     *
+     * @return the number of low-stock products
+     */
+    @Benchmark
+    public int coldStart() {
+        context = PersistenceBenchmarkApplication.startWithUrl(H2FileDatabases.url(databasePath, settings));
+        return context.getBean(ProductDao.class).getLowStockProducts(10).size();
+    }
+
+    /**
+     * Opens the existing database over plain JDBC and runs a first read.
+     *
+     * @return the number of low-stock products
+     * @throws SQLException if the database cannot be opened or read
+     */
+    @Benchmark
+    public int openDatabase() throws SQLException {
+        connection = DriverManager.getConnection(H2FileDatabases.url(databasePath, settings));
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM product_entity WHERE stock < 10")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Closes the context or connection, and with it the database, outside of the measurement.
+     *
+     * @throws SQLException if the connection cannot be closed
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws SQLException {
+        if (context != null) {
+            context.close();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.cams.inventory.management.benchmark;
+
+import com.cams.inventory.management.entity.generator.TimeOrderedUuidGenerator;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * File-backed H2 databases for the h2file profile benchmarks.
+ */
+final class H2FileDatabases {
+
+    /**
+     * Connection settings of the h2file profile, see application-h2file.properties.
+     */
+    static final String TUNED_SETTINGS = ";CACHE_SIZE=262144;WRITE_DELAY=500;MAX_COMPACT_TIME=2000;DB_CLOSE_ON_EXIT=FALSE";
+
+    /**
+     * H2 default connection settings.
+     */
+    static final String DEFAULT_SETTINGS = ";DB_CLOSE_ON_EXIT=FALSE";
+
+    /**
+     * Number of products the seeded orders refer to.
+     */
+    private static final int PRODUCT_COUNT = 1_000;
+
+    /**
+     * Number of orders inserted per JDBC batch and transaction while seeding.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * Exclusive upper bound of the creation date of the orders seeded over several days.
+     */
+    static final LocalDateTime SEED_END = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private H2FileDatabases() {
+    }
+
+    /**
+     * Builds the JDBC URL of a file database.
+     *
+     * @param databasePath the path of the database, without the .mv.db extension
+     * @param settings     "TUNED" for the h2file profile settings, anything else for the H2 defaults
+     * @return the JDBC URL
+     */
+    static String url(Path databasePath, String settings) {
+        return "jdbc:h2:file:" + databasePath.toAbsolutePath()
+                + ("TUNED".equals(settings) ? TUNED_SETTINGS : DEFAULT_SETTINGS);
+    }
+
+    /**
+     * Returns a migrated database holding the given number of orders with two items each,
+     * creating it on first use. Seeded databases are kept in the temporary directory and reused.
+     *
+     * @param orders the number of orders
+     * @return the path of the database, without the .mv.db extension
+     */
+    static Path seeded(int orders) {
+        return seeded(orders, 1);
+    }
+
+    /**
+     * Returns a migrated database holding the given number of orders with two items each, spread
+     * evenly over the days before {@link #SEED_END}, creating it on first use.
+     *
+     * @param orders the number of orders
+     * @param days   the number of days the orders are created on; 1 creates all of them at the same instant
+     * @return the path of the database, without the .mv.db extension
+     */
+    static Path seeded(int orders, int days) {
+        String name = days == 1 ? "orders-" + orders : "orders-" + orders + "-days-" + days;
+        Path directory = Path.of(System.getProperty("java.io.tmpdir"), "inventory-h2file-benchmark");
+        Path databasePath = directory.resolve(name);
+        Path seededMarker = directory.resolve(name + ".seeded");
+        if (Files.exists(seededMarker)) {
+            return databasePath;
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(directory.resolve(name + ".mv.db"));
+            try (ConfigurableApplicationContext context =
+                         PersistenceBenchmarkApplication.startWithUrl(url(databasePath, "TUNED"))) {
+                seed(context.getBean(DataSource.class), orders, days);
+            }
+            Files.createFile(seededMarker);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not seed " + databasePath, e);
+        }
+        return databasePath;
+    }
+
+    /**
+     * Inserts the products and the orders with their items, at the price of their product, in JDBC batches.
+     *
+     * @param dataSource the data source of the migrated database
+     * @param orders     the number of orders
+     * @param days       the number of days the orders are created on
+     * @throws SQLException if an insert fails
+     */
+    private static void seed(DataSource dataSource, int orders, int days) throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            List<UUID> productIds = new ArrayList<>(PRODUCT_COUNT);
+            long[] prices = new long[PRODUCT_COUNT];
+            try (PreparedStatement insertProduct = connection.prepareStatement("INSERT INTO product_entity "
+                    + "(id, name, sku, price_minor, version, stock) VALUES (?, ?, ?, ?, 0, ?)")) {
+                for (int i = 0; i < PRODUCT_COUNT; i++) {
+                    UUID productId = TimeOrderedUuidGenerator.nextUuid();
+                    productIds.add(productId);
+                    insertProduct.setObject(1, productId);
+                    insertProduct.setString(2, "Product " + i);
+                    insertProduct.setString(3, "SKU-" + i);
+                    prices[i] = random.nextLong(1, 100_000);
+                    insertProduct.setLong(4, prices[i]);
+                    insertProduct.setInt(5, random.nextInt(0, 1_000));
+                    insertProduct.addBatch();
+                }
+                insertProduct.executeBatch();
+            }
+            try (PreparedStatement insertOrder = connection.prepareStatement(
+                    "INSERT INTO order_entity (id, status, order_created_date) VALUES (?, 'COMPLETED', ?)");
+                 PreparedStatement insertItem = connection.prepareStatement(
+                         "INSERT INTO order_item_entity (id, order_id, product_id, quantity, unit_price_minor) "
+                                 + "VALUES (?, ?, ?, ?, ?)")) {
+                Timestamp createdDate = new Timestamp(System.currentTimeMillis());
+                LocalDateTime seedStart = SEED_END.minusDays(days);
+                long nanosBetweenOrders = Duration.ofDays(days).toNanos() / orders;
+                for (int order = 1; order <= orders; order++) {
+                    UUID orderId = TimeOrderedUuidGenerator.nextUuid();
+                    insertOrder.setObject(1, orderId);
+                    insertOrder.setTimestamp(2, days == 1 ? createdDate
+                            : Timestamp.valueOf(seedStart.plusNanos(nanosBetweenOrders * (order - 1))));
+                    insertOrder.addBatch();
+                    for (int item = 0; item < 2; item++) {
+                        int product = random.nextInt(PRODUCT_COUNT);
+                        insertItem.setObject(1, TimeOrderedUuidGenerator.nextUuid());
+                        insertItem.setObject(2, orderId);
+                        insertItem.setObject(3, productIds.get(product));
+                        insertItem.setInt(4, random.nextInt(1, 10));
+                        insertItem.setLong(5, prices[product]);
+                        insertItem.addBatch();
+                    }
+                    if (order % BATCH_SIZE == 0 || order == orders) {
+                        insertOrder.executeBatch();
+                        insertItem.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.cams.inventory.management.benchmark;
+
+import com.cams.inventory.management.dao.order.OrderDao;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Measures the write throughput of order creation, one order with two items per transaction,
+ * on a file-backed H2 database with the h2file profile settings and with the H2 defaults.
+ * <p>
+ * Run with: {@code java -jar benchmark/target/benchmarks.jar H2FileWriteBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class H2FileWriteBenchmark {
+
+    /**
+     * Number of products the orders refer to.
+     */
+    private static final int PRODUCT_COUNT = 100;
+
+    /**
+     * Connection settings: TUNED for the h2file profile, DEFAULT for the H2 defaults.
+     */
+    @Param({"DEFAULT", "TUNED"})
+    public String settings;
+
+    /**
+     * Directory holding the database file of the trial.
+     */
+    private Path databaseDirectory;
+
+    /**
+     * Spring context of the persistence layer.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * DAO persisting the orders.
+     */
+    private OrderDao orderDao;
+
+    /**
+     * Entity manager providing product references without a select.
+     */
+    private EntityManager entityManager;
+
+    /**
+     * Template running every order creation in its own transaction.
+     */
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Identifiers of the products the orders refer to.
+     */
+    private List<UUID> productIds;
+
+    /**
+     * Creates a fresh database with the products.
+     *
+     * @throws IOException if the database directory cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        databaseDirectory = Files.createTempDirectory("h2file-write-benchmark");
+        context = PersistenceBenchmarkApplication.startWithUrl(
+                H2FileDatabases.url(databaseDirectory.resolve("inventorydb"), settings));
+        orderDao = context.getBean(OrderDao.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        productIds = context.getBean(ProductRepository.class).saveAll(IntStream.range(0, PRODUCT_COUNT).mapToObj(i -> {
+            ProductEntity product = new ProductEntity();
+            product.setName("Product " + i);
+            product.setSku("SKU-" + i);
+            product.setPrice(new BigDecimal("9.99"));
+            product.setStock(1_000);
+            return product;
+        }).toList()).stream().map(ProductEntity::getId).toList();
+    }
+
+    /**
+     * Creates one order with two items in its own transaction.
+     *
+     * @return the created order
+     */
+    @Benchmark
+    public OrderEntity createOrder() {
+        return transactionTemplate.execute(status -> {
+            OrderEntity order = new OrderEntity();
+            order.setStatus(OrderStatus.COMPLETED);
+            for (int i = 0; i < 2; i++) {
+                OrderItemEntity item = new OrderItemEntity();
+                item.setProduct(entityManager.getReference(ProductEntity.class,
+                        productIds.get(ThreadLocalRandom.current().nextInt(PRODUCT_COUNT))));
+                item.setQuantity(1);
+                item.setOrder(order);
+                order.getItems().add(item);
+            }
+            return orderDao.createOrder(order);
+        });
+    }
+
+    /**
+     * Closes the database and deletes its files.
+     *
+     * @throws IOException if the database files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(databaseDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.cams.inventory.management.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Spring Boot configuration wiring only the persistence layer (entities, repositories, DAOs,
+ * mappers, caches and the order archive) against an in-memory H2 database, for benchmarks
+ * that need the real beans.
+ * The schema is created by the Flyway migrations of the db module, without the sample data.
+ */
+@SpringBootApplication(scanBasePackages = {
+        "com.cams.inventory.management.archive",
+        "com.cams.inventory.management.cache",
+        "com.cams.inventory.management.dao",
+        "com.cams.inventory.management.mapper"})
+@EnableJpaRepositories(basePackages = "com.cams.inventory.management.repository")
+@EntityScan(basePackages = "com.cams.inventory.management.entity")
+public class PersistenceBenchmarkApplication {
+
+    /**
+     * Registry for the cache metrics, which the application otherwise gets from the actuator.
+     *
+     * @return an in-memory meter registry
+     */
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    /**
+     * Starts a non-web application context on a fresh, migrated in-memory database.
+     *
+     * @param databaseName the name of the in-memory database
+     * @param properties   additional properties in key=value form
+     * @return the started application context
+     */
+    public static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return startWithUrl("jdbc:h2:mem:" + databaseName, properties);
+    }
+
+    /**
+     * Starts a non-web application context on the database at the given JDBC URL,
+     * applying any pending migrations.
+     *
+     * @param url        the JDBC URL of the database
+     * @param properties additional properties in key=value form
+     * @return the started application context
+     */
+    public static ConfigurableApplicationContext startWithUrl(String url, String... properties) {
+        return new SpringApplicationBuilder(PersistenceBenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + url,
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
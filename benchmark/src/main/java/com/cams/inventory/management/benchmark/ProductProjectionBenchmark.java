@@ -0,0 +1,154 @@
+package com.cams.inventory.management.benchmark;
+
+import com.cams.inventory.management.dao.product.ProductDao;
+import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.mapper.ProductMapper;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the product list reads through managed entities and ProductMapper (ENTITY, the former
+ * implementation) with the DTO projections built in the query (PROJECTION).
+ * Scores and the {@code gc.alloc.rate.norm} metric are reported per row.
+ * <p>
+ * Run with: {@code java -jar benchmark/target/benchmarks.jar ProductProjectionBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductProjectionBenchmark {
+
+    /**
+     * Number of products seeded and returned by every read.
+     */
+    private static final int PRODUCT_COUNT = 1_000;
+
+    /**
+     * Stock threshold above the stock of every seeded product.
+     */
+    private static final int STOCK_THRESHOLD = 1_000;
+
+    /**
+     * Read path: ENTITY for entities mapped by ProductMapper, PROJECTION for query-built DTOs.
+     */
+    @Param({"ENTITY", "PROJECTION"})
+    public String readPath;
+
+    /**
+     * Spring context of the persistence layer.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Repository used by the entity read path.
+     */
+    private ProductRepository productRepository;
+
+    /**
+     * Mapper used by the entity read path.
+     */
+    private ProductMapper productMapper;
+
+    /**
+     * DAO providing the projected read path.
+     */
+    private ProductDao productDao;
+
+    /**
+     * SKUs of all seeded products.
+     */
+    private List<String> skus;
+
+    /**
+     * Starts the persistence context and seeds the products.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PersistenceBenchmarkApplication.start("projectionbenchmark");
+        productRepository = context.getBean(ProductRepository.class);
+        productMapper = context.getBean(ProductMapper.class);
+        productDao = context.getBean(ProductDao.class);
+
+        skus = IntStream.range(0, PRODUCT_COUNT).mapToObj(i -> "SKU-" + i).toList();
+        productRepository.saveAll(skus.stream().map(sku -> {
+            ProductEntity product = new ProductEntity();
+            product.setName("Product " + sku);
+            product.setSku(sku);
+            product.setPrice(new BigDecimal("9.99"));
+            product.setStock(STOCK_THRESHOLD / 2);
+            return product;
+        }).toList());
+    }
+
+    /**
+     * Reads all products.
+     *
+     * @return the products read
+     */
+    @Benchmark
+    @OperationsPerInvocation(PRODUCT_COUNT)
+    public List<ProductDto> getAllProducts() {
+        return "ENTITY".equals(readPath)
+                ? productMapper.transformProductEntityListToProductDtoList(productRepository.findAll())
+                : productDao.getAllProducts();
+    }
+
+    /**
+     * Reads the products by SKU.
+     *
+     * @return the products read
+     */
+    @Benchmark
+    @OperationsPerInvocation(PRODUCT_COUNT)
+    public List<ProductDto> getProductsBySku() {
+        return "ENTITY".equals(readPath)
+                ? productMapper.transformProductEntityListToProductDtoList(productRepository.findAllBySkuIn(skus))
+                : productDao.getProductsBySku(skus);
+    }
+
+    /**
+     * Reads the products with stock below the threshold.
+     *
+     * @return the products read
+     */
+    @Benchmark
+    @OperationsPerInvocation(PRODUCT_COUNT)
+    public List<ProductDto> getLowStockProducts() {
+        return "ENTITY".equals(readPath)
+                ? productMapper.transformProductEntityListToProductDtoList(productRepository.findAll()).stream()
+                        .filter(product -> product.getStock() < STOCK_THRESHOLD)
+                        .toList()
+                : productDao.getLowStockProducts(STOCK_THRESHOLD);
+    }
+
+    /**
+     * Closes the persistence context.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
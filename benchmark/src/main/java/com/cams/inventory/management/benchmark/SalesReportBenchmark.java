@@ -0,0 +1,115 @@
+package com.cams.inventory.management.benchmark;
+
+import com.cams.inventory.management.dao.report.SalesReportDao;
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.service.order.OrderArchiveScheduler;
+import com.cams.inventory.management.service.report.TopSellerTracker;
+import com.cams.inventory.management.service.report.impl.SalesReportServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the sales report scales with the number of time slices scanned at the same time,
+ * over a year of orders in a file-backed H2 database.
+ * With a parallelism of 1 the slices are scanned one after the other, which is the sequential baseline.
+ * The database is seeded once per size and reused across runs; the default size keeps the first run
+ * short, pass for instance {@code -p orders=50000000} for a dataset of 100 million items.
+ * <p>
+ * Run with: {@code java -jar benchmark/target/benchmarks.jar SalesReportBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SalesReportBenchmark {
+
+    /**
+     * Number of days the orders are spread over, all of them in the reported range.
+     */
+    private static final int DAYS = 365;
+
+    /**
+     * Number of orders, with two items each, in the database.
+     */
+    @Param({"1000000"})
+    public int orders;
+
+    /**
+     * Number of slices scanned at the same time.
+     */
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    /**
+     * Context of the persistence layer on the seeded database.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Service under measurement.
+     */
+    private SalesReportServiceImpl salesReportService;
+
+    /**
+     * Seeds the database if it does not exist yet, and starts the service with a connection per worker.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Path databasePath = H2FileDatabases.seeded(orders, DAYS);
+        context = PersistenceBenchmarkApplication.startWithUrl(H2FileDatabases.url(databasePath, "TUNED"),
+                "spring.datasource.hikari.maximum-pool-size=" + Math.max(parallelism, 10));
+        salesReportService = new SalesReportServiceImpl(context.getBean(SalesReportDao.class),
+                context.getBean(PlatformTransactionManager.class), parallelism,
+                new TopSellerTracker(100), archiveCutoffBefore(H2FileDatabases.SEED_END.minusDays(DAYS)));
+    }
+
+    /**
+     * Builds an archive scheduler whose cutoff is before a date. It never runs, the benchmark
+     * only needs the seeded orders to be reportable.
+     *
+     * @param date the date the cutoff must be before
+     * @return the archive scheduler
+     */
+    private static OrderArchiveScheduler archiveCutoffBefore(LocalDateTime date) {
+        return new OrderArchiveScheduler(null, null, ChronoUnit.DAYS.between(date, LocalDateTime.now()) + 1, 1);
+    }
+
+    /**
+     * Computes the report of the whole year.
+     *
+     * @return the report, so the work is not optimized away
+     */
+    @Benchmark
+    public SalesReportDto salesReport() {
+        return salesReportService.getSalesReport(H2FileDatabases.SEED_END.minusDays(DAYS), H2FileDatabases.SEED_END);
+    }
+
+    /**
+     * Stops the service and the persistence layer.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        salesReportService.shutdown();
+        context.close();
+    }
+}
@@ -0,0 +1,134 @@
+package com.cams.inventory.management.benchmark;
+
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.util.MoneyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the product summary aggregation over BigDecimal prices (the former implementation)
+ * with the aggregation over long minor units used by OrderServiceImpl.getProductSummaryDetails.
+ * Scores and the {@code gc.alloc.rate.norm} metric are reported per order item.
+ * <p>
+ * Run with: {@code java -jar benchmark/target/benchmarks.jar SummaryAggregationBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummaryAggregationBenchmark {
+
+    /**
+     * Number of order items aggregated per invocation.
+     */
+    private static final int ITEM_COUNT = 1_000_000;
+
+    /**
+     * Number of distinct products the items refer to.
+     */
+    private static final int PRODUCT_COUNT = 100;
+
+    /**
+     * Order items to aggregate.
+     */
+    private List<OrderItemEntity> items;
+
+    /**
+     * The same order items in the former shape, with a BigDecimal price shared per product,
+     * so the baseline does not pay for the minor-unit conversion of ProductEntity.getPrice.
+     */
+    private List<BigDecimalOrderItem> bigDecimalItems;
+
+    /**
+     * Order item as aggregated by the former implementation.
+     *
+     * @param productName the name of the ordered product
+     * @param price       the BigDecimal price of the ordered product
+     * @param quantity    the ordered quantity
+     */
+    private record BigDecimalOrderItem(String productName, BigDecimal price, int quantity) {
+    }
+
+    /**
+     * Creates the order items with random products and quantities.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<ProductEntity> products = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setName("Product " + i);
+            product.setPrice(MoneyUtils.toMajorUnits(random.nextLong(1, 100_000)));
+            products.add(product);
+        }
+        List<BigDecimal> prices = products.stream().map(ProductEntity::getPrice).toList();
+        items = new ArrayList<>(ITEM_COUNT);
+        bigDecimalItems = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            int productIndex = random.nextInt(PRODUCT_COUNT);
+            OrderItemEntity item = new OrderItemEntity();
+            item.setProduct(products.get(productIndex));
+            item.setQuantity(random.nextInt(1, 50));
+            items.add(item);
+            bigDecimalItems.add(new BigDecimalOrderItem(item.getProduct().getName(), prices.get(productIndex),
+                    item.getQuantity()));
+        }
+    }
+
+    /**
+     * Aggregates BigDecimal price times quantity per product name.
+     *
+     * @return the totals per product name
+     */
+    @Benchmark
+    @OperationsPerInvocation(ITEM_COUNT)
+    public Map<String, BigDecimal> bigDecimal() {
+        return bigDecimalItems.stream()
+                .collect(Collectors.groupingBy(BigDecimalOrderItem::productName,
+                        Collectors.reducing(BigDecimal.ZERO,
+                                item -> item.price().multiply(BigDecimal.valueOf(item.quantity())),
+                                BigDecimal::add)));
+    }
+
+    /**
+     * Aggregates price times quantity per product name in long minor units,
+     * converting to BigDecimal once per product.
+     *
+     * @return the totals per product name
+     */
+    @Benchmark
+    @OperationsPerInvocation(ITEM_COUNT)
+    public Map<String, BigDecimal> minorUnits() {
+        Map<String, long[]> totalsInMinorUnits = new HashMap<>();
+        for (OrderItemEntity item : items) {
+            long[] total = totalsInMinorUnits.computeIfAbsent(item.getProduct().getName(), name -> new long[1]);
+            total[0] = Math.addExact(total[0], Math.multiplyExact(item.getProduct().getPriceMinor(), (long) item.getQuantity()));
+        }
+        Map<String, BigDecimal> productSummary = new HashMap<>();
+        totalsInMinorUnits.forEach((name, total) -> productSummary.put(name, MoneyUtils.toMajorUnits(total[0])));
+        return productSummary;
+    }
+}
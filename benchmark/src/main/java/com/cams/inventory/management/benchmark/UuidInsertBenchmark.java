@@ -0,0 +1,138 @@
+package com.cams.inventory.management.benchmark;
+
+import com.cams.inventory.management.entity.generator.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Compares bulk inserts into an order-shaped table keyed by random (version 4) UUIDs
+ * with inserts keyed by time-ordered (version 7) UUIDs from TimeOrderedUuidGenerator.
+ * Each invocation fills a fresh file-backed H2 database, so the cost of primary-key
+ * index page splits is measured at the full table size.
+ * <p>
+ * Run with: {@code java -jar benchmark/target/benchmarks.jar UuidInsertBenchmark -p rows=10000000}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class UuidInsertBenchmark {
+
+    /**
+     * Number of rows inserted per invocation.
+     */
+    @Param({"10000000"})
+    public int rows;
+
+    /**
+     * Identifier strategy: RANDOM for UUID version 4, TIME_ORDERED for UUID version 7.
+     */
+    @Param({"RANDOM", "TIME_ORDERED"})
+    public String idStrategy;
+
+    /**
+     * Number of rows inserted per JDBC batch and transaction.
+     */
+    private static final int BATCH_SIZE = 1_000;
+
+    /**
+     * Directory holding the database files of the current invocation.
+     */
+    private Path databaseDirectory;
+
+    /**
+     * Connection to the database of the current invocation.
+     */
+    private Connection connection;
+
+    /**
+     * Supplier of the identifiers to insert.
+     */
+    private Supplier<UUID> idSupplier;
+
+    /**
+     * Creates an empty database with the order table before each invocation.
+     *
+     * @throws IOException  if the database directory cannot be created
+     * @throws SQLException if the table cannot be created
+     */
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException, SQLException {
+        idSupplier = "RANDOM".equals(idStrategy) ? UUID::randomUUID : TimeOrderedUuidGenerator::nextUuid;
+        databaseDirectory = Files.createTempDirectory("uuid-insert-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + databaseDirectory.resolve("orders"), "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE order_entity (id UUID PRIMARY KEY, status VARCHAR(255), "
+                    + "order_created_date TIMESTAMP(6))");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    /**
+     * Inserts the configured number of rows in batches, committing after every batch.
+     *
+     * @return the number of rows inserted
+     * @throws SQLException if an insert fails
+     */
+    @Benchmark
+    public int insertOrders() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO order_entity (id, status, order_created_date) VALUES (?, 'COMPLETED', ?)")) {
+            for (int row = 1; row <= rows; row++) {
+                insert.setObject(1, idSupplier.get());
+                insert.setTimestamp(2, now);
+                insert.addBatch();
+                if (row % BATCH_SIZE == 0 || row == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Closes the database and deletes its files after each invocation.
+     *
+     * @throws IOException  if the database files cannot be deleted
+     * @throws SQLException if the database cannot be closed
+     */
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException, SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        connection.close();
+        try (Stream<Path> files = Files.walk(databaseDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.cams.inventory.management.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request object representing one line of a price feed: the new price of a product, identified
+ * either by its id or by its SKU. Lines are checked one by one, so an invalid line is reported in
+ * the progress of the feed instead of rejecting it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPriceChangeRequest {
+
+    /**
+     * The unique identifier of the product, when it is not identified by its SKU.
+     */
+    private String productId;
+
+    /**
+     * The SKU of the product, when it is not identified by its id.
+     */
+    private String sku;
+
+    /**
+     * The new price of the product, not negative and with at most two decimal places.
+     */
+    private BigDecimal price;
+}
@@ -0,0 +1,29 @@
+package com.cams.inventory.management.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request object for replacing the price of a product.
+ * The expected product version is passed in the If-Match header.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPriceUpdateRequest {
+
+    /**
+     * The new price of the product.
+     * Cannot be negative and has at most two decimal places, the scale prices are stored at.
+     */
+    @NotNull(message = "Mandatory price is missing")
+    @DecimalMin("0.0")
+    @Digits(integer = 15, fraction = 2, message = "Price must have at most two decimal places")
+    private BigDecimal price;
+}
@@ -1,5 +1,6 @@
 package com.cams.inventory.management.request;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -36,7 +37,9 @@ public class ProductRequest {
 
     /**
      * The price of the product.
+     * At most two decimal places, the scale prices are stored at.
      */
+    @Digits(integer = 15, fraction = 2, message = "Price must have at most two decimal places")
     private BigDecimal price;
 
     /**
@@ -0,0 +1,25 @@
+package com.cams.inventory.management.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request object for replacing the stock of a product.
+ * The expected product version is passed in the If-Match header.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductStockUpdateRequest {
+
+    /**
+     * The new available stock of the product.
+     * Cannot be negative.
+     */
+    @NotNull(message = "Mandatory stock quantity is missing")
+    @Min(0)
+    private Integer stock;
+}
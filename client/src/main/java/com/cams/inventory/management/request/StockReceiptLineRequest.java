@@ -0,0 +1,31 @@
+package com.cams.inventory.management.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request object representing one line of a stock receipt: a quantity received of a product,
+ * identified either by its id or by its SKU. Lines are checked one by one, so an invalid line
+ * is reported in the outcome of the receipt instead of rejecting it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockReceiptLineRequest {
+
+    /**
+     * The unique identifier of the product, when it is not identified by its SKU.
+     */
+    private String productId;
+
+    /**
+     * The SKU of the product, when it is not identified by its id.
+     */
+    private String sku;
+
+    /**
+     * The quantity received, at least 1.
+     */
+    private Integer quantity;
+}
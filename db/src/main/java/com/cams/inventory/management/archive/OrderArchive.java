@@ -0,0 +1,357 @@
+package com.cams.inventory.management.archive;
+
+import com.cams.inventory.management.entity.order.OrderEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Directory of immutable order archive segments, mapped into memory.
+ * <p>
+ * Each archiving run adds one segment per chunk of orders, and the segments added since the last
+ * full one are then merged into id-sorted segments of up to {@code max-segment-orders} orders, so
+ * the number of segments, and of mappings, grows with the archived orders rather than with the runs.
+ * Segments are never modified, only replaced by merging. Lookups try the newest segment first, so if
+ * an order was archived twice, for example because the transaction deleting it failed after its
+ * segment was written, the latest copy wins; a merge keeps only that copy.
+ */
+@Component
+public class OrderArchive {
+
+    /**
+     * Logger instance for logging messages in the OrderArchive class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchive.class);
+
+    /**
+     * File name extension of complete segments.
+     */
+    private static final String SEGMENT_EXTENSION = ".seg";
+
+    /**
+     * File name extension of segments being written.
+     */
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    /**
+     * Directory holding the segments, created on the first write.
+     */
+    private final Path directory;
+
+    /**
+     * Maximum number of orders of a merged segment.
+     */
+    private final int maxSegmentOrders;
+
+    /**
+     * Mapped segments, newest first. Replaced as a whole when a segment is added.
+     */
+    private volatile List<OrderArchiveSegment> segments;
+
+    /**
+     * Creation time of the latest segment, in epoch milliseconds, kept increasing so names are unique.
+     */
+    private long lastCreatedMillis;
+
+    /**
+     * Constructor for `OrderArchive`, mapping the segments already in the directory.
+     *
+     * @param directory        the directory holding the segments
+     * @param maxSegmentOrders the maximum number of orders of a merged segment
+     * @throws UncheckedIOException if an existing segment cannot be read
+     */
+    public OrderArchive(@Value("${inventory.order-archive.directory:./data/order-archive}") Path directory,
+                        @Value("${inventory.order-archive.max-segment-orders:100000}") int maxSegmentOrders) {
+        this.directory = directory;
+        this.maxSegmentOrders = maxSegmentOrders;
+        this.segments = openSegments(directory);
+        if (!segments.isEmpty()) {
+            logger.info("Mapped {} order archive segments from {}", segments.size(), directory);
+        }
+    }
+
+    /**
+     * Writes orders to a new segment and maps it.
+     * The segment is written under a temporary name and renamed once it is on disk, so a crash
+     * never leaves a partial segment behind.
+     *
+     * @param orders the orders to archive, with their items; at least one
+     * @return the path of the new segment
+     * @throws UncheckedIOException if the segment cannot be written
+     */
+    public synchronized Path write(List<OrderEntity> orders) {
+        try {
+            Files.createDirectories(directory);
+            UUID firstId = orders.stream().map(OrderEntity::getId).min(OrderArchiveSegment.ID_ORDER).orElseThrow();
+            String name = nextSegmentName(firstId);
+            Path temporary = directory.resolve(name + TEMPORARY_EXTENSION);
+            Path segmentFile = directory.resolve(name + SEGMENT_EXTENSION);
+
+            OrderArchiveSegment.write(temporary, orders);
+            Files.move(temporary, segmentFile, StandardCopyOption.ATOMIC_MOVE);
+
+            List<OrderArchiveSegment> updated = new ArrayList<>(segments.size() + 1);
+            updated.add(OrderArchiveSegment.open(segmentFile));
+            updated.addAll(segments);
+            segments = List.copyOf(updated);
+            return segmentFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while writing order archive segment to " + directory, e);
+        }
+    }
+
+    /**
+     * Merges the segments added since the newest full segment, one per chunk of the latest archiving
+     * runs, into id-sorted segments of up to the maximum number of orders. The segments are merged as
+     * they are read, a block of each at a time, and an order found in several keeps its newest copy.
+     * The merged segments are written and mapped before the old ones are dropped; a crash in between
+     * leaves both on disk, which only costs lookups, as both hold the same orders.
+     *
+     * @return the number of segments merged, 0 if there was nothing to merge
+     * @throws UncheckedIOException if a segment cannot be read or written
+     */
+    public synchronized int compact() {
+        List<OrderArchiveSegment> current = segments;
+        int small = 0;
+        while (small < current.size() && current.get(small).getOrderCount() < maxSegmentOrders) {
+            small++;
+        }
+        if (small < 2) {
+            return 0;
+        }
+        List<OrderArchiveSegment> merged = current.subList(0, small);
+        int remaining = merged.stream().mapToInt(OrderArchiveSegment::getOrderCount).sum();
+
+        List<OrderArchiveSegment> written = new ArrayList<>();
+        Path temporary = null;
+        boolean completed = false;
+        try {
+            MergingIterator orders = new MergingIterator(merged);
+            while (orders.hasNext()) {
+                String name = nextSegmentName(orders.peek().getId());
+                temporary = directory.resolve(name + TEMPORARY_EXTENSION);
+                Path segmentFile = directory.resolve(name + SEGMENT_EXTENSION);
+                remaining -= OrderArchiveSegment.write(temporary, orders, Math.min(remaining, maxSegmentOrders));
+                Files.move(temporary, segmentFile, StandardCopyOption.ATOMIC_MOVE);
+                temporary = null;
+                written.add(0, OrderArchiveSegment.open(segmentFile));
+            }
+            completed = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while merging order archive segments in " + directory, e);
+        } finally {
+            if (!completed) {
+                // Drop the partial result, the old segments still hold every order
+                if (temporary != null) {
+                    deleteSegmentFile(temporary);
+                }
+                written.forEach(segment -> deleteSegmentFile(segment.getFile()));
+            }
+        }
+
+        List<OrderArchiveSegment> updated = new ArrayList<>(written);
+        updated.addAll(current.subList(small, current.size()));
+        segments = List.copyOf(updated);
+        // The mappings of the old segments stay valid for the lookups still reading them
+        merged.forEach(segment -> deleteSegmentFile(segment.getFile()));
+        logger.info("Merged {} order archive segments into {}", small, written.size());
+        return small;
+    }
+
+    /**
+     * Looks up an archived order by id.
+     *
+     * @param orderId the unique identifier of the order
+     * @return the order with its items, whose products hold only their id, or empty if not archived
+     * @throws UncheckedIOException if a segment is corrupt
+     */
+    public Optional<OrderEntity> find(UUID orderId) {
+        try {
+            for (OrderArchiveSegment segment : segments) {
+                Optional<OrderEntity> order = segment.find(orderId);
+                if (order.isPresent()) {
+                    return order;
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the mapped segments, newest first.
+     *
+     * @return the segments
+     */
+    public List<OrderArchiveSegment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns the name of a new segment, without extension.
+     * The zero-padded creation time comes first, so that names sort from oldest to newest; it is
+     * kept increasing so names are unique.
+     *
+     * @param firstId the first order id of the segment
+     * @return the name of the segment
+     */
+    private String nextSegmentName(UUID firstId) {
+        lastCreatedMillis = Math.max(lastCreatedMillis + 1, System.currentTimeMillis());
+        return String.format("orders-%019d-%s", lastCreatedMillis, firstId);
+    }
+
+    /**
+     * Deletes a segment file, logging rather than failing if it cannot be deleted.
+     *
+     * @param file the path of the segment file
+     */
+    private static void deleteSegmentFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete order archive segment {} - {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Maps the complete segments of a directory; leftover temporary files are ignored.
+     *
+     * @param directory the directory holding the segments
+     * @return the segments, newest first
+     * @throws UncheckedIOException if a segment cannot be read
+     */
+    private static List<OrderArchiveSegment> openSegments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<OrderArchiveSegment> opened = new ArrayList<>();
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_EXTENSION))
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .toList()) {
+                opened.add(OrderArchiveSegment.open(file));
+            }
+            return List.copyOf(opened);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while opening order archive segments in " + directory, e);
+        }
+    }
+
+    /**
+     * Iterator merging the orders of several segments in id order, keeping only the copy of the newest
+     * segment of an order found in several.
+     */
+    private static class MergingIterator implements Iterator<OrderEntity> {
+
+        /**
+         * Cursors of the segments not exhausted yet, by their next order id, then newest segment first.
+         */
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>(
+                Comparator.comparing((Cursor cursor) -> cursor.next.getId(), OrderArchiveSegment.ID_ORDER)
+                        .thenComparingInt(cursor -> cursor.age));
+
+        /**
+         * Constructor for `MergingIterator`.
+         *
+         * @param segments the segments to merge, newest first
+         */
+        MergingIterator(List<OrderArchiveSegment> segments) {
+            for (int age = 0; age < segments.size(); age++) {
+                Cursor cursor = new Cursor(segments.get(age).iterator(), age);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+
+        /**
+         * Returns the next order without moving past it.
+         *
+         * @return the next order
+         * @throws NoSuchElementException if every order was returned
+         */
+        OrderEntity peek() {
+            if (cursors.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return cursors.peek().next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cursors.isEmpty();
+        }
+
+        @Override
+        public OrderEntity next() {
+            OrderEntity order = peek();
+            // Move every cursor past the id, the newest copy came first
+            while (!cursors.isEmpty() && cursors.peek().next.getId().equals(order.getId())) {
+                Cursor cursor = cursors.poll();
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            return order;
+        }
+
+        /**
+         * Position in the orders of one segment.
+         */
+        private static class Cursor {
+
+            /**
+             * Orders of the segment, in id order.
+             */
+            private final Iterator<OrderEntity> orders;
+
+            /**
+             * Rank of the segment, 0 for the newest.
+             */
+            private final int age;
+
+            /**
+             * Next order of the segment.
+             */
+            private OrderEntity next;
+
+            /**
+             * Constructor for `Cursor`.
+             *
+             * @param orders the orders of the segment, in id order
+             * @param age    the rank of the segment, 0 for the newest
+             */
+            Cursor(Iterator<OrderEntity> orders, int age) {
+                this.orders = orders;
+                this.age = age;
+            }
+
+            /**
+             * Moves to the next order of the segment.
+             *
+             * @return false if the segment has no more orders
+             */
+            boolean advance() {
+                next = orders.hasNext() ? orders.next() : null;
+                return next != null;
+            }
+        }
+    }
+}
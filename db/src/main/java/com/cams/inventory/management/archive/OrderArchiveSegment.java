@@ -0,0 +1,547 @@
+package com.cams.inventory.management.archive;
+
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.entity.product.ProductEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable, memory-mapped file of archived orders.
+ * <p>
+ * Orders are sorted by id and stored in blocks of {@link #ORDERS_PER_BLOCK}, each block
+ * deflated on its own. A sparse index holding the first order id of every block follows the
+ * blocks, so a lookup binary-searches the index and inflates a single block. A Bloom filter of
+ * the order ids follows the index, so most lookups of orders that are not in the segment inflate
+ * nothing. Layout:
+ * <pre>
+ * header  int magic, int format version
+ * blocks  deflated orders
+ * index   per block: long first id msb, long first id lsb, long offset,
+ *         int compressed length, int uncompressed length, int order count
+ * filter  long words of the Bloom filter
+ * footer  long last id msb, long last id lsb, long index offset, int block count,
+ *         int order count, long filter offset, int filter word count, int magic
+ * </pre>
+ * Ids are compared unsigned, which is the order of the time-ordered ids and of the database.
+ * Version 3 adds the filter and its two footer fields. Version 2 stores the unit price of every item;
+ * version 1 segments are still read, their items without a price. Segments of both are read without a filter.
+ */
+public class OrderArchiveSegment {
+
+    /**
+     * Marks the start and the end of a segment file.
+     */
+    private static final int MAGIC = 0x4F524453;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int FORMAT_VERSION = 3;
+
+    /**
+     * Oldest version of the file format still read.
+     */
+    private static final int OLDEST_FORMAT_VERSION = 1;
+
+    /**
+     * Number of orders deflated together; larger blocks compress better but cost more per lookup.
+     */
+    static final int ORDERS_PER_BLOCK = 64;
+
+    /**
+     * Size of the header, in bytes.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * Size of an index entry, in bytes.
+     */
+    private static final int INDEX_ENTRY_SIZE = 36;
+
+    /**
+     * Size of the footer, in bytes.
+     */
+    private static final int FOOTER_SIZE = 48;
+
+    /**
+     * Size of the footer of the versions without a filter, in bytes.
+     */
+    private static final int FOOTER_SIZE_WITHOUT_FILTER = 36;
+
+    /**
+     * Unsigned order of ids.
+     */
+    static final Comparator<UUID> ID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    /**
+     * Path of the segment file.
+     */
+    private final Path file;
+
+    /**
+     * Read-only mapping of the whole file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Version of the file format of the segment.
+     */
+    private final int formatVersion;
+
+    /**
+     * First order id of every block.
+     */
+    private final UUID[] firstIds;
+
+    /**
+     * Offset of every block in the file.
+     */
+    private final int[] offsets;
+
+    /**
+     * Compressed length of every block.
+     */
+    private final int[] compressedLengths;
+
+    /**
+     * Uncompressed length of every block.
+     */
+    private final int[] uncompressedLengths;
+
+    /**
+     * Number of orders in every block.
+     */
+    private final int[] orderCounts;
+
+    /**
+     * Last order id of the segment.
+     */
+    private final UUID lastId;
+
+    /**
+     * Number of orders in the segment.
+     */
+    private final int orderCount;
+
+    /**
+     * Bloom filter of the order ids, null for the versions without a filter.
+     */
+    private final OrderIdFilter filter;
+
+    /**
+     * Constructor for `OrderArchiveSegment`, reading the index of a mapped file.
+     *
+     * @param file   the path of the segment file
+     * @param buffer the read-only mapping of the whole file
+     * @throws IOException if the file is not a complete segment
+     */
+    private OrderArchiveSegment(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+
+        int size = buffer.capacity();
+        if (size < HEADER_SIZE + FOOTER_SIZE_WITHOUT_FILTER || buffer.getInt(0) != MAGIC
+                || buffer.getInt(size - 4) != MAGIC) {
+            throw new IOException("Not a complete order archive segment: " + file);
+        }
+        formatVersion = buffer.getInt(4);
+        if (formatVersion < OLDEST_FORMAT_VERSION || formatVersion > FORMAT_VERSION) {
+            throw new IOException("Unsupported order archive segment version " + formatVersion + ": " + file);
+        }
+
+        int footer = size - (formatVersion >= 3 ? FOOTER_SIZE : FOOTER_SIZE_WITHOUT_FILTER);
+        lastId = new UUID(buffer.getLong(footer), buffer.getLong(footer + 8));
+        int indexOffset = (int) buffer.getLong(footer + 16);
+        int blockCount = buffer.getInt(footer + 24);
+        orderCount = buffer.getInt(footer + 28);
+        if (formatVersion >= 3) {
+            int filterOffset = (int) buffer.getLong(footer + 32);
+            long[] words = new long[buffer.getInt(footer + 40)];
+            for (int word = 0; word < words.length; word++) {
+                words[word] = buffer.getLong(filterOffset + word * 8);
+            }
+            filter = new OrderIdFilter(words);
+        } else {
+            filter = null;
+        }
+
+        firstIds = new UUID[blockCount];
+        offsets = new int[blockCount];
+        compressedLengths = new int[blockCount];
+        uncompressedLengths = new int[blockCount];
+        orderCounts = new int[blockCount];
+        for (int block = 0; block < blockCount; block++) {
+            int entry = indexOffset + block * INDEX_ENTRY_SIZE;
+            firstIds[block] = new UUID(buffer.getLong(entry), buffer.getLong(entry + 8));
+            offsets[block] = (int) buffer.getLong(entry + 16);
+            compressedLengths[block] = buffer.getInt(entry + 24);
+            uncompressedLengths[block] = buffer.getInt(entry + 28);
+            orderCounts[block] = buffer.getInt(entry + 32);
+        }
+    }
+
+    /**
+     * Maps an existing segment file. The mapping stays valid after the file is closed.
+     *
+     * @param file the path of the segment file
+     * @return the segment
+     * @throws IOException if the file cannot be read or is not a complete segment
+     */
+    public static OrderArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new OrderArchiveSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes orders, with their items, to a new segment file and forces it to disk.
+     * Only the product ids, the quantities and the unit prices of the items are stored.
+     *
+     * @param file   the path of the segment file, which must not exist
+     * @param orders the orders to write, in any order; at least one
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, List<OrderEntity> orders) throws IOException {
+        List<OrderEntity> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparing(OrderEntity::getId, ID_ORDER));
+        write(file, sorted.iterator(), sorted.size());
+    }
+
+    /**
+     * Writes the next orders of an iterator, with their items, to a new segment file and forces it to disk.
+     * The orders are encoded a block at a time, so a segment of any size is written without holding
+     * all its orders in memory.
+     *
+     * @param file      the path of the segment file, which must not exist
+     * @param orders    the orders to write, sorted by id without duplicates; at least one
+     * @param maxOrders the maximum number of orders to take from the iterator, which sizes the filter
+     * @return the number of orders written
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if there is no order, or the orders are not sorted by id
+     */
+    public static int write(Path file, Iterator<OrderEntity> orders, int maxOrders) throws IOException {
+        if (!orders.hasNext() || maxOrders < 1) {
+            throw new IllegalArgumentException("A segment holds at least one order");
+        }
+        OrderIdFilter filter = new OrderIdFilter(maxOrders);
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOutput = new DataOutputStream(index);
+        Deflater deflater = new Deflater();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip());
+            long offset = HEADER_SIZE;
+            List<OrderEntity> blockOrders = new ArrayList<>(ORDERS_PER_BLOCK);
+            UUID lastId = null;
+            int orderCount = 0;
+            while (orderCount < maxOrders && orders.hasNext()) {
+                OrderEntity order = orders.next();
+                if (lastId != null && ID_ORDER.compare(order.getId(), lastId) <= 0) {
+                    throw new IllegalArgumentException("Orders of a segment must be sorted by id without duplicates");
+                }
+                blockOrders.add(order);
+                filter.add(order.getId());
+                lastId = order.getId();
+                orderCount++;
+                if (blockOrders.size() < ORDERS_PER_BLOCK && orderCount < maxOrders && orders.hasNext()) {
+                    continue;
+                }
+
+                byte[] block = encode(blockOrders);
+                byte[] compressed = deflate(deflater, block);
+                UUID firstId = blockOrders.get(0).getId();
+                indexOutput.writeLong(firstId.getMostSignificantBits());
+                indexOutput.writeLong(firstId.getLeastSignificantBits());
+                indexOutput.writeLong(offset);
+                indexOutput.writeInt(compressed.length);
+                indexOutput.writeInt(block.length);
+                indexOutput.writeInt(blockOrders.size());
+                writeFully(channel, ByteBuffer.wrap(compressed));
+                offset += compressed.length;
+                blockOrders.clear();
+            }
+
+            long[] words = filter.getWords();
+            ByteBuffer filterBytes = ByteBuffer.allocate(words.length * 8);
+            filterBytes.asLongBuffer().put(words);
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE)
+                    .putLong(lastId.getMostSignificantBits())
+                    .putLong(lastId.getLeastSignificantBits())
+                    .putLong(offset)
+                    .putInt(index.size() / INDEX_ENTRY_SIZE)
+                    .putInt(orderCount)
+                    .putLong(offset + index.size())
+                    .putInt(words.length)
+                    .putInt(MAGIC)
+                    .flip();
+            writeFully(channel, ByteBuffer.wrap(index.toByteArray()));
+            writeFully(channel, filterBytes);
+            writeFully(channel, footer);
+            channel.force(true);
+            return orderCount;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Looks up an order by id, inflating the only block that can hold it.
+     *
+     * @param orderId the unique identifier of the order
+     * @return the order with its items, whose products hold only their id, or empty if not in the segment
+     * @throws IOException if the block is corrupt
+     */
+    public Optional<OrderEntity> find(UUID orderId) throws IOException {
+        if (firstIds.length == 0 || ID_ORDER.compare(orderId, firstIds[0]) < 0 || ID_ORDER.compare(orderId, lastId) > 0
+                || filter != null && !filter.mightContain(orderId)) {
+            return Optional.empty();
+        }
+
+        // Last block starting at or before the id
+        int low = 0;
+        int high = firstIds.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (ID_ORDER.compare(firstIds[middle], orderId) <= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(inflate(low)));
+        for (int i = 0; i < orderCounts[low]; i++) {
+            OrderEntity order = decode(input, formatVersion);
+            if (order.getId().equals(orderId)) {
+                return Optional.of(order);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns every order of the segment, in id order. The blocks are inflated one at a time as the
+     * iteration reaches them.
+     *
+     * @return an iterator over the orders, throwing UncheckedIOException if a block is corrupt
+     */
+    public Iterator<OrderEntity> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * Index of the next block to inflate.
+             */
+            private int block;
+
+            /**
+             * Orders of the current block not returned yet.
+             */
+            private int remaining;
+
+            /**
+             * Current block, uncompressed.
+             */
+            private DataInputStream input;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0 || block < firstIds.length;
+            }
+
+            @Override
+            public OrderEntity next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    if (remaining == 0) {
+                        input = new DataInputStream(new ByteArrayInputStream(inflate(block)));
+                        remaining = orderCounts[block++];
+                    }
+                    remaining--;
+                    return decode(input, formatVersion);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the path of the segment file.
+     *
+     * @return the path of the segment file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the number of orders in the segment.
+     *
+     * @return the number of orders
+     */
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Encodes the orders of a block.
+     *
+     * @param orders the orders, sorted by id
+     * @return the uncompressed block
+     * @throws IOException never, the block is written to memory
+     */
+    private static byte[] encode(List<OrderEntity> orders) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        for (OrderEntity order : orders) {
+            output.writeLong(order.getId().getMostSignificantBits());
+            output.writeLong(order.getId().getLeastSignificantBits());
+            output.writeUTF(order.getStatus().name());
+            LocalDateTime created = order.getOrderCreatedDate();
+            output.writeBoolean(created != null);
+            if (created != null) {
+                output.writeLong(created.toEpochSecond(ZoneOffset.UTC));
+                output.writeInt(created.getNano());
+            }
+            output.writeInt(order.getItems().size());
+            for (OrderItemEntity item : order.getItems()) {
+                UUID productId = item.getProduct().getId();
+                output.writeLong(item.getId().getMostSignificantBits());
+                output.writeLong(item.getId().getLeastSignificantBits());
+                output.writeLong(productId.getMostSignificantBits());
+                output.writeLong(productId.getLeastSignificantBits());
+                output.writeInt(item.getQuantity());
+                output.writeBoolean(item.getUnitPriceMinor() != null);
+                if (item.getUnitPriceMinor() != null) {
+                    output.writeLong(item.getUnitPriceMinor());
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the next order of a block.
+     *
+     * @param input         the uncompressed block
+     * @param formatVersion the version of the file format of the block
+     * @return the order with its items, whose products hold only their id
+     * @throws IOException if the block is truncated
+     */
+    private static OrderEntity decode(DataInputStream input, int formatVersion) throws IOException {
+        OrderEntity order = new OrderEntity();
+        order.setId(new UUID(input.readLong(), input.readLong()));
+        order.setStatus(OrderStatus.valueOf(input.readUTF()));
+        if (input.readBoolean()) {
+            order.setOrderCreatedDate(LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC));
+        }
+        order.setArchived(true);
+
+        int itemCount = input.readInt();
+        for (int i = 0; i < itemCount; i++) {
+            OrderItemEntity item = new OrderItemEntity();
+            item.setId(new UUID(input.readLong(), input.readLong()));
+            ProductEntity product = new ProductEntity();
+            product.setId(new UUID(input.readLong(), input.readLong()));
+            item.setProduct(product);
+            item.setQuantity(input.readInt());
+            // Items of version 1 segments were archived without their price
+            if (formatVersion >= 2 && input.readBoolean()) {
+                item.setUnitPriceMinor(input.readLong());
+            }
+            item.setOrder(order);
+            order.getItems().add(item);
+        }
+        return order;
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to a channel.
+     *
+     * @param channel the channel of the file
+     * @param bytes   the bytes to write
+     * @throws IOException if the bytes cannot be written
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Deflates an uncompressed block.
+     *
+     * @param deflater the deflater, reset before use
+     * @param block    the uncompressed block
+     * @return the compressed block
+     */
+    private static byte[] deflate(Deflater deflater, byte[] block) {
+        deflater.reset();
+        deflater.setInput(block);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(block.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Inflates a block straight from the mapping.
+     *
+     * @param block the index of the block
+     * @return the uncompressed block
+     * @throws IOException if the block is corrupt
+     */
+    private byte[] inflate(int block) throws IOException {
+        byte[] uncompressed = new byte[uncompressedLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offsets[block], compressedLengths[block]));
+            int length = 0;
+            while (length < uncompressed.length && !inflater.finished()) {
+                int inflated = inflater.inflate(uncompressed, length, uncompressed.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != uncompressed.length) {
+                throw new IOException("Truncated block " + block + " in order archive segment " + file);
+            }
+            return uncompressed;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block " + block + " in order archive segment " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
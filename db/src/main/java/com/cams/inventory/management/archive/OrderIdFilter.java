@@ -0,0 +1,126 @@
+package com.cams.inventory.management.archive;
+
+import java.util.UUID;
+
+/**
+ * Bloom filter of the order ids of a segment.
+ * <p>
+ * A lookup of an id that is not in the segment is rejected without inflating a block, except for
+ * about one id in a hundred; an id that is in the segment is never rejected. The ids of the orders
+ * created before the time-ordered ids are random, so the id range of a segment of such orders spans
+ * almost all ids and only the filter tells the segments that cannot hold an order apart.
+ */
+final class OrderIdFilter {
+
+    /**
+     * Number of bits per id, which with {@link #HASH_COUNT} hashes gives about 1% false positives.
+     */
+    private static final int BITS_PER_ID = 10;
+
+    /**
+     * Number of bits set per id.
+     */
+    private static final int HASH_COUNT = 7;
+
+    /**
+     * Bits of the filter, 64 per word.
+     */
+    private final long[] words;
+
+    /**
+     * Constructor for `OrderIdFilter`, with an empty filter sized for a number of ids.
+     *
+     * @param expectedIds the number of ids the filter will hold
+     */
+    OrderIdFilter(int expectedIds) {
+        this(new long[Math.max(1, (int) (((long) expectedIds * BITS_PER_ID + 63) / 64))]);
+    }
+
+    /**
+     * Constructor for `OrderIdFilter`, over the bits of a filter read back from a segment.
+     *
+     * @param words the bits of the filter, 64 per word
+     */
+    OrderIdFilter(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Adds an id to the filter.
+     *
+     * @param id the order id
+     */
+    void add(UUID id) {
+        long hash = hash(id);
+        long bits = (long) words.length * 64;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long bit = bit(hash, i, bits);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Tells whether an id may have been added to the filter.
+     *
+     * @param id the order id
+     * @return false if the id was never added, true if it probably was
+     */
+    boolean mightContain(UUID id) {
+        long hash = hash(id);
+        long bits = (long) words.length * 64;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long bit = bit(hash, i, bits);
+            if ((words[(int) (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the bits of the filter, 64 per word.
+     *
+     * @return the words of the filter
+     */
+    long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Hashes an id into 64 well mixed bits; the random bits of time-ordered ids are all in the low half.
+     *
+     * @param id the order id
+     * @return the hash of the id
+     */
+    private static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    /**
+     * Derives the i-th bit of an id from the two halves of its hash.
+     *
+     * @param hash the hash of the id
+     * @param i    the index of the hash function
+     * @param bits the number of bits of the filter
+     * @return the index of the bit
+     */
+    private static long bit(long hash, int i, long bits) {
+        long combined = (hash & 0xFFFFFFFFL) + i * (hash >>> 32);
+        return combined % bits;
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreading every input bit over the whole output.
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,91 @@
+package com.cams.inventory.management.cache;
+
+import com.cams.inventory.management.dto.OrderSnapshot;
+import com.cams.inventory.management.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of order snapshots keyed by order id, holding the recently created,
+ * updated or read orders.
+ * New orders are cached once their transaction commits; updated orders are evicted once their
+ * transaction commits. Orders carry no version, so eviction rather than replacement keeps two
+ * updates committing close together from leaving the older state cached.
+ */
+@Component
+public class OrderCache {
+
+    /**
+     * Name under which the cache metrics are registered.
+     */
+    static final String CACHE_NAME = "orderCache";
+
+    /**
+     * Underlying Caffeine cache holding the order snapshots.
+     */
+    private final Cache<UUID, OrderSnapshot> cache;
+
+    /**
+     * Constructor for `OrderCache`.
+     *
+     * @param maximumSize   the maximum number of order snapshots to keep
+     * @param meterRegistry the registry to publish hit, miss and eviction metrics to
+     */
+    public OrderCache(@Value("${inventory.order-cache.maximum-size:10000}") long maximumSize,
+                      MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached snapshot for the given order, loading it on a miss.
+     *
+     * @param orderId the unique identifier of the order
+     * @param loader  function loading the snapshot from the database on a miss
+     * @return an Optional containing the snapshot if the order exists, or empty if not found
+     */
+    public Optional<OrderSnapshot> get(UUID orderId, Function<UUID, Optional<OrderSnapshot>> loader) {
+        return Optional.ofNullable(cache.get(orderId, id -> loader.apply(id).orElse(null)));
+    }
+
+    /**
+     * Caches the snapshot of a new order once the current transaction commits.
+     * Nothing is cached if the transaction rolls back.
+     *
+     * @param snapshot the snapshot of the created order
+     */
+    public void putAfterCommit(OrderSnapshot snapshot) {
+        TransactionUtils.runAfterCommit(() -> cache.put(snapshot.getId(), snapshot));
+    }
+
+    /**
+     * Removes the cached snapshot once the current transaction commits.
+     * A load running at that moment completes first and is removed with it.
+     *
+     * @param orderId the unique identifier of the order
+     */
+    public void evictAfterCommit(UUID orderId) {
+        TransactionUtils.runAfterCommit(() -> cache.invalidate(orderId));
+    }
+
+    /**
+     * Returns the hit, miss and eviction statistics of the cache.
+     *
+     * @return the current cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,122 @@
+package com.cams.inventory.management.cache;
+
+import com.cams.inventory.management.dto.ProductSnapshot;
+import com.cams.inventory.management.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of product snapshots keyed by product id.
+ * Entries are replaced after commit whenever a product is written, and the entity version
+ * guarantees that an older snapshot never overwrites a newer one.
+ */
+@Component
+public class ProductCache {
+
+    /**
+     * Name under which the cache metrics are registered.
+     */
+    static final String CACHE_NAME = "productCache";
+
+    /**
+     * Underlying Caffeine cache holding the product snapshots.
+     */
+    private final Cache<UUID, ProductSnapshot> cache;
+
+    /**
+     * Constructor for `ProductCache`.
+     *
+     * @param maximumSize   the maximum number of product snapshots to keep
+     * @param meterRegistry the registry to publish hit, miss and eviction metrics to
+     */
+    public ProductCache(@Value("${inventory.product-cache.maximum-size:10000}") long maximumSize,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached snapshot for the given product, loading it on a miss.
+     *
+     * @param productId the unique identifier of the product
+     * @param loader    function loading the snapshot from the database on a miss
+     * @return an Optional containing the snapshot if the product exists, or empty if not found
+     */
+    public Optional<ProductSnapshot> get(UUID productId, Function<UUID, Optional<ProductSnapshot>> loader) {
+        return Optional.ofNullable(cache.get(productId, id -> loader.apply(id).orElse(null)));
+    }
+
+    /**
+     * Stores the given snapshot unless a snapshot with a newer version is already cached.
+     *
+     * @param snapshot the snapshot to store
+     */
+    public void put(ProductSnapshot snapshot) {
+        cache.asMap().merge(snapshot.getId(), snapshot,
+                (current, candidate) -> versionOf(candidate) >= versionOf(current) ? candidate : current);
+    }
+
+    /**
+     * Replaces the cached snapshot once the current transaction commits.
+     * Nothing is cached if the transaction rolls back.
+     *
+     * @param snapshot the snapshot of the written product
+     */
+    public void putAfterCommit(ProductSnapshot snapshot) {
+        TransactionUtils.runAfterCommit(() -> put(snapshot));
+    }
+
+    /**
+     * Removes the cached snapshot once the current transaction commits.
+     * Used by write paths that bypass the persistence context, such as bulk updates.
+     *
+     * @param productId the unique identifier of the product
+     */
+    public void evictAfterCommit(UUID productId) {
+        TransactionUtils.runAfterCommit(() -> cache.invalidate(productId));
+    }
+
+    /**
+     * Removes the cached snapshots of several products once the current transaction commits,
+     * with a single transaction synchronization for all of them.
+     *
+     * @param productIds the unique identifiers of the products
+     */
+    public void evictAllAfterCommit(Collection<UUID> productIds) {
+        List<UUID> evicted = List.copyOf(productIds);
+        TransactionUtils.runAfterCommit(() -> cache.invalidateAll(evicted));
+    }
+
+    /**
+     * Returns the hit, miss and eviction statistics of the cache.
+     *
+     * @return the current cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the version of the snapshot, treating a missing version as the oldest.
+     *
+     * @param snapshot the snapshot
+     * @return the version of the snapshot
+     */
+    private static int versionOf(ProductSnapshot snapshot) {
+        return snapshot.getVersion() == null ? -1 : snapshot.getVersion();
+    }
+}
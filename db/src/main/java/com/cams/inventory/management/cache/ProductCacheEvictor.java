@@ -0,0 +1,63 @@
+package com.cams.inventory.management.cache;
+
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.util.TransactionUtils;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evicts the products written by plain JDBC statements from every cache holding them.
+ * Such statements bypass the persistence context, so neither the ProductCacheListener nor Hibernate
+ * sees them: the snapshots of the products are evicted from the ProductCache and their entries from
+ * the second-level cache region, when the l2cache profile enables it, once the transaction commits.
+ * Only the entries of the products written are evicted, unlike a JPQL bulk update, which clears the
+ * whole region.
+ */
+@Component
+public class ProductCacheEvictor {
+
+    /**
+     * Cache of product snapshots.
+     */
+    private final ProductCache productCache;
+
+    /**
+     * Entity manager factory exposing the second-level cache.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor for `ProductCacheEvictor`.
+     *
+     * @param productCache         the cache of product snapshots
+     * @param entityManagerFactory the entity manager factory exposing the second-level cache
+     */
+    public ProductCacheEvictor(ProductCache productCache, EntityManagerFactory entityManagerFactory) {
+        this.productCache = productCache;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts products from the cache of snapshots and the second-level cache once the current
+     * transaction commits, or immediately when no transaction is active.
+     *
+     * @param productIds the unique identifiers of the products written
+     */
+    public void evictAfterCommit(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        List<UUID> evicted = List.copyOf(productIds);
+        productCache.evictAllAfterCommit(evicted);
+        TransactionUtils.runAfterCommit(() -> {
+            // A no-op when the second-level cache is disabled
+            Cache cache = entityManagerFactory.getCache();
+            evicted.forEach(productId -> cache.evict(ProductEntity.class, productId));
+        });
+    }
+}
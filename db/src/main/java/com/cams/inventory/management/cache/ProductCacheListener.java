@@ -0,0 +1,51 @@
+package com.cams.inventory.management.cache;
+
+import com.cams.inventory.management.dto.ProductSnapshot;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener keeping the ProductCache in line with every product written through
+ * the persistence context (creation, stock and price changes).
+ */
+@Component
+public class ProductCacheListener {
+
+    /**
+     * Cache of product snapshots to keep up to date.
+     */
+    private final ProductCache productCache;
+
+    /**
+     * Constructor for `ProductCacheListener`.
+     *
+     * @param productCache the cache of product snapshots
+     */
+    public ProductCacheListener(ProductCache productCache) {
+        this.productCache = productCache;
+    }
+
+    /**
+     * Replaces the cached snapshot with the flushed state once the transaction commits.
+     *
+     * @param productEntity the product that was inserted or updated
+     */
+    @PostPersist
+    @PostUpdate
+    public void onWrite(ProductEntity productEntity) {
+        productCache.putAfterCommit(ProductSnapshot.from(productEntity));
+    }
+
+    /**
+     * Evicts the cached snapshot once the transaction commits.
+     *
+     * @param productEntity the product that was removed
+     */
+    @PostRemove
+    public void onRemove(ProductEntity productEntity) {
+        productCache.evictAfterCommit(productEntity.getId());
+    }
+}
@@ -0,0 +1,43 @@
+package com.cams.inventory.management.dao.demand;
+
+import com.cams.inventory.management.dto.ProductDemandDto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) interface for the saved demand rates of the products.
+ */
+public interface ProductDemandDao {
+
+    /**
+     * Receives the saved demand rates one at a time, without a row object per product.
+     */
+    @FunctionalInterface
+    interface DemandHandler {
+
+        /**
+         * Accepts the demand rate of a product.
+         *
+         * @param productId       the unique identifier of the product
+         * @param ratePerDay      the units sold per day as of the update time
+         * @param updatedAtMillis the update time, in milliseconds since the epoch
+         */
+        void accept(UUID productId, double ratePerDay, long updatedAtMillis);
+    }
+
+    /**
+     * Reads every saved demand rate.
+     *
+     * @param handler the handler receiving the rates
+     * @return the number of rates read
+     */
+    int scanDemand(DemandHandler handler);
+
+    /**
+     * Saves demand rates, replacing the saved rates of the same products.
+     *
+     * @param demands the rates to save
+     */
+    void saveDemand(List<ProductDemandDto> demands);
+}
@@ -0,0 +1,121 @@
+package com.cams.inventory.management.dao.demand.impl;
+
+import com.cams.inventory.management.dao.demand.ProductDemandDao;
+import com.cams.inventory.management.dto.ProductDemandDto;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of the ProductDemandDao interface with plain JDBC.
+ * Scanned rows go straight from the result set to the handler, so reading the rates of many products
+ * creates no entity or row object.
+ */
+@Service("productDemandDaoImplV1")
+public class ProductDemandDaoImpl implements ProductDemandDao {
+
+    /**
+     * Logger instance for logging messages in the ProductDemandDaoImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ProductDemandDaoImpl.class);
+
+    /**
+     * Number of rows the JDBC driver fetches at a time.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Every saved demand rate.
+     */
+    private static final String SCAN_DEMAND_SQL = "SELECT product_id, rate_per_day, updated_at FROM product_demand";
+
+    /**
+     * Replaces the saved rate of a product.
+     */
+    private static final String UPDATE_DEMAND_SQL = "UPDATE product_demand SET rate_per_day = ?, updated_at = ? "
+            + "WHERE product_id = ?";
+
+    /**
+     * Saves the first rate of a product.
+     */
+    private static final String INSERT_DEMAND_SQL = "INSERT INTO product_demand (rate_per_day, updated_at, product_id) "
+            + "VALUES (?, ?, ?)";
+
+    /**
+     * Template running the statements on the connection of the current transaction.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs an instance of ProductDemandDaoImpl.
+     *
+     * @param dataSource the datasource of the products
+     */
+    public ProductDemandDaoImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Reads every saved demand rate.
+     *
+     * @param handler the handler receiving the rates
+     * @return the number of rates read
+     */
+    @Override
+    public int scanDemand(DemandHandler handler) {
+        logger.debug("Scanning saved product demand");
+        try {
+            int[] count = new int[1];
+            jdbcTemplate.query(SCAN_DEMAND_SQL, resultSet -> {
+                handler.accept(resultSet.getObject(1, UUID.class), resultSet.getDouble(2), resultSet.getTimestamp(3).getTime());
+                count[0]++;
+            });
+            return count[0];
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while scanning product demand - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Saves demand rates in product order, so that concurrent saves lock the rows in the same order.
+     * Existing rows are updated in one batch and the missing ones inserted in another.
+     *
+     * @param demands the rates to save
+     */
+    @Override
+    public void saveDemand(List<ProductDemandDto> demands) {
+        logger.debug("Saving {} product demand rates", demands.size());
+        if (demands.isEmpty()) {
+            return;
+        }
+        try {
+            List<Object[]> arguments = demands.stream()
+                    .sorted(Comparator.comparing(ProductDemandDto::getProductId))
+                    .map(demand -> new Object[]{demand.getRatePerDay(), new Timestamp(demand.getUpdatedAtMillis()),
+                            demand.getProductId()})
+                    .toList();
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_DEMAND_SQL, arguments);
+            List<Object[]> missing = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    missing.add(arguments.get(i));
+                }
+            }
+            if (!missing.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_DEMAND_SQL, missing);
+            }
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while saving product demand - " + ex.getMessage());
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.cams.inventory.management.dao.order;
 
+import com.cams.inventory.management.dto.OrderExportRow;
+import com.cams.inventory.management.dto.OrderSnapshot;
+import com.cams.inventory.management.dto.OrderSummaryVersionView;
+import com.cams.inventory.management.entity.constant.OrderStatus;
 import com.cams.inventory.management.entity.order.OrderEntity;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * DAO interface for managing orders in the database.
@@ -19,10 +26,81 @@ public interface OrderDao {
     OrderEntity createOrder(OrderEntity orderEntity);
 
     /**
-     * Retrieves the details of an order by its ID.
+     * Saves changes made to an existing order.
+     *
+     * @param orderEntity The order entity to be updated.
+     * @return The updated order entity.
+     */
+    OrderEntity updateOrder(OrderEntity orderEntity);
+
+    /**
+     * Retrieves the details of an order by its ID, with its items and their products fetched.
+     * Orders no longer in the database are looked up in the order archive.
      *
      * @param orderId The unique identifier of the order.
      * @return An Optional containing the order entity if found, or empty if not found.
      */
     Optional<OrderEntity> getOrderDetails(UUID orderId);
+
+    /**
+     * Retrieves a detached snapshot of an order, served from the order cache whenever possible.
+     * On a miss the order is read with its items in a single joined query, or from the order archive.
+     *
+     * @param orderId The unique identifier of the order.
+     * @return An Optional containing the order snapshot if found, or empty if not found.
+     */
+    Optional<OrderSnapshot> getOrderById(UUID orderId);
+
+    /**
+     * Retrieves one page of the order history, newest first, with the items and products of its orders.
+     * Pages are delimited by a key (creation date, id): the page holds the orders strictly before the key.
+     * Archived orders are not part of the history. Must run in a transaction.
+     *
+     * @param status     The status of the orders, or null for all statuses.
+     * @param from       The inclusive lower bound of the creation date.
+     * @param beforeDate The creation date of the key the page starts after.
+     * @param beforeId   The id of the key the page starts after.
+     * @param limit      The maximum number of orders to return.
+     * @return The orders of the page with their items and products, newest first.
+     */
+    List<OrderEntity> getOrderHistoryPage(OrderStatus status, LocalDateTime from, LocalDateTime beforeDate,
+                                          UUID beforeId, int limit);
+
+    /**
+     * Streams the items of the orders created in a date range, joined with their order and product,
+     * newest order first, to a consumer, without holding them in memory. Must run in a transaction.
+     *
+     * @param from        The inclusive lower bound of the creation date.
+     * @param to          The exclusive upper bound of the creation date.
+     * @param rowConsumer The consumer of the rows.
+     * @return The number of exported rows.
+     */
+    long exportOrders(LocalDateTime from, LocalDateTime to, Consumer<OrderExportRow> rowConsumer);
+
+    /**
+     * Retrieves the order status and the version of every ordered product without loading entities.
+     * Orders no longer in the database are looked up in the order archive.
+     *
+     * @param orderId The unique identifier of the order.
+     * @return One row per order item, or an empty list if the order does not exist.
+     */
+    List<OrderSummaryVersionView> getOrderSummaryVersions(UUID orderId);
+
+    /**
+     * Moves one chunk of completed orders created before a point in time from the database to the order archive.
+     * Must run in a transaction, which locks the orders until they are deleted.
+     *
+     * @param createdBefore the exclusive upper bound of the creation date
+     * @param limit         the maximum number of orders to archive
+     * @return the number of archived orders
+     */
+    int archiveOrders(LocalDateTime createdBefore, int limit);
+
+    /**
+     * Merges the order archive segments written by the latest archiving runs into larger ones.
+     * Runs outside of any transaction, the database is not read.
+     *
+     * @return the number of segments merged
+     */
+    int compactArchive();
 }
@@ -1,19 +1,51 @@
 package com.cams.inventory.management.dao.order.impl;
 
+import com.cams.inventory.management.archive.OrderArchive;
+import com.cams.inventory.management.cache.OrderCache;
 import com.cams.inventory.management.dao.order.OrderDao;
+import com.cams.inventory.management.dto.OrderEventDto;
+import com.cams.inventory.management.dto.OrderExportRow;
+import com.cams.inventory.management.dto.OrderSnapshot;
+import com.cams.inventory.management.dto.OrderSummaryVersionView;
+import com.cams.inventory.management.entity.constant.OrderEventType;
+import com.cams.inventory.management.entity.constant.OrderStatus;
 import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.entity.outbox.OutboxEventEntity;
+import com.cams.inventory.management.entity.product.ProductEntity;
 import com.cams.inventory.management.handler.InventoryManagementDBException;
 import com.cams.inventory.management.repository.order.OrderRepository;
+import com.cams.inventory.management.repository.outbox.OutboxEventRepository;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the OrderDao interface for managing orders in the database.
  * Provides methods to create and retrieve order details.
+ * Every created or updated order also writes an event to the transactional outbox, in the
+ * transaction of the caller, so the event is published if and only if the change commits.
+ * Old completed orders are moved to the order archive, which reads fall back to.
+ * Order snapshots are served from the order cache, which every write keeps in line after commit.
  */
 @Service("orderDaoImplV1")
 public class OrderDaoImpl implements OrderDao {
@@ -23,17 +55,60 @@ public class OrderDaoImpl implements OrderDao {
      */
     private static final Logger logger = LoggerFactory.getLogger(OrderDaoImpl.class);
 
+    /**
+     * Number of exported rows after which the persistence context is cleared.
+     */
+    public static final int EXPORT_CHUNK_SIZE = 1000;
+
     /**
      * Repository for performing CRUD operations on Order entities.
      */
     private final OrderRepository orderRepository;
 
-    public OrderDaoImpl(OrderRepository orderRepository) {
+    /**
+     * Repository for writing order events to the transactional outbox.
+     */
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Mapper serializing the event payloads.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Archive of the orders moved out of the database.
+     */
+    private final OrderArchive orderArchive;
+
+    /**
+     * Repository for loading the products of archived orders.
+     */
+    private final ProductRepository productRepository;
+
+    /**
+     * Read-through cache of order snapshots.
+     */
+    private final OrderCache orderCache;
+
+    /**
+     * Entity manager of the current transaction, cleared while exporting.
+     */
+    private final EntityManager entityManager;
+
+    public OrderDaoImpl(OrderRepository orderRepository, OutboxEventRepository outboxEventRepository,
+                        ObjectMapper objectMapper, OrderArchive orderArchive, ProductRepository productRepository,
+                        OrderCache orderCache, EntityManager entityManager) {
         this.orderRepository = orderRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.orderArchive = orderArchive;
+        this.productRepository = productRepository;
+        this.orderCache = orderCache;
+        this.entityManager = entityManager;
     }
 
     /**
-     * Creates a new order in the database.
+     * Creates a new order in the database, together with its ORDER_CREATED outbox event.
      *
      * @param orderEntity The order entity to be created.
      * @return The created order entity.
@@ -42,15 +117,41 @@ public class OrderDaoImpl implements OrderDao {
     public OrderEntity createOrder(OrderEntity orderEntity) {
         logger.debug("Creating order in database: {}", orderEntity);
         try {
-            // Save order to db.
-            return orderRepository.save(orderEntity);
+            // Save order to db, then its event in the same transaction.
+            OrderEntity savedOrder = orderRepository.save(orderEntity);
+            outboxEventRepository.save(toOutboxEvent(savedOrder, OrderEventType.ORDER_CREATED));
+            // New orders are likely to be read back soon
+            orderCache.putAfterCommit(OrderSnapshot.from(savedOrder));
+            return savedOrder;
         } catch (Exception ex) {
             throw new InventoryManagementDBException("Error while creating order in database" + ex.getMessage());
         }
     }
 
     /**
-     * Retrieves the details of an order by its ID.
+     * Saves changes made to an existing order, together with its ORDER_STATUS_CHANGED outbox event.
+     *
+     * @param orderEntity The order entity to be updated.
+     * @return The updated order entity.
+     */
+    @Override
+    public OrderEntity updateOrder(OrderEntity orderEntity) {
+        logger.debug("Updating order in database: {}", orderEntity.getId());
+        try {
+            // Save changes of the order to db, then its event in the same transaction.
+            OrderEntity savedOrder = orderRepository.save(orderEntity);
+            outboxEventRepository.save(toOutboxEvent(savedOrder, OrderEventType.ORDER_STATUS_CHANGED));
+            orderCache.evictAfterCommit(savedOrder.getId());
+            return savedOrder;
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while updating order in database" + ex.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the details of an order by its ID, with its items and their products
+     * fetched in a single joined query. On a miss, the order is looked up in the order archive
+     * and its products are loaded in one query.
      *
      * @param orderId The unique identifier of the order.
      * @return An Optional containing the order entity if found, or empty if not found.
@@ -59,10 +160,245 @@ public class OrderDaoImpl implements OrderDao {
     public Optional<OrderEntity> getOrderDetails(UUID orderId) {
         logger.debug("Fetching order details for orderId: {}", orderId);
         try {
-            //Fetch order details for given id.
-            return orderRepository.findById(orderId);
+            //Fetch order details with items and products for given id.
+            Optional<OrderEntity> orderEntity = orderRepository.findWithItemsById(orderId);
+            if (orderEntity.isPresent()) {
+                return orderEntity;
+            }
+
+            // Not in the database anymore, try the archive
+            return orderArchive.find(orderId).map(this::loadProducts);
         } catch (Exception ex) {
             throw new InventoryManagementDBException("Error while fetching order details for orderId: " + orderId + " - " + ex.getMessage());
         }
     }
+
+    /**
+     * Retrieves a detached snapshot of an order, served from the order cache whenever possible.
+     * On a miss the order is read with its items and products in a single joined query, or from
+     * the order archive; the products are not needed for the snapshot and are not loaded from there.
+     *
+     * @param orderId The unique identifier of the order.
+     * @return An Optional containing the order snapshot if found, or empty if not found.
+     */
+    @Override
+    public Optional<OrderSnapshot> getOrderById(UUID orderId) {
+        logger.debug("Fetching order snapshot for orderId: {}", orderId);
+        try {
+            // Read through the cache, falling back to the archive for orders no longer in the database
+            return orderCache.get(orderId, id -> orderRepository.findWithItemsById(id)
+                    .or(() -> orderArchive.find(id))
+                    .map(OrderSnapshot::from));
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while fetching order for orderId: " + orderId + " - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves one page of the order history, newest first, in two queries: a keyset query for the
+     * orders of the page, then a single joined query for the items and products of those orders.
+     * Must run in a transaction, so that the second query initializes the items of the orders of the first.
+     *
+     * @param status     The status of the orders, or null for all statuses.
+     * @param from       The inclusive lower bound of the creation date.
+     * @param beforeDate The creation date of the key the page starts after.
+     * @param beforeId   The id of the key the page starts after.
+     * @param limit      The maximum number of orders to return.
+     * @return The orders of the page with their items and products, newest first.
+     */
+    @Override
+    public List<OrderEntity> getOrderHistoryPage(OrderStatus status, LocalDateTime from, LocalDateTime beforeDate,
+                                                 UUID beforeId, int limit) {
+        logger.debug("Fetching up to {} orders with status {} created from {} before ({}, {})",
+                limit, status, from, beforeDate, beforeId);
+        try {
+            List<OrderEntity> orders = status == null
+                    ? orderRepository.findHistoryPage(from, beforeDate, beforeId, Limit.of(limit))
+                    : orderRepository.findHistoryPageByStatus(status, from, beforeDate, beforeId, Limit.of(limit));
+            if (!orders.isEmpty()) {
+                // Initialize the items of the whole page at once instead of one query per order
+                orderRepository.findWithItemsAndProductsByIdIn(orders.stream().map(OrderEntity::getId).toList());
+            }
+            return orders;
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while fetching order history - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Streams the items of the orders created in a date range, joined with their order and product,
+     * newest order first, to a consumer. Rows are read through a forward-only cursor and handed over
+     * one at a time; the persistence context is cleared every {@value #EXPORT_CHUNK_SIZE} rows, so
+     * memory use does not depend on the size of the export. Must run in a transaction.
+     *
+     * @param from        The inclusive lower bound of the creation date.
+     * @param to          The exclusive upper bound of the creation date.
+     * @param rowConsumer The consumer of the rows; an UncheckedIOException it throws is rethrown as is.
+     * @return The number of exported rows.
+     */
+    @Override
+    public long exportOrders(LocalDateTime from, LocalDateTime to, Consumer<OrderExportRow> rowConsumer) {
+        logger.debug("Exporting orders created from {} to {}", from, to);
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(from, to)) {
+            long count = 0;
+            for (Iterator<OrderExportRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+                rowConsumer.accept(iterator.next());
+                if (++count % EXPORT_CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+            return count;
+        } catch (UncheckedIOException ex) {
+            // Writing the rows failed, for example because the client went away
+            throw ex;
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while exporting orders created from " + from + " to " + to + " - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the order status and the version of every ordered product without loading entities.
+     * Archived orders are read from the order archive, with the versions of their products loaded.
+     *
+     * @param orderId The unique identifier of the order.
+     * @return One row per order item, or an empty list if the order does not exist.
+     */
+    @Override
+    public List<OrderSummaryVersionView> getOrderSummaryVersions(UUID orderId) {
+        logger.debug("Fetching summary versions for orderId: {}", orderId);
+        try {
+            // Read only the status and product versions, no entities are loaded
+            List<OrderSummaryVersionView> versions = orderRepository.findSummaryVersionsById(orderId);
+            if (!versions.isEmpty()) {
+                return versions;
+            }
+
+            // Not in the database anymore, build the same rows from the archive, ordered by product id
+            return orderArchive.find(orderId).map(this::loadProducts)
+                    .map(order -> order.getItems().stream()
+                            .map(item -> (OrderSummaryVersionView) new ArchivedSummaryVersion(order.getStatus(),
+                                    item.getProduct().getId(), item.getProduct().getVersion()))
+                            .sorted(Comparator.comparing(version -> version.getProductId().toString()))
+                            .toList())
+                    .orElse(List.of());
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while fetching summary versions for orderId: " + orderId + " - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Moves one chunk of completed orders created before a point in time from the database to the order archive.
+     * The orders are locked and written to a new segment before they are deleted, so a failure in
+     * between leaves them in the database, at worst also archived.
+     *
+     * @param createdBefore The exclusive upper bound of the creation date.
+     * @param limit         The maximum number of orders to archive.
+     * @return The number of archived orders.
+     */
+    @Override
+    public int archiveOrders(LocalDateTime createdBefore, int limit) {
+        logger.debug("Archiving up to {} orders created before {}", limit, createdBefore);
+        try {
+            // Pick the chunk from the index, lock it by id, then fetch the items of all its orders in one query
+            List<UUID> candidateIds = orderRepository.findIdsByStatusCreatedBefore(
+                    OrderStatus.COMPLETED, createdBefore, Limit.of(limit));
+            if (candidateIds.isEmpty()) {
+                return 0;
+            }
+            // Orders whose status changed in the meantime stay in the database
+            List<OrderEntity> orders = orderRepository.findAndLockByIdIn(candidateIds).stream()
+                    .filter(order -> order.getStatus() == OrderStatus.COMPLETED)
+                    .toList();
+            if (orders.isEmpty()) {
+                return 0;
+            }
+            List<UUID> orderIds = orders.stream().map(OrderEntity::getId).toList();
+            orderRepository.findWithItemsByIdIn(orderIds);
+
+            // Write the segment first, then delete the rows without loading them again
+            orderArchive.write(orders);
+            orderRepository.deleteItemsByOrderIdIn(orderIds);
+            orderRepository.deleteAllByIdInBatch(orderIds);
+            return orders.size();
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while archiving orders created before " + createdBefore + " - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Merges the order archive segments written by the latest archiving runs into larger ones, so that
+     * lookups and mappings do not grow with the number of chunks ever archived.
+     *
+     * @return The number of segments merged.
+     */
+    @Override
+    public int compactArchive() {
+        logger.debug("Merging the latest order archive segments");
+        try {
+            return orderArchive.compact();
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while merging order archive segments - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the id-only products of an archived order with the products from the database.
+     * Products that no longer exist keep their id only.
+     *
+     * @param orderEntity The archived order.
+     * @return The same order, with its products loaded.
+     */
+    private OrderEntity loadProducts(OrderEntity orderEntity) {
+        List<UUID> productIds = orderEntity.getItems().stream().map(item -> item.getProduct().getId()).distinct().toList();
+        Map<UUID, ProductEntity> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+        for (OrderItemEntity item : orderEntity.getItems()) {
+            item.setProduct(products.getOrDefault(item.getProduct().getId(), item.getProduct()));
+        }
+        return orderEntity;
+    }
+
+    /**
+     * Builds the outbox event describing the current state of an order.
+     *
+     * @param orderEntity The saved order entity.
+     * @param eventType   The type of the event.
+     * @return The outbox event, not yet saved.
+     * @throws JsonProcessingException if the payload cannot be serialized.
+     */
+    private OutboxEventEntity toOutboxEvent(OrderEntity orderEntity, OrderEventType eventType) throws JsonProcessingException {
+        // Identifiers and quantities only, read from the product references without loading them
+        List<OrderEventDto.Item> items = orderEntity.getItems().stream()
+                .map(item -> new OrderEventDto.Item(item.getProduct().getId().toString(), item.getQuantity()))
+                .toList();
+        OrderEventDto payload = new OrderEventDto(orderEntity.getId().toString(), orderEntity.getStatus(), items);
+
+        OutboxEventEntity outboxEvent = new OutboxEventEntity();
+        outboxEvent.setAggregateId(orderEntity.getId());
+        outboxEvent.setEventType(eventType.name());
+        outboxEvent.setPayload(objectMapper.writeValueAsString(payload));
+        return outboxEvent;
+    }
+
+    /**
+     * Summary version row of an archived order.
+     */
+    @Value
+    private static class ArchivedSummaryVersion implements OrderSummaryVersionView {
+
+        /**
+         * The status of the order.
+         */
+        OrderStatus status;
+
+        /**
+         * The unique identifier of the ordered product.
+         */
+        UUID productId;
+
+        /**
+         * The current version of the ordered product.
+         */
+        Integer productVersion;
+    }
 }
@@ -0,0 +1,19 @@
+package com.cams.inventory.management.dao.product;
+
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) interface for updating product prices in bulk, many products per statement batch.
+ */
+public interface PriceUpdateDao {
+
+    /**
+     * Replaces the price of products that do not have it yet, bumping their versions.
+     *
+     * @param prices the new price of every product in minor currency units, by product id
+     * @return the unique identifiers of the products whose price changed
+     */
+    Set<UUID> updatePrices(SortedMap<UUID, Long> prices);
+}
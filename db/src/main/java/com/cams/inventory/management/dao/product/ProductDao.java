@@ -1,8 +1,12 @@
 package com.cams.inventory.management.dao.product;
 
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ProductSnapshot;
+import com.cams.inventory.management.dto.ProductVersionView;
+import com.cams.inventory.management.dto.ReorderPointDto;
 import com.cams.inventory.management.entity.product.ProductEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +39,14 @@ public interface ProductDao {
      */
     List<ProductDto> getAllProducts();
 
+    /**
+     * Retrieves the products with stock below the specified threshold.
+     *
+     * @param stockThreshold the stock level threshold
+     * @return a list of ProductDto objects representing products with low stock
+     */
+    List<ProductDto> getLowStockProducts(int stockThreshold);
+
     /**
      * Finds a product by its unique identifier.
      *
@@ -42,4 +54,83 @@ public interface ProductDao {
      * @return an Optional containing the ProductEntity if found, or empty if not found
      */
     Optional<ProductEntity> findById(UUID productId);
+
+    /**
+     * Finds products by their unique identifiers in a single query.
+     *
+     * @param productIds the unique identifiers of the products
+     * @return the ProductEntity objects found; unknown ids are skipped
+     */
+    List<ProductEntity> findAllById(Collection<UUID> productIds);
+
+    /**
+     * Retrieves a read-only snapshot of a product by its unique identifier.
+     * Snapshots are served from the product cache and loaded from the database on a miss.
+     *
+     * @param productId the unique identifier of the product
+     * @return an Optional containing the ProductSnapshot if found, or empty if not found
+     */
+    Optional<ProductSnapshot> getProductById(UUID productId);
+
+    /**
+     * Retrieves the id and version of every product with stock below the given threshold.
+     *
+     * @param stockThreshold the stock level threshold
+     * @return the versions of the matching products, ordered by id
+     */
+    List<ProductVersionView> getLowStockProductVersions(int stockThreshold);
+
+    /**
+     * Retrieves the stock of a product if the product is still at the expected version.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version the caller expects the product to have
+     * @return an Optional containing the stock, or empty if the product does not exist or the version does not match
+     */
+    Optional<Integer> getStockAtVersion(UUID productId, int expectedVersion);
+
+    /**
+     * Replaces the stock of a product with a single conditional update on its version.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version the caller expects the product to have
+     * @param stock           the new stock of the product
+     * @return true if the product was updated, false if it does not exist or the version does not match
+     */
+    boolean updateStock(UUID productId, int expectedVersion, int stock);
+
+    /**
+     * Replaces the price of a product with a single conditional update on its version.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version the caller expects the product to have
+     * @param priceMinor      the new price of the product in minor currency units
+     * @return true if the product was updated, false if it does not exist or the version does not match
+     */
+    boolean updatePrice(UUID productId, int expectedVersion, long priceMinor);
+
+    /**
+     * Replaces the reorder threshold of a product with a single conditional update on its version.
+     *
+     * @param productId        the unique identifier of the product
+     * @param expectedVersion  the version the caller expects the product to have
+     * @param reorderThreshold the new reorder threshold of the product
+     * @return true if the product was updated, false if it does not exist or the version does not match
+     */
+    boolean updateReorderThreshold(UUID productId, int expectedVersion, int reorderThreshold);
+
+    /**
+     * Retrieves the products whose stock is at or below their reorder threshold.
+     *
+     * @return the products needing replenishment, ordered by id
+     */
+    List<ReorderPointDto> getProductsAtReorderPoint();
+
+    /**
+     * Checks whether a product exists.
+     *
+     * @param productId the unique identifier of the product
+     * @return true if the product exists
+     */
+    boolean existsById(UUID productId);
 }
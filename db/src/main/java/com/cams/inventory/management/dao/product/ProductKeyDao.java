@@ -0,0 +1,59 @@
+package com.cams.inventory.management.dao.product;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) interface for looking up products in bulk by id and by SKU, for the feeds
+ * addressing products by either key, and for reading their stock by id.
+ */
+public interface ProductKeyDao {
+
+    /**
+     * Receives the identifiers of the products found, one at a time.
+     */
+    @FunctionalInterface
+    interface ProductKeyHandler {
+
+        /**
+         * Accepts a product found by its id or SKU.
+         *
+         * @param productId the unique identifier of the product
+         * @param sku       the SKU of the product
+         */
+        void accept(UUID productId, String sku);
+    }
+
+    /**
+     * Receives the stock of the products one at a time, without a row object per product.
+     */
+    @FunctionalInterface
+    interface StockHandler {
+
+        /**
+         * Accepts the stock of a product.
+         *
+         * @param productId the unique identifier of the product
+         * @param stock     the current stock
+         * @param version   the current version
+         */
+        void accept(UUID productId, int stock, int version);
+    }
+
+    /**
+     * Looks up products by id and by SKU.
+     *
+     * @param productIds the unique identifiers of the products
+     * @param skus       the SKUs of the products
+     * @param handler    the handler receiving every product found
+     */
+    void findProducts(Collection<UUID> productIds, Collection<String> skus, ProductKeyHandler handler);
+
+    /**
+     * Reads the stock and version of products by id, in one query.
+     *
+     * @param productIds the unique identifiers of the products
+     * @param handler    the handler receiving the stock
+     */
+    void scanStock(Collection<UUID> productIds, StockHandler handler);
+}
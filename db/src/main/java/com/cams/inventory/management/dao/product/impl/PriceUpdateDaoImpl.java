@@ -0,0 +1,101 @@
+package com.cams.inventory.management.dao.product.impl;
+
+import com.cams.inventory.management.cache.ProductCacheEvictor;
+import com.cams.inventory.management.dao.product.PriceUpdateDao;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Implementation of the PriceUpdateDao interface with plain JDBC.
+ * The prices of all the products of a chunk are replaced by one batch of UPDATE statements, in product
+ * order so that concurrent feeds lock the rows in the same order; no entity is loaded. A product that
+ * already has its new price is left untouched, so its version, and the caches holding it, stay as they
+ * are. The bulk update bypasses the persistence context, so the cache entries of the products changed
+ * are evicted explicitly.
+ */
+@Service("priceUpdateDaoImplV1")
+public class PriceUpdateDaoImpl implements PriceUpdateDao {
+
+    /**
+     * Logger instance for logging messages in the PriceUpdateDaoImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PriceUpdateDaoImpl.class);
+
+    /**
+     * Number of rows the JDBC driver fetches at a time.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Replaces the price of a product, bumping its version, unless it already has that price.
+     */
+    private static final String UPDATE_PRICE_SQL = "UPDATE product_entity SET price_minor = ?, version = version + 1 "
+            + "WHERE id = ? AND price_minor IS DISTINCT FROM ?";
+
+    /**
+     * Template running the statements on the connection of the current transaction.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Evicts the products changed from the caches once the transaction commits.
+     */
+    private final ProductCacheEvictor productCacheEvictor;
+
+    /**
+     * Constructs an instance of PriceUpdateDaoImpl.
+     *
+     * @param dataSource          the datasource of the products
+     * @param productCacheEvictor the evictor of the cached products
+     */
+    public PriceUpdateDaoImpl(DataSource dataSource, ProductCacheEvictor productCacheEvictor) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.productCacheEvictor = productCacheEvictor;
+    }
+
+    /**
+     * Replaces the price of products in one batch of UPDATE statements, in product order, and evicts the
+     * products whose price changed from the caches once the transaction commits.
+     *
+     * @param prices the new price of every product in minor currency units, by product id
+     * @return the unique identifiers of the products whose price changed
+     */
+    @Override
+    public Set<UUID> updatePrices(SortedMap<UUID, Long> prices) {
+        logger.debug("Updating the price of {} products", prices.size());
+        if (prices.isEmpty()) {
+            return Collections.emptySet();
+        }
+        try {
+            List<Object[]> arguments = prices.entrySet().stream()
+                    .map(price -> new Object[]{price.getValue(), price.getKey(), price.getValue()})
+                    .toList();
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_PRICE_SQL, arguments);
+
+            Set<UUID> changed = new HashSet<>();
+            int i = 0;
+            for (Map.Entry<UUID, Long> price : prices.entrySet()) {
+                if (updated[i++] > 0) {
+                    changed.add(price.getKey());
+                }
+            }
+            productCacheEvictor.evictAfterCommit(changed);
+            return changed;
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while updating prices - " + ex.getMessage());
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.cams.inventory.management.dao.product.impl;
 
+import com.cams.inventory.management.cache.ProductCache;
 import com.cams.inventory.management.dao.product.ProductDao;
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ProductSnapshot;
+import com.cams.inventory.management.dto.ProductVersionView;
+import com.cams.inventory.management.dto.ReorderPointDto;
 import com.cams.inventory.management.entity.product.ProductEntity;
 import com.cams.inventory.management.handler.InventoryManagementDBException;
 import com.cams.inventory.management.mapper.ProductMapper;
@@ -10,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,16 +41,24 @@ public class ProductDaoImpl implements ProductDao {
      */
     private final ProductMapper productMapper;
 
+    /**
+     * Read-through cache of product snapshots.
+     */
+    private final ProductCache productCache;
+
     /**
      * Constructor for `ProductDaoImpl`.
      *
      * @param productRepository the repository for product database operations
      * @param productMapper     the mapper for transforming product data between layers
+     * @param productCache      the read-through cache of product snapshots
      */
     public ProductDaoImpl(ProductRepository productRepository,
-                          ProductMapper productMapper) {
+                          ProductMapper productMapper,
+                          ProductCache productCache) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.productCache = productCache;
     }
 
     /**
@@ -72,6 +85,7 @@ public class ProductDaoImpl implements ProductDao {
 
     /**
      * Retrieves a list of products from the database based on their SKUs.
+     * Rows are projected into DTOs by the query, so no managed entities are created.
      *
      * @param skus the list of SKUs to search for
      * @return the list of product DTOs matching the provided SKUs
@@ -81,28 +95,45 @@ public class ProductDaoImpl implements ProductDao {
     public List<ProductDto> getProductsBySku(List<String> skus) {
         logger.debug("Fetching products by SKUs: {}", skus);
         try {
-            // Validate that the list of SKUs is not empty
-            List<ProductEntity> productEntities = productRepository.findAllBySkuIn(skus);
-
-            // If no products are found, throw a ResourceNotFoundException
-            return productMapper.transformProductEntityListToProductDtoList(productEntities);
+            // Project the products matching the SKUs straight into DTOs
+            return productRepository.findProductDtosBySkuIn(skus);
         } catch (Exception exception) {
             throw new InventoryManagementDBException("Exception occurred while fetching products: " + exception.getMessage());
         }
     }
 
     /**
-     * Retrieves a list of products that have stock below the specified threshold.
+     * Retrieves all products from the database.
+     * Rows are projected into DTOs by the query, so no managed entities are created.
      *
-     * @return a list of ProductDto objects representing products with low stock
+     * @return a list of ProductDto objects for all products
      * @throws InventoryManagementDBException if an exception occurs during the database operation
      */
     @Override
     public List<ProductDto> getAllProducts() {
         logger.debug("Fetching all products from the database");
         try {
-            // Fetch all products from the repository
-            return productMapper.transformProductEntityListToProductDtoList(productRepository.findAll());
+            // Project all products straight into DTOs
+            return productRepository.findAllProductDtos();
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while fetching all products: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the products with stock below the specified threshold.
+     * The threshold is applied by the database and rows are projected into DTOs by the query.
+     *
+     * @param stockThreshold the stock level threshold
+     * @return a list of ProductDto objects representing products with low stock, ordered by id
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public List<ProductDto> getLowStockProducts(int stockThreshold) {
+        logger.debug("Fetching products with stock below threshold: {}", stockThreshold);
+        try {
+            // Filter and project the products in the query
+            return productRepository.findProductDtosByStockLessThan(stockThreshold);
         } catch (Exception e) {
             throw new InventoryManagementDBException("Exception occurred while fetching low stock products: " + e.getMessage());
         }
@@ -124,4 +155,185 @@ public class ProductDaoImpl implements ProductDao {
             throw new InventoryManagementDBException("Exception occurred while fetching product by ID: " + e.getMessage());
         }
     }
+
+    /**
+     * Finds products by their unique identifiers in a single query.
+     *
+     * @param productIds the unique identifiers of the products
+     * @return the ProductEntity objects found; unknown ids are skipped
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public List<ProductEntity> findAllById(Collection<UUID> productIds) {
+        logger.debug("Fetching products by IDs: {}", productIds);
+        try {
+            // Fetch all requested products with one query
+            return productRepository.findAllById(productIds);
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while fetching products by IDs: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a read-only snapshot of a product by its unique identifier.
+     * Snapshots are served from the product cache and loaded from the database on a miss.
+     *
+     * @param productId the unique identifier of the product
+     * @return an Optional containing the ProductSnapshot if found, or empty if not found
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public Optional<ProductSnapshot> getProductById(UUID productId) {
+        logger.debug("Fetching product snapshot by ID: {}", productId);
+        try {
+            // Serve from the cache, loading the product from the repository on a miss
+            return productCache.get(productId, id -> productRepository.findById(id).map(ProductSnapshot::from));
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while fetching product by ID: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the id and version of every product with stock below the given threshold.
+     *
+     * @param stockThreshold the stock level threshold
+     * @return the versions of the matching products, ordered by id
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public List<ProductVersionView> getLowStockProductVersions(int stockThreshold) {
+        logger.debug("Fetching versions of products with stock below threshold: {}", stockThreshold);
+        try {
+            // Read only ids and versions, no entities are loaded
+            return productRepository.findVersionsByStockLessThan(stockThreshold);
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while fetching low stock product versions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the stock of a product if the product is still at the expected version.
+     * Reads a single column, no entity is loaded.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version the caller expects the product to have
+     * @return an Optional containing the stock, or empty if the product does not exist or the version does not match
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public Optional<Integer> getStockAtVersion(UUID productId, int expectedVersion) {
+        logger.debug("Fetching stock of product {} at version {}", productId, expectedVersion);
+        try {
+            return productRepository.findStockByIdAndVersion(productId, expectedVersion);
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while fetching product stock: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the stock of a product with a single conditional update on its version.
+     * The bulk update bypasses the persistence context, so the cached snapshot is evicted explicitly.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version the caller expects the product to have
+     * @param stock           the new stock of the product
+     * @return true if the product was updated, false if it does not exist or the version does not match
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public boolean updateStock(UUID productId, int expectedVersion, int stock) {
+        logger.debug("Updating stock of product {} at version {} to {}", productId, expectedVersion, stock);
+        try {
+            boolean updated = productRepository.updateStockByIdAndVersion(productId, expectedVersion, stock) > 0;
+            if (updated) {
+                productCache.evictAfterCommit(productId);
+            }
+            return updated;
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while updating product stock: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the price of a product with a single conditional update on its version.
+     * The bulk update bypasses the persistence context, so the cached snapshot is evicted explicitly.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version the caller expects the product to have
+     * @param priceMinor      the new price of the product in minor currency units
+     * @return true if the product was updated, false if it does not exist or the version does not match
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public boolean updatePrice(UUID productId, int expectedVersion, long priceMinor) {
+        logger.debug("Updating price of product {} at version {} to {} minor units", productId, expectedVersion, priceMinor);
+        try {
+            boolean updated = productRepository.updatePriceByIdAndVersion(productId, expectedVersion, priceMinor) > 0;
+            if (updated) {
+                productCache.evictAfterCommit(productId);
+            }
+            return updated;
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while updating product price: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the reorder threshold of a product with a single conditional update on its version.
+     * The database recomputes the reorder flag of the row in the same statement. The bulk update bypasses
+     * the persistence context, so the cached snapshot, which carries the version, is evicted explicitly.
+     *
+     * @param productId        the unique identifier of the product
+     * @param expectedVersion  the version the caller expects the product to have
+     * @param reorderThreshold the new reorder threshold of the product
+     * @return true if the product was updated, false if it does not exist or the version does not match
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public boolean updateReorderThreshold(UUID productId, int expectedVersion, int reorderThreshold) {
+        logger.debug("Updating reorder threshold of product {} at version {} to {}", productId, expectedVersion, reorderThreshold);
+        try {
+            boolean updated = productRepository.updateReorderThresholdByIdAndVersion(productId, expectedVersion, reorderThreshold) > 0;
+            if (updated) {
+                productCache.evictAfterCommit(productId);
+            }
+            return updated;
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while updating product reorder threshold: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the products whose stock is at or below their reorder threshold.
+     * Only the products flagged by the database are read, through the index of the flag.
+     *
+     * @return the products needing replenishment, ordered by id
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public List<ReorderPointDto> getProductsAtReorderPoint() {
+        logger.debug("Fetching products at or below their reorder threshold");
+        try {
+            return productRepository.findReorderPointDtos();
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while fetching products at their reorder point: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether a product exists.
+     *
+     * @param productId the unique identifier of the product
+     * @return true if the product exists
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public boolean existsById(UUID productId) {
+        logger.debug("Checking existence of product: {}", productId);
+        try {
+            return productRepository.existsById(productId);
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while checking product existence: " + e.getMessage());
+        }
+    }
 }
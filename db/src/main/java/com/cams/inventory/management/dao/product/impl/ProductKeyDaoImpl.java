@@ -0,0 +1,114 @@
+package com.cams.inventory.management.dao.product.impl;
+
+import com.cams.inventory.management.dao.product.ProductKeyDao;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Implementation of the ProductKeyDao interface with plain JDBC.
+ * The products are looked up with one query by id through the primary key and one by SKU through the
+ * SKU index, and their stock is read with one more query through the primary key; no entity is loaded.
+ */
+@Service("productKeyDaoImplV1")
+public class ProductKeyDaoImpl implements ProductKeyDao {
+
+    /**
+     * Logger instance for logging messages in the ProductKeyDaoImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ProductKeyDaoImpl.class);
+
+    /**
+     * Number of rows the JDBC driver fetches at a time.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Looks up products by id, joining the array of ids with the primary key.
+     */
+    private static final String FIND_BY_ID_SQL = "SELECT p.id, p.sku FROM UNNEST(?) AS r(id) "
+            + "JOIN product_entity p ON p.id = r.id";
+
+    /**
+     * Looks up products by SKU, joining the array of SKUs with the SKU index.
+     */
+    private static final String FIND_BY_SKU_SQL = "SELECT p.id, p.sku FROM UNNEST(?) AS r(sku) "
+            + "JOIN product_entity p ON p.sku = r.sku";
+
+    /**
+     * Reads the stock and version of products, joining the array of ids with the primary key.
+     */
+    private static final String SCAN_STOCK_SQL = "SELECT p.id, p.stock, p.version FROM UNNEST(?) AS r(id) "
+            + "JOIN product_entity p ON p.id = r.id";
+
+    /**
+     * Template running the statements on the connection of the current transaction.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs an instance of ProductKeyDaoImpl.
+     *
+     * @param dataSource the datasource of the products
+     */
+    public ProductKeyDaoImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Looks up products by id and by SKU, with one query for each through the primary key and the SKU index.
+     * The keys are bound as a single array parameter rather than an IN list, so the statement text stays
+     * the same whatever the size of the chunk and the keys are joined with the index instead of being
+     * matched one by one.
+     *
+     * @param productIds the unique identifiers of the products
+     * @param skus       the SKUs of the products
+     * @param handler    the handler receiving every product found
+     */
+    @Override
+    public void findProducts(Collection<UUID> productIds, Collection<String> skus, ProductKeyHandler handler) {
+        logger.debug("Finding {} products by id and {} by SKU", productIds.size(), skus.size());
+        try {
+            if (!productIds.isEmpty()) {
+                jdbcTemplate.query(FIND_BY_ID_SQL, resultSet -> {
+                    handler.accept(resultSet.getObject(1, UUID.class), resultSet.getString(2));
+                }, (Object) productIds.toArray(new UUID[0]));
+            }
+            if (!skus.isEmpty()) {
+                jdbcTemplate.query(FIND_BY_SKU_SQL, resultSet -> {
+                    handler.accept(resultSet.getObject(1, UUID.class), resultSet.getString(2));
+                }, (Object) skus.toArray(new String[0]));
+            }
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while finding products - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads the stock and version of products through the primary key, bound as one array parameter.
+     *
+     * @param productIds the unique identifiers of the products
+     * @param handler    the handler receiving the stock
+     */
+    @Override
+    public void scanStock(Collection<UUID> productIds, StockHandler handler) {
+        logger.debug("Reading the stock of {} products", productIds.size());
+        if (productIds.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.query(SCAN_STOCK_SQL, resultSet -> {
+                handler.accept(resultSet.getObject(1, UUID.class), resultSet.getInt(2), resultSet.getInt(3));
+            }, (Object) productIds.toArray(new UUID[0]));
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while reading product stock - " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.cams.inventory.management.dao.report;
+
+import com.cams.inventory.management.dto.SalesRollupDelta;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) interface reading the order items the sales report aggregates,
+ * and maintaining the sales rollups.
+ */
+public interface SalesReportDao {
+
+    /**
+     * Receives the order items of a scan one at a time, with the quantity and price as primitives.
+     */
+    @FunctionalInterface
+    interface SaleHandler {
+
+        /**
+         * Handles one order item. The items of an order are received one after the other.
+         *
+         * @param orderId          the unique identifier of the order
+         * @param productId        the unique identifier of the ordered product
+         * @param orderCreatedDate the date and time the order was created
+         * @param status           the status of the order
+         * @param quantity         the ordered quantity
+         * @param unitPriceMinor   the unit price the product was ordered at, in minor units
+         */
+        void accept(UUID orderId, UUID productId, LocalDateTime orderCreatedDate, OrderStatus status, int quantity,
+                    long unitPriceMinor);
+    }
+
+    /**
+     * Receives the rows of the sales rollups one at a time.
+     */
+    @FunctionalInterface
+    interface RollupHandler {
+
+        /**
+         * Handles one rollup row.
+         *
+         * @param saleDate     the day the orders were created on
+         * @param productId    the unique identifier of the product, or null for the total of the day
+         * @param status       the status of the orders
+         * @param units        the units sold
+         * @param revenueMinor the revenue in minor units
+         * @param orders       the number of orders
+         */
+        void accept(LocalDate saleDate, UUID productId, OrderStatus status, long units, long revenueMinor, long orders);
+    }
+
+    /**
+     * Reads the items of the orders created in a time range, without loading entities.
+     * Must run in a transaction.
+     *
+     * @param from    the inclusive lower bound of the creation date
+     * @param to      the exclusive upper bound of the creation date
+     * @param handler the handler receiving every item
+     * @return the number of items read
+     */
+    long scanOrderItems(LocalDateTime from, LocalDateTime to, SaleHandler handler);
+
+    /**
+     * Reads the rollups of a range of days, the totals of the days first, then the products.
+     *
+     * @param from    the first day
+     * @param to      the day after the last day
+     * @param handler the handler receiving every row
+     */
+    void scanRollups(LocalDate from, LocalDate to, RollupHandler handler);
+
+    /**
+     * Adds changes to the rollups, creating the rows that do not exist yet.
+     *
+     * @param deltas the changes to add
+     */
+    void applyRollupDeltas(List<SalesRollupDelta> deltas);
+
+    /**
+     * Replaces the rollups of a day with the figures of the orders created on that day.
+     *
+     * @param saleDate the day to rebuild
+     * @return the number of rollup rows of the day
+     */
+    int rebuildRollups(LocalDate saleDate);
+}
@@ -0,0 +1,265 @@
+package com.cams.inventory.management.dao.report.impl;
+
+import com.cams.inventory.management.dao.report.SalesReportDao;
+import com.cams.inventory.management.dto.SalesRollupDelta;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of the SalesReportDao interface, reading order items and maintaining the rollups with plain JDBC.
+ * Scanned rows go straight from the result set to the handler: no entity, projection or row object is created,
+ * and the quantity and price are read as primitives.
+ */
+@Service("salesReportDaoImplV1")
+public class SalesReportDaoImpl implements SalesReportDao {
+
+    /**
+     * Logger instance for logging messages in the SalesReportDaoImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SalesReportDaoImpl.class);
+
+    /**
+     * Number of rows the JDBC driver fetches at a time.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Items of the orders created in a time range, found through the creation date and order id indexes.
+     * Ordering like the creation date index keeps the items of an order together without sorting.
+     * Items ordered before their price was recorded count with a price of 0.
+     */
+    private static final String SCAN_SQL = "SELECT o.id, i.product_id, o.order_created_date, o.status, i.quantity, "
+            + "COALESCE(i.unit_price_minor, 0) "
+            + "FROM order_entity o JOIN order_item_entity i ON i.order_id = o.id "
+            + "WHERE o.order_created_date >= ? AND o.order_created_date < ? "
+            + "ORDER BY o.order_created_date DESC, o.id DESC";
+
+    /**
+     * Rollups of the totals of a range of days.
+     */
+    private static final String SCAN_DAY_ROLLUPS_SQL = "SELECT sale_date, status, units, revenue_minor, order_count "
+            + "FROM sales_rollup_day WHERE sale_date >= ? AND sale_date < ?";
+
+    /**
+     * Rollups of the products of a range of days.
+     */
+    private static final String SCAN_PRODUCT_ROLLUPS_SQL = "SELECT sale_date, product_id, status, units, revenue_minor, "
+            + "order_count FROM sales_rollup_product_day WHERE sale_date >= ? AND sale_date < ?";
+
+    /**
+     * Adds to an existing total of a day.
+     */
+    private static final String UPDATE_DAY_ROLLUP_SQL = "UPDATE sales_rollup_day "
+            + "SET units = units + ?, revenue_minor = revenue_minor + ?, order_count = order_count + ? "
+            + "WHERE sale_date = ? AND status = ?";
+
+    /**
+     * Creates the total of a day.
+     */
+    private static final String INSERT_DAY_ROLLUP_SQL = "INSERT INTO sales_rollup_day "
+            + "(units, revenue_minor, order_count, sale_date, status) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Adds to an existing rollup of a product.
+     */
+    private static final String UPDATE_PRODUCT_ROLLUP_SQL = "UPDATE sales_rollup_product_day "
+            + "SET units = units + ?, revenue_minor = revenue_minor + ?, order_count = order_count + ? "
+            + "WHERE sale_date = ? AND status = ? AND product_id = ?";
+
+    /**
+     * Creates the rollup of a product.
+     */
+    private static final String INSERT_PRODUCT_ROLLUP_SQL = "INSERT INTO sales_rollup_product_day "
+            + "(units, revenue_minor, order_count, sale_date, status, product_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Totals of the orders created in a time range, per day and status.
+     */
+    private static final String REBUILD_DAY_ROLLUPS_SQL = "INSERT INTO sales_rollup_day "
+            + "(sale_date, status, units, revenue_minor, order_count) "
+            + "SELECT CAST(o.order_created_date AS DATE), o.status, SUM(i.quantity), "
+            + "SUM(i.quantity * COALESCE(i.unit_price_minor, 0)), COUNT(DISTINCT o.id) "
+            + "FROM order_entity o JOIN order_item_entity i ON i.order_id = o.id "
+            + "WHERE o.order_created_date >= ? AND o.order_created_date < ? "
+            + "GROUP BY CAST(o.order_created_date AS DATE), o.status";
+
+    /**
+     * Figures of the products of the orders created in a time range, per day and status.
+     */
+    private static final String REBUILD_PRODUCT_ROLLUPS_SQL = "INSERT INTO sales_rollup_product_day "
+            + "(sale_date, product_id, status, units, revenue_minor, order_count) "
+            + "SELECT CAST(o.order_created_date AS DATE), i.product_id, o.status, SUM(i.quantity), "
+            + "SUM(i.quantity * COALESCE(i.unit_price_minor, 0)), COUNT(DISTINCT o.id) "
+            + "FROM order_entity o JOIN order_item_entity i ON i.order_id = o.id "
+            + "WHERE o.order_created_date >= ? AND o.order_created_date < ? "
+            + "GROUP BY CAST(o.order_created_date AS DATE), i.product_id, o.status";
+
+    /**
+     * Template running the statements on the connection of the current transaction.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs an instance of SalesReportDaoImpl.
+     *
+     * @param dataSource the datasource of the orders
+     */
+    public SalesReportDaoImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Reads the items of the orders created in a time range, without loading entities.
+     *
+     * @param from    the inclusive lower bound of the creation date
+     * @param to      the exclusive upper bound of the creation date
+     * @param handler the handler receiving every item
+     * @return the number of items read
+     */
+    @Override
+    public long scanOrderItems(LocalDateTime from, LocalDateTime to, SaleHandler handler) {
+        logger.debug("Scanning order items of orders created from {} to {}", from, to);
+        try {
+            long[] count = new long[1];
+            jdbcTemplate.query(SCAN_SQL, resultSet -> {
+                handler.accept(resultSet.getObject(1, UUID.class),
+                        resultSet.getObject(2, UUID.class),
+                        resultSet.getTimestamp(3).toLocalDateTime(),
+                        OrderStatus.valueOf(resultSet.getString(4)),
+                        resultSet.getInt(5),
+                        resultSet.getLong(6));
+                count[0]++;
+            }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+            return count[0];
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while scanning order items created from " + from + " to " + to + " - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads the rollups of a range of days, the totals of the days first, then the products.
+     *
+     * @param from    the first day
+     * @param to      the day after the last day
+     * @param handler the handler receiving every row
+     */
+    @Override
+    public void scanRollups(LocalDate from, LocalDate to, RollupHandler handler) {
+        logger.debug("Scanning sales rollups from {} to {}", from, to);
+        try {
+            jdbcTemplate.query(SCAN_DAY_ROLLUPS_SQL, resultSet -> {
+                handler.accept(resultSet.getDate(1).toLocalDate(), null, OrderStatus.valueOf(resultSet.getString(2)),
+                        resultSet.getLong(3), resultSet.getLong(4), resultSet.getLong(5));
+            }, Date.valueOf(from), Date.valueOf(to));
+            jdbcTemplate.query(SCAN_PRODUCT_ROLLUPS_SQL, resultSet -> {
+                handler.accept(resultSet.getDate(1).toLocalDate(), resultSet.getObject(2, UUID.class),
+                        OrderStatus.valueOf(resultSet.getString(3)),
+                        resultSet.getLong(4), resultSet.getLong(5), resultSet.getLong(6));
+            }, Date.valueOf(from), Date.valueOf(to));
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while scanning sales rollups from " + from + " to " + to + " - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Adds changes to the rollups in key order, so that concurrent transactions lock the rows in the same order.
+     * Existing rows are updated in one batch and the missing ones inserted in another.
+     *
+     * @param deltas the changes to add
+     * @throws DuplicateKeyException if a concurrent transaction created one of the missing rows first;
+     *                               the changes can be applied again in a new transaction
+     */
+    @Override
+    public void applyRollupDeltas(List<SalesRollupDelta> deltas) {
+        logger.debug("Applying {} sales rollup changes", deltas.size());
+        List<SalesRollupDelta> dayDeltas = new ArrayList<>();
+        List<SalesRollupDelta> productDeltas = new ArrayList<>();
+        deltas.stream()
+                .sorted(Comparator.comparing(SalesRollupDelta::getSaleDate)
+                        .thenComparing(SalesRollupDelta::getStatus)
+                        .thenComparing(SalesRollupDelta::getProductId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(delta -> (delta.getProductId() == null ? dayDeltas : productDeltas).add(delta));
+        try {
+            upsert(UPDATE_DAY_ROLLUP_SQL, INSERT_DAY_ROLLUP_SQL, dayDeltas);
+            upsert(UPDATE_PRODUCT_ROLLUP_SQL, INSERT_PRODUCT_ROLLUP_SQL, productDeltas);
+        } catch (DuplicateKeyException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while applying sales rollup changes - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the rollups of a day with the figures of the orders created on that day.
+     *
+     * @param saleDate the day to rebuild
+     * @return the number of rollup rows of the day
+     */
+    @Override
+    public int rebuildRollups(LocalDate saleDate) {
+        logger.debug("Rebuilding sales rollups of {}", saleDate);
+        try {
+            Timestamp from = Timestamp.valueOf(saleDate.atStartOfDay());
+            Timestamp to = Timestamp.valueOf(saleDate.plusDays(1).atStartOfDay());
+            jdbcTemplate.update("DELETE FROM sales_rollup_day WHERE sale_date = ?", Date.valueOf(saleDate));
+            jdbcTemplate.update("DELETE FROM sales_rollup_product_day WHERE sale_date = ?", Date.valueOf(saleDate));
+            return jdbcTemplate.update(REBUILD_DAY_ROLLUPS_SQL, from, to)
+                    + jdbcTemplate.update(REBUILD_PRODUCT_ROLLUPS_SQL, from, to);
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while rebuilding sales rollups of " + saleDate + " - " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Updates the rows of the given changes and inserts the ones that do not exist yet.
+     *
+     * @param updateSql the statement adding a change to an existing row
+     * @param insertSql the statement creating a row from a change
+     * @param deltas    the changes, all of the table of the statements
+     */
+    private void upsert(String updateSql, String insertSql, List<SalesRollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int[] updated = jdbcTemplate.batchUpdate(updateSql, deltas.stream().map(SalesReportDaoImpl::arguments).toList());
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(arguments(deltas.get(i)));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql, missing);
+        }
+    }
+
+    /**
+     * Returns the arguments of the update and insert statements of a change, in the order of their placeholders.
+     *
+     * @param delta the change
+     * @return the figures, then the key of the row
+     */
+    private static Object[] arguments(SalesRollupDelta delta) {
+        return delta.getProductId() == null
+                ? new Object[]{delta.getUnits(), delta.getRevenueMinor(), delta.getOrders(),
+                Date.valueOf(delta.getSaleDate()), delta.getStatus().name()}
+                : new Object[]{delta.getUnits(), delta.getRevenueMinor(), delta.getOrders(),
+                Date.valueOf(delta.getSaleDate()), delta.getStatus().name(), delta.getProductId()};
+    }
+}
@@ -0,0 +1,49 @@
+package com.cams.inventory.management.dao.stock;
+
+import com.cams.inventory.management.dto.StockMovementRow;
+import com.cams.inventory.management.entity.stock.StockMovementEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Data Access Object (DAO) interface for the append-only stock ledger and its snapshots.
+ */
+public interface StockLedgerDao {
+
+    /**
+     * Appends movements to the stock ledger.
+     *
+     * @param movements the movements to append
+     */
+    void recordMovements(List<StockMovementEntity> movements);
+
+    /**
+     * Computes the stock of a product at a point in time from the nearest snapshot and the movements after it.
+     *
+     * @param productId the unique identifier of the product
+     * @param asOf      the point in time
+     * @return the stock of the product at that time, 0 before its first movement
+     */
+    int getStockAsOf(UUID productId, LocalDateTime asOf);
+
+    /**
+     * Snapshots the stock of every product that moved since the previous snapshot run.
+     *
+     * @param cutoff the point in time the snapshots cover; movements must no longer be written at or before it
+     * @return the number of snapshots taken
+     */
+    int takeSnapshots(LocalDateTime cutoff);
+
+    /**
+     * Reads the movements since a point in time with the current stock and version of their product,
+     * product by product, newest movement first. Must be called in a transaction.
+     *
+     * @param since       the inclusive lower bound of the movement time
+     * @param rowConsumer the consumer of the rows
+     * @return the number of movements read
+     */
+    long scanMovementsSince(LocalDateTime since, Consumer<StockMovementRow> rowConsumer);
+}
@@ -0,0 +1,21 @@
+package com.cams.inventory.management.dao.stock;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) interface for receiving stock in bulk, many products per statement batch.
+ */
+public interface StockReceiptDao {
+
+    /**
+     * Adds stock to products, bumping their versions, and records every increment in the stock ledger.
+     *
+     * @param increments the quantity to add to every product, by product id
+     * @param receivedAt the time of the receipt recorded in the stock ledger
+     * @return the unique identifiers of the products updated; the others no longer exist
+     */
+    Set<UUID> addStock(SortedMap<UUID, Integer> increments, LocalDateTime receivedAt);
+}
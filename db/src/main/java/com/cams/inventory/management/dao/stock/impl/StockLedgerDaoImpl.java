@@ -0,0 +1,147 @@
+package com.cams.inventory.management.dao.stock.impl;
+
+import com.cams.inventory.management.dao.stock.StockLedgerDao;
+import com.cams.inventory.management.dto.StockMovementRow;
+import com.cams.inventory.management.entity.stock.StockMovementEntity;
+import com.cams.inventory.management.entity.stock.StockSnapshotEntity;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import com.cams.inventory.management.repository.stock.StockMovementRepository;
+import com.cams.inventory.management.repository.stock.StockSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the StockLedgerDao interface.
+ * Point-in-time stock is answered from the latest snapshot at or before the requested time plus
+ * a replay of the movements after it, so the cost is bounded by the snapshot interval.
+ */
+@Service("stockLedgerDaoImplV1")
+public class StockLedgerDaoImpl implements StockLedgerDao {
+
+    /**
+     * Logger instance for logging messages in the StockLedgerDaoImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerDaoImpl.class);
+
+    /**
+     * Lower bound of the movements read by the first snapshot run.
+     */
+    static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Repository for appending and replaying stock movements.
+     */
+    private final StockMovementRepository stockMovementRepository;
+
+    /**
+     * Repository for reading and taking stock snapshots.
+     */
+    private final StockSnapshotRepository stockSnapshotRepository;
+
+    /**
+     * Constructor for `StockLedgerDaoImpl`.
+     *
+     * @param stockMovementRepository the repository for stock movements
+     * @param stockSnapshotRepository the repository for stock snapshots
+     */
+    public StockLedgerDaoImpl(StockMovementRepository stockMovementRepository,
+                              StockSnapshotRepository stockSnapshotRepository) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockSnapshotRepository = stockSnapshotRepository;
+    }
+
+    /**
+     * Appends movements to the stock ledger.
+     *
+     * @param movements the movements to append
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public void recordMovements(List<StockMovementEntity> movements) {
+        logger.debug("Recording {} stock movements", movements.size());
+        try {
+            // Movements are immutable, they are only ever inserted
+            stockMovementRepository.saveAll(movements);
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while recording stock movements: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the stock of a product at a point in time from the nearest snapshot and the movements after it.
+     *
+     * @param productId the unique identifier of the product
+     * @param asOf      the point in time
+     * @return the stock of the product at that time, 0 before its first movement
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public int getStockAsOf(UUID productId, LocalDateTime asOf) {
+        logger.debug("Computing stock of product {} as of {}", productId, asOf);
+        try {
+            // Start from the latest snapshot at or before the requested time, if any
+            StockSnapshotEntity snapshot = stockSnapshotRepository
+                    .findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, asOf)
+                    .orElse(null);
+            int stock = snapshot == null ? 0 : snapshot.getStock();
+            LocalDateTime replayFrom = snapshot == null ? LEDGER_START : snapshot.getTakenAt();
+
+            // Replay the movements after the snapshot up to the requested time
+            return Math.toIntExact(stock + stockMovementRepository.sumQuantityDelta(productId, replayFrom, asOf));
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while computing stock as of " + asOf + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Snapshots the stock of every product that moved since the previous snapshot run.
+     *
+     * @param cutoff the point in time the snapshots cover; movements must no longer be written at or before it
+     * @return the number of snapshots taken
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public int takeSnapshots(LocalDateTime cutoff) {
+        logger.debug("Taking stock snapshots as of {}", cutoff);
+        try {
+            LocalDateTime since = stockSnapshotRepository.findLatestTakenAt().orElse(LEDGER_START);
+            if (!cutoff.isAfter(since)) {
+                return 0;
+            }
+            return stockSnapshotRepository.insertSnapshots(since, cutoff);
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while taking stock snapshots: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the movements since a point in time with the current stock and version of their product,
+     * product by product, newest movement first. The rows are streamed, never all held at once.
+     *
+     * @param since       the inclusive lower bound of the movement time
+     * @param rowConsumer the consumer of the rows
+     * @return the number of movements read
+     * @throws InventoryManagementDBException if an exception occurs during the database operation
+     */
+    @Override
+    public long scanMovementsSince(LocalDateTime since, Consumer<StockMovementRow> rowConsumer) {
+        logger.debug("Reading stock movements since {}", since);
+        try (Stream<StockMovementRow> rows = stockMovementRepository.streamMovementsSince(since)) {
+            long count = 0;
+            for (Iterator<StockMovementRow> iterator = rows.iterator(); iterator.hasNext(); count++) {
+                rowConsumer.accept(iterator.next());
+            }
+            return count;
+        } catch (Exception e) {
+            throw new InventoryManagementDBException("Exception occurred while reading stock movements since " + since + ": " + e.getMessage());
+        }
+    }
+}
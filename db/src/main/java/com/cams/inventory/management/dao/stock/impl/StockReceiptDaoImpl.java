@@ -0,0 +1,120 @@
+package com.cams.inventory.management.dao.stock.impl;
+
+import com.cams.inventory.management.cache.ProductCacheEvictor;
+import com.cams.inventory.management.dao.stock.StockReceiptDao;
+import com.cams.inventory.management.entity.constant.StockMovementReason;
+import com.cams.inventory.management.entity.generator.TimeOrderedUuidGenerator;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Implementation of the StockReceiptDao interface with plain JDBC.
+ * The stock of all the products of a receipt is added by one batch of relative UPDATE statements, in
+ * product order so that concurrent receipts lock the rows in the same order, and the ledger movements
+ * are inserted by one more batch; no entity is loaded. The bulk update bypasses the persistence context,
+ * so the products received are evicted from the caches explicitly.
+ */
+@Service("stockReceiptDaoImplV1")
+public class StockReceiptDaoImpl implements StockReceiptDao {
+
+    /**
+     * Logger instance for logging messages in the StockReceiptDaoImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StockReceiptDaoImpl.class);
+
+    /**
+     * Number of rows the JDBC driver fetches at a time.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Adds stock to a product, bumping its version.
+     */
+    private static final String ADD_STOCK_SQL = "UPDATE product_entity SET stock = stock + ?, version = version + 1 "
+            + "WHERE id = ?";
+
+    /**
+     * Records a receipt in the stock ledger.
+     */
+    private static final String INSERT_MOVEMENT_SQL = "INSERT INTO stock_movement "
+            + "(id, product_id, quantity_delta, reason, order_id, occurred_at) VALUES (?, ?, ?, ?, NULL, ?)";
+
+    /**
+     * Template running the statements on the connection of the current transaction.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Evicts the products received from the caches once the transaction commits.
+     */
+    private final ProductCacheEvictor productCacheEvictor;
+
+    /**
+     * Constructs an instance of StockReceiptDaoImpl.
+     *
+     * @param dataSource          the datasource of the products
+     * @param productCacheEvictor the evictor of the cached products
+     */
+    public StockReceiptDaoImpl(DataSource dataSource, ProductCacheEvictor productCacheEvictor) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.productCacheEvictor = productCacheEvictor;
+    }
+
+    /**
+     * Adds stock to products in one batch of UPDATE statements, in product order, and records the
+     * increments of the products updated in one batch of ledger inserts.
+     *
+     * @param increments the quantity to add to every product, by product id
+     * @param receivedAt the time of the receipt recorded in the stock ledger
+     * @return the unique identifiers of the products updated; the others no longer exist
+     */
+    @Override
+    public Set<UUID> addStock(SortedMap<UUID, Integer> increments, LocalDateTime receivedAt) {
+        logger.debug("Adding stock to {} products", increments.size());
+        if (increments.isEmpty()) {
+            return Collections.emptySet();
+        }
+        try {
+            List<Object[]> arguments = increments.entrySet().stream()
+                    .map(increment -> new Object[]{increment.getValue(), increment.getKey()})
+                    .toList();
+            int[] updated = jdbcTemplate.batchUpdate(ADD_STOCK_SQL, arguments);
+
+            Set<UUID> received = new HashSet<>();
+            List<Object[]> movements = new ArrayList<>();
+            Timestamp occurredAt = Timestamp.valueOf(receivedAt);
+            int i = 0;
+            for (Map.Entry<UUID, Integer> increment : increments.entrySet()) {
+                if (updated[i++] == 0) {
+                    continue;
+                }
+                received.add(increment.getKey());
+                movements.add(new Object[]{TimeOrderedUuidGenerator.nextUuid(), increment.getKey(), increment.getValue(),
+                        StockMovementReason.STOCK_RECEIVED.name(), occurredAt});
+            }
+            productCacheEvictor.evictAfterCommit(received);
+            if (!movements.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, movements);
+            }
+            return received;
+        } catch (Exception ex) {
+            throw new InventoryManagementDBException("Error while adding stock - " + ex.getMessage());
+        }
+    }
+}
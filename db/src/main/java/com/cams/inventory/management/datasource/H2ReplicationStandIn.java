@@ -0,0 +1,218 @@
+package com.cams.inventory.management.datasource;
+
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for database replication when the primary and the read replica are two local H2 instances.
+ * Every interval, the replica tables are replaced with a copy of the primary tables, read through
+ * H2 linked tables. Like a real asynchronous replica, the replica lags the primary by up to one
+ * interval; unlike one, a copy is not a consistent snapshot across tables. For local use only.
+ */
+public class H2ReplicationStandIn implements SmartLifecycle {
+
+    /**
+     * Logger instance for logging messages in the H2ReplicationStandIn class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(H2ReplicationStandIn.class);
+
+    /**
+     * Replica schema holding the linked tables that read from the primary.
+     */
+    private static final String LINK_SCHEMA = "REPLICATION";
+
+    /**
+     * Datasource of the replica to copy into.
+     */
+    private final DataSource replicaDataSource;
+
+    /**
+     * JDBC URL of the primary to copy from.
+     */
+    private final String primaryUrl;
+
+    /**
+     * User name of the primary.
+     */
+    private final String primaryUsername;
+
+    /**
+     * Password of the primary.
+     */
+    private final String primaryPassword;
+
+    /**
+     * Delay between two copies, in milliseconds.
+     */
+    private final long intervalMillis;
+
+    /**
+     * Executor running the periodic copy, present while the stand-in is running.
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor for `H2ReplicationStandIn`.
+     *
+     * @param replicaDataSource the datasource of the replica to copy into
+     * @param primaryUrl        the JDBC URL of the primary to copy from
+     * @param primaryUsername   the user name of the primary
+     * @param primaryPassword   the password of the primary
+     * @param intervalMillis    the delay between two copies, in milliseconds
+     */
+    public H2ReplicationStandIn(DataSource replicaDataSource, String primaryUrl, String primaryUsername,
+                                String primaryPassword, long intervalMillis) {
+        this.replicaDataSource = replicaDataSource;
+        this.primaryUrl = primaryUrl;
+        this.primaryUsername = primaryUsername;
+        this.primaryPassword = primaryPassword;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Replaces every replica table, except the Flyway history, with the current rows of the primary.
+     *
+     * @throws InventoryManagementDBException if the copy fails
+     */
+    public synchronized void replicate() {
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            List<String> tables = findTables(connection);
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + LINK_SCHEMA);
+            for (String table : tables) {
+                statement.execute("CREATE LINKED TABLE IF NOT EXISTS " + LINK_SCHEMA + ".\"" + table + "\"('org.h2.Driver', "
+                        + literal(primaryUrl) + ", " + literal(primaryUsername) + ", " + literal(primaryPassword)
+                        + ", 'PUBLIC', " + literal(table) + ") READONLY");
+            }
+
+            // Tables are copied in any order, so foreign keys are checked by the primary only
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            connection.setAutoCommit(false);
+            try {
+                for (String table : tables) {
+                    String columns = String.join(", ", findCopiedColumns(connection, table));
+                    statement.executeUpdate("DELETE FROM PUBLIC.\"" + table + "\"");
+                    statement.executeUpdate("INSERT INTO PUBLIC.\"" + table + "\"(" + columns + ") SELECT " + columns
+                            + " FROM " + LINK_SCHEMA + ".\"" + table + "\"");
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        } catch (SQLException e) {
+            throw new InventoryManagementDBException("Error while replicating to the read replica: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the periodic copy once all singletons, including the Flyway migration of the primary, are ready.
+     */
+    @Override
+    public synchronized void start() {
+        logger.info("Replicating {} to the read replica every {} ms", primaryUrl, intervalMillis);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "h2-replication-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            // Keep the schedule alive when a single copy fails
+            try {
+                replicate();
+            } catch (RuntimeException e) {
+                logger.warn("Replication to the read replica failed", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic copy.
+     */
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Tells whether the periodic copy is running.
+     *
+     * @return true if the periodic copy is running
+     */
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Lists the replicated tables of the replica.
+     *
+     * @param connection the replica connection
+     * @return the table names
+     * @throws SQLException if the catalog cannot be read
+     */
+    private List<String> findTables(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT table_name FROM information_schema.tables "
+                     + "WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE' "
+                     + "AND table_name <> 'flyway_schema_history'")) {
+            while (resultSet.next()) {
+                tables.add(resultSet.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Lists the quoted columns of a table that accept inserted values, leaving out generated columns.
+     *
+     * @param connection the replica connection
+     * @param table      the table name
+     * @return the quoted column names
+     * @throws SQLException if the catalog cannot be read
+     */
+    private List<String> findCopiedColumns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT column_name FROM information_schema.columns "
+                + "WHERE table_schema = 'PUBLIC' AND table_name = ? AND is_generated = 'NEVER' ORDER BY ordinal_position")) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    columns.add('"' + resultSet.getString(1) + '"');
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Quotes a value as an SQL string literal.
+     *
+     * @param value the value to quote, may be null
+     * @return the string literal
+     */
+    private static String literal(String value) {
+        return "'" + (value == null ? "" : value.replace("'", "''")) + "'";
+    }
+}
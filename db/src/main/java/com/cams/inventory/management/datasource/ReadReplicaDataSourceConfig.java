@@ -0,0 +1,122 @@
+package com.cams.inventory.management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a read replica and everything else to the primary database.
+ * Active only when {@code inventory.datasource.replica.url} is set; otherwise the single
+ * auto-configured datasource is used as before.
+ * <p>
+ * The transaction manager marks the connection of a {@code @Transactional(readOnly = true)} method
+ * as read-only, and the lazy proxy only picks the target datasource once the first statement runs,
+ * by which time that flag is known. Read-only transactions also run with Hibernate flushing disabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "inventory.datasource.replica", name = "url")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * Logger instance for logging messages in the ReadReplicaDataSourceConfig class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaDataSourceConfig.class);
+
+    /**
+     * Creates the connection pool of the primary database from the {@code spring.datasource} properties.
+     *
+     * @param dataSourceProperties the {@code spring.datasource} properties
+     * @return the primary datasource
+     */
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the connection pool of the read replica and migrates its schema.
+     * A real replica receives the schema from the primary; migrating it here keeps a standalone
+     * replica, such as the local H2 stand-in, on the same schema version.
+     *
+     * @param url             the JDBC URL of the replica
+     * @param username        the user name of the replica
+     * @param password        the password of the replica
+     * @param migrate         whether to run the Flyway migrations against the replica
+     * @param flywayLocations the locations of the Flyway migrations
+     * @return the replica datasource
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${inventory.datasource.replica.url}") String url,
+                                              @Value("${inventory.datasource.replica.username:}") String username,
+                                              @Value("${inventory.datasource.replica.password:}") String password,
+                                              @Value("${inventory.datasource.replica.migrate:true}") boolean migrate,
+                                              @Value("${spring.flyway.locations:classpath:db/migration}") String[] flywayLocations) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+
+        if (migrate) {
+            logger.info("Migrating read replica schema at {}", url);
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations(flywayLocations)
+                    .load()
+                    .migrate();
+        }
+        return dataSource;
+    }
+
+    /**
+     * Exposes the datasource used by JPA, Flyway and JDBC: connections go to the replica when
+     * the transaction is read-only and to the primary otherwise.
+     *
+     * @param primaryDataSource the primary datasource
+     * @param replicaDataSource the replica datasource
+     * @return the routing datasource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Creates the replication stand-in copying the primary into the replica when both are local H2 instances.
+     *
+     * @param replicaDataSource    the replica datasource
+     * @param dataSourceProperties the {@code spring.datasource} properties of the primary
+     * @param intervalMillis       the delay between two copies, in milliseconds
+     * @return the replication stand-in
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "inventory.datasource.replica.stand-in", name = "enabled", havingValue = "true")
+    public H2ReplicationStandIn h2ReplicationStandIn(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                     DataSourceProperties dataSourceProperties,
+                                                     @Value("${inventory.datasource.replica.stand-in.interval-ms:1000}") long intervalMillis) {
+        return new H2ReplicationStandIn(replicaDataSource, dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), intervalMillis);
+    }
+}
@@ -3,12 +3,13 @@ package com.cams.inventory.management.dto;
 import com.cams.inventory.management.entity.constant.OrderStatus;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Data Transfer Object (DTO) for representing an order.
- * Contains the order ID, status, and a list of order items.
+ * Contains the order ID, status, creation date, and a list of order items.
  */
 @Data
 public class OrderDto {
@@ -23,6 +24,11 @@ public class OrderDto {
      */
     private OrderStatus status;
 
+    /**
+     * The date and time the order was created.
+     */
+    private LocalDateTime orderCreatedDate;
+
     /**
      * The list of items associated with the order.
      */
@@ -0,0 +1,52 @@
+package com.cams.inventory.management.dto;
+
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the payload of an order event published through the outbox.
+ * Carries only identifiers and quantities, so consumers never see a half-loaded order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventDto {
+
+    /**
+     * The unique identifier of the order.
+     */
+    private String orderId;
+
+    /**
+     * The status of the order after the change.
+     */
+    private OrderStatus status;
+
+    /**
+     * The ordered products and quantities.
+     */
+    private List<Item> items;
+
+    /**
+     * An ordered product and its quantity.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        /**
+         * The unique identifier of the product.
+         */
+        private String productId;
+
+        /**
+         * The ordered quantity.
+         */
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cams.inventory.management.dto;
+
+import com.cams.inventory.management.entity.constant.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of one order item for the order export, joined with its order and product.
+ * Rows are never managed entities, so streaming them does not fill the persistence context.
+ */
+public interface OrderExportRow {
+
+    /**
+     * @return the unique identifier of the order
+     */
+    UUID getOrderId();
+
+    /**
+     * @return the status of the order
+     */
+    OrderStatus getStatus();
+
+    /**
+     * @return the date and time the order was created
+     */
+    LocalDateTime getOrderCreatedDate();
+
+    /**
+     * @return the unique identifier of the order item
+     */
+    UUID getItemId();
+
+    /**
+     * @return the unique identifier of the ordered product
+     */
+    UUID getProductId();
+
+    /**
+     * @return the SKU of the ordered product
+     */
+    String getSku();
+
+    /**
+     * @return the name of the ordered product
+     */
+    String getProductName();
+
+    /**
+     * @return the price of the product when it was ordered, in minor units, 0 if it was not recorded
+     */
+    Long getUnitPriceMinor();
+
+    /**
+     * @return the ordered quantity
+     */
+    Integer getQuantity();
+}
@@ -0,0 +1,28 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing one page of the order history.
+ * Contains the orders of the page, newest first, and the cursor of the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryPageDto {
+
+    /**
+     * The orders of the page, newest first.
+     */
+    private List<OrderDto> orders = new ArrayList<>();
+
+    /**
+     * The opaque cursor to pass to get the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,68 @@
+package com.cams.inventory.management.dto;
+
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, detached copy of an order's state: its status, creation date and the ordered products and quantities.
+ * Products are referenced by id only, so a cached snapshot never carries stale product data.
+ */
+@Value
+public class OrderSnapshot {
+
+    /**
+     * The unique identifier of the order.
+     */
+    UUID id;
+
+    /**
+     * The status of the order.
+     */
+    OrderStatus status;
+
+    /**
+     * The date and time the order was created.
+     */
+    LocalDateTime orderCreatedDate;
+
+    /**
+     * The ordered products and quantities.
+     */
+    List<Item> items;
+
+    /**
+     * Creates a snapshot from the current state of the given entity and its items.
+     * The products of the items are not loaded.
+     *
+     * @param orderEntity the entity to copy
+     * @return a snapshot of the entity
+     */
+    public static OrderSnapshot from(OrderEntity orderEntity) {
+        return new OrderSnapshot(orderEntity.getId(), orderEntity.getStatus(), orderEntity.getOrderCreatedDate(),
+                orderEntity.getItems().stream()
+                        .map(item -> new Item(item.getProduct().getId(), item.getQuantity()))
+                        .toList());
+    }
+
+    /**
+     * An ordered product and its quantity.
+     */
+    @Value
+    public static class Item {
+
+        /**
+         * The unique identifier of the product.
+         */
+        UUID productId;
+
+        /**
+         * The ordered quantity.
+         */
+        Integer quantity;
+    }
+}
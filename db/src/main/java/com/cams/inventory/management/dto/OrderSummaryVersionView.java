@@ -0,0 +1,27 @@
+package com.cams.inventory.management.dto;
+
+import com.cams.inventory.management.entity.constant.OrderStatus;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of the values an order summary depends on: the order status
+ * and the version of each ordered product. One row is returned per order item.
+ */
+public interface OrderSummaryVersionView {
+
+    /**
+     * @return the current status of the order
+     */
+    OrderStatus getStatus();
+
+    /**
+     * @return the unique identifier of the ordered product, or null for an order without items
+     */
+    UUID getProductId();
+
+    /**
+     * @return the current version of the ordered product, or null for an order without items
+     */
+    Integer getProductVersion();
+}
@@ -0,0 +1,67 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object (DTO) for representing a line of a price feed that was not applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChangeLineDto {
+
+    /**
+     * Reason a price feed line was not applied.
+     */
+    public enum Status {
+
+        /**
+         * The line does not identify a product or its price is not valid.
+         */
+        INVALID,
+
+        /**
+         * No product exists with the id or SKU of the line.
+         */
+        NOT_FOUND,
+
+        /**
+         * The chunk of lines the line belongs to could not be written and was rolled back.
+         */
+        FAILED
+    }
+
+    /**
+     * The position of the line in the feed, starting at 0.
+     */
+    private int index;
+
+    /**
+     * The unique identifier of the product, as given.
+     */
+    private String productId;
+
+    /**
+     * The SKU of the product, as given.
+     */
+    private String sku;
+
+    /**
+     * The price of the line.
+     */
+    private BigDecimal price;
+
+    /**
+     * The reason the line was not applied.
+     */
+    private Status status;
+
+    /**
+     * The description of the reason.
+     */
+    private String error;
+}
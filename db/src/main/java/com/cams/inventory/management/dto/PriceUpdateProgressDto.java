@@ -0,0 +1,63 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the progress of a price feed once one of its chunks
+ * is done. The counts cover all the chunks done so far, so the progress of the last chunk is the
+ * outcome of the whole feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateProgressDto {
+
+    /**
+     * The position of the chunk done, starting at 0.
+     */
+    private int chunk;
+
+    /**
+     * The number of chunks of the feed.
+     */
+    private int chunks;
+
+    /**
+     * The number of lines done so far.
+     */
+    private int linesDone;
+
+    /**
+     * The number of lines of the feed.
+     */
+    private int lines;
+
+    /**
+     * The number of lines that changed the price of their product.
+     */
+    private int updated;
+
+    /**
+     * The number of lines whose product already had their price, left untouched.
+     */
+    private int unchanged;
+
+    /**
+     * The number of lines not applied.
+     */
+    private int rejected;
+
+    /**
+     * The time spent on the feed so far, in milliseconds.
+     */
+    private long elapsedMillis;
+
+    /**
+     * The lines of the chunk that were not applied, in the order of the feed.
+     */
+    private List<PriceChangeLineDto> rejections;
+}
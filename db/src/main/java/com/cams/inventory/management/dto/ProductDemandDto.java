@@ -0,0 +1,27 @@
+package com.cams.inventory.management.dto;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Immutable demand rate of a product as of the time it was last updated, as saved in the database.
+ */
+@Value
+public class ProductDemandDto {
+
+    /**
+     * The unique identifier of the product.
+     */
+    UUID productId;
+
+    /**
+     * The exponentially weighted units sold per day, as of the update time.
+     */
+    double ratePerDay;
+
+    /**
+     * The time the rate was last updated, in milliseconds since the epoch.
+     */
+    long updatedAtMillis;
+}
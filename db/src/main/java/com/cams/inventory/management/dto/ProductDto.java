@@ -1,5 +1,6 @@
 package com.cams.inventory.management.dto;
 
+import com.cams.inventory.management.util.MoneyUtils;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -39,4 +40,18 @@ public class ProductDto {
      * The stock quantity of the product.
      */
     private Integer stock;
+
+    /**
+     * Creates a product DTO from a price in minor currency units.
+     * Used by query projections, which read the stored price column directly.
+     *
+     * @param id         the unique identifier of the product
+     * @param name       the name of the product
+     * @param sku        the Stock Keeping Unit (SKU) of the product
+     * @param priceMinor the price in minor currency units, or null if the product has no price
+     * @param stock      the stock quantity of the product
+     */
+    public ProductDto(String id, String name, String sku, Long priceMinor, Integer stock) {
+        this(id, name, sku, priceMinor == null ? null : MoneyUtils.toMajorUnits(priceMinor), stock);
+    }
 }
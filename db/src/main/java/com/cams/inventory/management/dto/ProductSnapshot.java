@@ -0,0 +1,56 @@
+package com.cams.inventory.management.dto;
+
+import com.cams.inventory.management.entity.product.ProductEntity;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Immutable, detached copy of a product's state at a given version.
+ * Used by read paths that do not need a managed ProductEntity.
+ */
+@Value
+public class ProductSnapshot {
+
+    /**
+     * The unique identifier of the product.
+     */
+    UUID id;
+
+    /**
+     * The name of the product.
+     */
+    String name;
+
+    /**
+     * The Stock Keeping Unit (SKU) of the product.
+     */
+    String sku;
+
+    /**
+     * The price of the product.
+     */
+    BigDecimal price;
+
+    /**
+     * The stock quantity of the product.
+     */
+    Integer stock;
+
+    /**
+     * The optimistic locking version the snapshot was taken at.
+     */
+    Integer version;
+
+    /**
+     * Creates a snapshot from the current state of the given entity.
+     *
+     * @param productEntity the entity to copy
+     * @return a snapshot of the entity
+     */
+    public static ProductSnapshot from(ProductEntity productEntity) {
+        return new ProductSnapshot(productEntity.getId(), productEntity.getName(), productEntity.getSku(),
+                productEntity.getPrice(), productEntity.getStock(), productEntity.getVersion());
+    }
+}
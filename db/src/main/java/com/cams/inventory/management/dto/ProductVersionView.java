@@ -0,0 +1,20 @@
+package com.cams.inventory.management.dto;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a product's identifier and optimistic locking version.
+ * Used to answer conditional requests without loading product entities.
+ */
+public interface ProductVersionView {
+
+    /**
+     * @return the unique identifier of the product
+     */
+    UUID getId();
+
+    /**
+     * @return the current version of the product
+     */
+    Integer getVersion();
+}
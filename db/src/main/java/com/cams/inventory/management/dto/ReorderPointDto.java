@@ -0,0 +1,39 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for representing a product whose stock is at or below its reorder threshold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderPointDto {
+
+    /**
+     * The unique identifier of the product.
+     */
+    private String id;
+
+    /**
+     * The name of the product.
+     */
+    private String name;
+
+    /**
+     * The Stock Keeping Unit (SKU) of the product.
+     */
+    private String sku;
+
+    /**
+     * The stock quantity of the product.
+     */
+    private Integer stock;
+
+    /**
+     * The stock level at or below which the product needs replenishment.
+     */
+    private Integer reorderThreshold;
+}
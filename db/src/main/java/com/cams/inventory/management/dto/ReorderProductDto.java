@@ -0,0 +1,40 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for representing a product projected to run out of stock soon at its
+ * current demand rate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderProductDto {
+
+    /**
+     * The unique identifier of the product.
+     */
+    private String productId;
+
+    /**
+     * The name of the product.
+     */
+    private String name;
+
+    /**
+     * The current stock of the product.
+     */
+    private int stock;
+
+    /**
+     * The exponentially weighted units sold per day.
+     */
+    private double dailyDemand;
+
+    /**
+     * The days until the stock runs out at the daily demand.
+     */
+    private double daysUntilStockout;
+}
@@ -0,0 +1,32 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object (DTO) for representing the units sold, the revenue and the number of orders
+ * of one line of the sales report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesFiguresDto {
+
+    /**
+     * The number of units sold.
+     */
+    private long units;
+
+    /**
+     * The revenue of the units sold, at the prices they were ordered at.
+     */
+    private BigDecimal revenue;
+
+    /**
+     * The number of orders; for a product, the number of orders with at least one item of it.
+     */
+    private long orders;
+}
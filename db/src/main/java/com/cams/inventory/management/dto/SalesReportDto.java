@@ -0,0 +1,53 @@
+package com.cams.inventory.management.dto;
+
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data Transfer Object (DTO) for representing the sales report of a time range.
+ * Contains the units sold and the revenue in total, per product, per day and per order status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportDto {
+
+    /**
+     * The inclusive lower bound of the order creation date.
+     */
+    private LocalDateTime from;
+
+    /**
+     * The exclusive upper bound of the order creation date.
+     */
+    private LocalDateTime to;
+
+    /**
+     * The figures of all the orders of the range.
+     */
+    private SalesFiguresDto total;
+
+    /**
+     * The figures per product identifier, in no particular order.
+     */
+    private Map<String, SalesFiguresDto> byProduct = new LinkedHashMap<>();
+
+    /**
+     * The figures per day the orders were created on, oldest first; days without orders are left out.
+     */
+    private Map<LocalDate, SalesFiguresDto> byDay = new TreeMap<>();
+
+    /**
+     * The figures per order status; statuses without orders are left out.
+     */
+    private Map<OrderStatus, SalesFiguresDto> byStatus = new EnumMap<>(OrderStatus.class);
+}
@@ -0,0 +1,84 @@
+package com.cams.inventory.management.dto;
+
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable change to one row of the sales rollups: the units, revenue and order count to add to a day
+ * and order status, in total or for one product. Negative figures take an order out of a rollup.
+ */
+@Value
+public class SalesRollupDelta {
+
+    /**
+     * The day the orders were created on.
+     */
+    LocalDate saleDate;
+
+    /**
+     * The status of the orders.
+     */
+    OrderStatus status;
+
+    /**
+     * The unique identifier of the product, or null for the total of the day.
+     */
+    UUID productId;
+
+    /**
+     * The units to add.
+     */
+    long units;
+
+    /**
+     * The revenue to add, in minor units.
+     */
+    long revenueMinor;
+
+    /**
+     * The number of orders to add.
+     */
+    long orders;
+
+    /**
+     * Computes the changes adding an order to, or taking it out of, the rollups of a status:
+     * one for the total of its day and one per ordered product.
+     *
+     * @param orderEntity the order with its items, created on the day of its rollups
+     * @param status      the status of the rollups
+     * @param direction   1 to add the order, -1 to take it out
+     * @return the changes, the total of the day first
+     * @throws ArithmeticException if an amount overflows
+     */
+    public static List<SalesRollupDelta> of(OrderEntity orderEntity, OrderStatus status, int direction) {
+        LocalDate saleDate = orderEntity.getOrderCreatedDate().toLocalDate();
+        long units = 0;
+        long revenueMinor = 0;
+        // Units and revenue per product; an order counts once for a product ordered on several lines
+        Map<UUID, long[]> productFigures = new LinkedHashMap<>();
+        for (OrderItemEntity item : orderEntity.getItems()) {
+            long itemRevenue = Math.multiplyExact(item.getUnitPriceMinor() == null ? 0 : item.getUnitPriceMinor(),
+                    (long) item.getQuantity());
+            long[] figures = productFigures.computeIfAbsent(item.getProduct().getId(), productId -> new long[2]);
+            figures[0] += item.getQuantity();
+            figures[1] = Math.addExact(figures[1], itemRevenue);
+            units += item.getQuantity();
+            revenueMinor = Math.addExact(revenueMinor, itemRevenue);
+        }
+
+        List<SalesRollupDelta> deltas = new ArrayList<>(productFigures.size() + 1);
+        deltas.add(new SalesRollupDelta(saleDate, status, null, direction * units, direction * revenueMinor, direction));
+        productFigures.forEach((productId, figures) ->
+                deltas.add(new SalesRollupDelta(saleDate, status, productId, direction * figures[0], direction * figures[1], direction)));
+        return deltas;
+    }
+}
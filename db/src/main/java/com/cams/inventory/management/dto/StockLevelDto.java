@@ -0,0 +1,32 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for representing the stock of a product at a point in time,
+ * as derived from the stock ledger.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelDto {
+
+    /**
+     * The unique identifier of the product.
+     */
+    private String productId;
+
+    /**
+     * The point in time of the stock level.
+     */
+    private LocalDateTime asOf;
+
+    /**
+     * The stock quantity of the product at that time.
+     */
+    private Integer stock;
+}
@@ -0,0 +1,36 @@
+package com.cams.inventory.management.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of one stock movement joined with the current stock and version of its product,
+ * for rebuilding the stock series from the stock ledger.
+ */
+public interface StockMovementRow {
+
+    /**
+     * @return the unique identifier of the product
+     */
+    UUID getProductId();
+
+    /**
+     * @return the current stock of the product
+     */
+    Integer getStock();
+
+    /**
+     * @return the current version of the product
+     */
+    Integer getVersion();
+
+    /**
+     * @return the date and time the movement occurred
+     */
+    LocalDateTime getOccurredAt();
+
+    /**
+     * @return the change of the stock, negative when stock was taken
+     */
+    Integer getQuantityDelta();
+}
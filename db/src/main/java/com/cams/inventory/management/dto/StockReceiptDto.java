@@ -0,0 +1,31 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the outcome of a stock receipt, line by line.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReceiptDto {
+
+    /**
+     * The number of lines received.
+     */
+    private int received;
+
+    /**
+     * The number of lines not received.
+     */
+    private int rejected;
+
+    /**
+     * The outcome of every line, in the order of the receipt.
+     */
+    private List<StockReceiptLineDto> lines;
+}
@@ -0,0 +1,75 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for representing the outcome of one line of a stock receipt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReceiptLineDto {
+
+    /**
+     * Outcome of a receipt line.
+     */
+    public enum Status {
+
+        /**
+         * The quantity was added to the stock of the product.
+         */
+        RECEIVED,
+
+        /**
+         * The line does not identify a product or its quantity is not positive.
+         */
+        INVALID,
+
+        /**
+         * No product exists with the id or SKU of the line.
+         */
+        NOT_FOUND,
+
+        /**
+         * The chunk of lines the line belongs to could not be written and was rolled back.
+         */
+        FAILED
+    }
+
+    /**
+     * The position of the line in the receipt, starting at 0.
+     */
+    private int index;
+
+    /**
+     * The unique identifier of the product, if it was found.
+     */
+    private String productId;
+
+    /**
+     * The SKU of the product, if it was found or given.
+     */
+    private String sku;
+
+    /**
+     * The quantity of the line.
+     */
+    private Integer quantity;
+
+    /**
+     * The outcome of the line.
+     */
+    private Status status;
+
+    /**
+     * The stock of the product once the chunk of lines the line belongs to was received; null unless received.
+     */
+    private Integer stock;
+
+    /**
+     * The reason the line was not received; null if received.
+     */
+    private String error;
+}
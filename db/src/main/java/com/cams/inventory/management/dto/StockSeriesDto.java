@@ -0,0 +1,43 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the stock of a product over a time range:
+ * the stock at the start of the range and every change within it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSeriesDto {
+
+    /**
+     * The unique identifier of the product.
+     */
+    private String productId;
+
+    /**
+     * The inclusive start of the range.
+     */
+    private LocalDateTime from;
+
+    /**
+     * The exclusive end of the range.
+     */
+    private LocalDateTime to;
+
+    /**
+     * The stock quantity of the product at the start of the range, before the changes within it.
+     */
+    private Integer initialStock;
+
+    /**
+     * The changes of the stock within the range, oldest first.
+     */
+    private List<StockSeriesPointDto> points;
+}
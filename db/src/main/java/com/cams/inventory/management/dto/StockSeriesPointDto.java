@@ -0,0 +1,26 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for representing one change of the stock of a product in its stock series.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSeriesPointDto {
+
+    /**
+     * The point in time the stock changed.
+     */
+    private LocalDateTime at;
+
+    /**
+     * The stock quantity of the product from that time on.
+     */
+    private Integer stock;
+}
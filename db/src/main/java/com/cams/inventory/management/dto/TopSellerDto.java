@@ -0,0 +1,31 @@
+package com.cams.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for representing one of the best-selling products of a recent time window.
+ * The units are an estimate that is never below the true number: the product sold between
+ * {@code units - maxError} and {@code units} units in the window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSellerDto {
+
+    /**
+     * The unique identifier of the product.
+     */
+    private String productId;
+
+    /**
+     * The estimated number of units sold, an upper bound of the true number.
+     */
+    private long units;
+
+    /**
+     * The largest possible overestimate of the units; 0 when the count is exact.
+     */
+    private long maxError;
+}
@@ -0,0 +1,17 @@
+package com.cams.inventory.management.entity.constant;
+
+/**
+ * Enum representing the order events published through the outbox.
+ */
+public enum OrderEventType {
+
+    /**
+     * An order was created.
+     */
+    ORDER_CREATED,
+
+    /**
+     * The status of an order changed.
+     */
+    ORDER_STATUS_CHANGED;
+}
@@ -0,0 +1,37 @@
+package com.cams.inventory.management.entity.constant;
+
+/**
+ * Enum representing why the stock of a product changed.
+ */
+public enum StockMovementReason {
+
+    /**
+     * Stock of a product that existed before the stock ledger was introduced.
+     */
+    OPENING_BALANCE,
+
+    /**
+     * Initial stock of a newly created product.
+     */
+    PRODUCT_CREATED,
+
+    /**
+     * Stock taken by an order.
+     */
+    ORDER_PLACED,
+
+    /**
+     * Stock returned by a cancelled order.
+     */
+    ORDER_CANCELLED,
+
+    /**
+     * Stock replaced through the product stock endpoint.
+     */
+    STOCK_ADJUSTED,
+
+    /**
+     * Stock added by a receipt of goods.
+     */
+    STOCK_RECEIVED;
+}
@@ -0,0 +1,74 @@
+package com.cams.inventory.management.entity.generator;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate identifier generator producing time-ordered UUIDs (version 7 layout).
+ * The 48 most significant bits hold the Unix epoch milliseconds, followed by a 12-bit
+ * sequence that keeps identifiers generated within the same millisecond strictly
+ * increasing; the remaining 62 bits are random.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    /**
+     * Source of the random bits of every identifier.
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Last issued 60-bit timestamp and sequence: milliseconds shifted left by 12 bits plus the sequence.
+     */
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+    /**
+     * Generates a new identifier before the row is inserted.
+     *
+     * @param session      the session the entity is persisted in
+     * @param owner        the entity being persisted
+     * @param currentValue the current value of the identifier, if any
+     * @param eventType    the event triggering the generation
+     * @return a new time-ordered UUID
+     */
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return nextUuid();
+    }
+
+    /**
+     * Identifiers are only generated on insert.
+     *
+     * @return the insert event type
+     */
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    /**
+     * Creates a new time-ordered UUID. Identifiers generated by the same JVM are strictly increasing;
+     * when more than 4096 identifiers are requested within one millisecond the timestamp is advanced.
+     *
+     * @return a new version 7 UUID
+     */
+    public static UUID nextUuid() {
+        long timestampAndSequence = LAST_TIMESTAMP_AND_SEQUENCE.updateAndGet(
+                last -> Math.max(last + 1, System.currentTimeMillis() << 12));
+
+        // 48-bit timestamp, 4-bit version and 12-bit sequence
+        long mostSignificantBits = (timestampAndSequence >>> 12) << 16
+                | 0x7000L
+                | (timestampAndSequence & 0xFFFL);
+        // 2-bit IETF variant and 62 random bits
+        long leastSignificantBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -1,6 +1,7 @@
 package com.cams.inventory.management.entity.order;
 
 import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.generator.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -13,16 +14,26 @@ import java.util.UUID;
 /**
  * Entity representing an order in the system.
  * Each order has a unique identifier, a status, and a list of associated items.
+ * Items are loaded lazily; use the {@value #GRAPH_ITEMS_WITH_PRODUCTS} entity graph
+ * when the items and their products are needed.
  */
 @Data
 @Entity
+@NamedEntityGraph(name = OrderEntity.GRAPH_ITEMS_WITH_PRODUCTS,
+        attributeNodes = @NamedAttributeNode(value = "items", subgraph = "items"),
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
 public class OrderEntity {
 
     /**
-     * Unique identifier for the order.
+     * Entity graph fetching the order items together with their products in a single query.
+     */
+    public static final String GRAPH_ITEMS_WITH_PRODUCTS = "OrderEntity.itemsWithProducts";
+
+    /**
+     * Unique, time-ordered identifier for the order.
      */
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     /**
@@ -34,9 +45,9 @@ public class OrderEntity {
 
     /**
      * List of items associated with the order.
-     * The relationship is one-to-many, and changes to the order cascade to its items.
+     * The relationship is one-to-many and lazily loaded, and changes to the order cascade to its items.
      */
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "order", cascade = CascadeType.ALL)
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderItemEntity> items = new ArrayList<>();
 
     /**
@@ -45,4 +56,11 @@ public class OrderEntity {
      */
     @CreationTimestamp
     private LocalDateTime orderCreatedDate;
+
+    /**
+     * Whether the order was read from the order archive rather than the database.
+     * Archived orders are immutable.
+     */
+    @Transient
+    private boolean archived;
 }
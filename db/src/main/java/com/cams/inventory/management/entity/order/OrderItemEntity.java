@@ -1,40 +1,51 @@
 package com.cams.inventory.management.entity.order;
 
+import com.cams.inventory.management.entity.generator.TimeOrderedUuid;
 import com.cams.inventory.management.entity.product.ProductEntity;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.UUID;
 
 /**
  * Entity representing an item in an order.
- * Each item is associated with a product, an order, and a quantity.
+ * Each item is associated with a product, an order, a quantity, and the unit price it was ordered at.
  */
 @Entity
 @Data
 public class OrderItemEntity {
 
     /**
-     * Unique identifier for the order item.
+     * Unique, time-ordered identifier for the order item.
      */
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     /**
-     * The product associated with this order item.
+     * The product associated with this order item, loaded lazily.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private ProductEntity product;
 
     /**
-     * The order to which this item belongs.
+     * The order to which this item belongs, loaded lazily.
+     * Excluded from toString/equals/hashCode to avoid cycling back into the order.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private OrderEntity order;
 
     /**
      * The quantity of the product in this order item.
      */
     private Integer quantity;
+
+    /**
+     * The price of the product when it was ordered, in minor currency units (e.g. cents).
+     */
+    private Long unitPriceMinor;
 }
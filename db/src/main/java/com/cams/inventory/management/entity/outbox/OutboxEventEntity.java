@@ -0,0 +1,53 @@
+package com.cams.inventory.management.entity.outbox;
+
+import com.cams.inventory.management.entity.generator.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing an event waiting in the transactional outbox.
+ * The event is written in the same transaction as the change it describes and removed
+ * once the outbox relay has delivered it.
+ */
+@Data
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEventEntity {
+
+    /**
+     * Unique, time-ordered identifier for the event, also used by consumers to detect redeliveries.
+     */
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    /**
+     * Identifier of the entity the event is about.
+     */
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    /**
+     * Type of the event.
+     */
+    @Column(nullable = false)
+    private String eventType;
+
+    /**
+     * JSON payload of the event.
+     */
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    /**
+     * Timestamp at which the event was written.
+     */
+    @CreationTimestamp
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,7 +1,12 @@
 package com.cams.inventory.management.entity.product;
 
+import com.cams.inventory.management.cache.ProductCacheListener;
+import com.cams.inventory.management.entity.generator.TimeOrderedUuid;
+import com.cams.inventory.management.util.MoneyUtils;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -9,16 +14,26 @@ import java.util.UUID;
 /**
  * Entity representing a product in the inventory system.
  * Each product has a unique identifier, name, SKU, price, version, and stock quantity.
+ * The entity is eligible for the second-level cache when the l2cache profile is active;
+ * READ_WRITE keeps the frequently updated stock column consistent across sessions.
  */
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProductEntity.CACHE_REGION)
+@EntityListeners(ProductCacheListener.class)
 public class ProductEntity {
 
     /**
-     * Unique identifier for the product.
+     * Name of the second-level cache region holding products.
+     */
+    public static final String CACHE_REGION = "product";
+
+    /**
+     * Unique, time-ordered identifier for the product.
      */
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     /**
@@ -36,9 +51,10 @@ public class ProductEntity {
     private String sku;
 
     /**
-     * Price of the product.
+     * Price of the product in minor currency units (cents), see {@link MoneyUtils}.
      */
-    private BigDecimal price;
+    @Column(name = "price_minor")
+    private Long priceMinor;
 
     /**
      * Version of the product entity, used for optimistic locking.
@@ -52,4 +68,37 @@ public class ProductEntity {
      */
     @Column(nullable = false)
     private Integer stock;
+
+    /**
+     * Stock level at or below which the product needs replenishment.
+     * Defaults to 0, so a product is only flagged once out of stock.
+     */
+    @Column(name = "reorder_threshold", nullable = false)
+    private Integer reorderThreshold = 0;
+
+    /**
+     * Whether the stock is at or below the reorder threshold.
+     * Computed by the database on every write, so it is only current on a freshly loaded entity;
+     * it exists to be queried through its index.
+     */
+    @Column(name = "needs_reorder", insertable = false, updatable = false)
+    private Boolean needsReorder;
+
+    /**
+     * Returns the price of the product at the currency scale.
+     *
+     * @return the price in major units, or null if the product has no price
+     */
+    public BigDecimal getPrice() {
+        return priceMinor == null ? null : MoneyUtils.toMajorUnits(priceMinor);
+    }
+
+    /**
+     * Sets the price of the product, rounded to the currency scale.
+     *
+     * @param price the price in major units, or null to clear the price
+     */
+    public void setPrice(BigDecimal price) {
+        this.priceMinor = price == null ? null : MoneyUtils.toMinorUnits(price);
+    }
 }
\ No newline at end of file
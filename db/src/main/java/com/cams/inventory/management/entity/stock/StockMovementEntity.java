@@ -0,0 +1,79 @@
+package com.cams.inventory.management.entity.stock;
+
+import com.cams.inventory.management.entity.constant.StockMovementReason;
+import com.cams.inventory.management.entity.generator.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing one change of the stock of a product in the append-only stock ledger.
+ * Movements are never updated or deleted; the stock of a product at any time is the sum of
+ * its movements up to that time.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "stock_movement")
+public class StockMovementEntity {
+
+    /**
+     * Unique, time-ordered identifier for the movement.
+     */
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    /**
+     * Identifier of the product whose stock changed.
+     */
+    @Column(nullable = false)
+    private UUID productId;
+
+    /**
+     * Signed change of the stock: negative when stock is taken, positive when it is added.
+     */
+    @Column(nullable = false)
+    private Integer quantityDelta;
+
+    /**
+     * Reason of the change.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StockMovementReason reason;
+
+    /**
+     * Identifier of the order that caused the change, or null if no order did.
+     */
+    private UUID orderId;
+
+    /**
+     * Timestamp at which the movement was written.
+     */
+    @CreationTimestamp
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * Creates a movement for the given product.
+     *
+     * @param productId     the identifier of the product whose stock changed
+     * @param quantityDelta the signed change of the stock
+     * @param reason        the reason of the change
+     * @param orderId       the identifier of the order that caused the change, or null
+     * @return the new movement, not yet persisted
+     */
+    public static StockMovementEntity of(UUID productId, int quantityDelta, StockMovementReason reason, UUID orderId) {
+        StockMovementEntity movement = new StockMovementEntity();
+        movement.setProductId(productId);
+        movement.setQuantityDelta(quantityDelta);
+        movement.setReason(reason);
+        movement.setOrderId(orderId);
+        return movement;
+    }
+}
@@ -0,0 +1,38 @@
+package com.cams.inventory.management.entity.stock;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing the stock of a product derived from the stock ledger at a point in time.
+ * Snapshots bound how many movements must be replayed to answer a point-in-time stock query.
+ */
+@Data
+@Entity
+@Immutable
+@IdClass(StockSnapshotId.class)
+@Table(name = "stock_snapshot")
+public class StockSnapshotEntity {
+
+    /**
+     * Identifier of the product.
+     */
+    @Id
+    private UUID productId;
+
+    /**
+     * Point in time the snapshot covers; every movement that occurred at or before it is included.
+     */
+    @Id
+    private LocalDateTime takenAt;
+
+    /**
+     * Stock of the product at that point in time.
+     */
+    @Column(nullable = false)
+    private Integer stock;
+}
@@ -0,0 +1,28 @@
+package com.cams.inventory.management.entity.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Composite identifier of a StockSnapshotEntity: the product and the point in time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshotId implements Serializable {
+
+    /**
+     * Identifier of the product.
+     */
+    private UUID productId;
+
+    /**
+     * Point in time the snapshot covers.
+     */
+    private LocalDateTime takenAt;
+}
@@ -1,8 +1,11 @@
 package com.cams.inventory.management.mapper;
 
 import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.dto.OrderItemDto;
+import com.cams.inventory.management.dto.OrderSnapshot;
 import com.cams.inventory.management.entity.order.OrderEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * Mapper interface for transforming between OrderEntity and OrderDto.
@@ -18,4 +21,22 @@ public interface OrderMapper {
      * @return the resulting OrderDto
      */
     OrderDto transformOrderEntityToOrderDto(OrderEntity orderEntity);
+
+    /**
+     * Transforms an OrderSnapshot object into an OrderDto object.
+     * The products of the items are left empty, for the caller to fill in.
+     *
+     * @param orderSnapshot the OrderSnapshot to transform
+     * @return the resulting OrderDto
+     */
+    OrderDto transformOrderSnapshotToOrderDto(OrderSnapshot orderSnapshot);
+
+    /**
+     * Transforms an item of an OrderSnapshot into an OrderItemDto object without its product.
+     *
+     * @param item the item to transform
+     * @return the resulting OrderItemDto
+     */
+    @Mapping(target = "product", ignore = true)
+    OrderItemDto transformOrderSnapshotItemToOrderItemDto(OrderSnapshot.Item item);
 }
@@ -1,9 +1,11 @@
 package com.cams.inventory.management.mapper;
 
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ProductSnapshot;
 import com.cams.inventory.management.entity.product.ProductEntity;
 import com.cams.inventory.management.request.ProductRequest;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -48,10 +50,23 @@ public interface ProductMapper {
 
     /**
      * Transforms a single ProductDto object into a ProductEntity object.
+     * The price is set through {@link ProductEntity#setPrice}, which fills the minor-unit column.
+     * The reorder threshold keeps its default and the reorder flag is computed by the database.
      *
      * @param productDto the ProductDto object to transform
      * @return a ProductEntity object
      */
+    @Mapping(target = "priceMinor", ignore = true)
+    @Mapping(target = "reorderThreshold", ignore = true)
+    @Mapping(target = "needsReorder", ignore = true)
     ProductEntity transformProductDtoToProductEntity(final ProductDto productDto);
 
+    /**
+     * Transforms a single ProductSnapshot object into a ProductDto object.
+     *
+     * @param productSnapshot the ProductSnapshot object to transform
+     * @return a ProductDto object
+     */
+    ProductDto transformProductSnapshotToProductDto(final ProductSnapshot productSnapshot);
+
 }
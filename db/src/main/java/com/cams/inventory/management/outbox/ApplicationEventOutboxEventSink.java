@@ -0,0 +1,36 @@
+package com.cams.inventory.management.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Sink publishing every event to the in-process Spring event listeners of OutboxMessage.
+ * Listeners run synchronously on the relay thread; an exception from a listener fails the batch.
+ */
+public class ApplicationEventOutboxEventSink implements OutboxEventSink {
+
+    /**
+     * Publisher delivering the events to the listeners.
+     */
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Constructor for `ApplicationEventOutboxEventSink`.
+     *
+     * @param applicationEventPublisher the publisher delivering the events to the listeners
+     */
+    public ApplicationEventOutboxEventSink(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Publishes the events one by one, oldest first.
+     *
+     * @param messages the events to deliver
+     */
+    @Override
+    public void send(List<OutboxMessage> messages) {
+        messages.forEach(applicationEventPublisher::publishEvent);
+    }
+}
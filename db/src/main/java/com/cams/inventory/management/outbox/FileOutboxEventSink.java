@@ -0,0 +1,80 @@
+package com.cams.inventory.management.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink appending every event as one JSON line to a local file.
+ * Each batch is written with a single append and forced to disk before the relay removes it
+ * from the outbox; a crash in between leaves the batch to be appended again.
+ */
+public class FileOutboxEventSink implements OutboxEventSink {
+
+    /**
+     * File the events are appended to.
+     */
+    private final Path file;
+
+    /**
+     * Mapper writing the JSON lines.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for `FileOutboxEventSink`.
+     *
+     * @param file         the file the events are appended to, created with its directories if missing
+     * @param objectMapper the mapper writing the JSON lines
+     */
+    public FileOutboxEventSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends the events as JSON lines and forces them to disk.
+     *
+     * @param messages the events to deliver
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void send(List<OutboxMessage> messages) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (OutboxMessage message : messages) {
+                ObjectNode line = objectMapper.createObjectNode()
+                        .put("id", message.getId().toString())
+                        .put("eventType", message.getEventType())
+                        .put("aggregateId", message.getAggregateId().toString())
+                        .put("createdAt", String.valueOf(message.getCreatedAt()));
+                line.set("payload", objectMapper.readTree(message.getPayload()));
+                lines.append(objectMapper.writeValueAsString(line)).append('\n');
+            }
+
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while appending outbox events to " + file, e);
+        }
+    }
+}
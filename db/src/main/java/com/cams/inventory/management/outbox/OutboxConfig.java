@@ -0,0 +1,45 @@
+package com.cams.inventory.management.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the sink the outbox relay delivers to, with {@code inventory.outbox.sink}:
+ * {@code listener} (the default) publishes to in-process event listeners, {@code file}
+ * appends JSON lines to {@code inventory.outbox.file.path}.
+ */
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Creates the sink publishing to the in-process event listeners.
+     *
+     * @param applicationEventPublisher the publisher delivering the events to the listeners
+     * @return the listener sink
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "inventory.outbox", name = "sink", havingValue = "listener", matchIfMissing = true)
+    public OutboxEventSink applicationEventOutboxEventSink(ApplicationEventPublisher applicationEventPublisher) {
+        return new ApplicationEventOutboxEventSink(applicationEventPublisher);
+    }
+
+    /**
+     * Creates the sink appending to a local file.
+     *
+     * @param path         the file the events are appended to
+     * @param objectMapper the mapper writing the JSON lines
+     * @return the file sink
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "inventory.outbox", name = "sink", havingValue = "file")
+    public OutboxEventSink fileOutboxEventSink(@Value("${inventory.outbox.file.path:./data/outbox/order-events.jsonl}") Path path,
+                                               ObjectMapper objectMapper) {
+        return new FileOutboxEventSink(path, objectMapper);
+    }
+}
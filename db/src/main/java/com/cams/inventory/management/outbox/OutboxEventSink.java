@@ -0,0 +1,18 @@
+package com.cams.inventory.management.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the events drained from the outbox.
+ * A batch counts as delivered when send returns; any exception leaves the whole batch in the
+ * outbox for the next poll, so implementations must tolerate redelivery.
+ */
+public interface OutboxEventSink {
+
+    /**
+     * Delivers a batch of events, oldest first.
+     *
+     * @param messages the events to deliver
+     */
+    void send(List<OutboxMessage> messages);
+}
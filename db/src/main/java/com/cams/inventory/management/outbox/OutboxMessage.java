@@ -0,0 +1,51 @@
+package com.cams.inventory.management.outbox;
+
+import com.cams.inventory.management.entity.outbox.OutboxEventEntity;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event handed to an OutboxEventSink by the outbox relay.
+ * Delivery is at least once: the same id may be delivered again after a failure.
+ */
+@Value
+public class OutboxMessage {
+
+    /**
+     * Unique identifier of the event, stable across redeliveries.
+     */
+    UUID id;
+
+    /**
+     * Type of the event.
+     */
+    String eventType;
+
+    /**
+     * Identifier of the entity the event is about.
+     */
+    UUID aggregateId;
+
+    /**
+     * JSON payload of the event.
+     */
+    String payload;
+
+    /**
+     * Timestamp at which the event was written.
+     */
+    LocalDateTime createdAt;
+
+    /**
+     * Creates a message from an outbox row.
+     *
+     * @param entity the outbox row
+     * @return the message
+     */
+    public static OutboxMessage from(OutboxEventEntity entity) {
+        return new OutboxMessage(entity.getId(), entity.getEventType(), entity.getAggregateId(), entity.getPayload(),
+                entity.getCreatedAt());
+    }
+}
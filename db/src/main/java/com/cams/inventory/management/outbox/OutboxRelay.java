@@ -0,0 +1,114 @@
+package com.cams.inventory.management.outbox;
+
+import com.cams.inventory.management.entity.outbox.OutboxEventEntity;
+import com.cams.inventory.management.repository.outbox.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Background relay draining the transactional outbox to the configured OutboxEventSink.
+ * <p>
+ * Every poll, the oldest events are locked, sent as one batch and deleted in a single transaction,
+ * repeating while full batches come back. A batch is deleted only after the sink accepted it, so
+ * delivery is at least once: a failing sink or a crash after sending leaves the batch to be sent
+ * again, and consumers deduplicate by event id. Events are sent in id order, which is creation order.
+ * Disabled with {@code inventory.outbox.relay.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    /**
+     * Logger instance for logging messages in the OutboxRelay class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    /**
+     * Repository reading and deleting the outbox events.
+     */
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Sink the events are delivered to.
+     */
+    private final OutboxEventSink outboxEventSink;
+
+    /**
+     * Template running every batch in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Maximum number of events sent in one batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Constructor for `OutboxRelay`.
+     *
+     * @param outboxEventRepository the repository reading and deleting the outbox events
+     * @param outboxEventSink       the sink the events are delivered to
+     * @param transactionTemplate   the template running every batch in its own transaction
+     * @param batchSize             the maximum number of events sent in one batch
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxEventSink outboxEventSink,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${inventory.outbox.batch-size:100}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventSink = outboxEventSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Drains the outbox until it is empty or a batch fails.
+     *
+     * @return the number of events delivered
+     */
+    @Scheduled(initialDelayString = "${inventory.outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${inventory.outbox.poll-interval-ms:1000}")
+    public int drain() {
+        int delivered = 0;
+        try {
+            int sent;
+            do {
+                sent = dispatchBatch();
+                delivered += sent;
+            } while (sent == batchSize);
+        } catch (RuntimeException e) {
+            // The failed batch stays in the outbox and is retried on the next poll
+            logger.warn("Outbox dispatch failed after {} events, retrying on the next poll", delivered, e);
+        }
+        return delivered;
+    }
+
+    /**
+     * Sends and deletes the oldest batch of events in one transaction.
+     *
+     * @return the number of events sent
+     */
+    public int dispatchBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxEventEntity> events = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            // Delete only once the sink accepted the batch; an exception rolls the locks back
+            outboxEventSink.send(events.stream().map(OutboxMessage::from).toList());
+            List<UUID> ids = events.stream().map(OutboxEventEntity::getId).toList();
+            outboxEventRepository.deleteAllByIdInBatch(ids);
+            return events.size();
+        });
+        return sent == null ? 0 : sent;
+    }
+}
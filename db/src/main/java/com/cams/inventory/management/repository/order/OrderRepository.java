@@ -1,10 +1,28 @@
 package com.cams.inventory.management.repository.order;
 
+import com.cams.inventory.management.dto.OrderExportRow;
+import com.cams.inventory.management.dto.OrderSummaryVersionView;
+import com.cams.inventory.management.entity.constant.OrderStatus;
 import com.cams.inventory.management.entity.order.OrderEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing OrderEntity persistence.
@@ -12,4 +30,147 @@ import java.util.UUID;
  */
 @Repository("orderRepositoryV1")
 public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
+
+    /**
+     * Number of rows the JDBC driver fetches at a time when streaming the order export.
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /**
+     * Retrieves an order with its items and their products in a single joined query.
+     *
+     * @param id the unique identifier of the order
+     * @return an Optional containing the order with its items if found, or empty if not found
+     */
+    @EntityGraph(OrderEntity.GRAPH_ITEMS_WITH_PRODUCTS)
+    Optional<OrderEntity> findWithItemsById(UUID id);
+
+    /**
+     * Retrieves the order status and the version of every ordered product without loading entities.
+     *
+     * @param orderId the unique identifier of the order
+     * @return one row per order item, ordered by product id; empty if the order does not exist
+     */
+    @Query("select o.status as status, p.id as productId, p.version as productVersion "
+            + "from OrderEntity o left join o.items i left join i.product p "
+            + "where o.id = :orderId order by p.id")
+    List<OrderSummaryVersionView> findSummaryVersionsById(@Param("orderId") UUID orderId);
+
+    /**
+     * Retrieves the ids of orders in a status created before a point in time, newest first, without locking.
+     * Ordering like the status and creation date index lets the database read the first entries of the
+     * index range and stop at the limit, whatever the number of orders before the point in time.
+     *
+     * @param status the status of the orders
+     * @param before the exclusive upper bound of the creation date
+     * @param limit  the maximum number of ids to return
+     * @return the ids of the orders, ordered by creation date and id, descending
+     */
+    @Query("select o.id from OrderEntity o where o.status = :status and o.orderCreatedDate < :before "
+            + "order by o.status, o.orderCreatedDate desc, o.id desc")
+    List<UUID> findIdsByStatusCreatedBefore(@Param("status") OrderStatus status,
+                                            @Param("before") LocalDateTime before,
+                                            Limit limit);
+
+    /**
+     * Retrieves and locks orders by id, through the primary key.
+     * Locking by id rather than with the range query keeps the database from locking every row of the
+     * range before applying the limit.
+     *
+     * @param ids the unique identifiers of the orders
+     * @return the locked orders, without their items, in no particular order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from OrderEntity o where o.id in :ids")
+    List<OrderEntity> findAndLockByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Retrieves one page of the order history in a status, newest first, without the items.
+     * The page starts right after the key (beforeDate, beforeId); the redundant bound on the creation
+     * date lets the status and creation date index seek straight to it, whatever the page number.
+     * Ordering by the fixed status too makes the order by a prefix of the index, so no sort is needed.
+     *
+     * @param status     the status of the orders
+     * @param from       the inclusive lower bound of the creation date
+     * @param beforeDate the creation date of the key the page starts after
+     * @param beforeId   the id of the key the page starts after
+     * @param limit      the maximum number of orders to return
+     * @return the orders of the page, ordered by creation date and id, descending
+     */
+    @Query("select o from OrderEntity o where o.status = :status "
+            + "and o.orderCreatedDate >= :from and o.orderCreatedDate <= :beforeDate "
+            + "and (o.orderCreatedDate < :beforeDate or o.id < :beforeId) "
+            + "order by o.status, o.orderCreatedDate desc, o.id desc")
+    List<OrderEntity> findHistoryPageByStatus(@Param("status") OrderStatus status,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("beforeDate") LocalDateTime beforeDate,
+                                              @Param("beforeId") UUID beforeId,
+                                              Limit limit);
+
+    /**
+     * Retrieves one page of the order history of all statuses, newest first, without the items.
+     * The page starts right after the key (beforeDate, beforeId), found through the creation date index.
+     *
+     * @param from       the inclusive lower bound of the creation date
+     * @param beforeDate the creation date of the key the page starts after
+     * @param beforeId   the id of the key the page starts after
+     * @param limit      the maximum number of orders to return
+     * @return the orders of the page, ordered by creation date and id, descending
+     */
+    @Query("select o from OrderEntity o where o.orderCreatedDate >= :from and o.orderCreatedDate <= :beforeDate "
+            + "and (o.orderCreatedDate < :beforeDate or o.id < :beforeId) "
+            + "order by o.orderCreatedDate desc, o.id desc")
+    List<OrderEntity> findHistoryPage(@Param("from") LocalDateTime from,
+                                      @Param("beforeDate") LocalDateTime beforeDate,
+                                      @Param("beforeId") UUID beforeId,
+                                      Limit limit);
+
+    /**
+     * Streams the items of the orders created in a date range, joined with their order and product,
+     * newest order first. The rows are read through a forward-only cursor, a fetch size at a time;
+     * ordering like the creation date index lets the database stream them without sorting the range first.
+     * The stream must be consumed and closed in a transaction.
+     *
+     * @param from the inclusive lower bound of the creation date
+     * @param to   the exclusive upper bound of the creation date
+     * @return the export rows, ordered by order creation date and order id, descending
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select o.id as orderId, o.status as status, o.orderCreatedDate as orderCreatedDate, i.id as itemId, "
+            + "p.id as productId, p.sku as sku, p.name as productName, coalesce(i.unitPriceMinor, 0L) as unitPriceMinor, i.quantity as quantity "
+            + "from OrderEntity o join o.items i join i.product p "
+            + "where o.orderCreatedDate >= :from and o.orderCreatedDate < :to "
+            + "order by o.orderCreatedDate desc, o.id desc")
+    Stream<OrderExportRow> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Retrieves orders with their items and their products in a single joined query.
+     * Orders already in the persistence context get their items initialized.
+     *
+     * @param ids the unique identifiers of the orders
+     * @return the orders with their items and products, in no particular order
+     */
+    @EntityGraph(OrderEntity.GRAPH_ITEMS_WITH_PRODUCTS)
+    List<OrderEntity> findWithItemsAndProductsByIdIn(Collection<UUID> ids);
+
+    /**
+     * Retrieves orders with their items in a single joined query; the products are not fetched.
+     * Orders already in the persistence context get their items initialized.
+     *
+     * @param ids the unique identifiers of the orders
+     * @return the orders with their items
+     */
+    @EntityGraph(attributePaths = "items")
+    List<OrderEntity> findWithItemsByIdIn(Collection<UUID> ids);
+
+    /**
+     * Deletes the items of orders without loading them.
+     *
+     * @param orderIds the unique identifiers of the orders
+     * @return the number of deleted items
+     */
+    @Modifying
+    @Query("delete from OrderItemEntity i where i.order.id in :orderIds")
+    int deleteItemsByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
 }
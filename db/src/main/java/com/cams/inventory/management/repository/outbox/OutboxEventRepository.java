@@ -0,0 +1,31 @@
+package com.cams.inventory.management.repository.outbox;
+
+import com.cams.inventory.management.entity.outbox.OutboxEventEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for the transactional outbox.
+ */
+@Repository("outboxEventRepositoryV1")
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, UUID> {
+
+    /**
+     * Retrieves and locks the oldest events of the outbox.
+     * Rows locked by another relay are skipped where the database supports it, and waited for otherwise.
+     *
+     * @param limit the maximum number of events to return
+     * @return the oldest events, ordered by id
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxEventEntity> findAllByOrderByIdAsc(Limit limit);
+}
@@ -1,10 +1,20 @@
 package com.cams.inventory.management.repository.product;
 
+import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ProductVersionView;
+import com.cams.inventory.management.dto.ReorderPointDto;
 import com.cams.inventory.management.entity.product.ProductEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -14,11 +24,117 @@ import java.util.UUID;
 @Repository("productRepositoryV1")
 public interface ProductRepository extends JpaRepository<ProductEntity, UUID> {
 
+    /**
+     * Select clause building ProductDto rows directly in the query, without managed entities.
+     */
+    String PRODUCT_DTO_SELECT = "select new com.cams.inventory.management.dto.ProductDto("
+            + "cast(p.id as String), p.name, p.sku, p.priceMinor, p.stock) from ProductEntity p";
+
     /**
      * Retrieves a list of ProductEntity objects based on the provided SKUs.
+     * The result is served from the query cache when the l2cache profile is active.
      *
      * @param sku the list of SKUs to search for
      * @return a list of ProductEntity objects matching the provided SKUs
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProductEntity> findAllBySkuIn(List<String> sku);
+
+    /**
+     * Retrieves every product as a read-only ProductDto projection.
+     *
+     * @return a list of ProductDto objects for all products
+     */
+    @Query(PRODUCT_DTO_SELECT)
+    List<ProductDto> findAllProductDtos();
+
+    /**
+     * Retrieves the products with the provided SKUs as read-only ProductDto projections.
+     * The result is served from the query cache when the l2cache profile is active.
+     *
+     * @param skus the list of SKUs to search for
+     * @return a list of ProductDto objects matching the provided SKUs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(PRODUCT_DTO_SELECT + " where p.sku in :skus")
+    List<ProductDto> findProductDtosBySkuIn(@Param("skus") List<String> skus);
+
+    /**
+     * Retrieves the products with stock below the given threshold as read-only ProductDto projections.
+     *
+     * @param stockThreshold the stock level threshold
+     * @return a list of ProductDto objects with low stock, ordered by id
+     */
+    @Query(PRODUCT_DTO_SELECT + " where p.stock < :stockThreshold order by p.id")
+    List<ProductDto> findProductDtosByStockLessThan(@Param("stockThreshold") int stockThreshold);
+
+    /**
+     * Retrieves the id and version of every product with stock below the given threshold.
+     *
+     * @param stockThreshold the stock level threshold
+     * @return the versions of the matching products, ordered by id
+     */
+    @Query("select p.id as id, p.version as version from ProductEntity p where p.stock < :stockThreshold order by p.id")
+    List<ProductVersionView> findVersionsByStockLessThan(@Param("stockThreshold") int stockThreshold);
+
+    /**
+     * Retrieves the stock of a product if its version still matches.
+     *
+     * @param id      the unique identifier of the product
+     * @param version the version the caller expects the product to have
+     * @return an Optional containing the stock, or empty if the product does not exist or the version does not match
+     */
+    @Query("select p.stock from ProductEntity p where p.id = :id and p.version = :version")
+    Optional<Integer> findStockByIdAndVersion(@Param("id") UUID id, @Param("version") int version);
+
+    /**
+     * Replaces the stock of a product if its version still matches, bumping the version.
+     *
+     * @param id      the unique identifier of the product
+     * @param version the version the caller expects the product to have
+     * @param stock   the new stock of the product
+     * @return the number of updated rows, 0 if the product does not exist or the version does not match
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProductEntity p set p.stock = :stock, p.version = p.version + 1 "
+            + "where p.id = :id and p.version = :version")
+    int updateStockByIdAndVersion(@Param("id") UUID id, @Param("version") int version, @Param("stock") int stock);
+
+    /**
+     * Replaces the price of a product if its version still matches, bumping the version.
+     *
+     * @param id         the unique identifier of the product
+     * @param version    the version the caller expects the product to have
+     * @param priceMinor the new price of the product in minor currency units
+     * @return the number of updated rows, 0 if the product does not exist or the version does not match
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProductEntity p set p.priceMinor = :priceMinor, p.version = p.version + 1 "
+            + "where p.id = :id and p.version = :version")
+    int updatePriceByIdAndVersion(@Param("id") UUID id, @Param("version") int version, @Param("priceMinor") long priceMinor);
+
+    /**
+     * Replaces the reorder threshold of a product if its version still matches, bumping the version.
+     *
+     * @param id               the unique identifier of the product
+     * @param version          the version the caller expects the product to have
+     * @param reorderThreshold the new reorder threshold of the product
+     * @return the number of updated rows, 0 if the product does not exist or the version does not match
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProductEntity p set p.reorderThreshold = :reorderThreshold, p.version = p.version + 1 "
+            + "where p.id = :id and p.version = :version")
+    int updateReorderThresholdByIdAndVersion(@Param("id") UUID id, @Param("version") int version,
+                                             @Param("reorderThreshold") int reorderThreshold);
+
+    /**
+     * Retrieves the products at or below their reorder threshold, projected into DTOs.
+     * The flag and id index holds exactly these products in id order, so only they are read.
+     *
+     * @return the products needing replenishment, ordered by id
+     */
+    @Query("select new com.cams.inventory.management.dto.ReorderPointDto("
+            + "cast(p.id as String), p.name, p.sku, p.stock, p.reorderThreshold) "
+            + "from ProductEntity p where p.needsReorder = true order by p.needsReorder, p.id")
+    List<ReorderPointDto> findReorderPointDtos();
 }
@@ -0,0 +1,60 @@
+package com.cams.inventory.management.repository.stock;
+
+import com.cams.inventory.management.dto.StockMovementRow;
+import com.cams.inventory.management.entity.stock.StockMovementEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for appending to and replaying the stock ledger.
+ */
+@Repository("stockMovementRepositoryV1")
+public interface StockMovementRepository extends JpaRepository<StockMovementEntity, UUID> {
+
+    /**
+     * Number of rows the JDBC driver fetches at a time when streaming the movements.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
+    /**
+     * Sums the quantity deltas of the movements of a product in a time range.
+     *
+     * @param productId the unique identifier of the product
+     * @param after     the exclusive start of the range
+     * @param asOf      the inclusive end of the range
+     * @return the net change of the stock in the range, 0 if there was no movement
+     */
+    @Query("select coalesce(sum(m.quantityDelta), 0) from StockMovementEntity m "
+            + "where m.productId = :productId and m.occurredAt > :after and m.occurredAt <= :asOf")
+    long sumQuantityDelta(@Param("productId") UUID productId,
+                          @Param("after") LocalDateTime after,
+                          @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Streams the movements since a point in time with the current stock and version of their product,
+     * product by product, newest movement first. The rows are read through a forward-only cursor,
+     * a fetch size at a time. The stream must be consumed and closed in a transaction.
+     * Every movement has a product, so the left join returns the same rows as an inner join, but the
+     * database keeps its order: the movements are found through the time index and their products
+     * through the primary key, instead of scanning every product.
+     *
+     * @param since the inclusive lower bound of the movement time
+     * @return the movement rows, ordered by product id, then by movement time descending
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select m.productId as productId, p.stock as stock, p.version as version, "
+            + "m.occurredAt as occurredAt, m.quantityDelta as quantityDelta "
+            + "from StockMovementEntity m left join ProductEntity p on p.id = m.productId where m.occurredAt >= :since "
+            + "order by m.productId, m.occurredAt desc")
+    Stream<StockMovementRow> streamMovementsSince(@Param("since") LocalDateTime since);
+}
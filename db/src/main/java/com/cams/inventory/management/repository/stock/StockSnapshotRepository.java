@@ -0,0 +1,58 @@
+package com.cams.inventory.management.repository.stock;
+
+import com.cams.inventory.management.entity.stock.StockSnapshotEntity;
+import com.cams.inventory.management.entity.stock.StockSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for the periodic snapshots of the stock ledger.
+ */
+@Repository("stockSnapshotRepositoryV1")
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshotEntity, StockSnapshotId> {
+
+    /**
+     * Retrieves the latest snapshot of a product taken at or before the given time.
+     *
+     * @param productId the unique identifier of the product
+     * @param asOf      the point in time
+     * @return an Optional containing the snapshot, or empty if none was taken by then
+     */
+    Optional<StockSnapshotEntity> findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(UUID productId,
+                                                                                                 LocalDateTime asOf);
+
+    /**
+     * Retrieves the point in time covered by the latest snapshot run.
+     *
+     * @return an Optional containing the latest snapshot time, or empty if no snapshot was taken
+     */
+    @Query("select max(s.takenAt) from StockSnapshotEntity s")
+    Optional<LocalDateTime> findLatestTakenAt();
+
+    /**
+     * Snapshots every product with movements in (since, cutoff]: the product's latest snapshot
+     * plus those movements. Products without movements in the range keep their latest snapshot.
+     * Every product snapshotted by the previous run at {@code since} covers its movements up to
+     * then, so only the movements after {@code since} are read.
+     *
+     * @param since  the point in time covered by the previous snapshot run
+     * @param cutoff the point in time the new snapshots cover
+     * @return the number of snapshots taken
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO stock_snapshot (product_id, taken_at, stock) "
+            + "SELECT m.product_id, :cutoff, COALESCE(MAX(s.stock), 0) + SUM(m.quantity_delta) "
+            + "FROM stock_movement m "
+            + "LEFT JOIN stock_snapshot s ON s.product_id = m.product_id AND s.taken_at = "
+            + "(SELECT MAX(l.taken_at) FROM stock_snapshot l WHERE l.product_id = m.product_id) "
+            + "WHERE m.occurred_at > :since AND m.occurred_at <= :cutoff "
+            + "GROUP BY m.product_id")
+    int insertSnapshots(@Param("since") LocalDateTime since, @Param("cutoff") LocalDateTime cutoff);
+}
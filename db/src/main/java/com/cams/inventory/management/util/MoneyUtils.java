@@ -0,0 +1,43 @@
+package com.cams.inventory.management.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utility methods for converting monetary amounts between BigDecimal values at the API boundary
+ * and long minor units (cents) used for storage and arithmetic.
+ */
+public final class MoneyUtils {
+
+    /**
+     * Number of decimal places of the currency; amounts are stored in units of 10^-2.
+     */
+    public static final int CURRENCY_SCALE = 2;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private MoneyUtils() {
+    }
+
+    /**
+     * Converts an amount to minor units, rounding half up to the currency scale.
+     *
+     * @param amount the amount in major units, e.g. 1.50
+     * @return the amount in minor units, e.g. 150
+     * @throws ArithmeticException if the amount does not fit into a long
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(CURRENCY_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts an amount in minor units to a BigDecimal at the currency scale.
+     *
+     * @param minorUnits the amount in minor units, e.g. 150
+     * @return the amount in major units, e.g. 1.50
+     */
+    public static BigDecimal toMajorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, CURRENCY_SCALE);
+    }
+}
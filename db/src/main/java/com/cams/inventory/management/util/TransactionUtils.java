@@ -0,0 +1,36 @@
+package com.cams.inventory.management.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility methods for deferring work until the current transaction commits, for caches, trackers and
+ * rollups that must only ever see committed changes.
+ */
+public final class TransactionUtils {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private TransactionUtils() {
+    }
+
+    /**
+     * Runs an action after the current transaction commits, or immediately when no transaction is active.
+     * The action is dropped if the transaction rolls back.
+     *
+     * @param action the action to run
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
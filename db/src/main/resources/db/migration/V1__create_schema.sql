@@ -0,0 +1,44 @@
+-- Products, orders and order items.
+-- Secondary indexes cover every access path of the repositories; the foreign keys are added
+-- after the indexes so that they reuse them instead of creating indexes of their own.
+
+CREATE TABLE product_entity (
+    id          UUID         NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    sku         VARCHAR(255) NOT NULL,
+    price_minor BIGINT,
+    version     INTEGER,
+    stock       INTEGER      NOT NULL,
+    CONSTRAINT pk_product_entity PRIMARY KEY (id),
+    CONSTRAINT uk_product_entity_sku UNIQUE (sku)
+);
+
+CREATE TABLE order_entity (
+    id                 UUID         NOT NULL,
+    status             VARCHAR(255) CHECK (status IN ('PENDING', 'COMPLETED', 'CANCELLED')),
+    order_created_date TIMESTAMP(6),
+    CONSTRAINT pk_order_entity PRIMARY KEY (id)
+);
+
+CREATE TABLE order_item_entity (
+    id         UUID    NOT NULL,
+    order_id   UUID,
+    product_id UUID,
+    quantity   INTEGER,
+    CONSTRAINT pk_order_item_entity PRIMARY KEY (id)
+);
+
+-- Low-stock reads: stock < ?
+CREATE INDEX idx_product_entity_stock ON product_entity (stock);
+
+-- Order history by status, newest first
+CREATE INDEX idx_order_entity_status_created ON order_entity (status, order_created_date);
+
+-- Items of an order (fetch plans, summaries) and orders of a product
+CREATE INDEX idx_order_item_entity_order_id ON order_item_entity (order_id);
+CREATE INDEX idx_order_item_entity_product_id ON order_item_entity (product_id);
+
+ALTER TABLE order_item_entity
+    ADD CONSTRAINT fk_order_item_entity_order FOREIGN KEY (order_id) REFERENCES order_entity (id);
+ALTER TABLE order_item_entity
+    ADD CONSTRAINT fk_order_item_entity_product FOREIGN KEY (product_id) REFERENCES product_entity (id);
@@ -0,0 +1,40 @@
+-- Append-only ledger of stock changes, with periodic per-product snapshots of it.
+-- Stock as of T = stock of the latest snapshot taken at or before T
+--               + quantity deltas of the movements after that snapshot, up to T.
+
+CREATE TABLE stock_movement (
+    id             UUID         NOT NULL,
+    product_id     UUID         NOT NULL,
+    quantity_delta INTEGER      NOT NULL,
+    reason         VARCHAR(32)  NOT NULL,
+    order_id       UUID,
+    occurred_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_stock_movement PRIMARY KEY (id),
+    CONSTRAINT ck_stock_movement_reason CHECK (reason IN ('OPENING_BALANCE', 'PRODUCT_CREATED', 'ORDER_PLACED',
+                                                          'ORDER_CANCELLED', 'STOCK_ADJUSTED', 'STOCK_RECEIVED'))
+);
+
+-- The primary key also serves the lookup of the latest snapshot of a product at or before T
+CREATE TABLE stock_snapshot (
+    product_id UUID         NOT NULL,
+    taken_at   TIMESTAMP(6) NOT NULL,
+    stock      INTEGER      NOT NULL,
+    CONSTRAINT pk_stock_snapshot PRIMARY KEY (product_id, taken_at)
+);
+
+-- Replay of the movements of a product between a snapshot and T
+CREATE INDEX idx_stock_movement_product_occurred ON stock_movement (product_id, occurred_at);
+
+-- Movements since the previous snapshot run
+CREATE INDEX idx_stock_movement_occurred ON stock_movement (occurred_at);
+
+ALTER TABLE stock_movement
+    ADD CONSTRAINT fk_stock_movement_product FOREIGN KEY (product_id) REFERENCES product_entity (id);
+ALTER TABLE stock_snapshot
+    ADD CONSTRAINT fk_stock_snapshot_product FOREIGN KEY (product_id) REFERENCES product_entity (id);
+
+-- Opening balance of the products stocked before the ledger existed
+INSERT INTO stock_movement (id, product_id, quantity_delta, reason, order_id, occurred_at)
+SELECT RANDOM_UUID(), id, stock, 'OPENING_BALANCE', NULL, LOCALTIMESTAMP
+FROM product_entity
+WHERE stock <> 0;
@@ -0,0 +1,12 @@
+-- Transactional outbox: order events are written in the transaction that changes the order and
+-- deleted once the relay has handed them to the sink. Time-ordered ids keep the primary key in
+-- creation order, so draining the oldest events is a primary key range read.
+
+CREATE TABLE outbox_event (
+    id             UUID                   NOT NULL,
+    aggregate_id   UUID                   NOT NULL,
+    event_type     VARCHAR(64)            NOT NULL,
+    payload        CHARACTER LARGE OBJECT NOT NULL,
+    created_at     TIMESTAMP(6)           NOT NULL,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
@@ -0,0 +1,13 @@
+-- Order history: keyset pagination on (order_created_date, id), newest first.
+-- Orders inserted without a creation date get the migration time, so every order has a position
+-- in the history and the keyset never has to deal with NULLs.
+
+UPDATE order_entity SET order_created_date = CURRENT_TIMESTAMP WHERE order_created_date IS NULL;
+ALTER TABLE order_entity ALTER COLUMN order_created_date SET NOT NULL;
+
+-- History by status, and archiving by status and age; the id makes every key unique
+DROP INDEX idx_order_entity_status_created;
+CREATE INDEX idx_order_entity_status_created ON order_entity (status, order_created_date DESC, id DESC);
+
+-- History of all statuses
+CREATE INDEX idx_order_entity_created ON order_entity (order_created_date DESC, id DESC);
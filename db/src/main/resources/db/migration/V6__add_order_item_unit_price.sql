@@ -0,0 +1,7 @@
+-- Price of the product at the time it was ordered, in minor units, so revenue does not change
+-- with later price updates. Existing items get the current price of their product.
+
+ALTER TABLE order_item_entity ADD COLUMN unit_price_minor BIGINT;
+
+UPDATE order_item_entity i
+SET unit_price_minor = (SELECT p.price_minor FROM product_entity p WHERE p.id = i.product_id);
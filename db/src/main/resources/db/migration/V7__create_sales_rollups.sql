@@ -0,0 +1,36 @@
+-- Sales rollups: units sold, revenue and number of orders per day and order status, in total and per
+-- product. They are kept current after every order commit and can be rebuilt from the orders of a day.
+-- An order belongs to a single day and status, so the order counts of several rows add up exactly.
+
+CREATE TABLE sales_rollup_day (
+    sale_date     DATE         NOT NULL,
+    status        VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'COMPLETED', 'CANCELLED')),
+    units         BIGINT       NOT NULL,
+    revenue_minor BIGINT       NOT NULL,
+    order_count   BIGINT       NOT NULL,
+    CONSTRAINT pk_sales_rollup_day PRIMARY KEY (sale_date, status)
+);
+
+-- The order count of a product is the number of orders with at least one item of it
+CREATE TABLE sales_rollup_product_day (
+    sale_date     DATE         NOT NULL,
+    product_id    UUID         NOT NULL,
+    status        VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'COMPLETED', 'CANCELLED')),
+    units         BIGINT       NOT NULL,
+    revenue_minor BIGINT       NOT NULL,
+    order_count   BIGINT       NOT NULL,
+    CONSTRAINT pk_sales_rollup_product_day PRIMARY KEY (sale_date, product_id, status)
+);
+
+-- Rollups of the orders placed before they existed
+INSERT INTO sales_rollup_day (sale_date, status, units, revenue_minor, order_count)
+SELECT CAST(o.order_created_date AS DATE), o.status, SUM(i.quantity),
+       SUM(i.quantity * COALESCE(i.unit_price_minor, 0)), COUNT(DISTINCT o.id)
+FROM order_entity o JOIN order_item_entity i ON i.order_id = o.id
+GROUP BY CAST(o.order_created_date AS DATE), o.status;
+
+INSERT INTO sales_rollup_product_day (sale_date, product_id, status, units, revenue_minor, order_count)
+SELECT CAST(o.order_created_date AS DATE), i.product_id, o.status, SUM(i.quantity),
+       SUM(i.quantity * COALESCE(i.unit_price_minor, 0)), COUNT(DISTINCT o.id)
+FROM order_entity o JOIN order_item_entity i ON i.order_id = o.id
+GROUP BY CAST(o.order_created_date AS DATE), i.product_id, o.status;
@@ -0,0 +1,10 @@
+-- Demand rate of every product that sold: an exponentially weighted number of units per day, as of the
+-- time it was last updated. It is kept in memory as orders commit and saved here periodically, so it
+-- survives restarts; products without a row have no recent demand.
+
+CREATE TABLE product_demand (
+    product_id   UUID             NOT NULL,
+    rate_per_day DOUBLE PRECISION NOT NULL,
+    updated_at   TIMESTAMP        NOT NULL,
+    CONSTRAINT pk_product_demand PRIMARY KEY (product_id)
+);
@@ -0,0 +1,10 @@
+-- Reorder threshold of every product, and a flag of the products at or below it. The flag is computed
+-- by the database in the statement that changes the stock or the threshold, whatever the path of the
+-- write, and its index holds the products needing replenishment together: listing them seeks the index
+-- instead of scanning the table. Existing products start with a threshold of 0, flagged once out of stock.
+
+ALTER TABLE product_entity ADD COLUMN reorder_threshold INTEGER DEFAULT 0 NOT NULL;
+
+ALTER TABLE product_entity ADD COLUMN needs_reorder BOOLEAN GENERATED ALWAYS AS (stock <= reorder_threshold);
+
+CREATE INDEX idx_product_entity_needs_reorder ON product_entity (needs_reorder, id);
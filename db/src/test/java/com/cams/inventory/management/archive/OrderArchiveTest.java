@@ -0,0 +1,286 @@
+package com.cams.inventory.management.archive;
+
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.generator.TimeOrderedUuidGenerator;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Unit tests for the OrderArchive class and its segments, which store archived orders in
+ * compressed, memory-mapped files.
+ */
+class OrderArchiveTest {
+
+    /**
+     * Maximum number of orders of a merged segment.
+     */
+    private static final int MAX_SEGMENT_ORDERS = 1000;
+
+    /**
+     * Tests that every order of a multi-block segment is found with its items, and that ids
+     * between or outside the archived ones are not.
+     *
+     * @param directory the temporary directory of the test
+     */
+    @Test
+    @DisplayName("Find - every archived order is found across blocks, others are not")
+    void testFind_roundTrip(@TempDir Path directory) {
+        List<OrderEntity> orders = IntStream.range(0, OrderArchiveSegment.ORDERS_PER_BLOCK * 3 + 5)
+                .mapToObj(i -> order(i % 3 + 1)).toList();
+        UUID before = TimeOrderedUuidGenerator.nextUuid();
+        OrderArchive orderArchive = new OrderArchive(directory, MAX_SEGMENT_ORDERS);
+
+        // Written in reverse, the segment sorts them
+        List<OrderEntity> reversed = new ArrayList<>(orders);
+        Collections.reverse(reversed);
+        orderArchive.write(reversed);
+
+        OrderArchiveSegment segment = orderArchive.getSegments().get(0);
+        Assertions.assertEquals(orders.size(), segment.getOrderCount());
+        for (OrderEntity order : orders) {
+            OrderEntity found = orderArchive.find(order.getId()).orElseThrow();
+            Assertions.assertTrue(found.isArchived());
+            Assertions.assertEquals(order.getStatus(), found.getStatus());
+            Assertions.assertEquals(order.getOrderCreatedDate(), found.getOrderCreatedDate());
+            Assertions.assertEquals(order.getItems().size(), found.getItems().size());
+            for (int i = 0; i < order.getItems().size(); i++) {
+                Assertions.assertEquals(order.getItems().get(i).getId(), found.getItems().get(i).getId());
+                Assertions.assertEquals(order.getItems().get(i).getProduct().getId(),
+                        found.getItems().get(i).getProduct().getId());
+                Assertions.assertEquals(order.getItems().get(i).getQuantity(), found.getItems().get(i).getQuantity());
+                Assertions.assertEquals(order.getItems().get(i).getUnitPriceMinor(),
+                        found.getItems().get(i).getUnitPriceMinor());
+                Assertions.assertSame(found, found.getItems().get(i).getOrder());
+            }
+        }
+        Assertions.assertTrue(orderArchive.find(before).isEmpty());
+        Assertions.assertTrue(orderArchive.find(TimeOrderedUuidGenerator.nextUuid()).isEmpty());
+        Assertions.assertTrue(orderArchive.find(UUID.randomUUID()).isEmpty());
+    }
+
+    /**
+     * Tests that a new archive maps the segments already on disk and ignores unfinished ones.
+     *
+     * @param directory the temporary directory of the test
+     * @throws IOException if the temporary file cannot be written
+     */
+    @Test
+    @DisplayName("Open - existing segments are mapped, temporary files ignored")
+    void testOpen_existingSegments(@TempDir Path directory) throws IOException {
+        OrderEntity first = order(1);
+        OrderEntity second = order(2);
+        new OrderArchive(directory, MAX_SEGMENT_ORDERS).write(List.of(first));
+        new OrderArchive(directory, MAX_SEGMENT_ORDERS).write(List.of(second));
+        Files.writeString(directory.resolve("orders-unfinished.tmp"), "partial");
+
+        OrderArchive reopened = new OrderArchive(directory, MAX_SEGMENT_ORDERS);
+
+        Assertions.assertEquals(2, reopened.getSegments().size());
+        Assertions.assertTrue(reopened.find(first.getId()).isPresent());
+        Assertions.assertEquals(2, reopened.find(second.getId()).orElseThrow().getItems().size());
+    }
+
+    /**
+     * Tests that the newest copy of an order archived twice is returned.
+     *
+     * @param directory the temporary directory of the test
+     */
+    @Test
+    @DisplayName("Find - the newest segment wins for an order archived twice")
+    void testFind_newestSegmentWins(@TempDir Path directory) {
+        OrderEntity order = order(1);
+        OrderArchive orderArchive = new OrderArchive(directory, MAX_SEGMENT_ORDERS);
+        orderArchive.write(List.of(order));
+        order.setStatus(OrderStatus.CANCELLED);
+        orderArchive.write(List.of(order));
+
+        Assertions.assertEquals(OrderStatus.CANCELLED, orderArchive.find(order.getId()).orElseThrow().getStatus());
+        Assertions.assertEquals(OrderStatus.CANCELLED,
+                new OrderArchive(directory, MAX_SEGMENT_ORDERS).find(order.getId()).orElseThrow().getStatus());
+    }
+
+    /**
+     * Tests that the segments of several chunks are merged into id-sorted segments of at most the
+     * maximum size, keeping the newest copy of an order archived twice, and that the merged segments
+     * replace the old ones on disk.
+     *
+     * @param directory the temporary directory of the test
+     * @throws IOException if the directory cannot be listed
+     */
+    @Test
+    @DisplayName("Compact - chunk segments merged, newest copy kept, old files dropped")
+    void testCompact(@TempDir Path directory) throws IOException {
+        int maxSegmentOrders = OrderArchiveSegment.ORDERS_PER_BLOCK * 2;
+        OrderArchive orderArchive = new OrderArchive(directory, maxSegmentOrders);
+        // Random ids, like the orders created before the time-ordered ids, so every chunk spans all ids
+        List<OrderEntity> orders = IntStream.range(0, maxSegmentOrders + 50).mapToObj(i -> {
+            OrderEntity order = order(1);
+            order.setId(UUID.randomUUID());
+            return order;
+        }).toList();
+        for (int start = 0; start < orders.size(); start += 40) {
+            orderArchive.write(orders.subList(start, Math.min(start + 40, orders.size())));
+        }
+        OrderEntity twice = orders.get(7);
+        twice.setStatus(OrderStatus.CANCELLED);
+        orderArchive.write(List.of(twice));
+        int chunks = orderArchive.getSegments().size();
+
+        Assertions.assertEquals(chunks, orderArchive.compact());
+
+        List<OrderArchiveSegment> segments = orderArchive.getSegments();
+        Assertions.assertEquals(List.of(50, maxSegmentOrders),
+                segments.stream().map(OrderArchiveSegment::getOrderCount).toList());
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(segments.stream().map(OrderArchiveSegment::getFile).sorted().toList(),
+                    files.sorted().toList());
+        }
+        OrderArchive reopened = new OrderArchive(directory, maxSegmentOrders);
+        for (OrderEntity order : orders) {
+            Assertions.assertEquals(order.getStatus(), reopened.find(order.getId()).orElseThrow().getStatus());
+        }
+        Assertions.assertEquals(OrderStatus.CANCELLED, reopened.find(twice.getId()).orElseThrow().getStatus());
+        // Nothing left to merge
+        Assertions.assertEquals(0, orderArchive.compact());
+    }
+
+    /**
+     * Tests that a single segment, or none, is left as it is.
+     *
+     * @param directory the temporary directory of the test
+     */
+    @Test
+    @DisplayName("Compact - a single segment is not rewritten")
+    void testCompact_singleSegment(@TempDir Path directory) {
+        OrderArchive orderArchive = new OrderArchive(directory, MAX_SEGMENT_ORDERS);
+        Assertions.assertEquals(0, orderArchive.compact());
+        orderArchive.write(List.of(order(1)));
+        Path file = orderArchive.getSegments().get(0).getFile();
+
+        Assertions.assertEquals(0, orderArchive.compact());
+        Assertions.assertEquals(List.of(file),
+                orderArchive.getSegments().stream().map(OrderArchiveSegment::getFile).toList());
+    }
+
+    /**
+     * Tests that a segment of the first version of the format, which did not store the prices,
+     * is still read, its items without a price.
+     *
+     * @param directory the temporary directory of the test
+     * @throws IOException if the segment cannot be written
+     */
+    @Test
+    @DisplayName("Open - version 1 segments are read without prices")
+    void testOpen_version1Segment(@TempDir Path directory) throws IOException {
+        OrderEntity order = order(2);
+        writeVersion1Segment(directory.resolve("orders-0000000000000000001-" + order.getId() + ".seg"), order);
+
+        OrderEntity found = new OrderArchive(directory, MAX_SEGMENT_ORDERS).find(order.getId()).orElseThrow();
+
+        Assertions.assertEquals(order.getOrderCreatedDate(), found.getOrderCreatedDate());
+        Assertions.assertEquals(List.of(1, 2), found.getItems().stream().map(OrderItemEntity::getQuantity).toList());
+        Assertions.assertTrue(found.getItems().stream().allMatch(item -> item.getUnitPriceMinor() == null));
+    }
+
+    /**
+     * Tests that an archive without a directory is empty and does not create it.
+     *
+     * @param directory the temporary directory of the test
+     */
+    @Test
+    @DisplayName("Open - missing directory is an empty archive")
+    void testOpen_missingDirectory(@TempDir Path directory) {
+        Path missing = directory.resolve("missing");
+
+        Assertions.assertTrue(new OrderArchive(missing, MAX_SEGMENT_ORDERS).find(UUID.randomUUID()).isEmpty());
+        Assertions.assertFalse(Files.exists(missing));
+    }
+
+    /**
+     * Writes a single order to a segment in the first version of the format, without the item prices.
+     *
+     * @param file  the path of the segment file
+     * @param order the order
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeVersion1Segment(Path file, OrderEntity order) throws IOException {
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(block);
+        output.writeLong(order.getId().getMostSignificantBits());
+        output.writeLong(order.getId().getLeastSignificantBits());
+        output.writeUTF(order.getStatus().name());
+        output.writeBoolean(true);
+        output.writeLong(order.getOrderCreatedDate().toEpochSecond(ZoneOffset.UTC));
+        output.writeInt(order.getOrderCreatedDate().getNano());
+        output.writeInt(order.getItems().size());
+        for (OrderItemEntity item : order.getItems()) {
+            output.writeLong(item.getId().getMostSignificantBits());
+            output.writeLong(item.getId().getLeastSignificantBits());
+            output.writeLong(item.getProduct().getId().getMostSignificantBits());
+            output.writeLong(item.getProduct().getId().getLeastSignificantBits());
+            output.writeInt(item.getQuantity());
+        }
+        byte[] uncompressed = block.toByteArray();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflated = new DeflaterOutputStream(compressed)) {
+            deflated.write(uncompressed);
+        }
+
+        int indexOffset = 8 + compressed.size();
+        ByteBuffer segment = ByteBuffer.allocate(indexOffset + 36 + 36)
+                .putInt(0x4F524453).putInt(1)
+                .put(compressed.toByteArray())
+                .putLong(order.getId().getMostSignificantBits()).putLong(order.getId().getLeastSignificantBits())
+                .putLong(8).putInt(compressed.size()).putInt(uncompressed.length).putInt(1)
+                .putLong(order.getId().getMostSignificantBits()).putLong(order.getId().getLeastSignificantBits())
+                .putLong(indexOffset).putInt(1).putInt(1).putInt(0x4F524453);
+        Files.write(file, segment.array());
+    }
+
+    /**
+     * Builds a completed order with the given number of items.
+     *
+     * @param itemCount the number of items
+     * @return the order
+     */
+    private static OrderEntity order(int itemCount) {
+        OrderEntity order = new OrderEntity();
+        order.setId(TimeOrderedUuidGenerator.nextUuid());
+        order.setStatus(OrderStatus.COMPLETED);
+        order.setOrderCreatedDate(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 678_901_000));
+        for (int i = 0; i < itemCount; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setId(UUID.randomUUID());
+            OrderItemEntity item = new OrderItemEntity();
+            item.setId(TimeOrderedUuidGenerator.nextUuid());
+            item.setProduct(product);
+            item.setQuantity(i + 1);
+            // The first item has no price, like the items ordered before prices were recorded
+            item.setUnitPriceMinor(i == 0 ? null : 150L * i);
+            item.setOrder(order);
+            order.getItems().add(item);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,52 @@
+package com.cams.inventory.management.archive;
+
+import com.cams.inventory.management.entity.generator.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for the OrderIdFilter class, the Bloom filter of the order ids of a segment.
+ */
+class OrderIdFilterTest {
+
+    /**
+     * Tests that every id added is found, for random and time-ordered ids, and that few other ids are.
+     */
+    @Test
+    @DisplayName("Might contain - no false negatives, about 1% false positives")
+    void testMightContain() {
+        List<UUID> ids = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 2 == 0 ? UUID.randomUUID() : TimeOrderedUuidGenerator.nextUuid())
+                .toList();
+        OrderIdFilter filter = new OrderIdFilter(ids.size());
+        ids.forEach(filter::add);
+
+        Assertions.assertTrue(ids.stream().allMatch(filter::mightContain));
+        long falsePositives = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 2 == 0 ? UUID.randomUUID() : TimeOrderedUuidGenerator.nextUuid())
+                .filter(filter::mightContain)
+                .count();
+        Assertions.assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+
+    /**
+     * Tests that a filter read back from its words holds the same ids.
+     */
+    @Test
+    @DisplayName("Words - a filter read back from its words holds the same ids")
+    void testWords_roundTrip() {
+        OrderIdFilter filter = new OrderIdFilter(100);
+        UUID id = TimeOrderedUuidGenerator.nextUuid();
+        filter.add(id);
+
+        OrderIdFilter copy = new OrderIdFilter(filter.getWords().clone());
+
+        Assertions.assertTrue(copy.mightContain(id));
+        Assertions.assertEquals(filter.getWords().length, copy.getWords().length);
+    }
+}
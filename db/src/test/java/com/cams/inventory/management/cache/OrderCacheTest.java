@@ -0,0 +1,118 @@
+package com.cams.inventory.management.cache;
+
+import com.cams.inventory.management.dto.OrderSnapshot;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the OrderCache class, which caches order snapshots in front of the database.
+ */
+class OrderCacheTest {
+
+    /**
+     * The cache being tested.
+     */
+    OrderCache orderCache;
+
+    /**
+     * Sample UUID for the order.
+     */
+    UUID orderId = UUID.randomUUID();
+
+    /**
+     * Sets up a small cache before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        orderCache = new OrderCache(100, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Clears any transaction synchronization registered by a test.
+     */
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Tests that a cached order is served without invoking the loader again.
+     */
+    @Test
+    @DisplayName("Read-through - second lookup is a cache hit")
+    void testGet_readThrough() {
+        AtomicInteger loads = new AtomicInteger();
+
+        orderCache.get(orderId, id -> {
+            loads.incrementAndGet();
+            return Optional.of(snapshot(OrderStatus.COMPLETED));
+        });
+        Optional<OrderSnapshot> result = orderCache.get(orderId, id -> {
+            loads.incrementAndGet();
+            return Optional.of(snapshot(OrderStatus.COMPLETED));
+        });
+
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, orderCache.stats().hitCount());
+    }
+
+    /**
+     * Tests that a new order is cached only when its transaction commits.
+     */
+    @Test
+    @DisplayName("Put after commit - applied only when the transaction commits")
+    void testPutAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        orderCache.putAfterCommit(snapshot(OrderStatus.COMPLETED));
+        Assertions.assertTrue(orderCache.get(orderId, id -> Optional.empty()).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Assertions.assertEquals(OrderStatus.COMPLETED,
+                orderCache.get(orderId, id -> Optional.empty()).orElseThrow().getStatus());
+    }
+
+    /**
+     * Tests that an updated order is evicted only when its transaction commits, and reloaded afterwards.
+     */
+    @Test
+    @DisplayName("Evict after commit - next read loads the committed state")
+    void testEvictAfterCommit() {
+        orderCache.putAfterCommit(snapshot(OrderStatus.COMPLETED));
+        TransactionSynchronizationManager.initSynchronization();
+
+        orderCache.evictAfterCommit(orderId);
+        Assertions.assertEquals(OrderStatus.COMPLETED,
+                orderCache.get(orderId, id -> Optional.of(snapshot(OrderStatus.CANCELLED))).orElseThrow().getStatus());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Assertions.assertEquals(OrderStatus.CANCELLED,
+                orderCache.get(orderId, id -> Optional.of(snapshot(OrderStatus.CANCELLED))).orElseThrow().getStatus());
+    }
+
+    /**
+     * Creates a snapshot of the sample order with one item.
+     *
+     * @param status the status of the snapshot
+     * @return the snapshot
+     */
+    private OrderSnapshot snapshot(OrderStatus status) {
+        return new OrderSnapshot(orderId, status, LocalDateTime.now(), List.of(new OrderSnapshot.Item(UUID.randomUUID(), 2)));
+    }
+}
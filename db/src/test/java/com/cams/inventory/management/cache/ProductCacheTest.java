@@ -0,0 +1,151 @@
+package com.cams.inventory.management.cache;
+
+import com.cams.inventory.management.dto.ProductSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the ProductCache class, which caches product snapshots in front of the database.
+ */
+class ProductCacheTest {
+
+    /**
+     * The cache being tested.
+     */
+    ProductCache productCache;
+
+    /**
+     * Sample UUID for the product.
+     */
+    UUID productId = UUID.randomUUID();
+
+    /**
+     * Sets up a small cache before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        productCache = new ProductCache(100, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Clears any transaction synchronization registered by a test.
+     */
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Tests that a cached product is served without invoking the loader again.
+     */
+    @Test
+    @DisplayName("Read-through - second lookup is a cache hit")
+    void testGet_readThrough() {
+        AtomicInteger loads = new AtomicInteger();
+
+        productCache.get(productId, id -> {
+            loads.incrementAndGet();
+            return Optional.of(snapshot(0, 10));
+        });
+        Optional<ProductSnapshot> result = productCache.get(productId, id -> {
+            loads.incrementAndGet();
+            return Optional.of(snapshot(0, 10));
+        });
+
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, productCache.stats().hitCount());
+        Assertions.assertEquals(1, productCache.stats().missCount());
+    }
+
+    /**
+     * Tests that missing products are not cached.
+     */
+    @Test
+    @DisplayName("Read-through - missing product is not cached")
+    void testGet_missingProduct() {
+        Assertions.assertTrue(productCache.get(productId, id -> Optional.empty()).isEmpty());
+        Assertions.assertTrue(productCache.get(productId, id -> Optional.of(snapshot(0, 10))).isPresent());
+    }
+
+    /**
+     * Tests that an older snapshot never replaces a newer one.
+     */
+    @Test
+    @DisplayName("Version-aware put - stale snapshot is ignored")
+    void testPut_ignoresStaleVersion() {
+        productCache.put(snapshot(2, 5));
+        productCache.put(snapshot(1, 10));
+
+        ProductSnapshot result = productCache.get(productId, id -> Optional.empty()).orElseThrow();
+        Assertions.assertEquals(2, result.getVersion());
+        Assertions.assertEquals(5, result.getStock());
+    }
+
+    /**
+     * Tests that writes made inside a transaction are only applied after commit.
+     */
+    @Test
+    @DisplayName("Put after commit - applied only when the transaction commits")
+    void testPutAfterCommit() {
+        productCache.put(snapshot(0, 10));
+        TransactionSynchronizationManager.initSynchronization();
+
+        productCache.putAfterCommit(snapshot(1, 4));
+        Assertions.assertEquals(10, productCache.get(productId, id -> Optional.empty()).orElseThrow().getStock());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Assertions.assertEquals(4, productCache.get(productId, id -> Optional.empty()).orElseThrow().getStock());
+    }
+
+    /**
+     * Tests that evictions made outside of a transaction are applied immediately.
+     */
+    @Test
+    @DisplayName("Evict - applied immediately without a transaction")
+    void testEvictAfterCommit_withoutTransaction() {
+        productCache.put(snapshot(0, 10));
+
+        productCache.evictAfterCommit(productId);
+
+        Assertions.assertTrue(productCache.get(productId, id -> Optional.empty()).isEmpty());
+    }
+
+    /**
+     * Tests that several snapshots are evicted at once outside of a transaction.
+     */
+    @Test
+    @DisplayName("Evict all - applied immediately without a transaction")
+    void testEvictAllAfterCommit_withoutTransaction() {
+        productCache.put(snapshot(0, 10));
+
+        productCache.evictAllAfterCommit(List.of(productId, UUID.randomUUID()));
+
+        Assertions.assertTrue(productCache.get(productId, id -> Optional.empty()).isEmpty());
+    }
+
+    /**
+     * Creates a snapshot of the sample product.
+     *
+     * @param version the version of the snapshot
+     * @param stock   the stock of the snapshot
+     * @return the snapshot
+     */
+    private ProductSnapshot snapshot(int version, int stock) {
+        return new ProductSnapshot(productId, "Apple", "4321098", new BigDecimal("1.50"), stock, version);
+    }
+}
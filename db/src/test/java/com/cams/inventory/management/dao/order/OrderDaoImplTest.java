@@ -1,22 +1,44 @@
 package com.cams.inventory.management.dao.order;
 
+import com.cams.inventory.management.archive.OrderArchive;
+import com.cams.inventory.management.cache.OrderCache;
+import com.cams.inventory.management.dto.OrderExportRow;
+import com.cams.inventory.management.dto.OrderSnapshot;
 import com.cams.inventory.management.dao.order.impl.OrderDaoImpl;
 import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.constant.OrderEventType;
 import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.entity.outbox.OutboxEventEntity;
+import com.cams.inventory.management.entity.product.ProductEntity;
 import com.cams.inventory.management.handler.InventoryManagementDBException;
 import com.cams.inventory.management.repository.order.OrderRepository;
+import com.cams.inventory.management.repository.outbox.OutboxEventRepository;
+import com.cams.inventory.management.repository.product.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Unit tests for the OrderDaoImpl class, which handles database operations related to orders.
@@ -37,6 +59,42 @@ class OrderDaoImplTest {
     @Mock
     OrderRepository orderRepository;
 
+    /**
+     * Mocked repository for the transactional outbox.
+     */
+    @Mock
+    OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Real mapper serializing the event payloads.
+     */
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Mocked archive of the orders moved out of the database.
+     */
+    @Mock
+    OrderArchive orderArchive;
+
+    /**
+     * Mocked repository for loading the products of archived orders.
+     */
+    @Mock
+    ProductRepository productRepository;
+
+    /**
+     * Mocked read-through cache of order snapshots.
+     */
+    @Mock
+    OrderCache orderCache;
+
+    /**
+     * Mocked entity manager, cleared while exporting.
+     */
+    @Mock
+    EntityManager entityManager;
+
     /**
      * Sample OrderEntity used in test cases.
      */
@@ -64,6 +122,31 @@ class OrderDaoImplTest {
         Assertions.assertEquals(OrderStatus.COMPLETED, result.getStatus());
     }
 
+    /**
+     * Tests that creating an order writes its event to the outbox.
+     */
+    @Test
+    @DisplayName("Create order - writes an ORDER_CREATED event to the outbox")
+    void testCreateOrder_writesOutboxEvent() {
+        ProductEntity product = new ProductEntity();
+        product.setId(UUID.randomUUID());
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProduct(product);
+        item.setQuantity(3);
+        orderEntity.getItems().add(item);
+        Mockito.when(orderRepository.save(orderEntity)).thenReturn(orderEntity);
+
+        orderDaoImpl.createOrder(orderEntity);
+
+        ArgumentCaptor<OutboxEventEntity> captor = ArgumentCaptor.forClass(OutboxEventEntity.class);
+        Mockito.verify(outboxEventRepository).save(captor.capture());
+        Mockito.verify(orderCache).putAfterCommit(OrderSnapshot.from(orderEntity));
+        Assertions.assertEquals(orderEntity.getId(), captor.getValue().getAggregateId());
+        Assertions.assertEquals(OrderEventType.ORDER_CREATED.name(), captor.getValue().getEventType());
+        Assertions.assertEquals("{\"orderId\":\"" + orderEntity.getId() + "\",\"status\":\"COMPLETED\",\"items\":"
+                + "[{\"productId\":\"" + product.getId() + "\",\"quantity\":3}]}", captor.getValue().getPayload());
+    }
+
     /**
      * Tests the failure scenario when creating an order throws an exception.
      */
@@ -75,6 +158,32 @@ class OrderDaoImplTest {
                 orderDaoImpl.createOrder(orderEntity));
     }
 
+    /**
+     * Tests the successful update of an order.
+     */
+    @Test
+    @DisplayName("Update order - Success")
+    void testUpdateOrder_success() {
+        orderEntity.setStatus(OrderStatus.CANCELLED);
+        Mockito.when(orderRepository.save(orderEntity)).thenReturn(orderEntity);
+        OrderEntity result = orderDaoImpl.updateOrder(orderEntity);
+        Assertions.assertEquals(OrderStatus.CANCELLED, result.getStatus());
+        Mockito.verify(outboxEventRepository).save(Mockito.argThat(event ->
+                OrderEventType.ORDER_STATUS_CHANGED.name().equals(event.getEventType())));
+        Mockito.verify(orderCache).evictAfterCommit(orderEntity.getId());
+    }
+
+    /**
+     * Tests the failure scenario when updating an order throws an exception.
+     */
+    @Test
+    @DisplayName("Update order - failure, should throw InventoryManagementDBException when order update fails")
+    void testUpdateOrder_failure() {
+        Mockito.when(orderRepository.save(orderEntity)).thenThrow(new RuntimeException("Error while updating order"));
+        Assertions.assertThrows(InventoryManagementDBException.class, () ->
+                orderDaoImpl.updateOrder(orderEntity));
+    }
+
     /**
      * Tests the successful retrieval of order details by ID.
      */
@@ -82,7 +191,7 @@ class OrderDaoImplTest {
     @DisplayName("Get order details - Success")
     void testGetOrderDetails_success() {
         UUID orderId = UUID.randomUUID();
-        Mockito.when(orderRepository.findById(orderId)).thenReturn(Optional.of(orderEntity));
+        Mockito.when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(orderEntity));
         Optional<OrderEntity> result = orderDaoImpl.getOrderDetails(orderId);
         Assertions.assertNotNull(result);
         Assertions.assertTrue(result.isPresent());
@@ -95,8 +204,170 @@ class OrderDaoImplTest {
     @DisplayName("Get order details - failure, should throw InventoryManagementDBException when order creation fails")
     void testGetOrderDetails_failure() {
         UUID orderId = UUID.randomUUID();
-        Mockito.when(orderRepository.findById(orderId)).thenThrow(new RuntimeException("Error while saving order"));
+        Mockito.when(orderRepository.findWithItemsById(orderId)).thenThrow(new RuntimeException("Error while saving order"));
         Assertions.assertThrows(InventoryManagementDBException.class, () ->
                 orderDaoImpl.getOrderDetails(orderId));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a page of the order history in a status loads the items of all its orders in one query.
+     */
+    @Test
+    @DisplayName("Get order history page - keyset query by status, then the items of the page at once")
+    void testGetOrderHistoryPage_byStatus() {
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        LocalDateTime beforeDate = LocalDateTime.now();
+        UUID beforeId = UUID.randomUUID();
+        Mockito.when(orderRepository.findHistoryPageByStatus(OrderStatus.COMPLETED, from, beforeDate, beforeId, Limit.of(20)))
+                .thenReturn(List.of(orderEntity));
+
+        List<OrderEntity> result = orderDaoImpl.getOrderHistoryPage(OrderStatus.COMPLETED, from, beforeDate, beforeId, 20);
+
+        Assertions.assertEquals(List.of(orderEntity), result);
+        Mockito.verify(orderRepository).findWithItemsAndProductsByIdIn(List.of(orderEntity.getId()));
+        Mockito.verify(orderRepository, Mockito.never()).findHistoryPage(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Tests that an empty page of the order history of all statuses does not query any items.
+     */
+    @Test
+    @DisplayName("Get order history page - all statuses, empty page loads no items")
+    void testGetOrderHistoryPage_empty() {
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        LocalDateTime beforeDate = LocalDateTime.now();
+        UUID beforeId = UUID.randomUUID();
+        Mockito.when(orderRepository.findHistoryPage(from, beforeDate, beforeId, Limit.of(20))).thenReturn(List.of());
+
+        Assertions.assertTrue(orderDaoImpl.getOrderHistoryPage(null, from, beforeDate, beforeId, 20).isEmpty());
+        Mockito.verify(orderRepository, Mockito.never()).findWithItemsAndProductsByIdIn(Mockito.any());
+    }
+
+    /**
+     * Tests that the export hands every row to the consumer and clears the persistence context once per chunk.
+     */
+    @Test
+    @DisplayName("Export orders - every row consumed, persistence context cleared per chunk")
+    void testExportOrders_success() {
+        LocalDateTime from = LocalDateTime.now().minusDays(30);
+        LocalDateTime to = LocalDateTime.now();
+        int rowCount = 2 * OrderDaoImpl.EXPORT_CHUNK_SIZE + 1;
+        Mockito.when(orderRepository.streamExportRows(from, to))
+                .thenReturn(Stream.generate(() -> Mockito.mock(OrderExportRow.class)).limit(rowCount));
+        List<OrderExportRow> consumed = new ArrayList<>();
+
+        Assertions.assertEquals(rowCount, orderDaoImpl.exportOrders(from, to, consumed::add));
+        Assertions.assertEquals(rowCount, consumed.size());
+        Mockito.verify(entityManager, Mockito.times(2)).clear();
+    }
+
+    /**
+     * Tests that a failure to write the rows is rethrown as is, and a failure to read them as a database error.
+     */
+    @Test
+    @DisplayName("Export orders - failure, write errors rethrown, read errors wrapped")
+    void testExportOrders_failure() {
+        LocalDateTime from = LocalDateTime.now().minusDays(30);
+        LocalDateTime to = LocalDateTime.now();
+        Mockito.when(orderRepository.streamExportRows(from, to))
+                .thenReturn(Stream.of(Mockito.mock(OrderExportRow.class)))
+                .thenThrow(new RuntimeException("Connection lost"));
+
+        Assertions.assertThrows(UncheckedIOException.class, () -> orderDaoImpl.exportOrders(from, to, row -> {
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        }));
+        Assertions.assertThrows(InventoryManagementDBException.class, () -> orderDaoImpl.exportOrders(from, to, row -> {
+        }));
+    }
+
+    /**
+     * Tests that an order missing from the database is read from the archive, with its products loaded.
+     */
+    @Test
+    @DisplayName("Get order details - falls back to the archive and loads the products")
+    void testGetOrderDetails_archived() {
+        ProductEntity product = new ProductEntity();
+        product.setId(UUID.randomUUID());
+        product.setName("Apple");
+        ProductEntity productReference = new ProductEntity();
+        productReference.setId(product.getId());
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProduct(productReference);
+        item.setQuantity(2);
+        orderEntity.getItems().add(item);
+        orderEntity.setArchived(true);
+        Mockito.when(orderRepository.findWithItemsById(orderEntity.getId())).thenReturn(Optional.empty());
+        Mockito.when(orderArchive.find(orderEntity.getId())).thenReturn(Optional.of(orderEntity));
+        Mockito.when(productRepository.findAllById(List.of(product.getId()))).thenReturn(List.of(product));
+
+        OrderEntity result = orderDaoImpl.getOrderDetails(orderEntity.getId()).orElseThrow();
+
+        Assertions.assertTrue(result.isArchived());
+        Assertions.assertEquals("Apple", result.getItems().get(0).getProduct().getName());
+    }
+
+    /**
+     * Tests that archiving writes the locked orders to the archive before deleting them.
+     */
+    @Test
+    @DisplayName("Archive orders - segment written before the rows are deleted")
+    void testArchiveOrders_success() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+        List<UUID> orderIds = List.of(orderEntity.getId());
+        Mockito.when(orderRepository.findIdsByStatusCreatedBefore(OrderStatus.COMPLETED, cutoff,
+                Limit.of(10))).thenReturn(orderIds);
+        Mockito.when(orderRepository.findAndLockByIdIn(orderIds))
+                .thenReturn(List.of(orderEntity));
+
+        Assertions.assertEquals(1, orderDaoImpl.archiveOrders(cutoff, 10));
+
+        InOrder inOrder = Mockito.inOrder(orderRepository, orderArchive);
+        inOrder.verify(orderRepository).findAndLockByIdIn(orderIds);
+        inOrder.verify(orderRepository).findWithItemsByIdIn(orderIds);
+        inOrder.verify(orderArchive).write(List.of(orderEntity));
+        inOrder.verify(orderRepository).deleteItemsByOrderIdIn(orderIds);
+        inOrder.verify(orderRepository).deleteAllByIdInBatch(orderIds);
+    }
+
+    /**
+     * Tests that nothing is written when no order is old enough.
+     */
+    @Test
+    @DisplayName("Archive orders - no segment without orders")
+    void testArchiveOrders_nothingToArchive() {
+        Mockito.when(orderRepository.findIdsByStatusCreatedBefore(Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(List.of());
+
+        Assertions.assertEquals(0, orderDaoImpl.archiveOrders(LocalDateTime.now(), 10));
+
+        Mockito.verifyNoInteractions(orderArchive);
+    }
+
+    /**
+     * Tests that a failing archive write is reported and nothing is deleted.
+     */
+    @Test
+    @DisplayName("Archive orders - failure, rows are kept when the segment cannot be written")
+    void testArchiveOrders_failure() {
+        Mockito.when(orderRepository.findIdsByStatusCreatedBefore(Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(List.of(orderEntity.getId()));
+        Mockito.when(orderRepository.findAndLockByIdIn(Mockito.any()))
+                .thenReturn(List.of(orderEntity));
+        Mockito.when(orderArchive.write(Mockito.any())).thenThrow(new RuntimeException("Disk full"));
+
+        Assertions.assertThrows(InventoryManagementDBException.class, () ->
+                orderDaoImpl.archiveOrders(LocalDateTime.now(), 10));
+        Mockito.verify(orderRepository, Mockito.never()).deleteAllByIdInBatch(Mockito.any());
+    }
+
+    /**
+     * Tests that a failing merge of the archive segments is reported as a database error.
+     */
+    @Test
+    @DisplayName("Compact archive - failure, reported as a database error")
+    void testCompactArchive_failure() {
+        Mockito.when(orderArchive.compact()).thenThrow(new UncheckedIOException(new IOException("Disk full")));
+
+        Assertions.assertThrows(InventoryManagementDBException.class, () -> orderDaoImpl.compactArchive());
+    }
+}
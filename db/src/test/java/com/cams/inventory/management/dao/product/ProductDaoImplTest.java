@@ -1,7 +1,9 @@
 package com.cams.inventory.management.dao.product;
 
+import com.cams.inventory.management.cache.ProductCache;
 import com.cams.inventory.management.dao.product.impl.ProductDaoImpl;
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ProductSnapshot;
 import com.cams.inventory.management.entity.product.ProductEntity;
 import com.cams.inventory.management.handler.InventoryManagementDBException;
 import com.cams.inventory.management.mapper.ProductMapper;
@@ -20,6 +22,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Unit tests for the ProductDaoImpl class, which handles database operations related to products.
@@ -46,6 +49,12 @@ class ProductDaoImplTest {
     @Mock
     ProductMapper productMapper;
 
+    /**
+     * Mocked cache of product snapshots.
+     */
+    @Mock
+    ProductCache productCache;
+
     /**
      * Sample ProductEntity used in test cases.
      */
@@ -87,13 +96,11 @@ class ProductDaoImplTest {
     void testGetProductsBySku_success() {
         List<String> skuIds = List.of("4321098");
 
-        Mockito.when(productMapper.transformProductEntityListToProductDtoList(List.of(productEntity))).thenReturn(List.of(productDto));
-        Mockito.when(productRepository.findAllBySkuIn(skuIds)).thenReturn(List.of(productEntity));
+        Mockito.when(productRepository.findProductDtosBySkuIn(skuIds)).thenReturn(List.of(productDto));
         List<ProductDto> results = productDaoImpl.getProductsBySku(skuIds);
         Assertions.assertNotNull(results);
         Assertions.assertFalse(results.isEmpty());
-        Mockito.verify(productMapper, Mockito.times(1))
-                .transformProductEntityListToProductDtoList(Mockito.anyList());
+        Mockito.verifyNoInteractions(productMapper);
     }
 
     /**
@@ -104,21 +111,45 @@ class ProductDaoImplTest {
     void testGetProductsBySku_failure() {
         List<String> skuIds = List.of("4321098");
 
-        Mockito.when(productRepository.findAllBySkuIn(skuIds)).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(productRepository.findProductDtosBySkuIn(skuIds)).thenThrow(new RuntimeException("Database error"));
         Assertions.assertThrows(InventoryManagementDBException.class, () -> {
             productDaoImpl.getProductsBySku(skuIds);
         });
     }
 
+    /**
+     * Tests the successful retrieval of all products.
+     */
+    @Test
+    @DisplayName("Test for get all products - success, should return the projected products")
+    void testGetAllProducts_success() {
+        Mockito.when(productRepository.findAllProductDtos()).thenReturn(List.of(productDto));
+        List<ProductDto> results = productDaoImpl.getAllProducts();
+        Assertions.assertNotNull(results);
+        Assertions.assertFalse(results.isEmpty());
+        Mockito.verifyNoInteractions(productMapper);
+    }
+
+    /**
+     * Tests the failure scenario when retrieving all products throws an exception.
+     */
+    @Test
+    @DisplayName("Test for get all products - failure, should throw InventoryManagementDBException")
+    void testGetAllProducts_failure() {
+        Mockito.when(productRepository.findAllProductDtos()).thenThrow(new RuntimeException("Database error"));
+        Assertions.assertThrows(InventoryManagementDBException.class, () -> {
+            productDaoImpl.getAllProducts();
+        });
+    }
+
     /**
      * Tests the successful retrieval of low-stock products.
      */
     @Test
     @DisplayName("Test for get low stock products - success, should return a list of products less than stock threshold")
     void testGetLowStockProducts_success() {
-        Mockito.when(productMapper.transformProductEntityListToProductDtoList(List.of(productEntity))).thenReturn(List.of(productDto));
-        Mockito.when(productRepository.findAll()).thenReturn(List.of(productEntity));
-        List<ProductDto> results = productDaoImpl.getAllProducts();
+        Mockito.when(productRepository.findProductDtosByStockLessThan(60)).thenReturn(List.of(productDto));
+        List<ProductDto> results = productDaoImpl.getLowStockProducts(60);
         Assertions.assertNotNull(results);
         Assertions.assertFalse(results.isEmpty());
     }
@@ -129,9 +160,9 @@ class ProductDaoImplTest {
     @Test
     @DisplayName("Test for get low stock products - failure, should throw InventoryManagementDBException when order creation fails")
     void testGetLowStockProducts_failure() {
-        Mockito.when(productRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(productRepository.findProductDtosByStockLessThan(60)).thenThrow(new RuntimeException("Database error"));
         Assertions.assertThrows(InventoryManagementDBException.class, () -> {
-            productDaoImpl.getAllProducts();
+            productDaoImpl.getLowStockProducts(60);
         });
     }
 
@@ -158,4 +189,87 @@ class ProductDaoImplTest {
             productDaoImpl.findById(productId);
         });
     }
+
+    /**
+     * Tests the successful retrieval of several products by their IDs.
+     */
+    @Test
+    @DisplayName("Test for products by IDs - success, should return the products found")
+    void testFindAllById_success() {
+        Mockito.when(productRepository.findAllById(List.of(productId))).thenReturn(List.of(productEntity));
+        List<ProductEntity> result = productDaoImpl.findAllById(List.of(productId));
+        Assertions.assertEquals(1, result.size());
+    }
+
+    /**
+     * Tests the failure scenario when retrieving products by their IDs throws an exception.
+     */
+    @Test
+    @DisplayName("Test for products by IDs - failure, should throw InventoryManagementDBException")
+    void testFindAllById_failure() {
+        Mockito.when(productRepository.findAllById(List.of(productId))).thenThrow(new RuntimeException("Database error"));
+        Assertions.assertThrows(InventoryManagementDBException.class, () -> {
+            productDaoImpl.findAllById(List.of(productId));
+        });
+    }
+
+    /**
+     * Tests that a product snapshot is loaded through the product cache.
+     */
+    @Test
+    @DisplayName("Test for product snapshot - success, should load the product through the cache")
+    @SuppressWarnings("unchecked")
+    void testGetProductById_success() {
+        Mockito.when(productRepository.findById(productId)).thenReturn(Optional.of(productEntity));
+        Mockito.when(productCache.get(Mockito.eq(productId), Mockito.any()))
+                .thenAnswer(invocation -> ((Function<UUID, Optional<ProductSnapshot>>) invocation.getArgument(1)).apply(productId));
+        Optional<ProductSnapshot> result = productDaoImpl.getProductById(productId);
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals("Apple", result.get().getName());
+    }
+
+    /**
+     * Tests the failure scenario when loading a product snapshot throws an exception.
+     */
+    @Test
+    @DisplayName("Test for product snapshot - failure, should throw InventoryManagementDBException when loading fails")
+    void testGetProductById_failure() {
+        Mockito.when(productCache.get(Mockito.eq(productId), Mockito.any())).thenThrow(new RuntimeException("Database error"));
+        Assertions.assertThrows(InventoryManagementDBException.class, () -> {
+            productDaoImpl.getProductById(productId);
+        });
+    }
+
+    /**
+     * Tests that a successful conditional stock update evicts the cached snapshot.
+     */
+    @Test
+    @DisplayName("Test for conditional stock update - success, should evict the cached product")
+    void testUpdateStock_success() {
+        Mockito.when(productRepository.updateStockByIdAndVersion(productId, 2, 15)).thenReturn(1);
+        Assertions.assertTrue(productDaoImpl.updateStock(productId, 2, 15));
+        Mockito.verify(productCache).evictAfterCommit(productId);
+    }
+
+    /**
+     * Tests that a conditional price update with a stale version leaves the cache untouched.
+     */
+    @Test
+    @DisplayName("Test for conditional price update - version mismatch, should not evict the cached product")
+    void testUpdatePrice_versionMismatch() {
+        Mockito.when(productRepository.updatePriceByIdAndVersion(productId, 2, 1000L)).thenReturn(0);
+        Assertions.assertFalse(productDaoImpl.updatePrice(productId, 2, 1000L));
+        Mockito.verify(productCache, Mockito.never()).evictAfterCommit(productId);
+    }
+
+    /**
+     * Tests that a successful conditional reorder threshold update evicts the cached snapshot, whose version changed.
+     */
+    @Test
+    @DisplayName("Test for conditional reorder threshold update - success, should evict the cached product")
+    void testUpdateReorderThreshold_success() {
+        Mockito.when(productRepository.updateReorderThresholdByIdAndVersion(productId, 2, 30)).thenReturn(1);
+        Assertions.assertTrue(productDaoImpl.updateReorderThreshold(productId, 2, 30));
+        Mockito.verify(productCache).evictAfterCommit(productId);
+    }
 }
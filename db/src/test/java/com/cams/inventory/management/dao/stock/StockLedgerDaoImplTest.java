@@ -0,0 +1,138 @@
+package com.cams.inventory.management.dao.stock;
+
+import com.cams.inventory.management.dao.stock.impl.StockLedgerDaoImpl;
+import com.cams.inventory.management.entity.constant.StockMovementReason;
+import com.cams.inventory.management.entity.stock.StockMovementEntity;
+import com.cams.inventory.management.entity.stock.StockSnapshotEntity;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import com.cams.inventory.management.repository.stock.StockMovementRepository;
+import com.cams.inventory.management.repository.stock.StockSnapshotRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Unit tests for the StockLedgerDaoImpl class, which handles the stock ledger and its snapshots.
+ * This class uses Mockito for mocking dependencies and JUnit 5 for testing.
+ */
+@ExtendWith(SpringExtension.class)
+class StockLedgerDaoImplTest {
+
+    /**
+     * The implementation of StockLedgerDao being tested.
+     */
+    @InjectMocks
+    StockLedgerDaoImpl stockLedgerDaoImpl;
+
+    /**
+     * Mocked repository for stock movements.
+     */
+    @Mock
+    StockMovementRepository stockMovementRepository;
+
+    /**
+     * Mocked repository for stock snapshots.
+     */
+    @Mock
+    StockSnapshotRepository stockSnapshotRepository;
+
+    /**
+     * Sample UUID for the product.
+     */
+    UUID productId = UUID.randomUUID();
+
+    /**
+     * Sample point in time.
+     */
+    LocalDateTime asOf = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    /**
+     * Test case for recording movements.
+     */
+    @Test
+    @DisplayName("Record movements - Success")
+    void testRecordMovements_success() {
+        List<StockMovementEntity> movements = List.of(StockMovementEntity.of(productId, -2, StockMovementReason.ORDER_PLACED, null));
+
+        stockLedgerDaoImpl.recordMovements(movements);
+
+        Mockito.verify(stockMovementRepository).saveAll(movements);
+    }
+
+    /**
+     * Test case for recording movements when the repository fails.
+     */
+    @Test
+    @DisplayName("Record movements - Failure")
+    void testRecordMovements_failure() {
+        Mockito.when(stockMovementRepository.saveAll(Mockito.anyList())).thenThrow(new RuntimeException("DB error"));
+
+        Assertions.assertThrows(InventoryManagementDBException.class, () -> stockLedgerDaoImpl.recordMovements(List.of()));
+    }
+
+    /**
+     * Test case for the stock as of a time with a snapshot: the snapshot plus the movements after it.
+     */
+    @Test
+    @DisplayName("Stock as of - nearest snapshot plus replay")
+    void testGetStockAsOf_withSnapshot() {
+        StockSnapshotEntity snapshot = new StockSnapshotEntity();
+        snapshot.setProductId(productId);
+        snapshot.setTakenAt(asOf.minusHours(1));
+        snapshot.setStock(40);
+        Mockito.when(stockSnapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, asOf))
+                .thenReturn(Optional.of(snapshot));
+        Mockito.when(stockMovementRepository.sumQuantityDelta(productId, snapshot.getTakenAt(), asOf)).thenReturn(-7L);
+
+        Assertions.assertEquals(33, stockLedgerDaoImpl.getStockAsOf(productId, asOf));
+    }
+
+    /**
+     * Test case for the stock as of a time before any snapshot: every movement up to that time is replayed.
+     */
+    @Test
+    @DisplayName("Stock as of - no snapshot, full replay")
+    void testGetStockAsOf_withoutSnapshot() {
+        Mockito.when(stockSnapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, asOf))
+                .thenReturn(Optional.empty());
+        Mockito.when(stockMovementRepository.sumQuantityDelta(Mockito.eq(productId), Mockito.any(), Mockito.eq(asOf)))
+                .thenReturn(12L);
+
+        Assertions.assertEquals(12, stockLedgerDaoImpl.getStockAsOf(productId, asOf));
+    }
+
+    /**
+     * Test case for taking snapshots after a previous run.
+     */
+    @Test
+    @DisplayName("Take snapshots - movements since the previous run")
+    void testTakeSnapshots_success() {
+        LocalDateTime since = asOf.minusHours(1);
+        Mockito.when(stockSnapshotRepository.findLatestTakenAt()).thenReturn(Optional.of(since));
+        Mockito.when(stockSnapshotRepository.insertSnapshots(since, asOf)).thenReturn(3);
+
+        Assertions.assertEquals(3, stockLedgerDaoImpl.takeSnapshots(asOf));
+    }
+
+    /**
+     * Test case for taking snapshots with a cutoff that is not after the previous run.
+     */
+    @Test
+    @DisplayName("Take snapshots - cutoff not after the previous run")
+    void testTakeSnapshots_staleCutoff() {
+        Mockito.when(stockSnapshotRepository.findLatestTakenAt()).thenReturn(Optional.of(asOf));
+
+        Assertions.assertEquals(0, stockLedgerDaoImpl.takeSnapshots(asOf));
+        Mockito.verify(stockSnapshotRepository, Mockito.never()).insertSnapshots(Mockito.any(), Mockito.any());
+    }
+}
@@ -0,0 +1,56 @@
+package com.cams.inventory.management.entity.generator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+/**
+ * Unit tests for the TimeOrderedUuidGenerator class, which generates time-ordered entity identifiers.
+ */
+class TimeOrderedUuidGeneratorTest {
+
+    /**
+     * Tests that generated identifiers carry the version 7 and IETF variant bits.
+     */
+    @Test
+    @DisplayName("Next UUID - version 7 with IETF variant")
+    void testNextUuid_versionAndVariant() {
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+
+        Assertions.assertEquals(7, uuid.version());
+        Assertions.assertEquals(2, uuid.variant());
+    }
+
+    /**
+     * Tests that the leading 48 bits hold the current Unix epoch milliseconds.
+     */
+    @Test
+    @DisplayName("Next UUID - timestamp prefix is the current time")
+    void testNextUuid_timestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        Assertions.assertTrue(timestamp >= before);
+        // The sequence may have pushed the timestamp slightly ahead in a burst
+        Assertions.assertTrue(timestamp <= after + 100);
+    }
+
+    /**
+     * Tests that identifiers generated in a tight loop are strictly increasing
+     * when compared as unsigned values, as databases order them.
+     */
+    @Test
+    @DisplayName("Next UUID - strictly increasing within the same millisecond")
+    void testNextUuid_monotonic() {
+        UUID previous = TimeOrderedUuidGenerator.nextUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.nextUuid();
+            Assertions.assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cams.inventory.management.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Unit tests for the FileOutboxEventSink class, which appends outbox events to a local file.
+ */
+class FileOutboxEventSinkTest {
+
+    /**
+     * Mapper reading the written lines.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Tests that every batch is appended as one JSON line per event, creating the missing directories.
+     *
+     * @param directory the temporary directory of the test
+     * @throws IOException if the file cannot be read
+     */
+    @Test
+    @DisplayName("Send - appends one JSON line per event, in order")
+    void testSend_appendsJsonLines(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("outbox").resolve("order-events.jsonl");
+        FileOutboxEventSink sink = new FileOutboxEventSink(file, objectMapper);
+        OutboxMessage first = message("{\"orderId\":\"a\"}");
+        OutboxMessage second = message("{\"orderId\":\"b\"}");
+        OutboxMessage third = message("{\"orderId\":\"c\"}");
+
+        sink.send(List.of(first, second));
+        sink.send(List.of(third));
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertEquals(3, lines.size());
+        JsonNode line = objectMapper.readTree(lines.get(0));
+        Assertions.assertEquals(first.getId().toString(), line.get("id").asText());
+        Assertions.assertEquals("ORDER_CREATED", line.get("eventType").asText());
+        Assertions.assertEquals(first.getAggregateId().toString(), line.get("aggregateId").asText());
+        Assertions.assertEquals("a", line.get("payload").get("orderId").asText());
+        Assertions.assertEquals(third.getId().toString(), objectMapper.readTree(lines.get(2)).get("id").asText());
+    }
+
+    /**
+     * Builds an outbox message with the given payload.
+     *
+     * @param payload the JSON payload
+     * @return the message
+     */
+    private static OutboxMessage message(String payload) {
+        return new OutboxMessage(UUID.randomUUID(), "ORDER_CREATED", UUID.randomUUID(), payload, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,44 @@
+package com.cams.inventory.management.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+/**
+ * Unit tests for the MoneyUtils class, which converts amounts between major and minor currency units.
+ */
+class MoneyUtilsTest {
+
+    /**
+     * Tests the conversion of amounts to minor units.
+     */
+    @Test
+    @DisplayName("To minor units - scales and rounds half up")
+    void testToMinorUnits() {
+        Assertions.assertEquals(150L, MoneyUtils.toMinorUnits(new BigDecimal("1.5")));
+        Assertions.assertEquals(10000L, MoneyUtils.toMinorUnits(new BigDecimal("100")));
+        Assertions.assertEquals(101L, MoneyUtils.toMinorUnits(new BigDecimal("1.005")));
+    }
+
+    /**
+     * Tests the conversion of minor units to amounts at the currency scale.
+     */
+    @Test
+    @DisplayName("To major units - fixed currency scale")
+    void testToMajorUnits() {
+        Assertions.assertEquals(new BigDecimal("1.50"), MoneyUtils.toMajorUnits(150L));
+        Assertions.assertEquals(new BigDecimal("0.00"), MoneyUtils.toMajorUnits(0L));
+    }
+
+    /**
+     * Tests that amounts not fitting into a long are rejected.
+     */
+    @Test
+    @DisplayName("To minor units - overflow is rejected")
+    void testToMinorUnits_overflow() {
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> MoneyUtils.toMinorUnits(new BigDecimal(Long.MAX_VALUE)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.cams.inventory.management.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the TransactionUtils class, which defers actions until the current transaction commits.
+ */
+class TransactionUtilsTest {
+
+    /**
+     * Tests that the action runs immediately when no transaction is active.
+     */
+    @Test
+    @DisplayName("Run after commit - immediately without a transaction")
+    void testRunAfterCommit_noTransaction() {
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionUtils.runAfterCommit(runs::incrementAndGet);
+
+        Assertions.assertEquals(1, runs.get());
+    }
+
+    /**
+     * Tests that the action only runs once the transaction commits, and not when it rolls back.
+     */
+    @Test
+    @DisplayName("Run after commit - deferred until commit, dropped on rollback")
+    void testRunAfterCommit_transaction() {
+        AtomicInteger runs = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionUtils.runAfterCommit(runs::incrementAndGet);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            Assertions.assertEquals(0, runs.get());
+
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            Assertions.assertEquals(0, runs.get());
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            Assertions.assertEquals(1, runs.get());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.cams.inventory.management.service.demand;
+
+import com.cams.inventory.management.dto.ProductDemandDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Exponentially weighted demand rate of every product, in units per day, updated in constant time per sale.
+ * <p>
+ * A product keeps its rate as of its last sale and the minute of that sale. A sale first decays the rate
+ * by half for every half-life elapsed since, then adds its units divided by the mean age of the weights,
+ * so a steady demand of n units a day converges to a rate of n; reads decay the rate the same way
+ * without changing it. Products are kept in an open-addressed table of primitive arrays, 25 bytes a slot
+ * and no object per product, so millions of products fit in tens of megabytes. Not thread-safe.
+ */
+public final class DemandRateTable {
+
+    /**
+     * Slot of no product.
+     */
+    private static final byte EMPTY = 0;
+
+    /**
+     * Slot of a product whose rate is saved.
+     */
+    private static final byte SAVED = 1;
+
+    /**
+     * Slot of a product whose rate changed since it was last saved.
+     */
+    private static final byte CHANGED = 2;
+
+    /**
+     * Milliseconds in a minute.
+     */
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    /**
+     * Fraction of the rate lost per minute, as the exponent of the decay.
+     */
+    private final double decayPerMinute;
+
+    /**
+     * Rate added per unit sold.
+     */
+    private final double ratePerUnit;
+
+    /**
+     * Most significant bits of the product of every slot.
+     */
+    private long[] mostSignificantBits;
+
+    /**
+     * Least significant bits of the product of every slot.
+     */
+    private long[] leastSignificantBits;
+
+    /**
+     * Rate of every slot as of its minute, in units per day.
+     */
+    private float[] rates;
+
+    /**
+     * Minute since the epoch every slot was last updated at.
+     */
+    private int[] minutes;
+
+    /**
+     * State of every slot: empty, saved or changed.
+     */
+    private byte[] states;
+
+    /**
+     * Number of products in the table.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty table.
+     *
+     * @param halfLifeDays the days after which a sale weighs half as much
+     * @param capacity     the number of products expected, the table grows beyond it
+     */
+    public DemandRateTable(double halfLifeDays, int capacity) {
+        this.decayPerMinute = Math.log(2) / (halfLifeDays * 24 * 60);
+        this.ratePerUnit = Math.log(2) / halfLifeDays;
+        allocate(Integer.highestOneBit(Math.max(16, capacity * 4 / 3)) << 1);
+    }
+
+    /**
+     * Adds units sold of a product to its rate.
+     *
+     * @param productId   the unique identifier of the product
+     * @param units       the units sold
+     * @param epochMillis the time of the sale
+     */
+    public void record(UUID productId, long units, long epochMillis) {
+        int minute = toMinute(epochMillis);
+        int slot = slotFor(productId);
+        if (states[slot] == EMPTY) {
+            slot = insert(slot, productId, 0, minute);
+        }
+        rates[slot] = (float) (decayed(slot, minute) + units * ratePerUnit);
+        minutes[slot] = Math.max(minutes[slot], minute);
+        states[slot] = CHANGED;
+    }
+
+    /**
+     * Puts back a saved rate of a product, replacing any rate it has.
+     *
+     * @param productId   the unique identifier of the product
+     * @param ratePerDay  the rate as of its update time, in units per day
+     * @param epochMillis the time the rate was last updated
+     */
+    public void restore(UUID productId, double ratePerDay, long epochMillis) {
+        int slot = slotFor(productId);
+        if (states[slot] == EMPTY) {
+            slot = insert(slot, productId, ratePerDay, toMinute(epochMillis));
+        } else {
+            rates[slot] = (float) ratePerDay;
+            minutes[slot] = toMinute(epochMillis);
+        }
+        states[slot] = SAVED;
+    }
+
+    /**
+     * Returns the rate of a product at a point in time.
+     *
+     * @param productId   the unique identifier of the product
+     * @param epochMillis the point in time
+     * @return the units sold per day, 0 for a product that never sold
+     */
+    public double rateAt(UUID productId, long epochMillis) {
+        int slot = slotFor(productId);
+        return states[slot] == EMPTY ? 0 : decayed(slot, toMinute(epochMillis));
+    }
+
+    /**
+     * Passes the rate of every product with a demand at a point in time to a consumer, without looking
+     * them up one by one.
+     *
+     * @param epochMillis the point in time
+     * @param consumer    the consumer of the products and their units sold per day, above 0
+     */
+    public void forEachRate(long epochMillis, ObjDoubleConsumer<UUID> consumer) {
+        int minute = toMinute(epochMillis);
+        for (int slot = 0; slot < states.length; slot++) {
+            if (states[slot] != EMPTY) {
+                double rate = decayed(slot, minute);
+                if (rate > 0) {
+                    consumer.accept(new UUID(mostSignificantBits[slot], leastSignificantBits[slot]), rate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the rates changed since they were last taken, as of their update time, and marks them saved.
+     *
+     * @return the changed rates
+     */
+    public List<ProductDemandDto> takeChanged() {
+        List<ProductDemandDto> changed = new ArrayList<>();
+        for (int slot = 0; slot < states.length; slot++) {
+            if (states[slot] == CHANGED) {
+                changed.add(new ProductDemandDto(new UUID(mostSignificantBits[slot], leastSignificantBits[slot]),
+                        rates[slot], minutes[slot] * MINUTE_MILLIS));
+                states[slot] = SAVED;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Marks the rate of a product changed again, so that it is taken by the next save.
+     *
+     * @param productId the unique identifier of the product
+     */
+    public void markChanged(UUID productId) {
+        int slot = slotFor(productId);
+        if (states[slot] != EMPTY) {
+            states[slot] = CHANGED;
+        }
+    }
+
+    /**
+     * Returns the number of products in the table.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the rate of a slot decayed to a minute; a minute before the update time does not decay it.
+     *
+     * @param slot   the slot
+     * @param minute the minute since the epoch
+     * @return the decayed rate
+     */
+    private double decayed(int slot, int minute) {
+        int elapsed = Math.max(0, minute - minutes[slot]);
+        return rates[slot] * Math.exp(-decayPerMinute * elapsed);
+    }
+
+    /**
+     * Finds the slot of a product, or the empty slot it would take, by linear probing.
+     *
+     * @param productId the unique identifier of the product
+     * @return the slot
+     */
+    private int slotFor(UUID productId) {
+        long most = productId.getMostSignificantBits();
+        long least = productId.getLeastSignificantBits();
+        int mask = states.length - 1;
+        int slot = hash(most, least) & mask;
+        while (states[slot] != EMPTY && (mostSignificantBits[slot] != most || leastSignificantBits[slot] != least)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Puts a new product in an empty slot, growing the table once it is three quarters full.
+     *
+     * @param slot      the empty slot found for the product
+     * @param productId the unique identifier of the product
+     * @param rate      the rate of the product
+     * @param minute    the minute the rate is as of
+     * @return the slot of the product, another one if the table grew
+     */
+    private int insert(int slot, UUID productId, double rate, int minute) {
+        if ((size + 1) * 4L > states.length * 3L) {
+            grow();
+            slot = slotFor(productId);
+        }
+        mostSignificantBits[slot] = productId.getMostSignificantBits();
+        leastSignificantBits[slot] = productId.getLeastSignificantBits();
+        rates[slot] = (float) rate;
+        minutes[slot] = minute;
+        states[slot] = SAVED;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Doubles the number of slots and puts every product back.
+     */
+    private void grow() {
+        long[] oldMost = mostSignificantBits;
+        long[] oldLeast = leastSignificantBits;
+        float[] oldRates = rates;
+        int[] oldMinutes = minutes;
+        byte[] oldStates = states;
+        allocate(oldStates.length << 1);
+        int mask = states.length - 1;
+        for (int old = 0; old < oldStates.length; old++) {
+            if (oldStates[old] != EMPTY) {
+                int slot = hash(oldMost[old], oldLeast[old]) & mask;
+                while (states[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                mostSignificantBits[slot] = oldMost[old];
+                leastSignificantBits[slot] = oldLeast[old];
+                rates[slot] = oldRates[old];
+                minutes[slot] = oldMinutes[old];
+                states[slot] = oldStates[old];
+            }
+        }
+    }
+
+    /**
+     * Allocates empty slots.
+     *
+     * @param slots the number of slots, a power of two
+     */
+    private void allocate(int slots) {
+        mostSignificantBits = new long[slots];
+        leastSignificantBits = new long[slots];
+        rates = new float[slots];
+        minutes = new int[slots];
+        states = new byte[slots];
+    }
+
+    /**
+     * Spreads the bits of a product id, random UUIDs are already well spread but others may not be.
+     *
+     * @param most  the most significant bits of the id
+     * @param least the least significant bits of the id
+     * @return the hash of the id
+     */
+    private static int hash(long most, long least) {
+        long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Converts a point in time to minutes since the epoch.
+     *
+     * @param epochMillis the point in time
+     * @return the minute since the epoch
+     */
+    private static int toMinute(long epochMillis) {
+        return (int) Math.floorDiv(epochMillis, MINUTE_MILLIS);
+    }
+}
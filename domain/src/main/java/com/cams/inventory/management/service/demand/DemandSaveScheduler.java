@@ -0,0 +1,45 @@
+package com.cams.inventory.management.service.demand;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically saves the demand rates changed since the previous run, so that they survive restarts.
+ */
+@Component
+public class DemandSaveScheduler {
+
+    /**
+     * Logger instance for logging messages in the DemandSaveScheduler class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DemandSaveScheduler.class);
+
+    /**
+     * Tracker holding the rates.
+     */
+    private final DemandTracker demandTracker;
+
+    /**
+     * Constructor for `DemandSaveScheduler`.
+     *
+     * @param demandTracker the tracker holding the rates
+     */
+    public DemandSaveScheduler(DemandTracker demandTracker) {
+        this.demandTracker = demandTracker;
+    }
+
+    /**
+     * Saves the changed demand rates.
+     *
+     * @return the number of rates saved
+     */
+    @Scheduled(initialDelayString = "${inventory.demand.save-interval-ms:300000}",
+            fixedDelayString = "${inventory.demand.save-interval-ms:300000}")
+    public int saveDemand() {
+        int rates = demandTracker.save();
+        logger.info("Saved the demand rates of {} products", rates);
+        return rates;
+    }
+}
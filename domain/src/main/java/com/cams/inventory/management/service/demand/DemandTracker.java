@@ -0,0 +1,166 @@
+package com.cams.inventory.management.service.demand;
+
+import com.cams.inventory.management.dao.demand.ProductDemandDao;
+import com.cams.inventory.management.dto.ProductDemandDto;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the demand rate of every product current in memory as orders commit, and saves it periodically.
+ * <p>
+ * The units of a new order are added to the {@link DemandRateTable} once its transaction commits, so
+ * rolled back orders are never counted; cancellations are not subtracted. The rates are read back from
+ * the database on startup and the changed ones are saved by {@link DemandSaveScheduler} and on shutdown,
+ * so a restart only loses the orders committed since the last save. Every instance tracks the orders it
+ * created and saves its own rates, so with several instances the saved rates are those of the last to save.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class DemandTracker {
+
+    /**
+     * Logger instance for logging messages in the DemandTracker class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DemandTracker.class);
+
+    /**
+     * DAO reading and saving the rates.
+     */
+    private final ProductDemandDao productDemandDao;
+
+    /**
+     * The rate of every product that sold.
+     */
+    private final DemandRateTable table;
+
+    /**
+     * Constructor for `DemandTracker`.
+     *
+     * @param productDemandDao the DAO reading and saving the rates
+     * @param halfLifeDays     the days after which a sale weighs half as much in the rate
+     * @param capacity         the number of products the table is sized for, it grows beyond it
+     */
+    public DemandTracker(ProductDemandDao productDemandDao,
+                         @Value("${inventory.demand.half-life-days:7}") double halfLifeDays,
+                         @Value("${inventory.demand.initial-capacity:1024}") int capacity) {
+        this.productDemandDao = productDemandDao;
+        this.table = new DemandRateTable(halfLifeDays, capacity);
+    }
+
+    /**
+     * Reads back the saved rates. A failure is logged and the rates build up again from the new orders.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        try {
+            int rates = productDemandDao.scanDemand(table::restore);
+            logger.info("Loaded the demand rates of {} products", rates);
+        } catch (RuntimeException ex) {
+            logger.error("Could not load the saved demand rates, starting without them", ex);
+        }
+    }
+
+    /**
+     * Adds the units of a new order to the rates once the current transaction commits, or immediately
+     * when no transaction is active.
+     *
+     * @param orderEntity the created order with its items
+     */
+    public void recordCreatedAfterCommit(OrderEntity orderEntity) {
+        TransactionUtils.runAfterCommit(() -> record(orderEntity, Instant.now()));
+    }
+
+    /**
+     * Adds units sold of a product to its rate.
+     *
+     * @param productId the unique identifier of the product
+     * @param units     the units sold
+     * @param soldAt    the time of the sale
+     */
+    public synchronized void record(UUID productId, long units, Instant soldAt) {
+        table.record(productId, units, soldAt.toEpochMilli());
+    }
+
+    /**
+     * Returns the demand rate of a product at a point in time.
+     *
+     * @param productId the unique identifier of the product
+     * @param at        the point in time
+     * @return the units sold per day, 0 for a product without recent sales
+     */
+    public synchronized double getDailyDemand(UUID productId, Instant at) {
+        return table.rateAt(productId, at.toEpochMilli());
+    }
+
+    /**
+     * Returns the demand rate of every product with a demand at a point in time, taking the lock once.
+     *
+     * @param at the point in time
+     * @return the units sold per day by product identifier, only products with a demand above 0
+     */
+    public synchronized Map<UUID, Double> getDailyDemands(Instant at) {
+        Map<UUID, Double> demands = new HashMap<>(table.size() * 4 / 3 + 1);
+        table.forEachRate(at.toEpochMilli(), demands::put);
+        return demands;
+    }
+
+    /**
+     * Saves the rates changed since the previous save. The rates are taken under the lock and written
+     * outside of it, so orders never wait on the database; if the write fails they are saved next time.
+     *
+     * @return the number of rates saved
+     */
+    public int save() {
+        List<ProductDemandDto> changed;
+        synchronized (this) {
+            changed = table.takeChanged();
+        }
+        try {
+            productDemandDao.saveDemand(changed);
+            return changed.size();
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                changed.forEach(demand -> table.markChanged(demand.getProductId()));
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Saves the changed rates before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            logger.info("Saved the demand rates of {} products on shutdown", save());
+        } catch (RuntimeException ex) {
+            logger.error("Could not save the demand rates on shutdown", ex);
+        }
+    }
+
+    /**
+     * Adds the units of every item of an order to the rates.
+     *
+     * @param orderEntity the order with its items
+     * @param soldAt      the time of the sale
+     */
+    private synchronized void record(OrderEntity orderEntity, Instant soldAt) {
+        for (OrderItemEntity item : orderEntity.getItems()) {
+            table.record(item.getProduct().getId(), item.getQuantity(), soldAt.toEpochMilli());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.cams.inventory.management.service.etag;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utility for building strong HTTP entity tags from entity versions.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Builds a strong entity tag from a single entity version.
+     *
+     * @param version the optimistic locking version of the entity
+     * @return the quoted entity tag, e.g. {@code "3"}
+     */
+    public static String ofVersion(Integer version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Builds a strong entity tag from a digest of the given parts.
+     *
+     * @param parts the values the representation depends on, in a stable order
+     * @return the quoted entity tag
+     */
+    public static String ofParts(Iterable<?> parts) {
+        StringBuilder builder = new StringBuilder();
+        for (Object part : parts) {
+            builder.append(part).append('|');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
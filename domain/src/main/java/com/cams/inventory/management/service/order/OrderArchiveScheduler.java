@@ -0,0 +1,94 @@
+package com.cams.inventory.management.service.order;
+
+import com.cams.inventory.management.dao.order.OrderDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically moves completed orders older than a minimum age from the database to the order archive.
+ * Orders are archived in chunks, each in its own transaction, so a run never holds locks on more
+ * than one chunk and a failure only rolls back the current chunk. Every chunk is written to a segment
+ * of its own; the segments of the run are merged into larger ones once it is done.
+ */
+@Component
+public class OrderArchiveScheduler {
+
+    /**
+     * Logger instance for logging messages in the OrderArchiveScheduler class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveScheduler.class);
+
+    /**
+     * DAO archiving the orders.
+     */
+    private final OrderDao orderDao;
+
+    /**
+     * Template running every chunk in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Minimum age of the archived orders, in days.
+     */
+    private final long minAgeDays;
+
+    /**
+     * Maximum number of orders per chunk, which is also the size of a segment until it is merged.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructor for `OrderArchiveScheduler`.
+     *
+     * @param orderDao            the DAO archiving the orders
+     * @param transactionTemplate the template running every chunk in its own transaction
+     * @param minAgeDays          the minimum age of the archived orders, in days
+     * @param chunkSize           the maximum number of orders per chunk
+     */
+    public OrderArchiveScheduler(OrderDao orderDao, TransactionTemplate transactionTemplate,
+                                 @Value("${inventory.order-archive.min-age-days:90}") long minAgeDays,
+                                 @Value("${inventory.order-archive.chunk-size:1000}") int chunkSize) {
+        this.orderDao = orderDao;
+        this.transactionTemplate = transactionTemplate;
+        this.minAgeDays = minAgeDays;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Archives every completed order created before the minimum age, chunk by chunk, then merges the
+     * segments of the chunks. A failed merge leaves the segments as they were, it is retried by the next run.
+     *
+     * @return the number of archived orders
+     */
+    @Scheduled(initialDelayString = "${inventory.order-archive.interval-ms:86400000}",
+            fixedDelayString = "${inventory.order-archive.interval-ms:86400000}")
+    public int archiveOrders() {
+        LocalDateTime cutoff = getCutoff();
+        int archived = 0;
+        Integer chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> orderDao.archiveOrders(cutoff, chunkSize));
+            archived += chunk == null ? 0 : chunk;
+        } while (chunk != null && chunk == chunkSize);
+        logger.info("Archived {} orders created before {}", archived, cutoff);
+        orderDao.compactArchive();
+        return archived;
+    }
+
+    /**
+     * Returns the creation date before which completed orders may have been moved to the archive.
+     * The cutoff only moves forward, so orders created at or after it are all still in the database.
+     *
+     * @return the current archive cutoff
+     */
+    public LocalDateTime getCutoff() {
+        return LocalDateTime.now().minusDays(minAgeDays);
+    }
+}
@@ -0,0 +1,73 @@
+package com.cams.inventory.management.service.order;
+
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the order history: the key (creation date, id) of the last order of a page.
+ * The next page holds the orders strictly before this key. Clients receive it as an opaque,
+ * URL-safe string and pass it back unchanged.
+ */
+@Value
+public class OrderHistoryCursor {
+
+    /**
+     * Separator between the creation date and the id in the encoded cursor.
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * The creation date of the last order of the page.
+     */
+    LocalDateTime orderCreatedDate;
+
+    /**
+     * The unique identifier of the last order of the page.
+     */
+    UUID orderId;
+
+    /**
+     * Creates the cursor pointing after the given order.
+     *
+     * @param orderEntity the last order of a page
+     * @return the cursor of the next page
+     */
+    public static OrderHistoryCursor after(OrderEntity orderEntity) {
+        return new OrderHistoryCursor(orderEntity.getOrderCreatedDate(), orderEntity.getId());
+    }
+
+    /**
+     * Decodes a cursor received from a client.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws InvalidRequestException if the cursor was not produced by {@link #encode()}
+     */
+    public static OrderHistoryCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new OrderHistoryCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid order history cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes the cursor for a client.
+     *
+     * @return the URL-safe encoded cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((orderCreatedDate.toString() + SEPARATOR + orderId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,10 +1,13 @@
 package com.cams.inventory.management.service.order;
 
 import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.dto.OrderHistoryPageDto;
 import com.cams.inventory.management.entity.constant.OrderStatus;
 import com.cams.inventory.management.request.OrderRequest;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
 
@@ -21,6 +24,46 @@ public interface OrderService {
      */
     OrderDto createOrder(OrderRequest orderRequest);
 
+    /**
+     * Retrieves an order by its unique identifier.
+     *
+     * @param orderId the unique identifier of the order
+     * @return the order as a DTO
+     */
+    OrderDto getOrder(UUID orderId);
+
+    /**
+     * Retrieves one page of the order history, newest first, optionally filtered by status and creation date.
+     *
+     * @param status the status of the orders, or null for all statuses
+     * @param from   the inclusive lower bound of the creation date, or null for no lower bound
+     * @param to     the exclusive upper bound of the creation date, or null for no upper bound
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the maximum number of orders of the page
+     * @return the page of orders and the cursor of the next page
+     */
+    OrderHistoryPageDto getOrderHistory(OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                        String cursor, int size);
+
+    /**
+     * Writes the items of the orders created in a date range as CSV, one line per item, newest order first.
+     * Completed orders older than the archive cutoff are no longer in the database, so the range must not
+     * start before it.
+     *
+     * @param from         the inclusive lower bound of the creation date, not before the archive cutoff
+     * @param to           the exclusive upper bound of the creation date
+     * @param outputStream the stream the UTF-8 encoded CSV is written to; it is flushed but not closed
+     * @return the number of exported items
+     */
+    long exportOrders(LocalDateTime from, LocalDateTime to, OutputStream outputStream);
+
+    /**
+     * Returns the creation date before which completed orders may have been moved to the order archive.
+     *
+     * @return the current archive cutoff
+     */
+    LocalDateTime getArchiveCutoff();
+
     /**
      * Updates the status of an existing order.
      *
@@ -38,4 +81,13 @@ public interface OrderService {
      * @return A map where the key is the product identifier and the value is the total amount for that product.
      */
     Map<String, BigDecimal> getProductSummaryDetails(UUID orderId);
+
+    /**
+     * Computes the entity tag of an order's product summary from the order status
+     * and the versions of the ordered products.
+     *
+     * @param orderId orderId of the summary.
+     * @return The strong entity tag of the product summary.
+     */
+    String getProductSummaryETag(UUID orderId);
 }
@@ -2,26 +2,56 @@ package com.cams.inventory.management.service.order.impl;
 
 import com.cams.inventory.management.dao.order.OrderDao;
 import com.cams.inventory.management.dao.product.ProductDao;
+import com.cams.inventory.management.dao.stock.StockLedgerDao;
 import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.dto.OrderExportRow;
+import com.cams.inventory.management.dto.OrderHistoryPageDto;
+import com.cams.inventory.management.dto.OrderSummaryVersionView;
 import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.constant.StockMovementReason;
 import com.cams.inventory.management.entity.order.OrderEntity;
 import com.cams.inventory.management.entity.order.OrderItemEntity;
 import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.entity.stock.StockMovementEntity;
 import com.cams.inventory.management.handler.InsufficientStockException;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.handler.OrderArchivedException;
 import com.cams.inventory.management.handler.ResourceNotFoundException;
 import com.cams.inventory.management.mapper.OrderMapper;
+import com.cams.inventory.management.mapper.ProductMapper;
 import com.cams.inventory.management.request.ProductItemRequest;
 import com.cams.inventory.management.request.OrderRequest;
+import com.cams.inventory.management.service.etag.EntityTags;
+import com.cams.inventory.management.service.order.OrderArchiveScheduler;
+import com.cams.inventory.management.service.order.OrderHistoryCursor;
 import com.cams.inventory.management.service.order.OrderService;
+import com.cams.inventory.management.service.demand.DemandTracker;
+import com.cams.inventory.management.service.report.SalesRollupRecorder;
+import com.cams.inventory.management.service.report.TopSellerTracker;
+import com.cams.inventory.management.service.stock.StockSeriesRecorder;
+import com.cams.inventory.management.util.MoneyUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the OrderService interface for managing orders.
@@ -33,6 +63,33 @@ import java.util.stream.Collectors;
 public class OrderServiceImpl implements OrderService {
 
     Logger logger = LoggerFactory.getLogger(OrderServiceImpl.class);
+
+    /**
+     * Largest page of the order history that can be requested.
+     */
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
+    /**
+     * Lower bound of the creation date when the history is not filtered from a date.
+     */
+    private static final LocalDateTime EARLIEST_CREATED_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Upper bound of the creation date when the history is not filtered up to a date.
+     */
+    private static final LocalDateTime LATEST_CREATED_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_000);
+
+    /**
+     * Smallest order id. Paired with the upper bound of the creation date, it makes the first
+     * page key exclude orders created at that bound.
+     */
+    private static final UUID SMALLEST_ORDER_ID = new UUID(0, 0);
+
+    /**
+     * Header line of the order export.
+     */
+    private static final String EXPORT_HEADER = "order_id,status,order_created_date,item_id,product_id,sku,"
+            + "product_name,unit_price,quantity,line_total";
     /**
      * ProductDao for managing product-related database operations.
      */
@@ -48,26 +105,83 @@ public class OrderServiceImpl implements OrderService {
      */
     private final OrderMapper orderMapper;
 
+    /**
+     * StockLedgerDao for recording every stock change in the stock ledger.
+     */
+    private final StockLedgerDao stockLedgerDao;
+
+    /**
+     * ProductMapper for transforming the cached product snapshots of an order to ProductDto objects.
+     */
+    private final ProductMapper productMapper;
+
+    /**
+     * SalesRollupRecorder for adding the created and updated orders to the sales rollups.
+     */
+    private final SalesRollupRecorder salesRollupRecorder;
+
+    /**
+     * TopSellerTracker for counting the units of the created orders in the top sellers.
+     */
+    private final TopSellerTracker topSellerTracker;
+
+    /**
+     * DemandTracker for adding the units of the created orders to the demand rates.
+     */
+    private final DemandTracker demandTracker;
+
+    /**
+     * StockSeriesRecorder for adding the new stock of the ordered products to their stock series.
+     */
+    private final StockSeriesRecorder stockSeriesRecorder;
+
+    /**
+     * OrderArchiveScheduler telling the creation date before which orders may have been archived.
+     */
+    private final OrderArchiveScheduler orderArchiveScheduler;
 
     /**
      * Constructs an instance of OrderServiceImpl with the specified dependencies.
      *
-     * @param productDao  the ProductDao for managing product-related database operations
-     * @param orderDao    the OrderDao for managing order-related database operations
-     * @param orderMapper the OrderMapper for transforming OrderEntity objects to OrderDto objects and vice versa
+     * @param productDao            the ProductDao for managing product-related database operations
+     * @param orderDao              the OrderDao for managing order-related database operations
+     * @param orderMapper           the OrderMapper for transforming OrderEntity objects to OrderDto objects and vice versa
+     * @param stockLedgerDao        the StockLedgerDao for recording stock changes in the stock ledger
+     * @param productMapper         the ProductMapper for transforming product snapshots to ProductDto objects
+     * @param salesRollupRecorder   the SalesRollupRecorder for keeping the sales rollups current
+     * @param topSellerTracker      the TopSellerTracker for tracking the best-selling products
+     * @param demandTracker         the DemandTracker for tracking the demand rate of every product
+     * @param stockSeriesRecorder   the StockSeriesRecorder for charting the stock of every product
+     * @param orderArchiveScheduler the OrderArchiveScheduler telling the archive cutoff
      */
     public OrderServiceImpl(ProductDao productDao,
                             OrderDao orderDao,
-                            OrderMapper orderMapper) {
+                            OrderMapper orderMapper,
+                            StockLedgerDao stockLedgerDao,
+                            ProductMapper productMapper,
+                            SalesRollupRecorder salesRollupRecorder,
+                            TopSellerTracker topSellerTracker,
+                            DemandTracker demandTracker,
+                            StockSeriesRecorder stockSeriesRecorder,
+                            OrderArchiveScheduler orderArchiveScheduler) {
         this.productDao = productDao;
         this.orderDao = orderDao;
         this.orderMapper = orderMapper;
+        this.stockLedgerDao = stockLedgerDao;
+        this.productMapper = productMapper;
+        this.salesRollupRecorder = salesRollupRecorder;
+        this.topSellerTracker = topSellerTracker;
+        this.demandTracker = demandTracker;
+        this.stockSeriesRecorder = stockSeriesRecorder;
+        this.orderArchiveScheduler = orderArchiveScheduler;
     }
 
     /**
      * Creates a new order based on the provided OrderRequest.
      * This method processes each order item, checks stock availability,
      * updates product stock, and saves the order with its items.
+     * Every stock change is recorded in the stock ledger in the same transaction; the sales rollups,
+     * the top sellers, the demand rates and the stock series are updated once it commits.
      *
      * @param orderRequest the request containing order details
      * @return the created OrderDto
@@ -81,12 +195,19 @@ public class OrderServiceImpl implements OrderService {
         // Create new OrderEntity (managed entity)
         OrderEntity orderEntity = new OrderEntity();
 
+        // Load all ordered products (managed entities) with a single query
+        Map<UUID, ProductEntity> productsById = productDao.findAllById(orderRequest.getOrderItems().stream()
+                        .map(orderItem -> UUID.fromString(orderItem.getProductId()))
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+
         //For each order items
         for (ProductItemRequest orderItem : orderRequest.getOrderItems()) {
 
-            // Load the managed ProductEntity from DB by ID (UUID)
+            // Look up the managed ProductEntity by ID (UUID)
             UUID productId = UUID.fromString(orderItem.getProductId());
-            ProductEntity productEntity = productDao.findById(productId)
+            ProductEntity productEntity = Optional.ofNullable(productsById.get(productId))
                     .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
             logger.info("Retrieved product: {} with stock: {}",
@@ -115,6 +236,7 @@ public class OrderServiceImpl implements OrderService {
             OrderItemEntity orderItemEntity = new OrderItemEntity();
             orderItemEntity.setProduct(productEntity);
             orderItemEntity.setQuantity(orderItem.getQuantity());
+            orderItemEntity.setUnitPriceMinor(productEntity.getPriceMinor());
             orderItemEntity.setOrder(orderEntity);
             orderEntity.setStatus(OrderStatus.COMPLETED); // Set initial status to COMPLETED
 
@@ -125,41 +247,219 @@ public class OrderServiceImpl implements OrderService {
         // Save orderEntity, cascading will save items
         OrderEntity savedOrder = orderDao.createOrder(orderEntity);
 
+        // Record the stock taken by every item
+        recordStockMovements(savedOrder, -1, StockMovementReason.ORDER_PLACED);
+
+        // Add the order to the sales rollups, the top sellers and the demand rates once it is committed
+        salesRollupRecorder.recordCreatedAfterCommit(savedOrder);
+        topSellerTracker.recordCreatedAfterCommit(savedOrder);
+        demandTracker.recordCreatedAfterCommit(savedOrder);
+
         logger.debug("Order created successfully with ID: {}", savedOrder.getId());
         // Convert saved entity to DTO and return
         return orderMapper.transformOrderEntityToOrderDto(savedOrder);
     }
 
+    /**
+     * Retrieves an order by its ID.
+     * The order is served from the order cache and its products from the product cache, so a
+     * cached order always shows the current product details and no entity is loaded on a hit.
+     *
+     * @param orderId the ID of the order
+     * @return the order as a DTO
+     * @throws ResourceNotFoundException if no order exists with the given ID
+     */
+    @Override
+    public OrderDto getOrder(UUID orderId) {
+
+        logger.debug("Fetching order with ID: {}", orderId);
+        OrderDto orderDto = orderDao.getOrderById(orderId)
+                .map(orderMapper::transformOrderSnapshotToOrderDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+
+        // Fill in the products from the product cache
+        orderDto.getItems().forEach(item -> item.setProduct(productDao.getProductById(UUID.fromString(item.getProductId()))
+                .map(productMapper::transformProductSnapshotToProductDto)
+                .orElse(null)));
+        return orderDto;
+    }
+
+    /**
+     * Retrieves one page of the order history, newest first, with keyset pagination on the
+     * creation date and id: the cursor holds the key of the last order of the previous page,
+     * so every page is an index seek followed by a short range scan, whatever its position.
+     * The items of the page are loaded in a single query.
+     * Runs read-only, so it is served by the read replica when one is configured.
+     *
+     * @param status the status of the orders, or null for all statuses
+     * @param from   the inclusive lower bound of the creation date, or null for no lower bound
+     * @param to     the exclusive upper bound of the creation date, or null for no upper bound
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size   the maximum number of orders of the page
+     * @return the page of orders and the cursor of the next page, which is null after a partial page
+     * @throws InvalidRequestException if the size is out of range or the cursor is malformed
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderHistoryPageDto getOrderHistory(OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                               String cursor, int size) {
+
+        logger.debug("Fetching order history with status: {}, from: {}, to: {}, cursor: {}, size: {}",
+                status, from, to, cursor, size);
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE + ": " + size);
+        }
+
+        // The first page starts right before the upper bound, the next ones right after the cursor
+        OrderHistoryCursor position = cursor != null
+                ? OrderHistoryCursor.decode(cursor)
+                : new OrderHistoryCursor(Optional.ofNullable(to).orElse(LATEST_CREATED_DATE), SMALLEST_ORDER_ID);
+        List<OrderEntity> orders = orderDao.getOrderHistoryPage(status,
+                Optional.ofNullable(from).orElse(EARLIEST_CREATED_DATE),
+                position.getOrderCreatedDate(), position.getOrderId(), size);
+
+        // A full page may be followed by another one
+        String nextCursor = orders.size() == size ? OrderHistoryCursor.after(orders.get(size - 1)).encode() : null;
+        return new OrderHistoryPageDto(orders.stream().map(orderMapper::transformOrderEntityToOrderDto).toList(),
+                nextCursor);
+    }
+
+    /**
+     * Writes the items of the orders created in a date range as CSV, one line per item, newest order first.
+     * Rows are streamed from the database straight into a buffered writer, so neither the rows nor the
+     * CSV are held in memory whatever the size of the export.
+     * Runs read-only, so it is served by the read replica when one is configured.
+     * Ranges starting before the archive cutoff are rejected rather than exported without the archived orders.
+     *
+     * @param from         the inclusive lower bound of the creation date, not before the archive cutoff
+     * @param to           the exclusive upper bound of the creation date
+     * @param outputStream the stream the UTF-8 encoded CSV is written to; it is flushed but not closed
+     * @return the number of exported items
+     * @throws InvalidRequestException if the range starts before the archive cutoff
+     * @throws UncheckedIOException    if the CSV cannot be written
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOrders(LocalDateTime from, LocalDateTime to, OutputStream outputStream) {
+
+        LocalDateTime cutoff = getArchiveCutoff();
+        if (from.isBefore(cutoff)) {
+            throw new InvalidRequestException("Export range starts before the archive cutoff " + cutoff + ": " + from);
+        }
+        logger.info("Exporting orders created from {} to {}", from, to);
+        // Not closed, the stream belongs to the caller
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            writer.write(EXPORT_HEADER);
+            writer.write('\n');
+            long count = orderDao.exportOrders(from, to, row -> writeExportRow(writer, row));
+            writer.flush();
+            logger.info("Exported {} order items created from {} to {}", count, from, to);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while writing the order export", e);
+        }
+    }
+
+    /**
+     * Returns the creation date before which completed orders may have been moved to the order archive.
+     *
+     * @return the current archive cutoff
+     */
+    @Override
+    public LocalDateTime getArchiveCutoff() {
+        return orderArchiveScheduler.getCutoff();
+    }
+
     /**
      * Updates the status of an existing order.
      * This method retrieves the order by ID, updates its status,
      * and saves the updated order back to the database.
+     * Cancelling an order returns its items to stock; reinstating a cancelled order takes them again.
+     * The order moves to the sales rollups of its new status once the transaction commits.
      *
      * @param orderId     the ID of the order to update
      * @param orderStatus the new status to set for the order
      * @return the updated OrderDto, or null if the order does not exist
+     * @throws InsufficientStockException if a cancelled order is reinstated without enough stock
+     * @throws OrderArchivedException     if the order was moved to the order archive
      */
     @Override
+    @Transactional
     public OrderDto updateOrderStatus(UUID orderId, OrderStatus orderStatus) {
 
         logger.debug("Updating order status for orderId: {} to status: {}", orderId, orderStatus);
         // Updated the order status for given orderId
         return orderDao.getOrderDetails(orderId).map(existingOrder -> {
+                    if (existingOrder.isArchived()) {
+                        throw new OrderArchivedException("Order is archived and can no longer be updated: " + orderId);
+                    }
+                    boolean wasCancelled = existingOrder.getStatus() == OrderStatus.CANCELLED;
+                    boolean isCancelled = orderStatus == OrderStatus.CANCELLED;
+                    if (!wasCancelled && isCancelled) {
+                        restock(existingOrder, 1, StockMovementReason.ORDER_CANCELLED);
+                    } else if (wasCancelled && !isCancelled) {
+                        restock(existingOrder, -1, StockMovementReason.ORDER_PLACED);
+                    }
+                    OrderStatus previousStatus = existingOrder.getStatus();
                     existingOrder.setStatus(orderStatus);
-                    OrderEntity updatedOrderEntity = orderDao.createOrder(existingOrder);
+                    OrderEntity updatedOrderEntity = orderDao.updateOrder(existingOrder);
+                    salesRollupRecorder.recordStatusChangeAfterCommit(updatedOrderEntity, previousStatus);
                     return orderMapper.transformOrderEntityToOrderDto(updatedOrderEntity);
                 })
                 .orElse(null);
     }
 
 
+    /**
+     * Moves the stock of every item of an order, managed products included, and records the movements.
+     *
+     * @param orderEntity the order with its items and products loaded
+     * @param direction   1 to return the items to stock, -1 to take them
+     * @param reason      the reason recorded in the stock ledger
+     * @throws InsufficientStockException if taking an item would make the stock negative
+     */
+    private void restock(OrderEntity orderEntity, int direction, StockMovementReason reason) {
+        for (OrderItemEntity item : orderEntity.getItems()) {
+            ProductEntity productEntity = item.getProduct();
+            int newStock = productEntity.getStock() + direction * item.getQuantity();
+            if (newStock < 0) {
+                throw new InsufficientStockException("Insufficient stock for product: " + productEntity.getName());
+            }
+            productEntity.setStock(newStock);
+        }
+        recordStockMovements(orderEntity, direction, reason);
+    }
+
+    /**
+     * Records one stock ledger movement per item of an order, and adds the new stock of the products
+     * to their stock series once the transaction commits.
+     *
+     * @param orderEntity the order with its items
+     * @param direction   1 if the items were returned to stock, -1 if they were taken
+     * @param reason      the reason of the movements
+     */
+    private void recordStockMovements(OrderEntity orderEntity, int direction, StockMovementReason reason) {
+        stockLedgerDao.recordMovements(orderEntity.getItems().stream()
+                .map(item -> StockMovementEntity.of(item.getProduct().getId(), direction * item.getQuantity(),
+                        reason, orderEntity.getId()))
+                .toList());
+        stockSeriesRecorder.recordAfterCommit(orderEntity.getItems().stream()
+                .map(OrderItemEntity::getProduct)
+                .toList());
+    }
+
     /**
      * Retrieves a summary of product details based on the provided order details requests.
+     * Totals are accumulated in minor currency units and converted to BigDecimal once per product.
+     * Runs read-only, so it is served by the read replica when one is configured.
      *
      * @param orderId orderId to calculate the product summary.
      * @return A map where the key is the product identifier and the value is the total amount for that product.
+     * @throws ArithmeticException if a product total overflows a long
      */
     @Override
+    @Transactional(readOnly = true)
     public Map<String, BigDecimal> getProductSummaryDetails(UUID orderId) {
 
         logger.debug("Calculating product summary details for orderId: {}", orderId);
@@ -167,10 +467,88 @@ public class OrderServiceImpl implements OrderService {
         OrderEntity orderEntity = orderDao.getOrderDetails(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
-        // Filter out order details requests that do not have items and then group by product name
-        return orderEntity.getItems().stream()
-                .collect(Collectors.groupingBy(item -> item.getProduct().getName(),
-                        Collectors.reducing(BigDecimal.ZERO, item -> item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())),
-                                BigDecimal::add)));
+        // Group by product name and sum price * quantity in minor units, without intermediate objects
+        Map<String, long[]> totalsInMinorUnits = new HashMap<>();
+        for (OrderItemEntity item : orderEntity.getItems()) {
+            long[] total = totalsInMinorUnits.computeIfAbsent(item.getProduct().getName(), name -> new long[1]);
+            total[0] = Math.addExact(total[0], Math.multiplyExact(item.getProduct().getPriceMinor(), (long) item.getQuantity()));
+        }
+
+        // Convert to BigDecimal at the API boundary
+        Map<String, BigDecimal> productSummary = new HashMap<>();
+        totalsInMinorUnits.forEach((name, total) -> productSummary.put(name, MoneyUtils.toMajorUnits(total[0])));
+        return productSummary;
+    }
+
+    /**
+     * Computes the entity tag of an order's product summary from the order status
+     * and the versions of the ordered products, without loading any entity.
+     * Runs read-only, like the summary it tags.
+     *
+     * @param orderId orderId of the summary.
+     * @return The strong entity tag of the product summary.
+     * @throws ResourceNotFoundException if the order does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getProductSummaryETag(UUID orderId) {
+
+        logger.debug("Computing entity tag for product summary of orderId: {}", orderId);
+        List<OrderSummaryVersionView> versions = orderDao.getOrderSummaryVersions(orderId);
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+
+        return EntityTags.ofParts(Stream.concat(Stream.of(versions.get(0).getStatus()),
+                        versions.stream().flatMap(version -> Stream.of(version.getProductId(), version.getProductVersion())))
+                .toList());
+    }
+
+    /**
+     * Writes one export row as a CSV line.
+     *
+     * @param writer the writer of the export
+     * @param row    the row to write
+     * @throws UncheckedIOException if the line cannot be written
+     */
+    private static void writeExportRow(Writer writer, OrderExportRow row) {
+        try {
+            long priceMinor = row.getUnitPriceMinor();
+            writer.write(row.getOrderId().toString());
+            writer.write(',');
+            writer.write(row.getStatus().name());
+            writer.write(',');
+            writer.write(row.getOrderCreatedDate().toString());
+            writer.write(',');
+            writer.write(row.getItemId().toString());
+            writer.write(',');
+            writer.write(row.getProductId().toString());
+            writer.write(',');
+            writer.write(csvField(row.getSku()));
+            writer.write(',');
+            writer.write(csvField(row.getProductName()));
+            writer.write(',');
+            writer.write(MoneyUtils.toMajorUnits(priceMinor).toPlainString());
+            writer.write(',');
+            writer.write(row.getQuantity().toString());
+            writer.write(',');
+            writer.write(MoneyUtils.toMajorUnits(Math.multiplyExact(priceMinor, (long) row.getQuantity())).toPlainString());
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while writing the order export", e);
+        }
+    }
+
+    /**
+     * Quotes a free-text CSV field when it contains a separator, a quote or a line break.
+     *
+     * @param value the value of the field
+     * @return the value, quoted with inner quotes doubled if needed
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
 }
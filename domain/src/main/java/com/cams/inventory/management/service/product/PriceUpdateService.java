@@ -0,0 +1,30 @@
+package com.cams.inventory.management.service.product;
+
+import com.cams.inventory.management.dto.PriceUpdateProgressDto;
+import com.cams.inventory.management.request.ProductPriceChangeRequest;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for updating product prices in bulk from a price feed.
+ */
+public interface PriceUpdateService {
+
+    /**
+     * Checks that a price feed can be applied, before any of it is.
+     *
+     * @param changes the lines of the feed
+     */
+    void checkPriceChanges(List<ProductPriceChangeRequest> changes);
+
+    /**
+     * Replaces the prices of the products of the lines of a feed, reporting the progress after every chunk.
+     *
+     * @param changes         the lines of the feed
+     * @param progressHandler the handler receiving the progress after every chunk
+     * @return the progress after the last chunk, the outcome of the whole feed
+     */
+    PriceUpdateProgressDto updatePrices(List<ProductPriceChangeRequest> changes,
+                                        Consumer<PriceUpdateProgressDto> progressHandler);
+}
@@ -1,10 +1,17 @@
 package com.cams.inventory.management.service.product;
 
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ReorderPointDto;
+import com.cams.inventory.management.dto.ReorderProductDto;
+import com.cams.inventory.management.dto.StockLevelDto;
+import com.cams.inventory.management.dto.StockSeriesDto;
 import com.cams.inventory.management.request.ProductRequest;
 import org.springframework.data.util.Pair;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 
 /**
@@ -27,4 +34,94 @@ public interface ProductService {
      * @return a list of ProductDto objects representing products with low stock
      */
     List<ProductDto> getLowStockProducts(int stockThreshold);
+
+    /**
+     * Retrieves the products projected to run out of stock within a horizon at their current demand rate,
+     * soonest first.
+     *
+     * @param horizonDays the days ahead the stock is projected
+     * @param limit       the maximum number of products
+     * @return the products needing a reorder, by ascending days until stockout
+     */
+    List<ReorderProductDto> getReorderProducts(int horizonDays, int limit);
+
+    /**
+     * Retrieves the products whose stock is at or below their own reorder threshold.
+     *
+     * @return the products needing replenishment, ordered by id
+     */
+    List<ReorderPointDto> getProductsAtReorderPoint();
+
+    /**
+     * Retrieves a product by its unique identifier.
+     *
+     * @param productId the unique identifier of the product
+     * @return the ProductDto of the requested product
+     */
+    ProductDto getProductById(UUID productId);
+
+    /**
+     * Computes the entity tag of a product from its version.
+     *
+     * @param productId the unique identifier of the product
+     * @return the strong entity tag of the product
+     */
+    String getProductETag(UUID productId);
+
+    /**
+     * Computes the entity tag of the low-stock product list from the versions of its products.
+     *
+     * @param stockThreshold the stock level threshold to filter low-stock products
+     * @return the strong entity tag of the low-stock product list
+     */
+    String getLowStockProductsETag(int stockThreshold);
+
+    /**
+     * Replaces the stock of a product if the product is still at the expected version.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version taken from the If-Match precondition
+     * @param stock           the new stock of the product
+     * @return a pair containing the updated ProductDto and its new entity tag
+     */
+    Pair<ProductDto, String> updateProductStock(UUID productId, int expectedVersion, int stock);
+
+    /**
+     * Replaces the price of a product if the product is still at the expected version.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version taken from the If-Match precondition
+     * @param price           the new price of the product
+     * @return a pair containing the updated ProductDto and its new entity tag
+     */
+    Pair<ProductDto, String> updateProductPrice(UUID productId, int expectedVersion, BigDecimal price);
+
+    /**
+     * Replaces the reorder threshold of a product if the product is still at the expected version.
+     *
+     * @param productId        the unique identifier of the product
+     * @param expectedVersion  the version taken from the If-Match precondition
+     * @param reorderThreshold the new reorder threshold of the product
+     * @return a pair containing the updated ProductDto and its new entity tag
+     */
+    Pair<ProductDto, String> updateProductReorderThreshold(UUID productId, int expectedVersion, int reorderThreshold);
+
+    /**
+     * Retrieves the stock of a product at a point in time from the stock ledger.
+     *
+     * @param productId the unique identifier of the product
+     * @param asOf      the point in time
+     * @return the stock level of the product at that time
+     */
+    StockLevelDto getStockAsOf(UUID productId, LocalDateTime asOf);
+
+    /**
+     * Retrieves the stock of a product over a time range from its compressed stock series.
+     *
+     * @param productId the unique identifier of the product
+     * @param from      the inclusive start of the range
+     * @param to        the exclusive end of the range
+     * @return the stock at the start of the range and every change within it
+     */
+    StockSeriesDto getStockSeries(UUID productId, LocalDateTime from, LocalDateTime to);
 }
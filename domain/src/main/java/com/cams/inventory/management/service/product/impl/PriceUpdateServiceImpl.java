@@ -0,0 +1,274 @@
+package com.cams.inventory.management.service.product.impl;
+
+import com.cams.inventory.management.dao.product.PriceUpdateDao;
+import com.cams.inventory.management.dao.product.ProductKeyDao;
+import com.cams.inventory.management.dto.PriceChangeLineDto;
+import com.cams.inventory.management.dto.PriceUpdateProgressDto;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.request.ProductPriceChangeRequest;
+import com.cams.inventory.management.service.product.PriceUpdateService;
+import com.cams.inventory.management.util.MoneyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the PriceUpdateService interface.
+ * The lines of a feed are applied in chunks, each in its own transaction: the products of a chunk are
+ * looked up by id and SKU in two queries and their prices replaced by one batch of UPDATE statements;
+ * when a product appears more than once in a chunk, its last line wins. A chunk that fails is rolled
+ * back and its lines reported as failed; the chunks before it stay applied. The progress is reported
+ * after every chunk, once it committed; a handler that fails stops the feed there.
+ */
+@Service("priceUpdateServiceImplV1")
+public class PriceUpdateServiceImpl implements PriceUpdateService {
+
+    /**
+     * Logger instance for logging messages in the PriceUpdateServiceImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PriceUpdateServiceImpl.class);
+
+    /**
+     * Largest number of lines a feed can have.
+     */
+    private static final int MAX_PRICE_CHANGES = 100_000;
+
+    /**
+     * Largest number of digits of a price before the decimal point.
+     */
+    private static final int MAX_PRICE_INTEGER_DIGITS = 15;
+
+    /**
+     * Largest number of decimal places of a price, the scale prices are stored at.
+     */
+    private static final int MAX_PRICE_FRACTION_DIGITS = 2;
+
+    /**
+     * DAO looking up the products by id and SKU.
+     */
+    private final ProductKeyDao productKeyDao;
+
+    /**
+     * DAO replacing the prices of the products.
+     */
+    private final PriceUpdateDao priceUpdateDao;
+
+    /**
+     * Template running every chunk in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Number of lines applied per transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructor for `PriceUpdateServiceImpl`.
+     *
+     * @param productKeyDao      the DAO looking up the products by id and SKU
+     * @param priceUpdateDao     the DAO replacing the prices of the products
+     * @param transactionManager the transaction manager of the products
+     * @param chunkSize          the number of lines applied per transaction
+     */
+    public PriceUpdateServiceImpl(ProductKeyDao productKeyDao, PriceUpdateDao priceUpdateDao,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${inventory.price-update.chunk-size:1000}") int chunkSize) {
+        this.productKeyDao = productKeyDao;
+        this.priceUpdateDao = priceUpdateDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Checks that a price feed has at least one line and not too many.
+     *
+     * @param changes the lines of the feed
+     * @throws InvalidRequestException if the feed has no line or too many
+     */
+    @Override
+    public void checkPriceChanges(List<ProductPriceChangeRequest> changes) {
+        if (changes == null || changes.isEmpty() || changes.size() > MAX_PRICE_CHANGES) {
+            throw new InvalidRequestException("A price feed must have between 1 and " + MAX_PRICE_CHANGES + " lines");
+        }
+    }
+
+    /**
+     * Replaces the prices of the products of the lines of a feed, a chunk of lines per transaction,
+     * reporting the progress after every chunk.
+     *
+     * @param changes         the lines of the feed
+     * @param progressHandler the handler receiving the progress after every chunk
+     * @return the progress after the last chunk, the outcome of the whole feed
+     * @throws InvalidRequestException if the feed has no line or too many
+     */
+    @Override
+    public PriceUpdateProgressDto updatePrices(List<ProductPriceChangeRequest> changes,
+                                               Consumer<PriceUpdateProgressDto> progressHandler) {
+        checkPriceChanges(changes);
+        int chunks = (changes.size() + chunkSize - 1) / chunkSize;
+        logger.info("Updating prices of {} lines in {} chunks of {}", changes.size(), chunks, chunkSize);
+        long start = System.nanoTime();
+        PriceUpdateProgressDto progress = new PriceUpdateProgressDto(-1, chunks, 0, changes.size(), 0, 0, 0, 0,
+                List.of());
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = chunk * chunkSize;
+            int to = Math.min(from + chunkSize, changes.size());
+            List<PriceChangeLineDto> rejections = new ArrayList<>();
+            int updated;
+            try {
+                updated = transactionTemplate.execute(status -> updateChunk(changes, from, to, rejections));
+            } catch (RuntimeException ex) {
+                // The chunk was rolled back, outcomes it may have set no longer hold
+                logger.error("Could not update the prices of lines {} to {}", from, to - 1, ex);
+                updated = 0;
+                rejections.clear();
+                for (int i = from; i < to; i++) {
+                    rejections.add(rejected(i, changes.get(i), PriceChangeLineDto.Status.FAILED, ex.getMessage()));
+                }
+            }
+            int unchanged = to - from - updated - rejections.size();
+            progress = new PriceUpdateProgressDto(chunk, chunks, to, changes.size(),
+                    progress.getUpdated() + updated, progress.getUnchanged() + unchanged,
+                    progress.getRejected() + rejections.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), rejections);
+            logger.info("Price feed chunk {}/{} done: {} of {} lines, {} updated, {} unchanged, {} rejected",
+                    chunk + 1, chunks, to, changes.size(), progress.getUpdated(), progress.getUnchanged(),
+                    progress.getRejected());
+            progressHandler.accept(progress);
+        }
+        return progress;
+    }
+
+    /**
+     * Applies a chunk of lines in the current transaction.
+     *
+     * @param changes    the lines of the feed
+     * @param from       the position of the first line of the chunk
+     * @param to         the position after the last line of the chunk
+     * @param rejections the lines of the chunk not applied, added in the order of the feed
+     * @return the number of lines of the chunk that changed the price of their product
+     */
+    private int updateChunk(List<ProductPriceChangeRequest> changes, int from, int to,
+                            List<PriceChangeLineDto> rejections) {
+        // Check the lines; the valid ones are identified by id or SKU
+        UUID[] lineProductIds = new UUID[to - from];
+        boolean[] invalid = new boolean[to - from];
+        Set<UUID> productIds = new HashSet<>();
+        Set<String> skus = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            ProductPriceChangeRequest change = changes.get(i);
+            String error = checkChange(change);
+            if (error != null) {
+                invalid[i - from] = true;
+                rejections.add(rejected(i, change, PriceChangeLineDto.Status.INVALID, error));
+            } else if (StringUtils.hasText(change.getProductId())) {
+                lineProductIds[i - from] = UUID.fromString(change.getProductId());
+                productIds.add(lineProductIds[i - from]);
+            } else {
+                skus.add(change.getSku());
+            }
+        }
+
+        // Find the products; a later line of the same product replaces the price of an earlier one
+        Set<UUID> found = new HashSet<>();
+        Map<String, UUID> idsBySku = new HashMap<>();
+        productKeyDao.findProducts(productIds, skus, (productId, sku) -> {
+            found.add(productId);
+            idsBySku.put(sku, productId);
+        });
+        SortedMap<UUID, Long> prices = new TreeMap<>();
+        for (int i = from; i < to; i++) {
+            if (invalid[i - from]) {
+                continue;
+            }
+            ProductPriceChangeRequest change = changes.get(i);
+            UUID productId = lineProductIds[i - from] != null ? lineProductIds[i - from] : idsBySku.get(change.getSku());
+            if (productId == null || !found.contains(productId)) {
+                rejections.add(rejected(i, change, PriceChangeLineDto.Status.NOT_FOUND, "Product not found"));
+                lineProductIds[i - from] = null;
+                continue;
+            }
+            lineProductIds[i - from] = productId;
+            // Prices are stored in minor currency units
+            prices.put(productId, MoneyUtils.toMinorUnits(change.getPrice()));
+        }
+        rejections.sort((first, second) -> Integer.compare(first.getIndex(), second.getIndex()));
+
+        // Replace the prices; the lines of the products that already had theirs are unchanged
+        Set<UUID> changed = priceUpdateDao.updatePrices(prices);
+        int updated = 0;
+        for (UUID productId : lineProductIds) {
+            if (productId != null && changed.contains(productId)) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Checks that a line identifies a product by exactly one of its id and SKU and has a valid price.
+     *
+     * @param change the line
+     * @return the reason the line is invalid, or null if it is valid
+     */
+    private static String checkChange(ProductPriceChangeRequest change) {
+        if (change == null) {
+            return "Line is missing";
+        }
+        BigDecimal price = change.getPrice();
+        if (price == null || price.signum() < 0) {
+            return "Price must be present and not negative";
+        }
+        if (price.scale() > MAX_PRICE_FRACTION_DIGITS
+                || price.precision() - price.scale() > MAX_PRICE_INTEGER_DIGITS) {
+            return "Price must have at most " + MAX_PRICE_INTEGER_DIGITS + " digits and "
+                    + MAX_PRICE_FRACTION_DIGITS + " decimal places";
+        }
+        boolean hasProductId = StringUtils.hasText(change.getProductId());
+        if (hasProductId == StringUtils.hasText(change.getSku())) {
+            return "Exactly one of productId and sku is required";
+        }
+        if (hasProductId) {
+            try {
+                UUID.fromString(change.getProductId());
+            } catch (IllegalArgumentException ex) {
+                return "Malformed productId: " + change.getProductId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the outcome of a line that was not applied.
+     *
+     * @param index  the position of the line
+     * @param change the line
+     * @param status the reason
+     * @param error  the description of the reason
+     * @return the outcome of the line
+     */
+    private static PriceChangeLineDto rejected(int index, ProductPriceChangeRequest change,
+                                               PriceChangeLineDto.Status status, String error) {
+        return change == null
+                ? new PriceChangeLineDto(index, null, null, null, status, error)
+                : new PriceChangeLineDto(index, change.getProductId(), change.getSku(), change.getPrice(), status, error);
+    }
+}
@@ -1,20 +1,49 @@
 package com.cams.inventory.management.service.product.impl;
 
 import com.cams.inventory.management.dao.product.ProductDao;
+import com.cams.inventory.management.dao.product.ProductKeyDao;
+import com.cams.inventory.management.dao.stock.StockLedgerDao;
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ReorderPointDto;
+import com.cams.inventory.management.dto.ReorderProductDto;
+import com.cams.inventory.management.dto.StockLevelDto;
+import com.cams.inventory.management.dto.StockSeriesDto;
+import com.cams.inventory.management.dto.StockSeriesPointDto;
+import com.cams.inventory.management.entity.constant.StockMovementReason;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.entity.stock.StockMovementEntity;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.handler.PreconditionFailedException;
+import com.cams.inventory.management.handler.ResourceNotFoundException;
 import com.cams.inventory.management.mapper.ProductMapper;
 import com.cams.inventory.management.request.ProductRequest;
+import com.cams.inventory.management.service.demand.DemandTracker;
+import com.cams.inventory.management.service.etag.EntityTags;
 import com.cams.inventory.management.service.product.ProductService;
+import com.cams.inventory.management.service.stock.StockSeriesRecorder;
+import com.cams.inventory.management.util.MoneyUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for handling product-related operations.
@@ -28,6 +57,16 @@ public class ProductServiceImpl implements ProductService {
      */
     Logger logger = LoggerFactory.getLogger(ProductServiceImpl.class);
 
+    /**
+     * Largest number of products a reorder list returns.
+     */
+    private static final int MAX_REORDER_LIMIT = 1000;
+
+    /**
+     * Largest number of stock changes a stock series returns.
+     */
+    private static final int MAX_SERIES_POINTS = 10_000;
+
     /**
      * Data Access Object (DAO) for product operations.
      */
@@ -38,26 +77,60 @@ public class ProductServiceImpl implements ProductService {
      */
     private final ProductMapper productMapper;
 
+    /**
+     * DAO recording every stock change in the stock ledger.
+     */
+    private final StockLedgerDao stockLedgerDao;
+
+    /**
+     * DAO reading the stock of the products for the reorder projection.
+     */
+    private final ProductKeyDao productKeyDao;
+
+    /**
+     * Tracker of the demand rate of every product.
+     */
+    private final DemandTracker demandTracker;
+
+    /**
+     * Recorder of the compressed stock series of every product.
+     */
+    private final StockSeriesRecorder stockSeriesRecorder;
+
     /**
      * Constructor for `ProductServiceImpl`.
      *
-     * @param productDao    the DAO layer for product operations
-     * @param productMapper the mapper for transforming product data
+     * @param productDao          the DAO layer for product operations
+     * @param productMapper       the mapper for transforming product data
+     * @param stockLedgerDao      the DAO recording stock changes in the stock ledger
+     * @param productKeyDao       the DAO reading the stock of the products by id
+     * @param demandTracker       the tracker of the demand rate of every product
+     * @param stockSeriesRecorder the recorder of the stock series of every product
      */
     public ProductServiceImpl(ProductDao productDao,
-                              ProductMapper productMapper) {
+                              ProductMapper productMapper,
+                              StockLedgerDao stockLedgerDao,
+                              ProductKeyDao productKeyDao,
+                              DemandTracker demandTracker,
+                              StockSeriesRecorder stockSeriesRecorder) {
         this.productDao = productDao;
         this.productMapper = productMapper;
+        this.stockLedgerDao = stockLedgerDao;
+        this.productKeyDao = productKeyDao;
+        this.demandTracker = demandTracker;
+        this.stockSeriesRecorder = stockSeriesRecorder;
     }
 
 
     /**
      * Creates a product based on the provided product requests.
+     * The initial stock of every created product is recorded in the stock ledger in the same transaction.
      *
      * @param productRequestList List of product requests to create products from.
      * @return A pair containing a list of created ProductDto objects and a list of error messages (if any).
      */
     @Override
+    @Transactional
     public Pair<List<ProductDto>, List<String>> createProduct(List<ProductRequest> productRequestList) {
 
         logger.debug("Creating products from the provided product request list: {}", productRequestList);
@@ -97,6 +170,19 @@ public class ProductServiceImpl implements ProductService {
         // Insert into DB
         if (!productDtos.isEmpty()) {
             productDtos = productDao.createProduct(productDtos);
+
+            // Record the initial stock of the created products
+            stockLedgerDao.recordMovements(productDtos.stream()
+                    .filter(productDto -> productDto.getStock() != null && productDto.getStock() != 0)
+                    .map(productDto -> StockMovementEntity.of(UUID.fromString(productDto.getId()), productDto.getStock(),
+                            StockMovementReason.PRODUCT_CREATED, null))
+                    .toList());
+
+            // Start the stock series of the created products once they are committed, at their first version
+            productDtos.stream()
+                    .filter(productDto -> productDto.getStock() != null)
+                    .forEach(productDto -> stockSeriesRecorder.recordAfterCommit(UUID.fromString(productDto.getId()),
+                            productDto.getStock(), 0));
         }
 
         //Return both the inserted products and erred items.
@@ -105,22 +191,311 @@ public class ProductServiceImpl implements ProductService {
 
     /**
      * Retrieves a list of products that have stock below a specified threshold.
+     * Runs read-only, so it is served by the read replica when one is configured.
      *
      * @param stockThreshold The stock level below which products are considered low stock.
      * @return A list of ProductDto objects representing products with stock below the threshold.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDto> getLowStockProducts(int stockThreshold) {
 
         logger.debug("Fetching products with stock below the threshold: {}", stockThreshold);
-        // Fetch all products with stock below the threshold
-        List<ProductDto> productsList = productDao.getAllProducts();
+        // Fetch all products with stock below the threshold, filtered by the database
+        List<ProductDto> productsList = productDao.getLowStockProducts(stockThreshold);
+
+        logger.info("Total low stock products fetched from the database: {}", productsList.size());
+        return productsList;
+    }
 
-        logger.info("Total products fetched from the database: {}", productsList.size());
+    /**
+     * Retrieves the products whose stock is at or below their own reorder threshold.
+     * The flag is maintained by the database on every stock write, so the cost follows the number of
+     * flagged products, not the size of the catalog. Runs read-only, on the read replica.
+     *
+     * @return the products needing replenishment, ordered by id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReorderPointDto> getProductsAtReorderPoint() {
 
-        // Filter products that are below the stock threshold
-        return productsList.stream()
-                .filter(p -> p.getStock() < stockThreshold)
-                .toList();
+        logger.debug("Fetching products at or below their reorder threshold");
+        List<ReorderPointDto> products = productDao.getProductsAtReorderPoint();
+        logger.info("Total products at their reorder point: {}", products.size());
+        return products;
+    }
+
+    /**
+     * Retrieves the products projected to run out of stock within a horizon at their demand rate.
+     * The products with a demand are taken from the demand tracker in one pass, their stock is read by id
+     * in one query without loading entities and divided by their rate; only the soonest ones are kept in a
+     * bounded heap, and only their names are loaded. Products without recent sales never run out and are
+     * never read. Runs read-only, on the read replica.
+     *
+     * @param horizonDays the days ahead the stock is projected
+     * @param limit       the maximum number of products
+     * @return the products needing a reorder, by ascending days until stockout
+     * @throws InvalidRequestException if the horizon or the limit is out of range
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReorderProductDto> getReorderProducts(int horizonDays, int limit) {
+
+        if (horizonDays < 1 || limit < 1 || limit > MAX_REORDER_LIMIT) {
+            throw new InvalidRequestException("Horizon must be at least 1 day and limit between 1 and "
+                    + MAX_REORDER_LIMIT + ": " + horizonDays + ", " + limit);
+        }
+        logger.debug("Projecting stockouts within {} days", horizonDays);
+        Instant now = Instant.now();
+        // Max-heap on the days until stockout, the latest of the kept products is replaced first
+        Comparator<ReorderProductDto> soonestFirst = Comparator.comparingDouble(ReorderProductDto::getDaysUntilStockout);
+        PriorityQueue<ReorderProductDto> soonest = new PriorityQueue<>(limit + 1, soonestFirst.reversed());
+        // Only products with a demand can run out, their stock is read by id in one query
+        Map<UUID, Double> dailyDemands = demandTracker.getDailyDemands(now);
+        productKeyDao.scanStock(dailyDemands.keySet(), (productId, stock, version) -> {
+            double dailyDemand = dailyDemands.get(productId);
+            double daysUntilStockout = Math.max(0, stock) / dailyDemand;
+            if (daysUntilStockout > horizonDays
+                    || soonest.size() == limit && daysUntilStockout >= soonest.peek().getDaysUntilStockout()) {
+                return;
+            }
+            soonest.add(new ReorderProductDto(productId.toString(), null, stock, dailyDemand, daysUntilStockout));
+            if (soonest.size() > limit) {
+                soonest.poll();
+            }
+        });
+
+        // Name the kept products with a single query
+        Map<UUID, ProductEntity> productsById = productDao.findAllById(soonest.stream()
+                        .map(product -> UUID.fromString(product.getProductId()))
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+        List<ReorderProductDto> reorderProducts = soonest.stream().sorted(soonestFirst).toList();
+        reorderProducts.forEach(product -> product.setName(productsById.get(UUID.fromString(product.getProductId())).getName()));
+        logger.info("Found {} products running out of stock within {} days", reorderProducts.size(), horizonDays);
+        return reorderProducts;
+    }
+
+    /**
+     * Retrieves a product by its unique identifier.
+     * The product is served from the product cache whenever possible. Misses are loaded from the
+     * primary, so a lagging read replica never puts an outdated snapshot into the cache.
+     *
+     * @param productId the unique identifier of the product
+     * @return the ProductDto of the requested product
+     * @throws ResourceNotFoundException if no product exists with the given ID
+     */
+    @Override
+    public ProductDto getProductById(UUID productId) {
+
+        logger.debug("Fetching product with ID: {}", productId);
+        return productDao.getProductById(productId)
+                .map(productMapper::transformProductSnapshotToProductDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+    }
+
+    /**
+     * Computes the entity tag of a product from its version.
+     * The version is read from the product cache, so no entity is loaded on a hit.
+     *
+     * @param productId the unique identifier of the product
+     * @return the strong entity tag of the product
+     * @throws ResourceNotFoundException if no product exists with the given ID
+     */
+    @Override
+    public String getProductETag(UUID productId) {
+
+        logger.debug("Computing entity tag for product with ID: {}", productId);
+        return productDao.getProductById(productId)
+                .map(snapshot -> EntityTags.ofVersion(snapshot.getVersion()))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+    }
+
+    /**
+     * Computes the entity tag of the low-stock product list from the ids and versions of its products.
+     * Any stock change bumps the product version, so the tag changes whenever the list does.
+     * Runs read-only, like the list it tags.
+     *
+     * @param stockThreshold the stock level threshold to filter low-stock products
+     * @return the strong entity tag of the low-stock product list
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getLowStockProductsETag(int stockThreshold) {
+
+        logger.debug("Computing entity tag for products with stock below the threshold: {}", stockThreshold);
+        return EntityTags.ofParts(productDao.getLowStockProductVersions(stockThreshold).stream()
+                .flatMap(version -> Stream.of(version.getId(), version.getVersion()))
+                .toList());
+    }
+
+    /**
+     * Replaces the stock of a product if the product is still at the expected version.
+     * The stock at that version is read first so that the change can be recorded in the stock ledger;
+     * the write is still a single conditional UPDATE on the version, so no lock is held.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version taken from the If-Match precondition
+     * @param stock           the new stock of the product
+     * @return a pair containing the updated ProductDto and its new entity tag
+     * @throws PreconditionFailedException if the product is no longer at the expected version
+     * @throws ResourceNotFoundException   if no product exists with the given ID
+     */
+    @Override
+    @Transactional
+    public Pair<ProductDto, String> updateProductStock(UUID productId, int expectedVersion, int stock) {
+
+        logger.debug("Updating stock of product {} at version {} to {}", productId, expectedVersion, stock);
+        Integer previousStock = productDao.getStockAtVersion(productId, expectedVersion).orElse(null);
+        if (previousStock == null || !productDao.updateStock(productId, expectedVersion, stock)) {
+            throw conditionalUpdateFailure(productId, expectedVersion);
+        }
+
+        // Record the change; the version check guarantees nothing changed the stock in between
+        if (stock != previousStock) {
+            stockLedgerDao.recordMovements(List.of(StockMovementEntity.of(productId, stock - previousStock,
+                    StockMovementReason.STOCK_ADJUSTED, null)));
+        }
+        // The conditional update bumped the version by one
+        stockSeriesRecorder.recordAfterCommit(productId, stock, expectedVersion + 1);
+        return getUpdatedProduct(productId);
+    }
+
+    /**
+     * Replaces the price of a product if the product is still at the expected version.
+     * The version check and the write are a single conditional UPDATE, so no lock is held
+     * and no read precedes the write.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version taken from the If-Match precondition
+     * @param price           the new price of the product
+     * @return a pair containing the updated ProductDto and its new entity tag
+     * @throws PreconditionFailedException if the product is no longer at the expected version
+     * @throws ResourceNotFoundException   if no product exists with the given ID
+     */
+    @Override
+    @Transactional
+    public Pair<ProductDto, String> updateProductPrice(UUID productId, int expectedVersion, BigDecimal price) {
+
+        logger.debug("Updating price of product {} at version {} to {}", productId, expectedVersion, price);
+        // Prices are stored in minor currency units
+        if (!productDao.updatePrice(productId, expectedVersion, MoneyUtils.toMinorUnits(price))) {
+            throw conditionalUpdateFailure(productId, expectedVersion);
+        }
+        return getUpdatedProduct(productId);
+    }
+
+    /**
+     * Replaces the reorder threshold of a product if the product is still at the expected version.
+     * Like a price change, the version check and the write are a single conditional UPDATE; the
+     * database flags or unflags the product for replenishment in the same statement.
+     *
+     * @param productId        the unique identifier of the product
+     * @param expectedVersion  the version taken from the If-Match precondition
+     * @param reorderThreshold the new reorder threshold of the product
+     * @return a pair containing the updated ProductDto and its new entity tag
+     * @throws PreconditionFailedException if the product is no longer at the expected version
+     * @throws ResourceNotFoundException   if no product exists with the given ID
+     */
+    @Override
+    @Transactional
+    public Pair<ProductDto, String> updateProductReorderThreshold(UUID productId, int expectedVersion, int reorderThreshold) {
+
+        logger.debug("Updating reorder threshold of product {} at version {} to {}", productId, expectedVersion, reorderThreshold);
+        if (!productDao.updateReorderThreshold(productId, expectedVersion, reorderThreshold)) {
+            throw conditionalUpdateFailure(productId, expectedVersion);
+        }
+        return getUpdatedProduct(productId);
+    }
+
+    /**
+     * Retrieves the stock of a product at a point in time from the stock ledger:
+     * the nearest snapshot at or before that time plus the movements after it.
+     *
+     * @param productId the unique identifier of the product
+     * @param asOf      the point in time
+     * @return the stock level of the product at that time
+     * @throws ResourceNotFoundException if no product exists with the given ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public StockLevelDto getStockAsOf(UUID productId, LocalDateTime asOf) {
+
+        logger.debug("Computing stock of product {} as of {}", productId, asOf);
+        if (!productDao.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        return new StockLevelDto(productId.toString(), asOf, stockLedgerDao.getStockAsOf(productId, asOf));
+    }
+
+    /**
+     * Retrieves the stock of a product over a time range from its compressed stock series; only the
+     * chunks of the series overlapping the range are decoded. When the series has no point before the
+     * range, the stock at its start is computed from the stock ledger instead.
+     *
+     * @param productId the unique identifier of the product
+     * @param from      the inclusive start of the range
+     * @param to        the exclusive end of the range
+     * @return the stock at the start of the range and every change within it
+     * @throws InvalidRequestException   if the range is empty or holds too many changes
+     * @throws ResourceNotFoundException if no product exists with the given ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public StockSeriesDto getStockSeries(UUID productId, LocalDateTime from, LocalDateTime to) {
+
+        logger.debug("Retrieving stock series of product {} from {} to {}", productId, from, to);
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("The start of the range must be before its end");
+        }
+        if (!productDao.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        Instant start = from.atZone(zone).toInstant();
+        List<StockSeriesPointDto> points = new ArrayList<>();
+        stockSeriesRecorder.scan(productId, start, to.atZone(zone).toInstant(), (millis, stock) -> {
+            if (points.size() == MAX_SERIES_POINTS) {
+                throw new InvalidRequestException("The range holds more than " + MAX_SERIES_POINTS
+                        + " stock changes, narrow it");
+            }
+            points.add(new StockSeriesPointDto(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone), stock));
+        });
+
+        // The stock at the start is that of the last point before it, or else the ledger's
+        OptionalInt initialStock = stockSeriesRecorder.getStockBefore(productId, start);
+        return new StockSeriesDto(productId.toString(), from, to,
+                initialStock.isPresent() ? initialStock.getAsInt() : stockLedgerDao.getStockAsOf(productId, from),
+                points);
+    }
+
+    /**
+     * Reads back a product written in the current transaction together with its new entity tag.
+     *
+     * @param productId the unique identifier of the product
+     * @return a pair containing the ProductDto and its entity tag
+     */
+    private Pair<ProductDto, String> getUpdatedProduct(UUID productId) {
+        ProductEntity productEntity = productDao.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        return Pair.of(productMapper.transformProductEntityToProductDto(productEntity),
+                EntityTags.ofVersion(productEntity.getVersion()));
+    }
+
+    /**
+     * Explains why a conditional update did not change any row.
+     * Only this failure path pays for the existence check.
+     *
+     * @param productId       the unique identifier of the product
+     * @param expectedVersion the version taken from the If-Match precondition
+     * @return the exception to throw
+     */
+    private RuntimeException conditionalUpdateFailure(UUID productId, int expectedVersion) {
+        if (!productDao.existsById(productId)) {
+            return new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        return new PreconditionFailedException("Product " + productId + " is no longer at version " + expectedVersion
+                + ". Fetch the product again and retry with its current ETag.");
     }
 }
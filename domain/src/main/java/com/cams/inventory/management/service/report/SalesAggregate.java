@@ -0,0 +1,332 @@
+package com.cams.inventory.management.service.report;
+
+import com.cams.inventory.management.dao.report.SalesReportDao;
+import com.cams.inventory.management.dto.SalesFiguresDto;
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.util.MoneyUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Running totals of the units sold, the revenue and the number of orders of a time range, in total,
+ * per product, per day and per order status, added up from order items or from rollup rows.
+ * <p>
+ * Every figure is a primitive long in parallel arrays: a product is mapped once to its slot, days are
+ * indexed from the first day of the range and statuses by ordinal, so adding an item allocates nothing.
+ * Orders are counted as their items arrive, which must be one order after the other.
+ * Amounts are in minor units and overflow fails instead of wrapping. An aggregate is not thread-safe;
+ * each partition fills its own and the partitions are merged once they are done.
+ */
+public final class SalesAggregate implements SalesReportDao.SaleHandler, SalesReportDao.RollupHandler {
+
+    /**
+     * Number of product slots allocated up front; the arrays double when they are full.
+     */
+    private static final int INITIAL_PRODUCT_CAPACITY = 64;
+
+    /**
+     * Every order status, indexed by ordinal.
+     */
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    /**
+     * Slot of every product seen.
+     */
+    private final Map<UUID, Integer> productSlots = new HashMap<>();
+
+    /**
+     * Product of every slot.
+     */
+    private UUID[] products = new UUID[INITIAL_PRODUCT_CAPACITY];
+
+    /**
+     * Units sold per product slot.
+     */
+    private long[] productUnits = new long[INITIAL_PRODUCT_CAPACITY];
+
+    /**
+     * Revenue in minor units per product slot.
+     */
+    private long[] productRevenue = new long[INITIAL_PRODUCT_CAPACITY];
+
+    /**
+     * Orders per product slot.
+     */
+    private long[] productOrders = new long[INITIAL_PRODUCT_CAPACITY];
+
+    /**
+     * Sequence number of the last order counted for each product slot, so an order counts once per product.
+     */
+    private long[] productLastOrder = new long[INITIAL_PRODUCT_CAPACITY];
+
+    /**
+     * The order of the items received last, or null before the first item.
+     */
+    private UUID currentOrderId;
+
+    /**
+     * Sequence number of the order of the items received last, starting at 1.
+     */
+    private long currentOrder;
+
+    /**
+     * The day of index 0 of the day arrays.
+     */
+    private LocalDate firstDay;
+
+    /**
+     * Units sold per day, indexed from the first day.
+     */
+    private long[] dayUnits;
+
+    /**
+     * Revenue in minor units per day, indexed from the first day.
+     */
+    private long[] dayRevenue;
+
+    /**
+     * Orders per day, indexed from the first day.
+     */
+    private long[] dayOrders;
+
+    /**
+     * Units sold per order status ordinal.
+     */
+    private final long[] statusUnits = new long[STATUSES.length];
+
+    /**
+     * Revenue in minor units per order status ordinal.
+     */
+    private final long[] statusRevenue = new long[STATUSES.length];
+
+    /**
+     * Orders per order status ordinal.
+     */
+    private final long[] statusOrders = new long[STATUSES.length];
+
+    /**
+     * Units sold in total.
+     */
+    private long totalUnits;
+
+    /**
+     * Revenue in minor units in total.
+     */
+    private long totalRevenue;
+
+    /**
+     * Orders in total.
+     */
+    private long totalOrders;
+
+    /**
+     * Constructs an empty aggregate for the orders created in a time range.
+     *
+     * @param from the inclusive lower bound of the creation date
+     * @param to   the exclusive upper bound of the creation date
+     */
+    public SalesAggregate(LocalDateTime from, LocalDateTime to) {
+        this.firstDay = from.toLocalDate();
+        int days = (int) ChronoUnit.DAYS.between(firstDay, to.minusNanos(1).toLocalDate()) + 1;
+        this.dayUnits = new long[Math.max(days, 1)];
+        this.dayRevenue = new long[dayUnits.length];
+        this.dayOrders = new long[dayUnits.length];
+    }
+
+    /**
+     * Adds an order item to the figures.
+     *
+     * @param orderId          the unique identifier of the order; the items of an order must be added together
+     * @param productId        the unique identifier of the ordered product
+     * @param orderCreatedDate the date and time the order was created, within the range of the aggregate
+     * @param status           the status of the order
+     * @param quantity         the ordered quantity
+     * @param unitPriceMinor   the unit price the product was ordered at, in minor units
+     * @throws ArithmeticException if an amount overflows
+     */
+    @Override
+    public void accept(UUID orderId, UUID productId, LocalDateTime orderCreatedDate, OrderStatus status, int quantity,
+                       long unitPriceMinor) {
+        long revenue = Math.multiplyExact(unitPriceMinor, quantity);
+        int day = (int) ChronoUnit.DAYS.between(firstDay, orderCreatedDate.toLocalDate());
+        // The first item of an order counts the order for its day and status
+        int newOrder = orderId.equals(currentOrderId) ? 0 : 1;
+        if (newOrder == 1) {
+            currentOrderId = orderId;
+            currentOrder++;
+        }
+        int slot = slotOf(productId);
+        productUnits[slot] += quantity;
+        productRevenue[slot] = Math.addExact(productRevenue[slot], revenue);
+        if (productLastOrder[slot] != currentOrder) {
+            productLastOrder[slot] = currentOrder;
+            productOrders[slot]++;
+        }
+        dayUnits[day] += quantity;
+        dayRevenue[day] = Math.addExact(dayRevenue[day], revenue);
+        dayOrders[day] += newOrder;
+        statusUnits[status.ordinal()] += quantity;
+        statusRevenue[status.ordinal()] = Math.addExact(statusRevenue[status.ordinal()], revenue);
+        statusOrders[status.ordinal()] += newOrder;
+        totalUnits += quantity;
+        totalRevenue = Math.addExact(totalRevenue, revenue);
+        totalOrders += newOrder;
+    }
+
+    /**
+     * Adds a rollup row to the figures: the total of a day and status counts for the day, the status and
+     * the total, the rollup of a product for the product only.
+     *
+     * @param saleDate     the day the orders were created on, within the range of the aggregate
+     * @param productId    the unique identifier of the product, or null for the total of the day
+     * @param status       the status of the orders
+     * @param units        the units sold
+     * @param revenueMinor the revenue in minor units
+     * @param orders       the number of orders
+     * @throws ArithmeticException if an amount overflows
+     */
+    @Override
+    public void accept(LocalDate saleDate, UUID productId, OrderStatus status, long units, long revenueMinor, long orders) {
+        if (productId != null) {
+            int slot = slotOf(productId);
+            productUnits[slot] = Math.addExact(productUnits[slot], units);
+            productRevenue[slot] = Math.addExact(productRevenue[slot], revenueMinor);
+            productOrders[slot] = Math.addExact(productOrders[slot], orders);
+            return;
+        }
+        int day = (int) ChronoUnit.DAYS.between(firstDay, saleDate);
+        dayUnits[day] = Math.addExact(dayUnits[day], units);
+        dayRevenue[day] = Math.addExact(dayRevenue[day], revenueMinor);
+        dayOrders[day] = Math.addExact(dayOrders[day], orders);
+        statusUnits[status.ordinal()] = Math.addExact(statusUnits[status.ordinal()], units);
+        statusRevenue[status.ordinal()] = Math.addExact(statusRevenue[status.ordinal()], revenueMinor);
+        statusOrders[status.ordinal()] = Math.addExact(statusOrders[status.ordinal()], orders);
+        totalUnits = Math.addExact(totalUnits, units);
+        totalRevenue = Math.addExact(totalRevenue, revenueMinor);
+        totalOrders = Math.addExact(totalOrders, orders);
+    }
+
+    /**
+     * Adds the figures of another aggregate to this one. The day arrays grow to cover both ranges.
+     * The aggregates must not share any order.
+     *
+     * @param other the aggregate to add; it is left unchanged
+     * @return this aggregate
+     * @throws ArithmeticException if an amount overflows
+     */
+    public SalesAggregate merge(SalesAggregate other) {
+        for (int otherSlot = 0; otherSlot < other.productSlots.size(); otherSlot++) {
+            int slot = slotOf(other.products[otherSlot]);
+            productUnits[slot] = Math.addExact(productUnits[slot], other.productUnits[otherSlot]);
+            productRevenue[slot] = Math.addExact(productRevenue[slot], other.productRevenue[otherSlot]);
+            productOrders[slot] = Math.addExact(productOrders[slot], other.productOrders[otherSlot]);
+        }
+
+        // Align the day arrays on the earliest first day and the latest last day of both
+        LocalDate mergedFirstDay = firstDay.isBefore(other.firstDay) ? firstDay : other.firstDay;
+        int otherOffset = (int) ChronoUnit.DAYS.between(mergedFirstDay, other.firstDay);
+        int offset = (int) ChronoUnit.DAYS.between(mergedFirstDay, firstDay);
+        int days = Math.max(offset + dayUnits.length, otherOffset + other.dayUnits.length);
+        if (offset != 0 || days != dayUnits.length) {
+            long[] mergedUnits = new long[days];
+            long[] mergedRevenue = new long[days];
+            long[] mergedOrders = new long[days];
+            System.arraycopy(dayUnits, 0, mergedUnits, offset, dayUnits.length);
+            System.arraycopy(dayRevenue, 0, mergedRevenue, offset, dayRevenue.length);
+            System.arraycopy(dayOrders, 0, mergedOrders, offset, dayOrders.length);
+            firstDay = mergedFirstDay;
+            dayUnits = mergedUnits;
+            dayRevenue = mergedRevenue;
+            dayOrders = mergedOrders;
+        }
+        for (int day = 0; day < other.dayUnits.length; day++) {
+            dayUnits[otherOffset + day] = Math.addExact(dayUnits[otherOffset + day], other.dayUnits[day]);
+            dayRevenue[otherOffset + day] = Math.addExact(dayRevenue[otherOffset + day], other.dayRevenue[day]);
+            dayOrders[otherOffset + day] = Math.addExact(dayOrders[otherOffset + day], other.dayOrders[day]);
+        }
+
+        for (int status = 0; status < STATUSES.length; status++) {
+            statusUnits[status] = Math.addExact(statusUnits[status], other.statusUnits[status]);
+            statusRevenue[status] = Math.addExact(statusRevenue[status], other.statusRevenue[status]);
+            statusOrders[status] = Math.addExact(statusOrders[status], other.statusOrders[status]);
+        }
+        totalUnits = Math.addExact(totalUnits, other.totalUnits);
+        totalRevenue = Math.addExact(totalRevenue, other.totalRevenue);
+        totalOrders = Math.addExact(totalOrders, other.totalOrders);
+        return this;
+    }
+
+    /**
+     * Converts the figures to a report, leaving out the days and statuses without orders.
+     *
+     * @param from the inclusive lower bound of the creation date of the report
+     * @param to   the exclusive upper bound of the creation date of the report
+     * @return the sales report
+     */
+    public SalesReportDto toReport(LocalDateTime from, LocalDateTime to) {
+        SalesReportDto report = new SalesReportDto();
+        report.setFrom(from);
+        report.setTo(to);
+        report.setTotal(figures(totalUnits, totalRevenue, totalOrders));
+        for (int slot = 0; slot < productSlots.size(); slot++) {
+            if (productOrders[slot] != 0) {
+                report.getByProduct().put(products[slot].toString(),
+                        figures(productUnits[slot], productRevenue[slot], productOrders[slot]));
+            }
+        }
+        for (int day = 0; day < dayUnits.length; day++) {
+            if (dayOrders[day] != 0) {
+                report.getByDay().put(firstDay.plusDays(day), figures(dayUnits[day], dayRevenue[day], dayOrders[day]));
+            }
+        }
+        for (int status = 0; status < STATUSES.length; status++) {
+            if (statusOrders[status] != 0) {
+                report.getByStatus().put(STATUSES[status], figures(statusUnits[status], statusRevenue[status], statusOrders[status]));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Returns the slot of a product, allocating one the first time the product is seen.
+     *
+     * @param productId the unique identifier of the product
+     * @return the slot of the product
+     */
+    private int slotOf(UUID productId) {
+        Integer slot = productSlots.get(productId);
+        if (slot != null) {
+            return slot;
+        }
+        int newSlot = productSlots.size();
+        if (newSlot == products.length) {
+            products = Arrays.copyOf(products, newSlot * 2);
+            productUnits = Arrays.copyOf(productUnits, newSlot * 2);
+            productRevenue = Arrays.copyOf(productRevenue, newSlot * 2);
+            productOrders = Arrays.copyOf(productOrders, newSlot * 2);
+            productLastOrder = Arrays.copyOf(productLastOrder, newSlot * 2);
+        }
+        products[newSlot] = productId;
+        productSlots.put(productId, newSlot);
+        return newSlot;
+    }
+
+    /**
+     * Builds the figures of one line of the report.
+     *
+     * @param units        the units sold
+     * @param revenueMinor the revenue in minor units
+     * @param orders       the number of orders
+     * @return the figures with the revenue in major units
+     */
+    private static SalesFiguresDto figures(long units, long revenueMinor, long orders) {
+        return new SalesFiguresDto(units, MoneyUtils.toMajorUnits(revenueMinor), orders);
+    }
+}
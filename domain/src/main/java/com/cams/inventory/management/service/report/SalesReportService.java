@@ -0,0 +1,52 @@
+package com.cams.inventory.management.service.report;
+
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.dto.TopSellerDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for reporting the units sold and the revenue of the orders.
+ */
+public interface SalesReportService {
+
+    /**
+     * Computes the units sold and the revenue of the orders created in a time range, in total,
+     * per product, per day and per order status.
+     *
+     * @param from the inclusive lower bound of the creation date
+     * @param to   the exclusive upper bound of the creation date, after from
+     * @return the sales report
+     */
+    SalesReportDto getSalesReport(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Reads the units sold, the revenue and the number of orders of a range of days from the sales rollups,
+     * in total, per product, per day and per order status.
+     *
+     * @param from the first day
+     * @param to   the day after the last day, after from
+     * @return the sales report of the days
+     */
+    SalesReportDto getDailySalesReport(LocalDate from, LocalDate to);
+
+    /**
+     * Recomputes the sales rollups of a range of days from the orders, repairing any drift.
+     *
+     * @param from the first day, starting at or after the archive cutoff
+     * @param to   the day after the last day, after from
+     * @return the number of rollup rows of the rebuilt days
+     */
+    int rebuildSalesRollups(LocalDate from, LocalDate to);
+
+    /**
+     * Returns the best-selling products of a recent window, with approximate units and their error bounds.
+     *
+     * @param window the window
+     * @param limit  the maximum number of products
+     * @return the products, highest estimate first
+     */
+    List<TopSellerDto> getTopSellers(TopSellerWindow window, int limit);
+}
@@ -0,0 +1,77 @@
+package com.cams.inventory.management.service.report;
+
+import com.cams.inventory.management.service.order.OrderArchiveScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Periodically rebuilds the sales rollups of the last complete days from the orders, repairing the drift
+ * left by rollup changes that failed or were lost after their order committed.
+ * The current day is left out, its orders are still being created and updated, and so are the days
+ * starting before the archive cutoff, whose archived orders are no longer in the database.
+ */
+@Component
+public class SalesRollupRebuildScheduler {
+
+    /**
+     * Logger instance for logging messages in the SalesRollupRebuildScheduler class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupRebuildScheduler.class);
+
+    /**
+     * Service rebuilding the rollups.
+     */
+    private final SalesReportService salesReportService;
+
+    /**
+     * Number of complete days rebuilt by every run.
+     */
+    private final int days;
+
+    /**
+     * Scheduler telling the creation date before which orders may have been archived.
+     */
+    private final OrderArchiveScheduler orderArchiveScheduler;
+
+    /**
+     * Constructor for `SalesRollupRebuildScheduler`.
+     *
+     * @param salesReportService    the service rebuilding the rollups
+     * @param days                  the number of complete days rebuilt by every run
+     * @param orderArchiveScheduler the scheduler telling the archive cutoff
+     */
+    public SalesRollupRebuildScheduler(SalesReportService salesReportService,
+                                       @Value("${inventory.sales-rollup.rebuild-days:7}") int days,
+                                       OrderArchiveScheduler orderArchiveScheduler) {
+        this.salesReportService = salesReportService;
+        this.days = days;
+        this.orderArchiveScheduler = orderArchiveScheduler;
+    }
+
+    /**
+     * Rebuilds the rollups of the last complete days.
+     *
+     * @return the number of rollup rows of the rebuilt days
+     */
+    @Scheduled(initialDelayString = "${inventory.sales-rollup.rebuild-interval-ms:86400000}",
+            fixedDelayString = "${inventory.sales-rollup.rebuild-interval-ms:86400000}")
+    public int rebuildRecentDays() {
+        LocalDate today = LocalDate.now();
+        // First whole day after the archive cutoff, when more days are configured than are kept in the database
+        LocalDate from = today.minusDays(days);
+        LocalDate firstUnarchivedDay = orderArchiveScheduler.getCutoff().toLocalDate().plusDays(1);
+        if (from.isBefore(firstUnarchivedDay)) {
+            from = firstUnarchivedDay;
+        }
+        if (!from.isBefore(today)) {
+            return 0;
+        }
+        logger.info("Rebuilding the sales rollups of {} to {}", from, today);
+        return salesReportService.rebuildSalesRollups(from, today);
+    }
+}
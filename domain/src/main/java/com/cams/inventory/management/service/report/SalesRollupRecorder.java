@@ -0,0 +1,115 @@
+package com.cams.inventory.management.service.report;
+
+import com.cams.inventory.management.dao.report.SalesReportDao;
+import com.cams.inventory.management.dto.SalesRollupDelta;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the sales rollups current as orders are created and change status.
+ * <p>
+ * The changes are computed from the order once its transaction commits, when the creation date of a new
+ * order has been assigned, and added to the rollups in a transaction of their own: the order never waits
+ * on the rollup rows of busy products and days, and a rolled back order leaves the rollups untouched.
+ * The rollups are eventually consistent: a change that fails, or is lost with the process between the
+ * two commits, is only logged, and the days concerned are repaired by rebuilding them from the orders.
+ */
+@Component
+public class SalesRollupRecorder {
+
+    /**
+     * Logger instance for logging messages in the SalesRollupRecorder class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupRecorder.class);
+
+    /**
+     * DAO updating the rollups.
+     */
+    private final SalesReportDao salesReportDao;
+
+    /**
+     * Template running the changes in a new transaction, apart from the completed one of the order.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor for `SalesRollupRecorder`.
+     *
+     * @param salesReportDao     the DAO updating the rollups
+     * @param transactionManager the transaction manager of the orders
+     */
+    public SalesRollupRecorder(SalesReportDao salesReportDao, PlatformTransactionManager transactionManager) {
+        this.salesReportDao = salesReportDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds a new order to the rollups of its status once the current transaction commits.
+     *
+     * @param orderEntity the created order with its items
+     */
+    public void recordCreatedAfterCommit(OrderEntity orderEntity) {
+        applyAfterCommit(() -> SalesRollupDelta.of(orderEntity, orderEntity.getStatus(), 1));
+    }
+
+    /**
+     * Moves an order from the rollups of its previous status to those of its current status once the
+     * current transaction commits. Nothing changes if the status is the same.
+     *
+     * @param orderEntity    the order with its items loaded and its current status
+     * @param previousStatus the status of the order before the change
+     */
+    public void recordStatusChangeAfterCommit(OrderEntity orderEntity, OrderStatus previousStatus) {
+        OrderStatus status = orderEntity.getStatus();
+        if (status == previousStatus) {
+            return;
+        }
+        applyAfterCommit(() -> {
+            List<SalesRollupDelta> deltas = new ArrayList<>(SalesRollupDelta.of(orderEntity, previousStatus, -1));
+            deltas.addAll(SalesRollupDelta.of(orderEntity, status, 1));
+            return deltas;
+        });
+    }
+
+    /**
+     * Computes and applies the changes after the current transaction commits, or immediately when no
+     * transaction is active.
+     *
+     * @param deltas the supplier of the changes to apply
+     */
+    private void applyAfterCommit(Supplier<List<SalesRollupDelta>> deltas) {
+        TransactionUtils.runAfterCommit(() -> apply(deltas.get()));
+    }
+
+    /**
+     * Applies the changes in a new transaction, once more if a concurrent transaction created one of the
+     * rows first. A failure is logged and not rethrown, the order it belongs to is already committed.
+     *
+     * @param deltas the changes to apply
+     */
+    private void apply(List<SalesRollupDelta> deltas) {
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> salesReportDao.applyRollupDeltas(deltas));
+            } catch (DuplicateKeyException ex) {
+                transactionTemplate.executeWithoutResult(status -> salesReportDao.applyRollupDeltas(deltas));
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Could not update the sales rollups of {}, rebuild the day to repair them",
+                    deltas.get(0).getSaleDate(), ex);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.cams.inventory.management.service.report;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Weighted Space-Saving summary of the units sold per product, in a fixed number of counters.
+ * <p>
+ * A product with a counter adds its units to it. A new product takes a free counter, or, once all are
+ * taken, the counter with the smallest count: it inherits that count as its error and adds its units.
+ * Every count is therefore an upper bound of the true units, at most its error above them, and any
+ * product that sold more than the total units divided by the capacity is guaranteed to hold a counter.
+ * Memory does not depend on the number of products. Not thread-safe.
+ */
+public final class SpaceSavingSketch {
+
+    /**
+     * Number of counters.
+     */
+    private final int capacity;
+
+    /**
+     * Counter of every tracked product.
+     */
+    private final Map<UUID, Integer> slots;
+
+    /**
+     * Product of every counter.
+     */
+    private final UUID[] products;
+
+    /**
+     * Estimated units of every counter.
+     */
+    private final long[] counts;
+
+    /**
+     * Largest overestimate of every counter.
+     */
+    private final long[] errors;
+
+    /**
+     * Number of counters in use.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty sketch.
+     *
+     * @param capacity the number of counters
+     */
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.slots = new HashMap<>(capacity * 2);
+        this.products = new UUID[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+    }
+
+    /**
+     * Adds units sold of a product.
+     *
+     * @param productId the unique identifier of the product
+     * @param units     the units sold, positive
+     */
+    public void add(UUID productId, long units) {
+        Integer slot = slots.get(productId);
+        if (slot != null) {
+            counts[slot] += units;
+            return;
+        }
+        if (size < capacity) {
+            products[size] = productId;
+            counts[size] = units;
+            errors[size] = 0;
+            slots.put(productId, size++);
+            return;
+        }
+        // Replace the product with the smallest count, which becomes the error of the new one
+        int min = minSlot();
+        slots.remove(products[min]);
+        products[min] = productId;
+        errors[min] = counts[min];
+        counts[min] += units;
+        slots.put(productId, min);
+    }
+
+    /**
+     * Returns the largest number of units a product without a counter may have sold: the smallest count
+     * once all counters are taken, 0 before.
+     *
+     * @return the bound of the untracked products
+     */
+    public long untrackedBound() {
+        return size < capacity ? 0 : counts[minSlot()];
+    }
+
+    /**
+     * Returns the counter of a product.
+     *
+     * @param productId the unique identifier of the product
+     * @return the counter, or -1 if the product is not tracked
+     */
+    public int slotOf(UUID productId) {
+        return slots.getOrDefault(productId, -1);
+    }
+
+    /**
+     * Returns the number of counters in use.
+     *
+     * @return the number of counters in use
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the product of a counter.
+     *
+     * @param slot the counter, below the size
+     * @return the unique identifier of the product
+     */
+    public UUID productAt(int slot) {
+        return products[slot];
+    }
+
+    /**
+     * Returns the estimated units of a counter.
+     *
+     * @param slot the counter, below the size
+     * @return the estimated units, an upper bound of the true units
+     */
+    public long countAt(int slot) {
+        return counts[slot];
+    }
+
+    /**
+     * Returns the largest overestimate of a counter.
+     *
+     * @param slot the counter, below the size
+     * @return the largest overestimate
+     */
+    public long errorAt(int slot) {
+        return errors[slot];
+    }
+
+    /**
+     * Removes every product, keeping the counters allocated.
+     */
+    public void clear() {
+        slots.clear();
+        Arrays.fill(products, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Finds the counter with the smallest count; a linear scan, the counters are few.
+     *
+     * @return the counter with the smallest count
+     */
+    private int minSlot() {
+        int min = 0;
+        for (int slot = 1; slot < size; slot++) {
+            if (counts[slot] < counts[min]) {
+                min = slot;
+            }
+        }
+        return min;
+    }
+}
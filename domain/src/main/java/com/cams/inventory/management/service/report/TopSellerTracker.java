@@ -0,0 +1,220 @@
+package com.cams.inventory.management.service.report;
+
+import com.cams.inventory.management.dto.TopSellerDto;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks the best-selling products of the last hour and the last day in memory, without querying the orders.
+ * <p>
+ * Every window is a ring of buckets, each a {@link SpaceSavingSketch} of the units sold in its time span;
+ * the bucket of a new span is cleared and reused, so the window slides one bucket at a time and memory
+ * is fixed by the capacity, whatever the number of products. Reading a window merges its current buckets:
+ * a product missing from a full bucket may have sold up to the smallest count of that bucket, which is
+ * added to both its estimate and its error, so every estimate stays an upper bound of the true units.
+ * <p>
+ * The units of an order are added once its transaction commits, so rolled back orders are never counted.
+ * Cancellations are not subtracted, and every instance only tracks the orders it created.
+ */
+@Component
+public class TopSellerTracker {
+
+    /**
+     * Number of counters of every bucket.
+     */
+    private final int capacity;
+
+    /**
+     * The buckets of every window.
+     */
+    private final Map<TopSellerWindow, Ring> rings = new EnumMap<>(TopSellerWindow.class);
+
+    /**
+     * Constructor for `TopSellerTracker`.
+     *
+     * @param capacity the number of products counted per bucket
+     */
+    public TopSellerTracker(@Value("${inventory.top-sellers.capacity:100}") int capacity) {
+        this.capacity = capacity;
+        for (TopSellerWindow window : TopSellerWindow.values()) {
+            rings.put(window, new Ring(window, capacity));
+        }
+    }
+
+    /**
+     * Returns the number of products counted per bucket, the largest number of top sellers a window returns.
+     *
+     * @return the number of counters of every bucket
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds the units of a new order to every window once the current transaction commits, or immediately
+     * when no transaction is active.
+     *
+     * @param orderEntity the created order with its items
+     */
+    public void recordCreatedAfterCommit(OrderEntity orderEntity) {
+        TransactionUtils.runAfterCommit(() -> record(orderEntity, Instant.now()));
+    }
+
+    /**
+     * Adds units sold of a product to every window.
+     *
+     * @param productId the unique identifier of the product
+     * @param units     the units sold, positive
+     * @param soldAt    the time of the sale
+     */
+    public void record(UUID productId, long units, Instant soldAt) {
+        for (Ring ring : rings.values()) {
+            ring.add(productId, units, soldAt.toEpochMilli());
+        }
+    }
+
+    /**
+     * Returns the best-selling products of a window ending now.
+     *
+     * @param window the window
+     * @param limit  the maximum number of products, at most the capacity
+     * @return the products, highest estimate first
+     */
+    public List<TopSellerDto> getTopSellers(TopSellerWindow window, int limit) {
+        return getTopSellers(window, limit, Instant.now());
+    }
+
+    /**
+     * Returns the best-selling products of a window ending at a point in time.
+     *
+     * @param window the window
+     * @param limit  the maximum number of products, at most the capacity
+     * @param now    the end of the window
+     * @return the products, highest estimate first
+     */
+    public List<TopSellerDto> getTopSellers(TopSellerWindow window, int limit, Instant now) {
+        return rings.get(window).top(limit, now.toEpochMilli());
+    }
+
+    /**
+     * Adds the units of every item of an order to every window.
+     *
+     * @param orderEntity the order with its items
+     * @param soldAt      the time of the sale
+     */
+    private void record(OrderEntity orderEntity, Instant soldAt) {
+        for (OrderItemEntity item : orderEntity.getItems()) {
+            record(item.getProduct().getId(), item.getQuantity(), soldAt);
+        }
+    }
+
+    /**
+     * The buckets of a window, indexed by the number of their time span since the epoch modulo their count.
+     */
+    private static final class Ring {
+
+        /**
+         * The time span of a bucket in milliseconds.
+         */
+        private final long bucketMillis;
+
+        /**
+         * The sketch of every bucket.
+         */
+        private final SpaceSavingSketch[] sketches;
+
+        /**
+         * The number of the time span every bucket currently counts, -1 if none.
+         */
+        private final long[] spans;
+
+        /**
+         * Constructs the empty buckets of a window.
+         *
+         * @param window   the window
+         * @param capacity the number of counters of every bucket
+         */
+        private Ring(TopSellerWindow window, int capacity) {
+            this.bucketMillis = window.getBucketDuration().toMillis();
+            this.sketches = new SpaceSavingSketch[window.getBuckets()];
+            this.spans = new long[window.getBuckets()];
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new SpaceSavingSketch(capacity);
+                spans[i] = -1;
+            }
+        }
+
+        /**
+         * Adds units sold to the bucket of their time span, clearing it first if it counts an older span.
+         *
+         * @param productId   the unique identifier of the product
+         * @param units       the units sold
+         * @param epochMillis the time of the sale
+         */
+        private synchronized void add(UUID productId, long units, long epochMillis) {
+            long span = Math.floorDiv(epochMillis, bucketMillis);
+            int slot = (int) Math.floorMod(span, sketches.length);
+            if (spans[slot] != span) {
+                if (spans[slot] > span) {
+                    // Older than the window, the bucket already counts a newer span
+                    return;
+                }
+                sketches[slot].clear();
+                spans[slot] = span;
+            }
+            sketches[slot].add(productId, units);
+        }
+
+        /**
+         * Merges the buckets of the window ending at a point in time and returns its top products.
+         *
+         * @param limit       the maximum number of products
+         * @param epochMillis the end of the window
+         * @return the products, highest estimate first
+         */
+        private synchronized List<TopSellerDto> top(int limit, long epochMillis) {
+            long newest = Math.floorDiv(epochMillis, bucketMillis);
+            List<SpaceSavingSketch> current = new ArrayList<>(sketches.length);
+            for (int slot = 0; slot < sketches.length; slot++) {
+                if (spans[slot] > newest - sketches.length && spans[slot] <= newest) {
+                    current.add(sketches[slot]);
+                }
+            }
+
+            // Candidates are the products tracked by any bucket, the others sold less than every bound
+            Map<UUID, long[]> estimates = new HashMap<>();
+            for (SpaceSavingSketch sketch : current) {
+                for (int slot = 0; slot < sketch.size(); slot++) {
+                    estimates.putIfAbsent(sketch.productAt(slot), new long[2]);
+                }
+            }
+            for (SpaceSavingSketch sketch : current) {
+                long untracked = sketch.untrackedBound();
+                estimates.forEach((productId, estimate) -> {
+                    int slot = sketch.slotOf(productId);
+                    estimate[0] += slot < 0 ? untracked : sketch.countAt(slot);
+                    estimate[1] += slot < 0 ? untracked : sketch.errorAt(slot);
+                });
+            }
+
+            return estimates.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<UUID, long[]> entry) -> entry.getValue()[0]).reversed()
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(limit)
+                    .map(entry -> new TopSellerDto(entry.getKey().toString(), entry.getValue()[0], entry.getValue()[1]))
+                    .toList();
+        }
+    }
+}
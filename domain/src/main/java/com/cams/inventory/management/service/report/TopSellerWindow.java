@@ -0,0 +1,59 @@
+package com.cams.inventory.management.service.report;
+
+import java.time.Duration;
+
+/**
+ * Recent time windows the best-selling products are tracked over. A window is a ring of buckets and
+ * slides one bucket at a time, so it covers between its length minus one bucket and its full length.
+ */
+public enum TopSellerWindow {
+
+    /**
+     * The last hour, in buckets of five minutes.
+     */
+    LAST_HOUR(Duration.ofMinutes(5), 12),
+
+    /**
+     * The last day, in buckets of one hour.
+     */
+    LAST_DAY(Duration.ofHours(1), 24);
+
+    /**
+     * The time span of a bucket.
+     */
+    private final Duration bucketDuration;
+
+    /**
+     * The number of buckets of the window.
+     */
+    private final int buckets;
+
+    /**
+     * Constructs a window.
+     *
+     * @param bucketDuration the time span of a bucket
+     * @param buckets        the number of buckets of the window
+     */
+    TopSellerWindow(Duration bucketDuration, int buckets) {
+        this.bucketDuration = bucketDuration;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Returns the time span of a bucket.
+     *
+     * @return the time span of a bucket
+     */
+    public Duration getBucketDuration() {
+        return bucketDuration;
+    }
+
+    /**
+     * Returns the number of buckets of the window.
+     *
+     * @return the number of buckets
+     */
+    public int getBuckets() {
+        return buckets;
+    }
+}
@@ -0,0 +1,264 @@
+package com.cams.inventory.management.service.report.impl;
+
+import com.cams.inventory.management.dao.report.SalesReportDao;
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.dto.TopSellerDto;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.service.order.OrderArchiveScheduler;
+import com.cams.inventory.management.service.report.SalesAggregate;
+import com.cams.inventory.management.service.report.SalesReportService;
+import com.cams.inventory.management.service.report.TopSellerTracker;
+import com.cams.inventory.management.service.report.TopSellerWindow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Implementation of the SalesReportService interface, aggregating time partitions of the range in parallel,
+ * or reading the sales rollups for whole days, or the top sellers of a recent window from the in-memory tracker.
+ * <p>
+ * The range is cut into equal time slices, several per worker so that a busy slice does not hold up the
+ * others. Each slice is scanned in its own read-only transaction, on the read replica, into its own
+ * {@link SalesAggregate}, and the aggregates are merged pairwise as the fork-join tasks complete.
+ * An order belongs to exactly one slice, its creation date never changes, so nothing is counted twice.
+ * The pool is dedicated to the report and smaller than the connection pool, so a report never takes
+ * all the connections and never competes with the common pool used by parallel streams.
+ */
+@Service("salesReportServiceImplV1")
+public class SalesReportServiceImpl implements SalesReportService {
+
+    /**
+     * Logger instance for logging messages in the SalesReportServiceImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SalesReportServiceImpl.class);
+
+    /**
+     * Number of time slices per worker.
+     */
+    private static final int SLICES_PER_WORKER = 4;
+
+    /**
+     * DAO reading the order items.
+     */
+    private final SalesReportDao salesReportDao;
+
+    /**
+     * Template running every slice in its own read-only transaction.
+     */
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    /**
+     * Template rebuilding every day of rollups in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Pool the slices are scanned on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Tracker of the best-selling products of the recent windows.
+     */
+    private final TopSellerTracker topSellerTracker;
+
+    /**
+     * Scheduler telling the creation date before which orders may have been archived.
+     */
+    private final OrderArchiveScheduler orderArchiveScheduler;
+
+    /**
+     * Constructs an instance of SalesReportServiceImpl.
+     *
+     * @param salesReportDao        the DAO reading the order items
+     * @param transactionManager    the transaction manager of the orders
+     * @param parallelism           the number of slices scanned at the same time
+     * @param topSellerTracker      the tracker of the best-selling products of the recent windows
+     * @param orderArchiveScheduler the scheduler telling the archive cutoff
+     */
+    public SalesReportServiceImpl(SalesReportDao salesReportDao, PlatformTransactionManager transactionManager,
+                                  @Value("${inventory.sales-report.parallelism:4}") int parallelism,
+                                  TopSellerTracker topSellerTracker, OrderArchiveScheduler orderArchiveScheduler) {
+        this.salesReportDao = salesReportDao;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(parallelism);
+        this.topSellerTracker = topSellerTracker;
+        this.orderArchiveScheduler = orderArchiveScheduler;
+    }
+
+    /**
+     * Computes the sales report of a time range by scanning its slices in parallel.
+     * Completed orders older than the archive cutoff are no longer scanned, so ranges starting before it
+     * are rejected rather than reported without them; the rollups keep the figures of those days.
+     *
+     * @param from the inclusive lower bound of the creation date, not before the archive cutoff
+     * @param to   the exclusive upper bound of the creation date, after from
+     * @return the sales report
+     * @throws InvalidRequestException if the range is empty or starts before the archive cutoff
+     */
+    @Override
+    public SalesReportDto getSalesReport(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Report range is empty, from must be before to: " + from + " - " + to);
+        }
+        LocalDateTime cutoff = orderArchiveScheduler.getCutoff();
+        if (from.isBefore(cutoff)) {
+            throw new InvalidRequestException("Report range starts before the archive cutoff " + cutoff
+                    + ", use the daily report: " + from);
+        }
+        int slices = pool.getParallelism() * SLICES_PER_WORKER;
+        logger.info("Computing the sales report of {} to {} in {} slices", from, to, slices);
+        SalesAggregate aggregate = pool.invoke(new SliceTask(from, to, slices));
+        return aggregate.toReport(from, to);
+    }
+
+    /**
+     * Reads the sales report of a range of days from the rollups, without touching the orders.
+     * Runs read-only, so it is served by the read replica when one is configured.
+     *
+     * @param from the first day
+     * @param to   the day after the last day, after from
+     * @return the sales report of the days
+     * @throws InvalidRequestException if the range is empty
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SalesReportDto getDailySalesReport(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Report range is empty, from must be before to: " + from + " - " + to);
+        }
+        logger.debug("Reading the sales rollups of {} to {}", from, to);
+        SalesAggregate aggregate = new SalesAggregate(from.atStartOfDay(), to.atStartOfDay());
+        salesReportDao.scanRollups(from, to, aggregate);
+        return aggregate.toReport(from.atStartOfDay(), to.atStartOfDay());
+    }
+
+    /**
+     * Recomputes the sales rollups of a range of days, each day in its own transaction so a rebuild never
+     * holds the rows of more than one day. Orders archived since they were created are no longer in the
+     * database, so days starting before the archive cutoff are rejected: rebuilding them would erase their
+     * archived orders from the rollups. Changes of orders committed while their day is rebuilt may be counted
+     * twice or not at all, so the current day is best left out.
+     *
+     * @param from the first day, starting at or after the archive cutoff
+     * @param to   the day after the last day, after from
+     * @return the number of rollup rows of the rebuilt days
+     * @throws InvalidRequestException if the range is empty or starts before the archive cutoff
+     */
+    @Override
+    public int rebuildSalesRollups(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Rebuild range is empty, from must be before to: " + from + " - " + to);
+        }
+        LocalDateTime cutoff = orderArchiveScheduler.getCutoff();
+        if (from.atStartOfDay().isBefore(cutoff)) {
+            throw new InvalidRequestException("Rebuild range starts before the archive cutoff " + cutoff
+                    + ", its archived orders would be erased from the rollups: " + from);
+        }
+        int rows = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LocalDate saleDate = day;
+            Integer dayRows = transactionTemplate.execute(status -> salesReportDao.rebuildRollups(saleDate));
+            rows += dayRows == null ? 0 : dayRows;
+        }
+        logger.info("Rebuilt {} sales rollup rows of {} to {}", rows, from, to);
+        return rows;
+    }
+
+    /**
+     * Returns the best-selling products of a recent window from the tracker, without touching the database.
+     *
+     * @param window the window
+     * @param limit  the maximum number of products, between 1 and the capacity of the tracker
+     * @return the products, highest estimate first
+     * @throws InvalidRequestException if the limit is out of range
+     */
+    @Override
+    public List<TopSellerDto> getTopSellers(TopSellerWindow window, int limit) {
+        if (limit < 1 || limit > topSellerTracker.getCapacity()) {
+            throw new InvalidRequestException("Limit must be between 1 and " + topSellerTracker.getCapacity() + ": " + limit);
+        }
+        return topSellerTracker.getTopSellers(window, limit);
+    }
+
+    /**
+     * Stops the workers once the running reports are done.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Aggregates a range of slices: scans it if it is a single slice, otherwise splits it in two
+     * halves, aggregates them in parallel and merges the results.
+     */
+    private final class SliceTask extends RecursiveTask<SalesAggregate> {
+
+        /**
+         * The inclusive lower bound of the creation date of the range.
+         */
+        private final LocalDateTime from;
+
+        /**
+         * The exclusive upper bound of the creation date of the range.
+         */
+        private final LocalDateTime to;
+
+        /**
+         * The number of slices the range is cut into.
+         */
+        private final int slices;
+
+        /**
+         * Constructs the task of a range of slices.
+         *
+         * @param from   the inclusive lower bound of the creation date of the range
+         * @param to     the exclusive upper bound of the creation date of the range
+         * @param slices the number of slices the range is cut into
+         */
+        private SliceTask(LocalDateTime from, LocalDateTime to, int slices) {
+            this.from = from;
+            this.to = to;
+            this.slices = slices;
+        }
+
+        /**
+         * Aggregates the range of slices.
+         *
+         * @return the aggregate of the range
+         */
+        @Override
+        protected SalesAggregate compute() {
+            if (slices == 1) {
+                SalesAggregate aggregate = new SalesAggregate(from, to);
+                readOnlyTransactionTemplate.executeWithoutResult(status -> salesReportDao.scanOrderItems(from, to, aggregate));
+                return aggregate;
+            }
+
+            // Split on a whole second proportional to the number of slices of each half
+            int leftSlices = slices / 2;
+            long seconds = Duration.between(from, to).getSeconds();
+            LocalDateTime middle = from.plusSeconds(seconds / slices * leftSlices + seconds % slices * leftSlices / slices);
+            SliceTask left = new SliceTask(from, middle, leftSlices);
+            SliceTask right = new SliceTask(middle, to, slices - leftSlices);
+            left.fork();
+            SalesAggregate rightAggregate = right.compute();
+            return left.join().merge(rightAggregate);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cams.inventory.management.service.stock;
+
+import com.cams.inventory.management.dto.StockReceiptDto;
+import com.cams.inventory.management.request.StockReceiptLineRequest;
+
+import java.util.List;
+
+/**
+ * Service interface for receiving stock in bulk.
+ */
+public interface StockReceiptService {
+
+    /**
+     * Adds the quantities of the lines of a receipt to the stock of their products.
+     *
+     * @param lines the lines of the receipt
+     * @return the outcome of every line
+     */
+    StockReceiptDto receiveStock(List<StockReceiptLineRequest> lines);
+}
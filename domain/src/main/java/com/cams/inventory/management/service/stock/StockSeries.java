@@ -0,0 +1,403 @@
+package com.cams.inventory.management.service.stock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Compressed time series of the stock level of one product.
+ * <p>
+ * Points are appended in time order to chunks of a fixed number of points. A chunk keeps its first and
+ * last point in fields and encodes every other point into a byte array as two zigzag varints: the change
+ * of the gap to the previous point in milliseconds (delta-of-delta), and the change of the stock. Stock
+ * moves by small quantities, so most points take a few bytes instead of a ledger row. A range query
+ * skips the chunks outside the range on their first and last point and decodes only the others.
+ * Not thread-safe.
+ */
+public final class StockSeries {
+
+    /**
+     * Receives the points of a series one at a time, without a point object per point.
+     */
+    @FunctionalInterface
+    public interface PointHandler {
+
+        /**
+         * Accepts one point of the series.
+         *
+         * @param millis the time of the point, in epoch milliseconds
+         * @param stock  the stock from that time on
+         */
+        void accept(long millis, int stock);
+    }
+
+    /**
+     * Size of the byte array of a new chunk; it doubles as the chunk fills.
+     */
+    private static final int INITIAL_CHUNK_BYTES = 32;
+
+    /**
+     * Number of points of a full chunk.
+     */
+    private final int chunkPoints;
+
+    /**
+     * The chunks, oldest first; only the last one is still appended to.
+     */
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    /**
+     * Version of the product the latest point was taken at, -1 before any point.
+     */
+    private int version = -1;
+
+    /**
+     * Constructor for `StockSeries`.
+     *
+     * @param chunkPoints the number of points of a full chunk
+     */
+    public StockSeries(int chunkPoints) {
+        if (chunkPoints < 2) {
+            throw new IllegalArgumentException("A chunk must hold at least 2 points: " + chunkPoints);
+        }
+        this.chunkPoints = chunkPoints;
+    }
+
+    /**
+     * Appends a point. A point older than the latest one is moved to the time of the latest one, so the
+     * series stays in time order; a point that does not change the stock is not stored.
+     *
+     * @param millis the time of the point, in epoch milliseconds
+     * @param stock  the stock from that time on
+     * @return true if the point was stored
+     */
+    public boolean append(long millis, int stock) {
+        Chunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (last == null) {
+            chunks.add(new Chunk(millis, stock));
+            return true;
+        }
+        if (stock == last.lastStock) {
+            return false;
+        }
+        long at = Math.max(millis, last.lastMillis);
+        if (last.count == chunkPoints) {
+            // Seal the full chunk and start the next one with this point
+            last.trim();
+            chunks.add(new Chunk(at, stock));
+        } else {
+            last.append(at, stock);
+        }
+        return true;
+    }
+
+    /**
+     * Passes the points in a time range to a handler, oldest first. Only the chunks overlapping the
+     * range are decoded.
+     *
+     * @param from    the inclusive start of the range, in epoch milliseconds
+     * @param to      the exclusive end of the range, in epoch milliseconds
+     * @param handler the handler of the points
+     * @return the number of points passed to the handler
+     */
+    public int scan(long from, long to, PointHandler handler) {
+        int points = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.firstMillis >= to) {
+                break;
+            }
+            if (chunk.lastMillis < from) {
+                continue;
+            }
+            Decoder decoder = new Decoder(chunk);
+            while (decoder.next() && decoder.millis < to) {
+                if (decoder.millis >= from) {
+                    handler.accept(decoder.millis, decoder.stock);
+                    points++;
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Returns the stock in effect right before a point in time, that of the latest point before it.
+     * At most one chunk is decoded.
+     *
+     * @param millis the point in time, in epoch milliseconds
+     * @return the stock, or empty if the series has no point before that time
+     */
+    public OptionalInt stockBefore(long millis) {
+        for (int i = chunks.size() - 1; i >= 0; i--) {
+            Chunk chunk = chunks.get(i);
+            if (chunk.firstMillis >= millis) {
+                continue;
+            }
+            if (chunk.lastMillis < millis) {
+                return OptionalInt.of(chunk.lastStock);
+            }
+            // The time falls inside this chunk: the stock is that of the last point before it
+            Decoder decoder = new Decoder(chunk);
+            int stock = chunk.firstStock;
+            while (decoder.next() && decoder.millis < millis) {
+                stock = decoder.stock;
+            }
+            return OptionalInt.of(stock);
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Drops the chunks that ended before a point in time. A chunk is only dropped once the next one
+     * starts before that time too, so the stock in effect at that time stays known.
+     *
+     * @param millis the point in time, in epoch milliseconds
+     * @return the number of chunks dropped
+     */
+    public int dropBefore(long millis) {
+        int dropped = 0;
+        while (dropped + 1 < chunks.size() && chunks.get(dropped + 1).firstMillis < millis) {
+            dropped++;
+        }
+        chunks.subList(0, dropped).clear();
+        return dropped;
+    }
+
+    /**
+     * Returns the version of the product the latest point was taken at.
+     *
+     * @return the version, -1 before any point
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the product the latest point was taken at.
+     *
+     * @param version the version
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the number of points held.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return chunks.stream().mapToInt(chunk -> chunk.count).sum();
+    }
+
+    /**
+     * Returns the number of bytes the encoded points take, excluding the first point of every chunk.
+     *
+     * @return the number of encoded bytes
+     */
+    public int encodedBytes() {
+        return chunks.stream().mapToInt(chunk -> chunk.length).sum();
+    }
+
+    /**
+     * Encodes a signed value so that values close to zero, negative or not, encode to few bytes.
+     *
+     * @param value the signed value
+     * @return the zigzag encoded value
+     */
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decodes a zigzag encoded value.
+     *
+     * @param value the zigzag encoded value
+     * @return the signed value
+     */
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * A run of consecutive points: the first and last in fields, the others encoded after the first.
+     */
+    private static final class Chunk {
+
+        /**
+         * Time of the first point, in epoch milliseconds.
+         */
+        private final long firstMillis;
+
+        /**
+         * Stock of the first point.
+         */
+        private final int firstStock;
+
+        /**
+         * Time of the last point, in epoch milliseconds.
+         */
+        private long lastMillis;
+
+        /**
+         * Stock of the last point.
+         */
+        private int lastStock;
+
+        /**
+         * Gap between the last two points, in milliseconds; 0 while the chunk has one point.
+         */
+        private long lastGap;
+
+        /**
+         * Number of points of the chunk.
+         */
+        private int count = 1;
+
+        /**
+         * The encoded points after the first one.
+         */
+        private byte[] data = new byte[INITIAL_CHUNK_BYTES];
+
+        /**
+         * Number of bytes of data in use.
+         */
+        private int length;
+
+        /**
+         * Starts a chunk.
+         *
+         * @param millis the time of the first point, in epoch milliseconds
+         * @param stock  the stock of the first point
+         */
+        private Chunk(long millis, int stock) {
+            this.firstMillis = millis;
+            this.firstStock = stock;
+            this.lastMillis = millis;
+            this.lastStock = stock;
+        }
+
+        /**
+         * Encodes a point after the last one.
+         *
+         * @param millis the time of the point, not before the last one
+         * @param stock  the stock of the point
+         */
+        private void append(long millis, int stock) {
+            long gap = millis - lastMillis;
+            write(zigzag(gap - lastGap));
+            write(zigzag((long) stock - lastStock));
+            lastGap = gap;
+            lastMillis = millis;
+            lastStock = stock;
+            count++;
+        }
+
+        /**
+         * Writes a value as a varint, seven bits a byte, least significant first.
+         *
+         * @param value the value, read as unsigned
+         */
+        private void write(long value) {
+            if (data.length - length < 10) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+
+        /**
+         * Releases the unused end of the byte array of a full chunk.
+         */
+        private void trim() {
+            data = Arrays.copyOf(data, length);
+        }
+    }
+
+    /**
+     * Walks the points of a chunk, oldest first.
+     */
+    private static final class Decoder {
+
+        /**
+         * The chunk decoded.
+         */
+        private final Chunk chunk;
+
+        /**
+         * Number of points decoded so far.
+         */
+        private int decoded;
+
+        /**
+         * Position of the next byte to read.
+         */
+        private int position;
+
+        /**
+         * Gap between the current point and the previous one, in milliseconds.
+         */
+        private long gap;
+
+        /**
+         * Time of the current point, in epoch milliseconds.
+         */
+        private long millis;
+
+        /**
+         * Stock of the current point.
+         */
+        private int stock;
+
+        /**
+         * Constructor for `Decoder`.
+         *
+         * @param chunk the chunk to decode
+         */
+        private Decoder(Chunk chunk) {
+            this.chunk = chunk;
+        }
+
+        /**
+         * Moves to the next point.
+         *
+         * @return false if the chunk has no more points
+         */
+        private boolean next() {
+            if (decoded == chunk.count) {
+                return false;
+            }
+            if (decoded == 0) {
+                millis = chunk.firstMillis;
+                stock = chunk.firstStock;
+            } else {
+                gap += unzigzag(read());
+                millis += gap;
+                stock += (int) unzigzag(read());
+            }
+            decoded++;
+            return true;
+        }
+
+        /**
+         * Reads a varint.
+         *
+         * @return the value, read as unsigned
+         */
+        private long read() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = chunk.data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.cams.inventory.management.service.stock;
+
+import com.cams.inventory.management.dao.stock.StockLedgerDao;
+import com.cams.inventory.management.dto.StockMovementRow;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a compressed {@link StockSeries} of the stock level of every product that moved, in memory.
+ * <p>
+ * The new stock of a product is added once the transaction that changed it commits, so rolled back
+ * changes are never charted. Transactions can commit in a different order than they took their row
+ * locks, so every point carries the version of the product it was read at and a point older than the
+ * latest one of its series is dropped. Points older than the retention are dropped as new ones arrive.
+ * The series are rebuilt from the stock ledger on startup, so a restart loses nothing; every instance
+ * adds the changes it committed itself, so with several instances a series misses those of the others
+ * until the next restart.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class StockSeriesRecorder {
+
+    /**
+     * Logger instance for logging messages in the StockSeriesRecorder class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StockSeriesRecorder.class);
+
+    /**
+     * DAO reading the stock ledger the series are rebuilt from.
+     */
+    private final StockLedgerDao stockLedgerDao;
+
+    /**
+     * Template running the rebuild in a read-only transaction.
+     */
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    /**
+     * How long the points are kept.
+     */
+    private final Duration retention;
+
+    /**
+     * Number of points of a full chunk.
+     */
+    private final int chunkPoints;
+
+    /**
+     * The series of every product that moved, by product id.
+     */
+    private final ConcurrentMap<UUID, StockSeries> series = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for `StockSeriesRecorder`.
+     *
+     * @param stockLedgerDao     the DAO reading the stock ledger
+     * @param transactionManager the transaction manager of the stock ledger
+     * @param retentionDays      the number of days the points are kept
+     * @param chunkPoints        the number of points of a full chunk
+     */
+    public StockSeriesRecorder(StockLedgerDao stockLedgerDao, PlatformTransactionManager transactionManager,
+                               @Value("${inventory.stock-series.retention-days:30}") int retentionDays,
+                               @Value("${inventory.stock-series.chunk-points:128}") int chunkPoints) {
+        this.stockLedgerDao = stockLedgerDao;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.retention = Duration.ofDays(retentionDays);
+        this.chunkPoints = chunkPoints;
+    }
+
+    /**
+     * Rebuilds the series from the stock ledger. A failure is logged and the series build up again
+     * from the new changes.
+     */
+    @PostConstruct
+    public void load() {
+        try {
+            long movements = rebuild(Instant.now());
+            logger.info("Rebuilt the stock series of {} products from {} stock movements", series.size(), movements);
+        } catch (RuntimeException ex) {
+            logger.error("Could not rebuild the stock series from the stock ledger, starting without them", ex);
+        }
+    }
+
+    /**
+     * Rebuilds the series of the products that moved within the retention from the stock ledger.
+     * The ledger holds the changes of the stock, newest first per product, so the levels are worked out
+     * backwards from the current stock of every product.
+     *
+     * @param now the current time
+     * @return the number of movements read
+     */
+    public long rebuild(Instant now) {
+        LocalDateTime since = LocalDateTime.ofInstant(now.minus(retention), ZoneId.systemDefault());
+        Replay replay = new Replay();
+        Long movements = readOnlyTransactionTemplate.execute(status -> stockLedgerDao.scanMovementsSince(since, replay));
+        replay.flush();
+        return movements == null ? 0 : movements;
+    }
+
+    /**
+     * Adds the stock of products to their series once the current transaction commits, or immediately
+     * when no transaction is active. The stock and version are read from the entities after the commit,
+     * once the flush has bumped the versions.
+     *
+     * @param products the products whose stock changed in the transaction
+     */
+    public void recordAfterCommit(Collection<ProductEntity> products) {
+        TransactionUtils.runAfterCommit(() -> {
+            Instant now = Instant.now();
+            for (ProductEntity product : products) {
+                record(product.getId(), product.getStock(), product.getVersion(), now);
+            }
+        });
+    }
+
+    /**
+     * Adds the stock of a product to its series once the current transaction commits, or immediately
+     * when no transaction is active.
+     *
+     * @param productId the unique identifier of the product
+     * @param stock     the new stock of the product
+     * @param version   the version of the product with that stock
+     */
+    public void recordAfterCommit(UUID productId, int stock, int version) {
+        TransactionUtils.runAfterCommit(() -> record(productId, stock, version, Instant.now()));
+    }
+
+    /**
+     * Adds the stock of a product to its series, unless the series already holds a later version.
+     *
+     * @param productId the unique identifier of the product
+     * @param stock     the new stock of the product
+     * @param version   the version of the product with that stock
+     * @param at        the time of the change
+     */
+    public void record(UUID productId, int stock, int version, Instant at) {
+        StockSeries productSeries = series.computeIfAbsent(productId, id -> new StockSeries(chunkPoints));
+        synchronized (productSeries) {
+            if (version <= productSeries.getVersion()) {
+                return;
+            }
+            productSeries.setVersion(version);
+            productSeries.append(at.toEpochMilli(), stock);
+            productSeries.dropBefore(at.minus(retention).toEpochMilli());
+        }
+    }
+
+    /**
+     * Passes the points of a product in a time range to a handler, oldest first.
+     *
+     * @param productId the unique identifier of the product
+     * @param from      the inclusive start of the range
+     * @param to        the exclusive end of the range
+     * @param handler   the handler of the points
+     * @return the number of points passed to the handler
+     */
+    public int scan(UUID productId, Instant from, Instant to, StockSeries.PointHandler handler) {
+        StockSeries productSeries = series.get(productId);
+        if (productSeries == null) {
+            return 0;
+        }
+        synchronized (productSeries) {
+            return productSeries.scan(from.toEpochMilli(), to.toEpochMilli(), handler);
+        }
+    }
+
+    /**
+     * Returns the stock of a product right before a point in time, as far as its series knows it.
+     *
+     * @param productId the unique identifier of the product
+     * @param at        the point in time
+     * @return the stock, or empty if the series has no point before that time
+     */
+    public OptionalInt getStockBefore(UUID productId, Instant at) {
+        StockSeries productSeries = series.get(productId);
+        if (productSeries == null) {
+            return OptionalInt.empty();
+        }
+        synchronized (productSeries) {
+            return productSeries.stockBefore(at.toEpochMilli());
+        }
+    }
+
+    /**
+     * Collects the movements of one product at a time, newest first, and replaces its series with the
+     * levels they lead to once the next product starts.
+     */
+    private final class Replay implements Consumer<StockMovementRow> {
+
+        /**
+         * The product being collected, null before the first movement.
+         */
+        private UUID productId;
+
+        /**
+         * The current version of the product being collected.
+         */
+        private int version;
+
+        /**
+         * Stock right after the next movement to collect; the current stock before the first one.
+         */
+        private int stock;
+
+        /**
+         * Times of the collected movements, in epoch milliseconds, newest first.
+         */
+        private long[] millis = new long[64];
+
+        /**
+         * Stock right after every collected movement.
+         */
+        private int[] levels = new int[64];
+
+        /**
+         * Number of movements collected for the product.
+         */
+        private int size;
+
+        /**
+         * Collects a movement.
+         *
+         * @param row the movement with the current stock and version of its product
+         */
+        @Override
+        public void accept(StockMovementRow row) {
+            if (!row.getProductId().equals(productId)) {
+                flush();
+                productId = row.getProductId();
+                version = row.getVersion();
+                stock = row.getStock();
+            }
+            if (size == millis.length) {
+                millis = Arrays.copyOf(millis, size * 2);
+                levels = Arrays.copyOf(levels, size * 2);
+            }
+            millis[size] = row.getOccurredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            levels[size] = stock;
+            size++;
+            // Undo the movement to get the stock right after the previous one
+            stock -= row.getQuantityDelta();
+        }
+
+        /**
+         * Replaces the series of the collected product with the collected levels, oldest first.
+         */
+        private void flush() {
+            if (productId == null) {
+                return;
+            }
+            StockSeries productSeries = new StockSeries(chunkPoints);
+            for (int i = size - 1; i >= 0; i--) {
+                productSeries.append(millis[i], levels[i]);
+            }
+            productSeries.setVersion(version);
+            series.put(productId, productSeries);
+            productId = null;
+            size = 0;
+        }
+    }
+}
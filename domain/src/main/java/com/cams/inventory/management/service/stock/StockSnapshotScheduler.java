@@ -0,0 +1,65 @@
+package com.cams.inventory.management.service.stock;
+
+import com.cams.inventory.management.dao.stock.StockLedgerDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically snapshots the stock ledger, so that point-in-time stock queries only replay
+ * the movements of one snapshot interval.
+ * <p>
+ * Snapshots cover the movements up to a cutoff that trails the current time by a grace period.
+ * A movement is timestamped when it is written but only becomes visible on commit, so the grace
+ * period must exceed the longest transaction that writes movements.
+ */
+@Component
+public class StockSnapshotScheduler {
+
+    /**
+     * Logger instance for logging messages in the StockSnapshotScheduler class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StockSnapshotScheduler.class);
+
+    /**
+     * DAO taking the snapshots.
+     */
+    private final StockLedgerDao stockLedgerDao;
+
+    /**
+     * Time the snapshot cutoff trails the current time by, in milliseconds.
+     */
+    private final long graceMillis;
+
+    /**
+     * Constructor for `StockSnapshotScheduler`.
+     *
+     * @param stockLedgerDao the DAO taking the snapshots
+     * @param graceMillis    the time the snapshot cutoff trails the current time by, in milliseconds
+     */
+    public StockSnapshotScheduler(StockLedgerDao stockLedgerDao,
+                                  @Value("${inventory.stock-ledger.snapshot-grace-ms:60000}") long graceMillis) {
+        this.stockLedgerDao = stockLedgerDao;
+        this.graceMillis = graceMillis;
+    }
+
+    /**
+     * Snapshots every product that moved since the previous run, up to the current time minus the grace period.
+     *
+     * @return the number of snapshots taken
+     */
+    @Scheduled(initialDelayString = "${inventory.stock-ledger.snapshot-interval-ms:3600000}",
+            fixedDelayString = "${inventory.stock-ledger.snapshot-interval-ms:3600000}")
+    @Transactional
+    public int takeSnapshots() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(graceMillis * 1_000_000);
+        int snapshots = stockLedgerDao.takeSnapshots(cutoff);
+        logger.info("Took {} stock snapshots as of {}", snapshots, cutoff);
+        return snapshots;
+    }
+}
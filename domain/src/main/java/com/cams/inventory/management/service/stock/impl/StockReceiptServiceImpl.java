@@ -0,0 +1,239 @@
+package com.cams.inventory.management.service.stock.impl;
+
+import com.cams.inventory.management.dao.product.ProductKeyDao;
+import com.cams.inventory.management.dao.stock.StockReceiptDao;
+import com.cams.inventory.management.dto.StockReceiptDto;
+import com.cams.inventory.management.dto.StockReceiptLineDto;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.request.StockReceiptLineRequest;
+import com.cams.inventory.management.service.stock.StockReceiptService;
+import com.cams.inventory.management.service.stock.StockSeriesRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Implementation of the StockReceiptService interface.
+ * The lines of a receipt are received in chunks, each in its own transaction: the products of a chunk
+ * are looked up by id and SKU in two queries, the quantities of the lines of the same product summed,
+ * and the stock of all of them added by one batch of UPDATE statements. A chunk that fails is rolled
+ * back and its lines reported as failed; the chunks before it stay received.
+ */
+@Service("stockReceiptServiceImplV1")
+public class StockReceiptServiceImpl implements StockReceiptService {
+
+    /**
+     * Logger instance for logging messages in the StockReceiptServiceImpl class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StockReceiptServiceImpl.class);
+
+    /**
+     * Largest number of lines a receipt can have.
+     */
+    private static final int MAX_RECEIPT_LINES = 100_000;
+
+    /**
+     * DAO looking up the products by id and SKU and reading their stock.
+     */
+    private final ProductKeyDao productKeyDao;
+
+    /**
+     * DAO adding the stock of the products.
+     */
+    private final StockReceiptDao stockReceiptDao;
+
+    /**
+     * Recorder of the stock series the new stock is added to.
+     */
+    private final StockSeriesRecorder stockSeriesRecorder;
+
+    /**
+     * Template running every chunk in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Number of lines received per transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructor for `StockReceiptServiceImpl`.
+     *
+     * @param productKeyDao       the DAO looking up the products by id and SKU and reading their stock
+     * @param stockReceiptDao     the DAO adding the stock of the products
+     * @param stockSeriesRecorder the recorder of the stock series
+     * @param transactionManager  the transaction manager of the products
+     * @param chunkSize           the number of lines received per transaction
+     */
+    public StockReceiptServiceImpl(ProductKeyDao productKeyDao, StockReceiptDao stockReceiptDao,
+                                   StockSeriesRecorder stockSeriesRecorder, PlatformTransactionManager transactionManager,
+                                   @Value("${inventory.stock-receipt.chunk-size:1000}") int chunkSize) {
+        this.productKeyDao = productKeyDao;
+        this.stockReceiptDao = stockReceiptDao;
+        this.stockSeriesRecorder = stockSeriesRecorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Adds the quantities of the lines of a receipt to the stock of their products, a chunk of lines
+     * per transaction.
+     *
+     * @param lines the lines of the receipt
+     * @return the outcome of every line
+     * @throws InvalidRequestException if the receipt has no line or too many
+     */
+    @Override
+    public StockReceiptDto receiveStock(List<StockReceiptLineRequest> lines) {
+        if (lines == null || lines.isEmpty() || lines.size() > MAX_RECEIPT_LINES) {
+            throw new InvalidRequestException("A receipt must have between 1 and " + MAX_RECEIPT_LINES + " lines");
+        }
+        logger.debug("Receiving stock of {} lines in chunks of {}", lines.size(), chunkSize);
+        StockReceiptLineDto[] outcomes = new StockReceiptLineDto[lines.size()];
+        for (int start = 0; start < lines.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, lines.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> receiveChunk(lines, from, to, outcomes));
+            } catch (RuntimeException ex) {
+                // The chunk was rolled back, outcomes it may have set no longer hold
+                logger.error("Could not receive the stock of lines {} to {}", from, to - 1, ex);
+                for (int i = from; i < to; i++) {
+                    outcomes[i] = rejected(i, lines.get(i), StockReceiptLineDto.Status.FAILED, ex.getMessage());
+                }
+            }
+        }
+        int received = (int) Arrays.stream(outcomes)
+                .filter(outcome -> outcome.getStatus() == StockReceiptLineDto.Status.RECEIVED)
+                .count();
+        return new StockReceiptDto(received, lines.size() - received, Arrays.asList(outcomes));
+    }
+
+    /**
+     * Receives a chunk of lines in the current transaction.
+     *
+     * @param lines    the lines of the receipt
+     * @param from     the position of the first line of the chunk
+     * @param to       the position after the last line of the chunk
+     * @param outcomes the outcome of every line of the receipt, set for the lines of the chunk
+     */
+    private void receiveChunk(List<StockReceiptLineRequest> lines, int from, int to, StockReceiptLineDto[] outcomes) {
+        // Check the lines; the valid ones are identified by id or SKU
+        UUID[] lineProductIds = new UUID[to - from];
+        List<UUID> productIds = new ArrayList<>();
+        List<String> skus = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            StockReceiptLineRequest line = lines.get(i);
+            String error = checkLine(line);
+            if (error != null) {
+                outcomes[i] = rejected(i, line, StockReceiptLineDto.Status.INVALID, error);
+            } else if (StringUtils.hasText(line.getProductId())) {
+                lineProductIds[i - from] = UUID.fromString(line.getProductId());
+                productIds.add(lineProductIds[i - from]);
+            } else {
+                skus.add(line.getSku());
+            }
+        }
+
+        // Find the products and sum the quantities per product
+        Map<UUID, String> skusById = new HashMap<>();
+        Map<String, UUID> idsBySku = new HashMap<>();
+        productKeyDao.findProducts(productIds, skus, (productId, sku) -> {
+            skusById.put(productId, sku);
+            idsBySku.put(sku, productId);
+        });
+        SortedMap<UUID, Integer> increments = new TreeMap<>();
+        for (int i = from; i < to; i++) {
+            if (outcomes[i] != null) {
+                continue;
+            }
+            StockReceiptLineRequest line = lines.get(i);
+            UUID productId = lineProductIds[i - from] != null ? lineProductIds[i - from] : idsBySku.get(line.getSku());
+            if (productId == null || !skusById.containsKey(productId)) {
+                outcomes[i] = rejected(i, line, StockReceiptLineDto.Status.NOT_FOUND, "Product not found");
+                lineProductIds[i - from] = null;
+                continue;
+            }
+            lineProductIds[i - from] = productId;
+            increments.merge(productId, line.getQuantity(), Math::addExact);
+        }
+
+        // Add the stock, then read it back for the outcomes and the stock series
+        Set<UUID> received = stockReceiptDao.addStock(increments, LocalDateTime.now());
+        Map<UUID, Integer> stocks = new HashMap<>();
+        productKeyDao.scanStock(received, (productId, stock, version) -> {
+            stocks.put(productId, stock);
+            stockSeriesRecorder.recordAfterCommit(productId, stock, version);
+        });
+        for (int i = from; i < to; i++) {
+            UUID productId = lineProductIds[i - from];
+            if (productId == null) {
+                continue;
+            }
+            StockReceiptLineRequest line = lines.get(i);
+            outcomes[i] = received.contains(productId)
+                    ? new StockReceiptLineDto(i, productId.toString(), skusById.get(productId), line.getQuantity(),
+                    StockReceiptLineDto.Status.RECEIVED, stocks.get(productId), null)
+                    : rejected(i, line, StockReceiptLineDto.Status.NOT_FOUND, "Product not found");
+        }
+    }
+
+    /**
+     * Checks that a line identifies a product by exactly one of its id and SKU and has a positive quantity.
+     *
+     * @param line the line
+     * @return the reason the line is invalid, or null if it is valid
+     */
+    private static String checkLine(StockReceiptLineRequest line) {
+        if (line == null) {
+            return "Line is missing";
+        }
+        if (line.getQuantity() == null || line.getQuantity() < 1) {
+            return "Quantity must be at least 1";
+        }
+        boolean hasProductId = StringUtils.hasText(line.getProductId());
+        if (hasProductId == StringUtils.hasText(line.getSku())) {
+            return "Exactly one of productId and sku is required";
+        }
+        if (hasProductId) {
+            try {
+                UUID.fromString(line.getProductId());
+            } catch (IllegalArgumentException ex) {
+                return "Malformed productId: " + line.getProductId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the outcome of a line that was not received.
+     *
+     * @param index  the position of the line
+     * @param line   the line
+     * @param status the outcome
+     * @param error  the reason
+     * @return the outcome of the line
+     */
+    private static StockReceiptLineDto rejected(int index, StockReceiptLineRequest line, StockReceiptLineDto.Status status,
+                                                String error) {
+        return line == null
+                ? new StockReceiptLineDto(index, null, null, null, status, null, error)
+                : new StockReceiptLineDto(index, line.getProductId(), line.getSku(), line.getQuantity(), status, null, error);
+    }
+}
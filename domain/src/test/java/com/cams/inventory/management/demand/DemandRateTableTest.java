@@ -0,0 +1,135 @@
+package com.cams.inventory.management.demand;
+
+import com.cams.inventory.management.dto.ProductDemandDto;
+import com.cams.inventory.management.service.demand.DemandRateTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * DemandRateTableTest
+ * This class contains unit tests for the DemandRateTable class.
+ * Sales are recorded at explicit times, so the decay can be checked without waiting.
+ */
+class DemandRateTableTest {
+
+    /**
+     * Milliseconds in a day.
+     */
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    /**
+     * A point in time on a whole minute.
+     */
+    private static final long NOW = 1_700_000_040_000L;
+
+    /**
+     * Test case for a steady demand: the rate converges to the units sold per day.
+     */
+    @Test
+    @DisplayName("Test Demand Rate - A steady demand converges to its daily units")
+    void testRecord_steadyDemand() {
+        DemandRateTable table = new DemandRateTable(7, 16);
+        UUID productId = UUID.randomUUID();
+        for (int day = 0; day < 120; day++) {
+            // 12 units a day, in sales of 3 every 6 hours
+            for (int sale = 0; sale < 4; sale++) {
+                table.record(productId, 3, NOW + day * DAY_MILLIS + sale * DAY_MILLIS / 4);
+            }
+        }
+
+        Assertions.assertEquals(12, table.rateAt(productId, NOW + 120 * DAY_MILLIS), 0.5);
+        Assertions.assertEquals(0, table.rateAt(UUID.randomUUID(), NOW));
+    }
+
+    /**
+     * Test case for the decay: without sales the rate halves every half-life, and reading does not change it.
+     */
+    @Test
+    @DisplayName("Test Demand Rate - Halves every half-life without sales")
+    void testRateAt_decay() {
+        DemandRateTable table = new DemandRateTable(7, 16);
+        UUID productId = UUID.randomUUID();
+        table.restore(productId, 10, NOW);
+
+        Assertions.assertEquals(5, table.rateAt(productId, NOW + 7 * DAY_MILLIS), 1e-4);
+        Assertions.assertEquals(2.5, table.rateAt(productId, NOW + 14 * DAY_MILLIS), 1e-4);
+        Assertions.assertEquals(10, table.rateAt(productId, NOW), 1e-4);
+
+        // A sale adds its units divided by the mean age of the weights, half-life / ln 2
+        table.record(productId, 7, NOW + 7 * DAY_MILLIS);
+        Assertions.assertEquals(5 + Math.log(2), table.rateAt(productId, NOW + 7 * DAY_MILLIS), 1e-4);
+    }
+
+    /**
+     * Test case for many products: the table grows and keeps every rate.
+     */
+    @Test
+    @DisplayName("Test Demand Rate - Every product kept as the table grows")
+    void testRecord_grows() {
+        DemandRateTable table = new DemandRateTable(7, 16);
+        List<UUID> productIds = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID productId = UUID.randomUUID();
+            table.record(productId, i % 100 + 1, NOW);
+            productIds.add(productId);
+        }
+
+        Assertions.assertEquals(10_000, table.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            Assertions.assertEquals((i % 100 + 1) * Math.log(2) / 7, table.rateAt(productIds.get(i), NOW), 1e-4);
+        }
+    }
+
+    /**
+     * Test case for saving: only the changed rates are taken, once, and restored rates are not changed.
+     */
+    @Test
+    @DisplayName("Test Take Changed - Changed rates taken once, restored rates left out")
+    void testTakeChanged() {
+        DemandRateTable table = new DemandRateTable(7, 16);
+        UUID saved = UUID.randomUUID();
+        UUID sold = UUID.randomUUID();
+        table.restore(saved, 3, NOW);
+        table.record(sold, 7, NOW);
+
+        List<ProductDemandDto> changed = table.takeChanged();
+
+        Assertions.assertEquals(1, changed.size());
+        Assertions.assertEquals(sold, changed.get(0).getProductId());
+        Assertions.assertEquals(Math.log(2), changed.get(0).getRatePerDay(), 1e-4);
+        Assertions.assertEquals(NOW, changed.get(0).getUpdatedAtMillis());
+        Assertions.assertTrue(table.takeChanged().isEmpty());
+
+        // A failed save marks the rate changed again
+        table.markChanged(sold);
+        Assertions.assertEquals(1, table.takeChanged().size());
+    }
+
+    /**
+     * Test case for passing every rate: products with a demand are passed with their decayed rate,
+     * products whose rate is 0 are left out.
+     */
+    @Test
+    @DisplayName("Test For Each Rate - Decayed rates of the products with a demand")
+    void testForEachRate() {
+        DemandRateTable table = new DemandRateTable(7, 16);
+        UUID sold = UUID.randomUUID();
+        UUID restored = UUID.randomUUID();
+        table.restore(sold, 10, NOW);
+        table.restore(restored, 0, NOW);
+
+        Map<UUID, Double> rates = new HashMap<>();
+        table.forEachRate(NOW + 7 * DAY_MILLIS, rates::put);
+
+        Assertions.assertEquals(Set.of(sold), rates.keySet());
+        Assertions.assertEquals(5, rates.get(sold), 1e-4);
+    }
+}
@@ -1,14 +1,34 @@
 package com.cams.inventory.management.order;
 
 import com.cams.inventory.management.dao.order.OrderDao;
+import com.cams.inventory.management.dao.product.ProductDao;
+import com.cams.inventory.management.dao.stock.StockLedgerDao;
 import com.cams.inventory.management.dto.OrderDto;
+import com.cams.inventory.management.dto.OrderExportRow;
+import com.cams.inventory.management.dto.OrderHistoryPageDto;
+import com.cams.inventory.management.dto.OrderItemDto;
+import com.cams.inventory.management.dto.OrderSnapshot;
+import com.cams.inventory.management.dto.OrderSummaryVersionView;
+import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ProductSnapshot;
 import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.entity.constant.StockMovementReason;
 import com.cams.inventory.management.entity.order.OrderEntity;
 import com.cams.inventory.management.entity.order.OrderItemEntity;
 import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.handler.InsufficientStockException;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.handler.OrderArchivedException;
 import com.cams.inventory.management.handler.ResourceNotFoundException;
 import com.cams.inventory.management.mapper.OrderMapper;
+import com.cams.inventory.management.mapper.ProductMapper;
+import com.cams.inventory.management.service.order.OrderArchiveScheduler;
+import com.cams.inventory.management.service.order.OrderHistoryCursor;
 import com.cams.inventory.management.service.order.impl.OrderServiceImpl;
+import com.cams.inventory.management.service.demand.DemandTracker;
+import com.cams.inventory.management.service.report.SalesRollupRecorder;
+import com.cams.inventory.management.service.report.TopSellerTracker;
+import com.cams.inventory.management.service.stock.StockSeriesRecorder;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,11 +39,16 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * OrderServiceImplTest
@@ -53,6 +78,58 @@ class OrderServiceImplTest {
     @Mock
     OrderMapper orderMapper;
 
+    /**
+     * Mocks the StockLedgerDao dependency.
+     * This mock will be used to verify the movements recorded in the stock ledger.
+     */
+    @Mock
+    StockLedgerDao stockLedgerDao;
+
+    /**
+     * Mocks the ProductDao dependency.
+     * This mock will be used to serve the products of a cached order.
+     */
+    @Mock
+    ProductDao productDao;
+
+    /**
+     * Mocks the ProductMapper dependency.
+     * This mock will be used to transform the product snapshots of an order.
+     */
+    @Mock
+    ProductMapper productMapper;
+
+    /**
+     * Mocks the SalesRollupRecorder dependency.
+     * This mock will be used to verify the changes recorded in the sales rollups.
+     */
+    @Mock
+    SalesRollupRecorder salesRollupRecorder;
+
+    /**
+     * Mocks the TopSellerTracker dependency.
+     */
+    @Mock
+    TopSellerTracker topSellerTracker;
+
+    /**
+     * Mocks the DemandTracker dependency.
+     */
+    @Mock
+    DemandTracker demandTracker;
+
+    /**
+     * Mocks the StockSeriesRecorder dependency.
+     */
+    @Mock
+    StockSeriesRecorder stockSeriesRecorder;
+
+    /**
+     * Mocks the OrderArchiveScheduler dependency.
+     */
+    @Mock
+    OrderArchiveScheduler orderArchiveScheduler;
+
     /**
      * The OrderEntity and OrderDto objects used in the tests.
      * These objects will be initialized in the setUp method before each test.
@@ -109,13 +186,225 @@ class OrderServiceImplTest {
     void testUpdateOrderStatus_success() {
 
         Mockito.when(orderDao.getOrderDetails(orderId)).thenReturn(Optional.of(orderEntity));
-        Mockito.when(orderDao.createOrder(orderEntity)).thenReturn(orderEntity);
+        Mockito.when(orderDao.updateOrder(orderEntity)).thenReturn(orderEntity);
         Mockito.when(orderMapper.transformOrderEntityToOrderDto(orderEntity)).thenReturn(orderDto);
 
         OrderDto result = orderServiceImpl.updateOrderStatus(orderId, OrderStatus.COMPLETED);
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals(OrderStatus.COMPLETED, result.getStatus());
+        Assertions.assertEquals(10, orderEntity.getItems().get(0).getProduct().getStock());
+        Mockito.verifyNoInteractions(stockLedgerDao);
+    }
+
+    /**
+     * Tests the cancellation of an order.
+     * It verifies that the ordered quantity is returned to stock and recorded in the stock ledger.
+     */
+    @Test
+    @DisplayName("Update order status - cancellation returns the items to stock")
+    void testUpdateOrderStatus_cancellation() {
+
+        Mockito.when(orderDao.getOrderDetails(orderId)).thenReturn(Optional.of(orderEntity));
+        Mockito.when(orderDao.updateOrder(orderEntity)).thenReturn(orderEntity);
+
+        orderServiceImpl.updateOrderStatus(orderId, OrderStatus.CANCELLED);
+
+        Assertions.assertEquals(20, orderEntity.getItems().get(0).getProduct().getStock());
+        Mockito.verify(stockLedgerDao).recordMovements(Mockito.argThat(movements -> movements.size() == 1
+                && movements.get(0).getQuantityDelta() == 10
+                && movements.get(0).getReason() == StockMovementReason.ORDER_CANCELLED
+                && orderId.equals(movements.get(0).getOrderId())));
+        Mockito.verify(salesRollupRecorder).recordStatusChangeAfterCommit(orderEntity, OrderStatus.PENDING);
+    }
+
+    /**
+     * Tests reinstating a cancelled order without enough stock.
+     * It verifies that an InsufficientStockException is thrown and nothing is saved.
+     */
+    @Test
+    @DisplayName("Update order status - reinstating a cancelled order needs the stock again")
+    void testUpdateOrderStatus_reinstateInsufficientStock() {
+
+        orderEntity.setStatus(OrderStatus.CANCELLED);
+        orderEntity.getItems().get(0).getProduct().setStock(5);
+        Mockito.when(orderDao.getOrderDetails(orderId)).thenReturn(Optional.of(orderEntity));
+
+        Assertions.assertThrows(InsufficientStockException.class,
+                () -> orderServiceImpl.updateOrderStatus(orderId, OrderStatus.COMPLETED));
+        Mockito.verify(orderDao, Mockito.never()).updateOrder(Mockito.any());
+        Mockito.verifyNoInteractions(stockLedgerDao);
+    }
+
+    /**
+     * Tests retrieving an order.
+     * It verifies that the order snapshot is mapped and its products are filled in from the product cache.
+     */
+    @Test
+    @DisplayName("Get order - success, products are filled in from the product cache")
+    void testGetOrder_success() {
+
+        UUID productId = UUID.randomUUID();
+        OrderSnapshot snapshot = new OrderSnapshot(orderId, OrderStatus.COMPLETED, LocalDateTime.now(),
+                List.of(new OrderSnapshot.Item(productId, 2)));
+        OrderItemDto itemDto = new OrderItemDto();
+        itemDto.setProductId(productId.toString());
+        itemDto.setQuantity(2);
+        orderDto.setItems(List.of(itemDto));
+        ProductSnapshot productSnapshot = new ProductSnapshot(productId, "Apple", "SKU123", new BigDecimal("1.50"), 8, 3);
+        ProductDto productDto = new ProductDto(productId.toString(), "Apple", "SKU123", new BigDecimal("1.50"), 8);
+        Mockito.when(orderDao.getOrderById(orderId)).thenReturn(Optional.of(snapshot));
+        Mockito.when(orderMapper.transformOrderSnapshotToOrderDto(snapshot)).thenReturn(orderDto);
+        Mockito.when(productDao.getProductById(productId)).thenReturn(Optional.of(productSnapshot));
+        Mockito.when(productMapper.transformProductSnapshotToProductDto(productSnapshot)).thenReturn(productDto);
+
+        OrderDto result = orderServiceImpl.getOrder(orderId);
+
+        Assertions.assertEquals(orderId.toString(), result.getId());
+        Assertions.assertEquals(productDto, result.getItems().get(0).getProduct());
+    }
+
+    /**
+     * Tests retrieving an order that does not exist.
+     * It verifies that a ResourceNotFoundException is thrown.
+     */
+    @Test
+    @DisplayName("Get order - failure, should throw ResourceNotFoundException for an unknown order")
+    void testGetOrder_notFound() {
+
+        Mockito.when(orderDao.getOrderById(orderId)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> orderServiceImpl.getOrder(orderId));
+        Mockito.verifyNoInteractions(productDao);
+    }
+
+    /**
+     * Tests retrieving the first page of the order history.
+     * It verifies that the page starts at the upper bound and that a full page carries the cursor of its last order.
+     */
+    @Test
+    @DisplayName("Get order history - first full page, next cursor points after its last order")
+    void testGetOrderHistory_firstPage() {
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        orderEntity.setOrderCreatedDate(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000));
+        Mockito.when(orderDao.getOrderHistoryPage(OrderStatus.PENDING, from, to, new UUID(0, 0), 1))
+                .thenReturn(List.of(orderEntity));
+        Mockito.when(orderMapper.transformOrderEntityToOrderDto(orderEntity)).thenReturn(orderDto);
+
+        OrderHistoryPageDto page = orderServiceImpl.getOrderHistory(OrderStatus.PENDING, from, to, null, 1);
+
+        Assertions.assertEquals(List.of(orderDto), page.getOrders());
+        OrderHistoryCursor nextCursor = OrderHistoryCursor.decode(page.getNextCursor());
+        Assertions.assertEquals(orderEntity.getOrderCreatedDate(), nextCursor.getOrderCreatedDate());
+        Assertions.assertEquals(orderId, nextCursor.getOrderId());
+    }
+
+    /**
+     * Tests retrieving a following page of the order history.
+     * It verifies that the page starts after the cursor and that a partial page has no next cursor.
+     */
+    @Test
+    @DisplayName("Get order history - page after a cursor, last page has no next cursor")
+    void testGetOrderHistory_lastPage() {
+
+        OrderHistoryCursor cursor = new OrderHistoryCursor(LocalDateTime.of(2024, 1, 15, 10, 30), orderId);
+        Mockito.when(orderDao.getOrderHistoryPage(Mockito.isNull(), Mockito.any(), Mockito.eq(cursor.getOrderCreatedDate()),
+                Mockito.eq(orderId), Mockito.eq(10))).thenReturn(List.of(orderEntity));
+        Mockito.when(orderMapper.transformOrderEntityToOrderDto(orderEntity)).thenReturn(orderDto);
+
+        OrderHistoryPageDto page = orderServiceImpl.getOrderHistory(null, null, null, cursor.encode(), 10);
+
+        Assertions.assertEquals(List.of(orderDto), page.getOrders());
+        Assertions.assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Tests retrieving the order history with invalid parameters.
+     * It verifies that an InvalidRequestException is thrown before the database is queried.
+     */
+    @Test
+    @DisplayName("Get order history - failure, invalid size or cursor is rejected")
+    void testGetOrderHistory_invalidRequest() {
+
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> orderServiceImpl.getOrderHistory(null, null, null, null, 0));
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> orderServiceImpl.getOrderHistory(null, null, null, null, 501));
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> orderServiceImpl.getOrderHistory(null, null, null, "not-a-cursor", 10));
+        Mockito.verifyNoInteractions(orderDao);
+    }
+
+    /**
+     * Tests exporting orders as CSV.
+     * It verifies the header, the amounts in major units and the quoting of free-text fields.
+     */
+    @Test
+    @DisplayName("Export orders - CSV with header, amounts and quoted product names")
+    void testExportOrders_success() {
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        UUID itemId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+        OrderExportRow row = Mockito.mock(OrderExportRow.class);
+        Mockito.when(row.getOrderId()).thenReturn(orderId);
+        Mockito.when(row.getStatus()).thenReturn(OrderStatus.COMPLETED);
+        Mockito.when(row.getOrderCreatedDate()).thenReturn(LocalDateTime.of(2024, 1, 15, 10, 30));
+        Mockito.when(row.getItemId()).thenReturn(itemId);
+        Mockito.when(row.getProductId()).thenReturn(productId);
+        Mockito.when(row.getSku()).thenReturn("SKU123");
+        Mockito.when(row.getProductName()).thenReturn("Apples, \"Gala\"");
+        Mockito.when(row.getUnitPriceMinor()).thenReturn(150L);
+        Mockito.when(row.getQuantity()).thenReturn(3);
+        Mockito.when(orderDao.exportOrders(Mockito.eq(from), Mockito.eq(to), Mockito.any())).thenAnswer(invocation -> {
+            Consumer<OrderExportRow> consumer = invocation.getArgument(2);
+            consumer.accept(row);
+            return 1L;
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Mockito.when(orderArchiveScheduler.getCutoff()).thenReturn(from);
+
+        Assertions.assertEquals(1, orderServiceImpl.exportOrders(from, to, outputStream));
+        Assertions.assertEquals("order_id,status,order_created_date,item_id,product_id,sku,product_name,unit_price,quantity,line_total\n"
+                        + orderId + ",COMPLETED,2024-01-15T10:30," + itemId + "," + productId
+                        + ",SKU123,\"Apples, \"\"Gala\"\"\",1.50,3,4.50\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests exporting orders from before the archive cutoff.
+     * It verifies that an InvalidRequestException is thrown and nothing is read.
+     */
+    @Test
+    @DisplayName("Export orders - range before the archive cutoff rejected")
+    void testExportOrders_beforeArchiveCutoff() {
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Mockito.when(orderArchiveScheduler.getCutoff()).thenReturn(from.plusSeconds(1));
+
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> orderServiceImpl.exportOrders(from, from.plusDays(1), new ByteArrayOutputStream()));
+        Mockito.verifyNoInteractions(orderDao);
+    }
+
+    /**
+     * Tests updating an order that was moved to the order archive.
+     * It verifies that an OrderArchivedException is thrown and nothing is saved.
+     */
+    @Test
+    @DisplayName("Update order status - archived orders can no longer be updated")
+    void testUpdateOrderStatus_archived() {
+
+        orderEntity.setArchived(true);
+        Mockito.when(orderDao.getOrderDetails(orderId)).thenReturn(Optional.of(orderEntity));
+
+        Assertions.assertThrows(OrderArchivedException.class,
+                () -> orderServiceImpl.updateOrderStatus(orderId, OrderStatus.CANCELLED));
+        Mockito.verify(orderDao, Mockito.never()).updateOrder(Mockito.any());
+        Mockito.verifyNoInteractions(stockLedgerDao);
     }
 
     /**
@@ -132,7 +421,7 @@ class OrderServiceImplTest {
         OrderDto result = orderServiceImpl.updateOrderStatus(orderId, OrderStatus.COMPLETED);
 
         Assertions.assertNull(result);
-        Mockito.verify(orderDao, Mockito.times(0)).createOrder(orderEntity);
+        Mockito.verify(orderDao, Mockito.times(0)).updateOrder(orderEntity);
         Mockito.verify(orderMapper, Mockito.times(0)).transformOrderEntityToOrderDto(Mockito.any());
     }
 
@@ -150,7 +439,7 @@ class OrderServiceImplTest {
         Map<String, BigDecimal> productSummaryResults = orderServiceImpl.getProductSummaryDetails(orderId);
 
         Assertions.assertEquals(1, productSummaryResults.size());
-        Assertions.assertEquals(BigDecimal.valueOf(1000), productSummaryResults.get("Apple"));
+        Assertions.assertEquals(new BigDecimal("1000.00"), productSummaryResults.get("Apple"));
     }
 
     /**
@@ -167,4 +456,59 @@ class OrderServiceImplTest {
             orderServiceImpl.getProductSummaryDetails(orderId);
         });
     }
+
+    /**
+     * Tests the entity tag of the product summary.
+     * It verifies that the tag changes when the order status changes.
+     */
+    @Test
+    @DisplayName("Product summary entity tag - changes with the order status")
+    void testProductSummaryETag_success(){
+        UUID productId = UUID.randomUUID();
+
+        Mockito.when(orderDao.getOrderSummaryVersions(orderId)).thenReturn(List.of(versionView(OrderStatus.PENDING, productId)));
+        String pendingTag = orderServiceImpl.getProductSummaryETag(orderId);
+
+        Mockito.when(orderDao.getOrderSummaryVersions(orderId)).thenReturn(List.of(versionView(OrderStatus.COMPLETED, productId)));
+        String completedTag = orderServiceImpl.getProductSummaryETag(orderId);
+
+        Assertions.assertNotEquals(pendingTag, completedTag);
+    }
+
+    /**
+     * Tests the entity tag of the product summary for an unknown order.
+     * It verifies that a ResourceNotFoundException is thrown.
+     */
+    @Test
+    @DisplayName("Product summary entity tag - Failure")
+    void testProductSummaryETag_failure(){
+        Mockito.when(orderDao.getOrderSummaryVersions(orderId)).thenReturn(Collections.emptyList());
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> orderServiceImpl.getProductSummaryETag(orderId));
+    }
+
+    /**
+     * Creates a summary version projection with a single product at version 0.
+     *
+     * @param status    the status of the order
+     * @param productId the unique identifier of the ordered product
+     * @return the summary version projection
+     */
+    private OrderSummaryVersionView versionView(OrderStatus status, UUID productId) {
+        return new OrderSummaryVersionView() {
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Integer getProductVersion() {
+                return 0;
+            }
+        };
+    }
 }
@@ -0,0 +1,175 @@
+package com.cams.inventory.management.product;
+
+import com.cams.inventory.management.dao.product.PriceUpdateDao;
+import com.cams.inventory.management.dao.product.ProductKeyDao;
+import com.cams.inventory.management.dto.PriceChangeLineDto;
+import com.cams.inventory.management.dto.PriceUpdateProgressDto;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import com.cams.inventory.management.request.ProductPriceChangeRequest;
+import com.cams.inventory.management.service.product.impl.PriceUpdateServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * PriceUpdateServiceImplTest
+ * This class contains unit tests for the PriceUpdateServiceImpl class.
+ * The mocked DAO knows two products, Apple and Cherry, and keeps their prices in minor units in a map.
+ */
+@ExtendWith(SpringExtension.class)
+class PriceUpdateServiceImplTest {
+
+    /**
+     * Identifier of the product Apple.
+     */
+    private static final UUID APPLE_ID = UUID.randomUUID();
+
+    /**
+     * Identifier of the product Cherry.
+     */
+    private static final UUID CHERRY_ID = UUID.randomUUID();
+
+    /**
+     * Mocks the transaction manager the chunks run their transactions with.
+     */
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * Mocks the DAO looking up the products by id and SKU.
+     */
+    @Mock
+    ProductKeyDao productKeyDao;
+
+    /**
+     * Mocks the DAO replacing the prices of the products.
+     */
+    @Mock
+    PriceUpdateDao priceUpdateDao;
+
+    /**
+     * Price of the known products in minor units, by product id.
+     */
+    private final Map<UUID, Long> prices = new HashMap<>();
+
+    /**
+     * Lets the mocked transaction manager start transactions and makes the DAO find and reprice the
+     * known products.
+     */
+    @BeforeEach
+    void setUp() {
+        prices.put(APPLE_ID, 150L);
+        prices.put(CHERRY_ID, 300L);
+        Map<UUID, String> skus = Map.of(APPLE_ID, "SKU-APPLE", CHERRY_ID, "SKU-CHERRY");
+        Mockito.when(transactionManager.getTransaction(Mockito.any(TransactionDefinition.class)))
+                .thenReturn(new SimpleTransactionStatus());
+        Mockito.doAnswer(invocation -> {
+            Collection<UUID> productIds = invocation.getArgument(0);
+            Collection<String> requestedSkus = invocation.getArgument(1);
+            ProductKeyDao.ProductKeyHandler handler = invocation.getArgument(2);
+            skus.forEach((productId, sku) -> {
+                if (productIds.contains(productId) || requestedSkus.contains(sku)) {
+                    handler.accept(productId, sku);
+                }
+            });
+            return null;
+        }).when(productKeyDao).findProducts(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.when(priceUpdateDao.updatePrices(Mockito.any())).thenAnswer(invocation -> {
+            SortedMap<UUID, Long> newPrices = invocation.getArgument(0);
+            Set<UUID> changed = new HashSet<>();
+            newPrices.forEach((productId, price) -> {
+                if (!Objects.equals(prices.put(productId, price), price)) {
+                    changed.add(productId);
+                }
+            });
+            return changed;
+        });
+    }
+
+    /**
+     * Test case for a feed mixing changed, unchanged, invalid and unknown lines, in chunks of two lines.
+     */
+    @Test
+    @DisplayName("Test Update Prices - Progress after every chunk, counts cumulated")
+    void testUpdatePrices_progress() {
+        PriceUpdateServiceImpl service = new PriceUpdateServiceImpl(productKeyDao, priceUpdateDao,
+                transactionManager, 2);
+        List<ProductPriceChangeRequest> changes = List.of(
+                new ProductPriceChangeRequest(null, "SKU-APPLE", new BigDecimal("1.75")),
+                new ProductPriceChangeRequest(CHERRY_ID.toString(), null, new BigDecimal("3.00")),
+                new ProductPriceChangeRequest(null, "SKU-UNKNOWN", new BigDecimal("1.00")),
+                new ProductPriceChangeRequest(null, "SKU-CHERRY", new BigDecimal("2.999")),
+                new ProductPriceChangeRequest(APPLE_ID.toString(), null, new BigDecimal("1.80")));
+        List<PriceUpdateProgressDto> progress = new ArrayList<>();
+
+        PriceUpdateProgressDto outcome = service.updatePrices(changes, progress::add);
+
+        Assertions.assertEquals(3, progress.size());
+        Assertions.assertEquals(outcome, progress.get(2));
+        // Cherry already had its price
+        Assertions.assertEquals(List.of(1, 1, 2), progress.stream().map(PriceUpdateProgressDto::getUpdated).toList());
+        Assertions.assertEquals(List.of(1, 1, 1), progress.stream().map(PriceUpdateProgressDto::getUnchanged).toList());
+        Assertions.assertEquals(List.of(0, 2, 2), progress.stream().map(PriceUpdateProgressDto::getRejected).toList());
+        Assertions.assertEquals(List.of(2, 4, 5), progress.stream().map(PriceUpdateProgressDto::getLinesDone).toList());
+        Assertions.assertEquals(List.of(PriceChangeLineDto.Status.NOT_FOUND, PriceChangeLineDto.Status.INVALID),
+                progress.get(1).getRejections().stream().map(PriceChangeLineDto::getStatus).toList());
+        Assertions.assertEquals(Map.of(APPLE_ID, 180L, CHERRY_ID, 300L), prices);
+        Mockito.verify(transactionManager, Mockito.times(3)).commit(Mockito.any());
+    }
+
+    /**
+     * Test case for a chunk that cannot be written: its lines fail, the other chunks are applied.
+     */
+    @Test
+    @DisplayName("Test Update Prices - A failed chunk does not fail the others")
+    void testUpdatePrices_failedChunk() {
+        PriceUpdateServiceImpl service = new PriceUpdateServiceImpl(productKeyDao, priceUpdateDao,
+                transactionManager, 1);
+        Mockito.doThrow(new InventoryManagementDBException("Error while updating prices")).when(priceUpdateDao)
+                .updatePrices(Mockito.argThat(newPrices -> newPrices != null && newPrices.containsKey(CHERRY_ID)));
+
+        PriceUpdateProgressDto outcome = service.updatePrices(List.of(
+                new ProductPriceChangeRequest(null, "SKU-CHERRY", new BigDecimal("3.50")),
+                new ProductPriceChangeRequest(null, "SKU-APPLE", new BigDecimal("1.60"))), progress -> {
+        });
+
+        Assertions.assertEquals(1, outcome.getUpdated());
+        Assertions.assertEquals(1, outcome.getRejected());
+        Assertions.assertEquals(160L, prices.get(APPLE_ID));
+        Mockito.verify(transactionManager).rollback(Mockito.any());
+    }
+
+    /**
+     * Test case for an empty feed.
+     */
+    @Test
+    @DisplayName("Test Update Prices - An empty feed is rejected")
+    void testUpdatePrices_empty() {
+        PriceUpdateServiceImpl service = new PriceUpdateServiceImpl(productKeyDao, priceUpdateDao,
+                transactionManager, 2);
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.checkPriceChanges(List.of()));
+        Mockito.verifyNoInteractions(priceUpdateDao);
+    }
+}
@@ -1,10 +1,28 @@
 package com.cams.inventory.management.product;
 
 import com.cams.inventory.management.dao.product.ProductDao;
+import com.cams.inventory.management.dao.product.ProductKeyDao;
+import com.cams.inventory.management.dao.stock.StockLedgerDao;
 import com.cams.inventory.management.dto.ProductDto;
+import com.cams.inventory.management.dto.ProductSnapshot;
+import com.cams.inventory.management.dto.ProductVersionView;
+import com.cams.inventory.management.dto.ReorderPointDto;
+import com.cams.inventory.management.dto.ReorderProductDto;
+import com.cams.inventory.management.dto.StockLevelDto;
+import com.cams.inventory.management.dto.StockSeriesDto;
+import com.cams.inventory.management.dto.StockSeriesPointDto;
+import com.cams.inventory.management.entity.constant.StockMovementReason;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.entity.stock.StockMovementEntity;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.handler.PreconditionFailedException;
+import com.cams.inventory.management.handler.ResourceNotFoundException;
 import com.cams.inventory.management.mapper.ProductMapper;
 import com.cams.inventory.management.request.ProductRequest;
+import com.cams.inventory.management.service.demand.DemandTracker;
 import com.cams.inventory.management.service.product.impl.ProductServiceImpl;
+import com.cams.inventory.management.service.stock.StockSeries;
+import com.cams.inventory.management.service.stock.StockSeriesRecorder;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +35,8 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.util.ObjectUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 
 /** ProductServiceImplTest.java
@@ -45,6 +65,30 @@ class ProductServiceImplTest {
     @Mock
     ProductMapper productMapper;
 
+    /**
+     * Mocks the StockLedgerDao dependency.
+     */
+    @Mock
+    StockLedgerDao stockLedgerDao;
+
+    /**
+     * Mocks the ProductKeyDao dependency.
+     */
+    @Mock
+    ProductKeyDao productKeyDao;
+
+    /**
+     * Mocks the DemandTracker dependency.
+     */
+    @Mock
+    DemandTracker demandTracker;
+
+    /**
+     * Mocks the StockSeriesRecorder dependency.
+     */
+    @Mock
+    StockSeriesRecorder stockSeriesRecorder;
+
     /**
      * Tests the retrieval of low stock products.
      * It checks if the method correctly identifies products with stock below a specified threshold.
@@ -54,12 +98,10 @@ class ProductServiceImplTest {
     void testGetLowStockProducts(){
 
         List<ProductDto> products = List.of(
-                new ProductDto(String.valueOf(UUID.randomUUID()), "Apple", "173546", BigDecimal.valueOf(10), 50),
-                new ProductDto(String.valueOf(UUID.randomUUID()),"Banana", "982651", BigDecimal.valueOf(5), 120),
-                new ProductDto(String.valueOf(UUID.randomUUID()),"Cherry", "362519", BigDecimal.valueOf(20), 100)
+                new ProductDto(String.valueOf(UUID.randomUUID()), "Apple", "173546", BigDecimal.valueOf(10), 50)
         );
 
-        Mockito.when(productDao.getAllProducts()).thenReturn(products);
+        Mockito.when(productDao.getLowStockProducts(60)).thenReturn(products);
 
         List<ProductDto> results = productServiceImpl.getLowStockProducts(60);
         Assertions.assertFalse(results.isEmpty());
@@ -67,6 +109,55 @@ class ProductServiceImplTest {
         Assertions.assertEquals("Apple", results.get(0).getName());
     }
 
+    /**
+     * Tests the reorder projection.
+     * It checks that products are ranked by days until stockout, that products beyond the horizon,
+     * without demand or beyond the limit are left out, and that only the stock of products with a demand is read.
+     */
+    @Test
+    @DisplayName("Retrieve products running out of stock within the horizon, soonest first")
+    void testGetReorderProducts(){
+
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        // Stock and daily demand: 5 days, 1 day, 20 days, no demand, 2 days
+        int[] stocks = {50, 10, 200, 5, 0};
+        double[] demands = {10, 10, 10, 0, 0.5};
+        Map<UUID, Double> dailyDemands = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (demands[i] > 0) {
+                dailyDemands.put(ids.get(i), demands[i]);
+            }
+        }
+        Mockito.when(demandTracker.getDailyDemands(Mockito.any())).thenReturn(dailyDemands);
+        Mockito.doAnswer(invocation -> {
+            Collection<UUID> productIds = invocation.getArgument(0);
+            ProductKeyDao.StockHandler handler = invocation.getArgument(1);
+            productIds.forEach(productId -> handler.accept(productId, stocks[ids.indexOf(productId)], 1));
+            return null;
+        }).when(productKeyDao).scanStock(Mockito.any(), Mockito.any());
+        Mockito.when(productDao.findAllById(Mockito.any())).thenAnswer(invocation -> {
+            Collection<UUID> productIds = invocation.getArgument(0);
+            return productIds.stream().map(id -> {
+                ProductEntity productEntity = new ProductEntity();
+                productEntity.setId(id);
+                productEntity.setName("Product " + ids.indexOf(id));
+                return productEntity;
+            }).toList();
+        });
+
+        List<ReorderProductDto> results = productServiceImpl.getReorderProducts(14, 2);
+
+        Assertions.assertEquals(List.of(
+                        new ReorderProductDto(ids.get(4).toString(), "Product 4", 0, 0.5, 0),
+                        new ReorderProductDto(ids.get(1).toString(), "Product 1", 10, 10, 1)),
+                results);
+        Assertions.assertEquals(3, productServiceImpl.getReorderProducts(14, 10).size());
+        // The stock of the product without demand is never read
+        Mockito.verify(productKeyDao, Mockito.times(2)).scanStock(Mockito.eq(dailyDemands.keySet()), Mockito.any());
+        Assertions.assertThrows(InvalidRequestException.class, () -> productServiceImpl.getReorderProducts(0, 10));
+        Assertions.assertThrows(InvalidRequestException.class, () -> productServiceImpl.getReorderProducts(14, 1001));
+    }
+
     /**
      * Tests the creation of new products.
      * It checks if the method correctly creates products and handles existing SKUs.
@@ -92,6 +183,9 @@ class ProductServiceImplTest {
       Assertions.assertEquals(2, results.getFirst().size());
 
       Mockito.verify(productDao, Mockito.times(1)).createProduct(Mockito.any());
+      Mockito.verify(stockLedgerDao).recordMovements(Mockito.argThat(movements -> movements.size() == 2
+              && movements.stream().allMatch(movement -> movement.getReason() == StockMovementReason.PRODUCT_CREATED)
+              && movements.get(1).getQuantityDelta() == 120));
     }
 
     /**
@@ -144,4 +238,264 @@ class ProductServiceImplTest {
 
         Mockito.verify(productDao, Mockito.times(0)).createProduct(Mockito.any());
     }
+
+    /**
+     * Tests the retrieval of a single product by its ID.
+     * It checks if the snapshot returned by the DAO is mapped to a ProductDto.
+     */
+    @Test
+    @DisplayName("Get product by id - Success")
+    void testGetProductById_success(){
+
+        UUID productId = UUID.randomUUID();
+        ProductSnapshot snapshot = new ProductSnapshot(productId, "Apple", "173546", BigDecimal.valueOf(10), 50, 0);
+        ProductDto productDto = new ProductDto(productId.toString(), "Apple", "173546", BigDecimal.valueOf(10), 50);
+
+        Mockito.when(productDao.getProductById(productId)).thenReturn(Optional.of(snapshot));
+        Mockito.when(productMapper.transformProductSnapshotToProductDto(snapshot)).thenReturn(productDto);
+
+        ProductDto result = productServiceImpl.getProductById(productId);
+
+        Assertions.assertEquals("Apple", result.getName());
+    }
+
+    /**
+     * Tests the retrieval of a product that does not exist.
+     * It verifies that a ResourceNotFoundException is thrown.
+     */
+    @Test
+    @DisplayName("Get product by id - Failure")
+    void testGetProductById_failure(){
+
+        UUID productId = UUID.randomUUID();
+        Mockito.when(productDao.getProductById(productId)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> productServiceImpl.getProductById(productId));
+    }
+
+    /**
+     * Tests the entity tag of a product.
+     * It checks if the tag is the quoted product version.
+     */
+    @Test
+    @DisplayName("Get product entity tag - Success")
+    void testGetProductETag_success(){
+
+        UUID productId = UUID.randomUUID();
+        ProductSnapshot snapshot = new ProductSnapshot(productId, "Apple", "173546", BigDecimal.valueOf(10), 50, 3);
+        Mockito.when(productDao.getProductById(productId)).thenReturn(Optional.of(snapshot));
+
+        Assertions.assertEquals("\"3\"", productServiceImpl.getProductETag(productId));
+    }
+
+    /**
+     * Tests the entity tag of the low-stock product list.
+     * It checks if the tag changes when a product version changes.
+     */
+    @Test
+    @DisplayName("Get low stock products entity tag - changes with product versions")
+    void testGetLowStockProductsETag(){
+
+        UUID productId = UUID.randomUUID();
+        Mockito.when(productDao.getLowStockProductVersions(60)).thenReturn(List.of(versionView(productId, 1)));
+        String firstTag = productServiceImpl.getLowStockProductsETag(60);
+
+        Mockito.when(productDao.getLowStockProductVersions(60)).thenReturn(List.of(versionView(productId, 2)));
+        String secondTag = productServiceImpl.getLowStockProductsETag(60);
+
+        Assertions.assertTrue(firstTag.startsWith("\""));
+        Assertions.assertNotEquals(firstTag, secondTag);
+    }
+
+    /**
+     * Creates a version projection for the given product.
+     *
+     * @param productId the unique identifier of the product
+     * @param version   the version of the product
+     * @return the version projection
+     */
+    private ProductVersionView versionView(UUID productId, int version) {
+        return new ProductVersionView() {
+            @Override
+            public UUID getId() {
+                return productId;
+            }
+
+            @Override
+            public Integer getVersion() {
+                return version;
+            }
+        };
+    }
+
+    /**
+     * Tests a conditional stock update at the current version.
+     * It checks if the updated product is returned with its new entity tag.
+     */
+    @Test
+    @DisplayName("Update product stock - Success")
+    void testUpdateProductStock_success(){
+
+        UUID productId = UUID.randomUUID();
+        ProductEntity productEntity = new ProductEntity();
+        productEntity.setId(productId);
+        productEntity.setStock(40);
+        productEntity.setVersion(4);
+        ProductDto productDto = new ProductDto(productId.toString(), "Apple", "173546", BigDecimal.valueOf(10), 40);
+
+        Mockito.when(productDao.getStockAtVersion(productId, 3)).thenReturn(Optional.of(25));
+        Mockito.when(productDao.updateStock(productId, 3, 40)).thenReturn(true);
+        Mockito.when(productDao.findById(productId)).thenReturn(Optional.of(productEntity));
+        Mockito.when(productMapper.transformProductEntityToProductDto(productEntity)).thenReturn(productDto);
+
+        Pair<ProductDto, String> result = productServiceImpl.updateProductStock(productId, 3, 40);
+
+        Assertions.assertEquals(40, result.getFirst().getStock());
+        Assertions.assertEquals("\"4\"", result.getSecond());
+        Mockito.verify(stockLedgerDao).recordMovements(List.of(
+                StockMovementEntity.of(productId, 15, StockMovementReason.STOCK_ADJUSTED, null)));
+        Mockito.verify(stockSeriesRecorder).recordAfterCommit(productId, 40, 4);
+    }
+
+    /**
+     * Tests a conditional price update with a stale version.
+     * It verifies that a PreconditionFailedException is thrown and nothing is read back.
+     */
+    @Test
+    @DisplayName("Update product price - stale version")
+    void testUpdateProductPrice_staleVersion(){
+
+        UUID productId = UUID.randomUUID();
+        Mockito.when(productDao.updatePrice(productId, 3, 100L)).thenReturn(false);
+        Mockito.when(productDao.existsById(productId)).thenReturn(true);
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> productServiceImpl.updateProductPrice(productId, 3, BigDecimal.ONE));
+        Mockito.verify(productDao, Mockito.never()).findById(productId);
+    }
+
+    /**
+     * Tests a conditional reorder threshold update for a product that does not exist.
+     * It verifies that a ResourceNotFoundException is thrown and nothing is read back.
+     */
+    @Test
+    @DisplayName("Update product reorder threshold - unknown product")
+    void testUpdateProductReorderThreshold_notFound(){
+
+        UUID productId = UUID.randomUUID();
+        Mockito.when(productDao.updateReorderThreshold(productId, 0, 20)).thenReturn(false);
+        Mockito.when(productDao.existsById(productId)).thenReturn(false);
+
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> productServiceImpl.updateProductReorderThreshold(productId, 0, 20));
+        Mockito.verify(productDao, Mockito.never()).findById(productId);
+    }
+
+    /**
+     * Tests the retrieval of the products at their reorder point.
+     * It checks that the flagged products are returned as read by the DAO.
+     */
+    @Test
+    @DisplayName("Retrieve products at or below their reorder threshold")
+    void testGetProductsAtReorderPoint(){
+
+        List<ReorderPointDto> products = List.of(new ReorderPointDto(UUID.randomUUID().toString(), "Apple", "173546", 4, 5));
+        Mockito.when(productDao.getProductsAtReorderPoint()).thenReturn(products);
+
+        Assertions.assertEquals(products, productServiceImpl.getProductsAtReorderPoint());
+    }
+
+    /**
+     * Tests a conditional stock update for a product that does not exist.
+     * It verifies that a ResourceNotFoundException is thrown.
+     */
+    @Test
+    @DisplayName("Update product stock - unknown product")
+    void testUpdateProductStock_notFound(){
+
+        UUID productId = UUID.randomUUID();
+        Mockito.when(productDao.updateStock(productId, 0, 10)).thenReturn(false);
+        Mockito.when(productDao.existsById(productId)).thenReturn(false);
+
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> productServiceImpl.updateProductStock(productId, 0, 10));
+    }
+
+    /**
+     * Tests the point-in-time stock of a product.
+     * It checks if the stock level is taken from the stock ledger.
+     */
+    @Test
+    @DisplayName("Stock as of a point in time - Success")
+    void testGetStockAsOf_success(){
+
+        UUID productId = UUID.randomUUID();
+        LocalDateTime asOf = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Mockito.when(productDao.existsById(productId)).thenReturn(true);
+        Mockito.when(stockLedgerDao.getStockAsOf(productId, asOf)).thenReturn(42);
+
+        StockLevelDto result = productServiceImpl.getStockAsOf(productId, asOf);
+
+        Assertions.assertEquals(new StockLevelDto(productId.toString(), asOf, 42), result);
+    }
+
+    /**
+     * Tests the point-in-time stock of a product that does not exist.
+     * It verifies that a ResourceNotFoundException is thrown and the ledger is not read.
+     */
+    @Test
+    @DisplayName("Stock as of a point in time - unknown product")
+    void testGetStockAsOf_notFound(){
+
+        UUID productId = UUID.randomUUID();
+        Mockito.when(productDao.existsById(productId)).thenReturn(false);
+
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> productServiceImpl.getStockAsOf(productId, LocalDateTime.now()));
+        Mockito.verifyNoInteractions(stockLedgerDao);
+    }
+
+    /**
+     * Tests the stock series of a product over a range.
+     * It checks if the points come from the series and the stock at the start from the ledger when the
+     * series has no point before it.
+     */
+    @Test
+    @DisplayName("Stock series over a range - Success")
+    void testGetStockSeries_success(){
+
+        UUID productId = UUID.randomUUID();
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 12, 0);
+        LocalDateTime to = from.plusHours(1);
+        LocalDateTime changedAt = from.plusMinutes(10);
+        Mockito.when(productDao.existsById(productId)).thenReturn(true);
+        Mockito.doAnswer(invocation -> {
+            StockSeries.PointHandler handler = invocation.getArgument(3);
+            handler.accept(changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), 37);
+            return 1;
+        }).when(stockSeriesRecorder).scan(Mockito.eq(productId), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.when(stockSeriesRecorder.getStockBefore(Mockito.eq(productId), Mockito.any())).thenReturn(OptionalInt.empty());
+        Mockito.when(stockLedgerDao.getStockAsOf(productId, from)).thenReturn(40);
+
+        StockSeriesDto result = productServiceImpl.getStockSeries(productId, from, to);
+
+        Assertions.assertEquals(new StockSeriesDto(productId.toString(), from, to, 40,
+                List.of(new StockSeriesPointDto(changedAt, 37))), result);
+    }
+
+    /**
+     * Tests the stock series of a product over an empty range.
+     * It verifies that an InvalidRequestException is thrown and nothing is read.
+     */
+    @Test
+    @DisplayName("Stock series over a range - empty range")
+    void testGetStockSeries_emptyRange(){
+
+        UUID productId = UUID.randomUUID();
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> productServiceImpl.getStockSeries(productId, from, from));
+        Mockito.verifyNoInteractions(productDao, stockSeriesRecorder, stockLedgerDao);
+    }
 }
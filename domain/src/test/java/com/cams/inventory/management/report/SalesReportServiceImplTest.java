@@ -0,0 +1,280 @@
+package com.cams.inventory.management.report;
+
+import com.cams.inventory.management.dao.report.SalesReportDao;
+import com.cams.inventory.management.dto.SalesFiguresDto;
+import com.cams.inventory.management.dto.SalesReportDto;
+import com.cams.inventory.management.entity.constant.OrderStatus;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.service.order.OrderArchiveScheduler;
+import com.cams.inventory.management.service.report.TopSellerTracker;
+import com.cams.inventory.management.service.report.TopSellerWindow;
+import com.cams.inventory.management.service.report.impl.SalesReportServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SalesReportServiceImplTest
+ * This class contains unit tests for the SalesReportServiceImpl class.
+ * The DAO scan returns one order with one item per hour of the scanned slice, so the report can be
+ * checked whatever the number of slices the range is cut into.
+ */
+@ExtendWith(SpringExtension.class)
+class SalesReportServiceImplTest {
+
+    /**
+     * The two products sold, alternately, one per hour.
+     */
+    private static final List<UUID> PRODUCTS = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+    /**
+     * Mocks the transaction manager the slices run their transactions with.
+     */
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * Mocks the DAO reading the order items and the rollups.
+     */
+    @Mock
+    SalesReportDao salesReportDao;
+
+    /**
+     * Mocks the tracker of the top sellers.
+     */
+    @Mock
+    TopSellerTracker topSellerTracker;
+
+    /**
+     * Mocks the scheduler telling the archive cutoff.
+     */
+    @Mock
+    OrderArchiveScheduler orderArchiveScheduler;
+
+    /**
+     * Number of slices the DAO was asked to scan.
+     */
+    private final AtomicInteger scans = new AtomicInteger();
+
+    /**
+     * Lets the mocked transaction manager start transactions, and makes the DAO scan, every hour of the
+     * slice, one order of as many units as the hour of the day, of the product of the hour's parity, at 1.00.
+     * Orders of the hours after noon are cancelled. Nothing was archived after the start of 2024.
+     */
+    @BeforeEach
+    void setUp() {
+        Mockito.when(orderArchiveScheduler.getCutoff()).thenReturn(LocalDateTime.of(2024, 1, 1, 0, 0));
+        Mockito.when(transactionManager.getTransaction(Mockito.any(TransactionDefinition.class)))
+                .thenReturn(new SimpleTransactionStatus());
+        Mockito.when(salesReportDao.scanOrderItems(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(0);
+            LocalDateTime to = invocation.getArgument(1);
+            SalesReportDao.SaleHandler handler = invocation.getArgument(2);
+            scans.incrementAndGet();
+            long items = 0;
+            for (LocalDateTime hour = from.withMinute(0).withSecond(0).withNano(0); hour.isBefore(to); hour = hour.plusHours(1)) {
+                if (!hour.isBefore(from)) {
+                    handler.accept(UUID.randomUUID(), PRODUCTS.get(hour.getHour() % 2), hour,
+                            hour.getHour() < 12 ? OrderStatus.COMPLETED : OrderStatus.CANCELLED, hour.getHour(), 100);
+                    items++;
+                }
+            }
+            return items;
+        });
+    }
+
+    /**
+     * Test case for a report of three days: every hour counted once, whatever the parallelism.
+     */
+    @Test
+    @DisplayName("Test Get Sales Report - Same figures sequentially and in parallel")
+    void testGetSalesReport_parallelMatchesSequential() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(3);
+
+        SalesReportDto sequential = report(1, from, to);
+        int sequentialScans = scans.getAndSet(0);
+        SalesReportDto parallel = report(3, from, to);
+
+        Assertions.assertEquals(4, sequentialScans);
+        Assertions.assertEquals(12, scans.get());
+        Assertions.assertEquals(sequential, parallel);
+
+        // Hours 0 to 23 every day: 24 orders and 276 units a day, at 1.00 each
+        Assertions.assertEquals(new SalesFiguresDto(3 * 276, new BigDecimal("828.00"), 72), parallel.getTotal());
+        Assertions.assertEquals(Map.of(
+                        LocalDate.of(2024, 1, 1), new SalesFiguresDto(276, new BigDecimal("276.00"), 24),
+                        LocalDate.of(2024, 1, 2), new SalesFiguresDto(276, new BigDecimal("276.00"), 24),
+                        LocalDate.of(2024, 1, 3), new SalesFiguresDto(276, new BigDecimal("276.00"), 24)),
+                parallel.getByDay());
+        // Even hours sum to 132, odd hours to 144; hours 0 to 11 sum to 66
+        Assertions.assertEquals(Map.of(
+                        PRODUCTS.get(0).toString(), new SalesFiguresDto(3 * 132, new BigDecimal("396.00"), 36),
+                        PRODUCTS.get(1).toString(), new SalesFiguresDto(3 * 144, new BigDecimal("432.00"), 36)),
+                parallel.getByProduct());
+        Assertions.assertEquals(Map.of(
+                        OrderStatus.COMPLETED, new SalesFiguresDto(3 * 66, new BigDecimal("198.00"), 36),
+                        OrderStatus.CANCELLED, new SalesFiguresDto(3 * 210, new BigDecimal("630.00"), 36)),
+                parallel.getByStatus());
+        Mockito.verify(transactionManager, Mockito.times(16)).commit(Mockito.any());
+    }
+
+    /**
+     * Test case for a range shorter than the number of slices, which leaves some slices empty.
+     */
+    @Test
+    @DisplayName("Test Get Sales Report - Range shorter than the slices")
+    void testGetSalesReport_shortRange() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        SalesReportDto report = report(4, from, from.plusSeconds(2));
+
+        Assertions.assertEquals(new SalesFiguresDto(10, new BigDecimal("10.00"), 1), report.getTotal());
+        Assertions.assertEquals(List.of(LocalDate.of(2024, 1, 1)), List.copyOf(report.getByDay().keySet()));
+    }
+
+    /**
+     * Test case for an empty range, rejected before anything is scanned.
+     */
+    @Test
+    @DisplayName("Test Get Sales Report Failure - Empty range")
+    void testGetSalesReport_emptyRange() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> report(2, from, from));
+        Assertions.assertEquals(0, scans.get());
+    }
+
+    /**
+     * Test case for a range starting before the archive cutoff, rejected before anything is scanned.
+     */
+    @Test
+    @DisplayName("Test Get Sales Report Failure - Range before the archive cutoff")
+    void testGetSalesReport_beforeArchiveCutoff() {
+        LocalDateTime from = LocalDateTime.of(2023, 12, 31, 23, 59);
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> report(2, from, from.plusDays(1)));
+        Assertions.assertEquals(0, scans.get());
+    }
+
+    /**
+     * Test case for the report read from the rollups: the day totals make the totals per day and status,
+     * the product rows the totals per product.
+     */
+    @Test
+    @DisplayName("Test Get Daily Sales Report - Figures read from the rollups")
+    void testGetDailySalesReport() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        Mockito.doAnswer(invocation -> {
+            SalesReportDao.RollupHandler handler = invocation.getArgument(2);
+            handler.accept(day, null, OrderStatus.COMPLETED, 5, 750, 2);
+            handler.accept(day.plusDays(1), null, OrderStatus.CANCELLED, 1, 150, 1);
+            handler.accept(day, PRODUCTS.get(0), OrderStatus.COMPLETED, 3, 450, 2);
+            handler.accept(day, PRODUCTS.get(1), OrderStatus.COMPLETED, 2, 300, 1);
+            handler.accept(day.plusDays(1), PRODUCTS.get(0), OrderStatus.CANCELLED, 1, 150, 1);
+            return null;
+        }).when(salesReportDao).scanRollups(Mockito.eq(day), Mockito.eq(day.plusDays(2)), Mockito.any());
+
+        SalesReportDto report = new SalesReportServiceImpl(salesReportDao, transactionManager, 1, topSellerTracker, orderArchiveScheduler)
+                .getDailySalesReport(day, day.plusDays(2));
+
+        Assertions.assertEquals(day.atStartOfDay(), report.getFrom());
+        Assertions.assertEquals(new SalesFiguresDto(6, new BigDecimal("9.00"), 3), report.getTotal());
+        Assertions.assertEquals(Map.of(
+                        PRODUCTS.get(0).toString(), new SalesFiguresDto(4, new BigDecimal("6.00"), 3),
+                        PRODUCTS.get(1).toString(), new SalesFiguresDto(2, new BigDecimal("3.00"), 1)),
+                report.getByProduct());
+        Assertions.assertEquals(Map.of(
+                        day, new SalesFiguresDto(5, new BigDecimal("7.50"), 2),
+                        day.plusDays(1), new SalesFiguresDto(1, new BigDecimal("1.50"), 1)),
+                report.getByDay());
+        Assertions.assertEquals(Map.of(
+                        OrderStatus.COMPLETED, new SalesFiguresDto(5, new BigDecimal("7.50"), 2),
+                        OrderStatus.CANCELLED, new SalesFiguresDto(1, new BigDecimal("1.50"), 1)),
+                report.getByStatus());
+        Mockito.verify(salesReportDao, Mockito.never()).scanOrderItems(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Test case for the rebuild of the rollups: one transaction per day.
+     */
+    @Test
+    @DisplayName("Test Rebuild Sales Rollups - Every day rebuilt in its own transaction")
+    void testRebuildSalesRollups() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        Mockito.when(salesReportDao.rebuildRollups(Mockito.any())).thenReturn(4);
+
+        int rows = new SalesReportServiceImpl(salesReportDao, transactionManager, 1, topSellerTracker, orderArchiveScheduler).rebuildSalesRollups(day, day.plusDays(3));
+
+        Assertions.assertEquals(12, rows);
+        for (int i = 0; i < 3; i++) {
+            Mockito.verify(salesReportDao).rebuildRollups(day.plusDays(i));
+        }
+        Mockito.verify(transactionManager, Mockito.times(3)).commit(Mockito.any());
+    }
+
+    /**
+     * Test case for a rebuild starting before the archive cutoff: rejected before any day is rebuilt,
+     * so the rollups of the archived orders are kept.
+     */
+    @Test
+    @DisplayName("Test Rebuild Sales Rollups Failure - Range before the archive cutoff")
+    void testRebuildSalesRollups_beforeArchiveCutoff() {
+        LocalDate day = LocalDate.of(2023, 12, 31);
+        SalesReportServiceImpl service = new SalesReportServiceImpl(salesReportDao, transactionManager, 1, topSellerTracker, orderArchiveScheduler);
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.rebuildSalesRollups(day, day.plusDays(3)));
+        Mockito.verify(salesReportDao, Mockito.never()).rebuildRollups(Mockito.any());
+        service.shutdown();
+    }
+
+    /**
+     * Test case for the top sellers: read from the tracker, the limit bounded by its capacity.
+     */
+    @Test
+    @DisplayName("Test Get Top Sellers - Read from the tracker, limit checked against its capacity")
+    void testGetTopSellers() {
+        Mockito.when(topSellerTracker.getCapacity()).thenReturn(50);
+        SalesReportServiceImpl service = new SalesReportServiceImpl(salesReportDao, transactionManager, 1, topSellerTracker, orderArchiveScheduler);
+
+        service.getTopSellers(TopSellerWindow.LAST_DAY, 50);
+
+        Mockito.verify(topSellerTracker).getTopSellers(TopSellerWindow.LAST_DAY, 50);
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.getTopSellers(TopSellerWindow.LAST_HOUR, 51));
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.getTopSellers(TopSellerWindow.LAST_HOUR, 0));
+        service.shutdown();
+    }
+
+    /**
+     * Computes a report with a new service of the given parallelism.
+     *
+     * @param parallelism the number of slices scanned at the same time
+     * @param from        the inclusive lower bound of the creation date
+     * @param to          the exclusive upper bound of the creation date
+     * @return the sales report
+     */
+    private SalesReportDto report(int parallelism, LocalDateTime from, LocalDateTime to) {
+        SalesReportServiceImpl service = new SalesReportServiceImpl(salesReportDao, transactionManager, parallelism, topSellerTracker, orderArchiveScheduler);
+        try {
+            return service.getSalesReport(from, to);
+        } finally {
+            service.shutdown();
+        }
+    }
+}
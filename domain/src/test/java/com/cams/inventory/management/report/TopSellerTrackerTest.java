@@ -0,0 +1,133 @@
+package com.cams.inventory.management.report;
+
+import com.cams.inventory.management.dto.TopSellerDto;
+import com.cams.inventory.management.entity.order.OrderEntity;
+import com.cams.inventory.management.entity.order.OrderItemEntity;
+import com.cams.inventory.management.entity.product.ProductEntity;
+import com.cams.inventory.management.service.report.TopSellerTracker;
+import com.cams.inventory.management.service.report.TopSellerWindow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * TopSellerTrackerTest
+ * This class contains unit tests for the TopSellerTracker class.
+ * Sales are recorded at explicit times, so the windows can be checked without waiting.
+ */
+class TopSellerTrackerTest {
+
+    /**
+     * A point in time at the start of a five minute bucket.
+     */
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    /**
+     * Test case for fewer products than counters: the counts are exact.
+     */
+    @Test
+    @DisplayName("Test Top Sellers - Exact counts while every product has a counter")
+    void testGetTopSellers_exact() {
+        TopSellerTracker tracker = new TopSellerTracker(10);
+        UUID apple = UUID.randomUUID();
+        UUID cherry = UUID.randomUUID();
+        tracker.record(apple, 2, NOW);
+        tracker.record(cherry, 5, NOW.plusSeconds(30));
+        tracker.record(apple, 1, NOW.plusSeconds(400));
+
+        List<TopSellerDto> topSellers = tracker.getTopSellers(TopSellerWindow.LAST_HOUR, 10, NOW.plusSeconds(600));
+
+        Assertions.assertEquals(List.of(new TopSellerDto(cherry.toString(), 5, 0), new TopSellerDto(apple.toString(), 3, 0)),
+                topSellers);
+        Assertions.assertEquals(1, tracker.getTopSellers(TopSellerWindow.LAST_DAY, 1, NOW.plusSeconds(600)).size());
+    }
+
+    /**
+     * Test case for many more products than counters: the heavy hitters are found, and every estimate
+     * bounds the true units from above, within its error.
+     */
+    @Test
+    @DisplayName("Test Top Sellers - Heavy hitters found among many products, within the error bounds")
+    void testGetTopSellers_heavyHitters() {
+        TopSellerTracker tracker = new TopSellerTracker(10);
+        List<UUID> heavy = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> sold = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Every second sale is one of the heavy products, the others a product sold once
+            UUID productId = i % 2 == 0 ? heavy.get(i / 2 % 3) : UUID.randomUUID();
+            // Spread over the buckets of the last hour
+            tracker.record(productId, 1, NOW.minusSeconds(i));
+            sold.add(productId);
+        }
+        Map<String, Long> truth = sold.stream().collect(Collectors.groupingBy(UUID::toString, Collectors.counting()));
+
+        List<TopSellerDto> topSellers = tracker.getTopSellers(TopSellerWindow.LAST_HOUR, 3, NOW);
+
+        Assertions.assertEquals(heavy.stream().map(UUID::toString).sorted().toList(),
+                topSellers.stream().map(TopSellerDto::getProductId).sorted().toList());
+        for (TopSellerDto topSeller : tracker.getTopSellers(TopSellerWindow.LAST_HOUR, 10, NOW)) {
+            long units = truth.get(topSeller.getProductId());
+            Assertions.assertTrue(topSeller.getUnits() >= units, topSeller.toString());
+            Assertions.assertTrue(topSeller.getUnits() - topSeller.getMaxError() <= units, topSeller.toString());
+        }
+    }
+
+    /**
+     * Test case for the sliding windows: sales age out of the last hour, then of the last day.
+     */
+    @Test
+    @DisplayName("Test Top Sellers - Sales age out of the windows")
+    void testGetTopSellers_windows() {
+        TopSellerTracker tracker = new TopSellerTracker(10);
+        UUID productId = UUID.randomUUID();
+        tracker.record(productId, 4, NOW);
+
+        Assertions.assertEquals(4, tracker.getTopSellers(TopSellerWindow.LAST_HOUR, 1, NOW.plus(Duration.ofMinutes(59))).get(0).getUnits());
+        Assertions.assertTrue(tracker.getTopSellers(TopSellerWindow.LAST_HOUR, 1, NOW.plus(Duration.ofMinutes(60))).isEmpty());
+        Assertions.assertEquals(4, tracker.getTopSellers(TopSellerWindow.LAST_DAY, 1, NOW.plus(Duration.ofHours(23))).get(0).getUnits());
+        Assertions.assertTrue(tracker.getTopSellers(TopSellerWindow.LAST_DAY, 1, NOW.plus(Duration.ofHours(24))).isEmpty());
+
+        // A new sale reuses the bucket of the old one, which no longer counts
+        tracker.record(productId, 1, NOW.plus(Duration.ofHours(24)));
+        Assertions.assertEquals(1, tracker.getTopSellers(TopSellerWindow.LAST_DAY, 1, NOW.plus(Duration.ofHours(24))).get(0).getUnits());
+    }
+
+    /**
+     * Test case for a created order: its units are only counted once its transaction commits.
+     */
+    @Test
+    @DisplayName("Test Record Created After Commit - Units counted once the transaction commits")
+    void testRecordCreatedAfterCommit() {
+        TopSellerTracker tracker = new TopSellerTracker(10);
+        ProductEntity productEntity = new ProductEntity();
+        productEntity.setId(UUID.randomUUID());
+        OrderItemEntity orderItemEntity = new OrderItemEntity();
+        orderItemEntity.setProduct(productEntity);
+        orderItemEntity.setQuantity(3);
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.getItems().add(orderItemEntity);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tracker.recordCreatedAfterCommit(orderEntity);
+            Assertions.assertTrue(tracker.getTopSellers(TopSellerWindow.LAST_HOUR, 1).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(List.of(new TopSellerDto(productEntity.getId().toString(), 3, 0)),
+                tracker.getTopSellers(TopSellerWindow.LAST_HOUR, 1));
+    }
+}
@@ -0,0 +1,180 @@
+package com.cams.inventory.management.stock;
+
+import com.cams.inventory.management.dao.product.ProductKeyDao;
+import com.cams.inventory.management.dao.stock.StockReceiptDao;
+import com.cams.inventory.management.dto.StockReceiptDto;
+import com.cams.inventory.management.dto.StockReceiptLineDto;
+import com.cams.inventory.management.handler.InvalidRequestException;
+import com.cams.inventory.management.handler.InventoryManagementDBException;
+import com.cams.inventory.management.request.StockReceiptLineRequest;
+import com.cams.inventory.management.service.stock.StockSeriesRecorder;
+import com.cams.inventory.management.service.stock.impl.StockReceiptServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * StockReceiptServiceImplTest
+ * This class contains unit tests for the StockReceiptServiceImpl class.
+ * The mocked DAO knows two products, Apple and Cherry, and keeps their stock in a map.
+ */
+@ExtendWith(SpringExtension.class)
+class StockReceiptServiceImplTest {
+
+    /**
+     * Identifier of the product Apple.
+     */
+    private static final UUID APPLE_ID = UUID.randomUUID();
+
+    /**
+     * Identifier of the product Cherry.
+     */
+    private static final UUID CHERRY_ID = UUID.randomUUID();
+
+    /**
+     * Mocks the transaction manager the chunks run their transactions with.
+     */
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * Mocks the DAO looking up the products by id and SKU and reading their stock.
+     */
+    @Mock
+    ProductKeyDao productKeyDao;
+
+    /**
+     * Mocks the DAO adding the stock of the products.
+     */
+    @Mock
+    StockReceiptDao stockReceiptDao;
+
+    /**
+     * Mocks the recorder of the stock series.
+     */
+    @Mock
+    StockSeriesRecorder stockSeriesRecorder;
+
+    /**
+     * Stock of the known products, by product id.
+     */
+    private final Map<UUID, Integer> stocks = new HashMap<>();
+
+    /**
+     * Lets the mocked transaction manager start transactions and makes the DAO find and update the
+     * known products.
+     */
+    @BeforeEach
+    void setUp() {
+        stocks.put(APPLE_ID, 100);
+        stocks.put(CHERRY_ID, 200);
+        Map<UUID, String> skus = Map.of(APPLE_ID, "SKU-APPLE", CHERRY_ID, "SKU-CHERRY");
+        Mockito.when(transactionManager.getTransaction(Mockito.any(TransactionDefinition.class)))
+                .thenReturn(new SimpleTransactionStatus());
+        Mockito.doAnswer(invocation -> {
+            Collection<UUID> productIds = invocation.getArgument(0);
+            Collection<String> requestedSkus = invocation.getArgument(1);
+            ProductKeyDao.ProductKeyHandler handler = invocation.getArgument(2);
+            skus.forEach((productId, sku) -> {
+                if (productIds.contains(productId) || requestedSkus.contains(sku)) {
+                    handler.accept(productId, sku);
+                }
+            });
+            return null;
+        }).when(productKeyDao).findProducts(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.when(stockReceiptDao.addStock(Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            SortedMap<UUID, Integer> increments = invocation.getArgument(0);
+            increments.forEach((productId, quantity) -> stocks.merge(productId, quantity, Integer::sum));
+            return increments.keySet();
+        });
+        Mockito.doAnswer(invocation -> {
+            Collection<UUID> productIds = invocation.getArgument(0);
+            ProductKeyDao.StockHandler handler = invocation.getArgument(1);
+            productIds.forEach(productId -> handler.accept(productId, stocks.get(productId), 1));
+            return null;
+        }).when(productKeyDao).scanStock(Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Test case for a receipt mixing valid, invalid and unknown lines, in chunks of two lines.
+     */
+    @Test
+    @DisplayName("Test Receive Stock - Outcome of every line, quantities summed per product")
+    void testReceiveStock_outcomes() {
+        StockReceiptServiceImpl service = new StockReceiptServiceImpl(productKeyDao, stockReceiptDao, stockSeriesRecorder,
+                transactionManager, 2);
+        List<StockReceiptLineRequest> lines = List.of(
+                new StockReceiptLineRequest(null, "SKU-APPLE", 10),
+                new StockReceiptLineRequest(APPLE_ID.toString(), null, 5),
+                new StockReceiptLineRequest(null, "SKU-UNKNOWN", 5),
+                new StockReceiptLineRequest(CHERRY_ID.toString(), "SKU-CHERRY", 5),
+                new StockReceiptLineRequest(null, "SKU-CHERRY", 0),
+                new StockReceiptLineRequest(CHERRY_ID.toString(), null, 7));
+
+        StockReceiptDto receipt = service.receiveStock(lines);
+
+        Assertions.assertEquals(3, receipt.getReceived());
+        Assertions.assertEquals(3, receipt.getRejected());
+        Assertions.assertEquals(List.of(StockReceiptLineDto.Status.RECEIVED, StockReceiptLineDto.Status.RECEIVED,
+                        StockReceiptLineDto.Status.NOT_FOUND, StockReceiptLineDto.Status.INVALID,
+                        StockReceiptLineDto.Status.INVALID, StockReceiptLineDto.Status.RECEIVED),
+                receipt.getLines().stream().map(StockReceiptLineDto::getStatus).toList());
+        // Both Apple lines are in the first chunk and show the stock after it
+        Assertions.assertEquals(new StockReceiptLineDto(0, APPLE_ID.toString(), "SKU-APPLE", 10,
+                StockReceiptLineDto.Status.RECEIVED, 115, null), receipt.getLines().get(0));
+        Assertions.assertEquals(115, receipt.getLines().get(1).getStock());
+        Assertions.assertEquals(207, receipt.getLines().get(5).getStock());
+        Assertions.assertEquals(Map.of(APPLE_ID, 115, CHERRY_ID, 207), stocks);
+        Mockito.verify(transactionManager, Mockito.times(3)).commit(Mockito.any());
+        Mockito.verify(stockSeriesRecorder).recordAfterCommit(APPLE_ID, 115, 1);
+    }
+
+    /**
+     * Test case for a chunk that cannot be written: its lines fail, the other chunks are received.
+     */
+    @Test
+    @DisplayName("Test Receive Stock - A failed chunk does not fail the others")
+    void testReceiveStock_failedChunk() {
+        StockReceiptServiceImpl service = new StockReceiptServiceImpl(productKeyDao, stockReceiptDao, stockSeriesRecorder,
+                transactionManager, 1);
+        Mockito.doThrow(new InventoryManagementDBException("Error while adding stock")).when(stockReceiptDao)
+                .addStock(Mockito.argThat(increments -> increments != null && increments.containsKey(CHERRY_ID)),
+                        Mockito.any());
+
+        StockReceiptDto receipt = service.receiveStock(List.of(
+                new StockReceiptLineRequest(null, "SKU-CHERRY", 5),
+                new StockReceiptLineRequest(null, "SKU-APPLE", 10)));
+
+        Assertions.assertEquals(StockReceiptLineDto.Status.FAILED, receipt.getLines().get(0).getStatus());
+        Assertions.assertEquals(StockReceiptLineDto.Status.RECEIVED, receipt.getLines().get(1).getStatus());
+        Mockito.verify(transactionManager).rollback(Mockito.any());
+    }
+
+    /**
+     * Test case for an empty receipt.
+     */
+    @Test
+    @DisplayName("Test Receive Stock - An empty receipt is rejected")
+    void testReceiveStock_empty() {
+        StockReceiptServiceImpl service = new StockReceiptServiceImpl(productKeyDao, stockReceiptDao, stockSeriesRecorder,
+                transactionManager, 2);
+
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.receiveStock(List.of()));
+        Mockito.verifyNoInteractions(stockReceiptDao);
+    }
+}
@@ -0,0 +1,132 @@
+package com.cams.inventory.management.stock;
+
+import com.cams.inventory.management.service.stock.StockSeries;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+
+/**
+ * StockSeriesTest
+ * This class contains unit tests for the StockSeries class.
+ * Points are appended at explicit times and read back through the encoding.
+ */
+class StockSeriesTest {
+
+    /**
+     * A point in time, in epoch milliseconds.
+     */
+    private static final long NOW = 1_700_000_000_000L;
+
+    /**
+     * Test case for irregular points: every point reads back as appended, across chunks.
+     */
+    @Test
+    @DisplayName("Test Stock Series - Points read back as appended")
+    void testScan_roundTrip() {
+        StockSeries series = new StockSeries(16);
+        Random random = new Random(48);
+        List<long[]> expected = new ArrayList<>();
+        long millis = NOW;
+        int stock = 1000;
+        for (int i = 0; i < 1000; i++) {
+            millis += random.nextInt(3_600_000);
+            // Mostly small sales, now and then a large delivery or correction
+            stock += i % 50 == 0 ? random.nextInt(2_000_000) - 1_000_000 : -1 - random.nextInt(5);
+            Assertions.assertTrue(series.append(millis, stock));
+            expected.add(new long[]{millis, stock});
+        }
+
+        List<long[]> points = new ArrayList<>();
+        Assertions.assertEquals(1000, series.scan(Long.MIN_VALUE, Long.MAX_VALUE,
+                (at, level) -> points.add(new long[]{at, level})));
+
+        Assertions.assertEquals(1000, series.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertArrayEquals(expected.get(i), points.get(i), "point " + i);
+        }
+    }
+
+    /**
+     * Test case for the size of the encoding: sales a few minutes apart take a few bytes a point.
+     */
+    @Test
+    @DisplayName("Test Stock Series - A few bytes a point")
+    void testAppend_compact() {
+        StockSeries series = new StockSeries(128);
+        Random random = new Random(7);
+        long millis = NOW;
+        int stock = 100_000;
+        for (int i = 0; i < 10_000; i++) {
+            millis += 60_000 + random.nextInt(240_000);
+            stock -= 1 + random.nextInt(3);
+            series.append(millis, stock);
+        }
+
+        Assertions.assertTrue(series.encodedBytes() <= 4 * 10_000, "encoded bytes: " + series.encodedBytes());
+    }
+
+    /**
+     * Test case for a range: bounds are inclusive and exclusive, and the stock before the range is known.
+     */
+    @Test
+    @DisplayName("Test Stock Series - Range query and stock before it")
+    void testScan_range() {
+        StockSeries series = new StockSeries(4);
+        for (int i = 0; i < 20; i++) {
+            series.append(NOW + i * 1000L, 100 - i);
+        }
+
+        List<Integer> levels = new ArrayList<>();
+        Assertions.assertEquals(5, series.scan(NOW + 5000, NOW + 10_000, (at, level) -> levels.add(level)));
+
+        Assertions.assertEquals(List.of(95, 94, 93, 92, 91), levels);
+        Assertions.assertEquals(OptionalInt.of(96), series.stockBefore(NOW + 5000));
+        Assertions.assertEquals(OptionalInt.of(94), series.stockBefore(NOW + 6500));
+        Assertions.assertEquals(OptionalInt.of(81), series.stockBefore(NOW + 60_000));
+        Assertions.assertEquals(OptionalInt.empty(), series.stockBefore(NOW));
+    }
+
+    /**
+     * Test case for appending: late points move to the latest time and unchanged stock is not stored.
+     */
+    @Test
+    @DisplayName("Test Stock Series - Late and unchanged points")
+    void testAppend_lateAndUnchanged() {
+        StockSeries series = new StockSeries(8);
+        series.append(NOW, 10);
+
+        Assertions.assertFalse(series.append(NOW + 1000, 10));
+        Assertions.assertTrue(series.append(NOW - 1000, 9));
+
+        List<long[]> points = new ArrayList<>();
+        series.scan(Long.MIN_VALUE, Long.MAX_VALUE, (at, level) -> points.add(new long[]{at, level}));
+        Assertions.assertEquals(2, points.size());
+        Assertions.assertArrayEquals(new long[]{NOW, 9}, points.get(1));
+    }
+
+    /**
+     * Test case for the retention: old chunks are dropped, but the stock at the cut-off stays known.
+     */
+    @Test
+    @DisplayName("Test Stock Series - Old chunks dropped, stock at the cut-off kept")
+    void testDropBefore() {
+        StockSeries series = new StockSeries(4);
+        for (int i = 0; i < 12; i++) {
+            series.append(NOW + i * 1000L, 100 - i);
+        }
+
+        // Chunks start at 0, 4 and 8 seconds; the one starting at 4 still holds the stock at 6
+        Assertions.assertEquals(1, series.dropBefore(NOW + 6000));
+        Assertions.assertEquals(8, series.size());
+        Assertions.assertEquals(OptionalInt.of(95), series.stockBefore(NOW + 6000));
+
+        // The last chunk is never dropped
+        Assertions.assertEquals(1, series.dropBefore(NOW + 1_000_000));
+        Assertions.assertEquals(OptionalInt.of(89), series.stockBefore(NOW + 1_000_000));
+    }
+}
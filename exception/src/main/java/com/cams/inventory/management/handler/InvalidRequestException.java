@@ -0,0 +1,16 @@
+package com.cams.inventory.management.handler;
+
+/**
+ * Exception thrown when a request parameter is malformed or out of its allowed range.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidRequestException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
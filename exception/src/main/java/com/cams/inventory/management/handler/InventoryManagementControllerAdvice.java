@@ -138,6 +138,67 @@ public class InventoryManagementControllerAdvice extends ResponseEntityException
         return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles malformed or out-of-range request parameters.
+     *
+     * @param ex the exception thrown when a request parameter is invalid
+     * @return a ResponseEntity containing an ApiResponse with error details and a bad request status
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    protected ResponseEntity<Object> invalidRequestException(InvalidRequestException ex) {
+        ApiResponse<String, List<Object>> apiResponse = ApiResponse.<String, List<Object>>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles changes requested on archived orders, which are immutable.
+     *
+     * @param ex the exception thrown when an archived order would be changed
+     * @return a ResponseEntity containing an ApiResponse with error details and a conflict status
+     */
+    @ExceptionHandler(OrderArchivedException.class)
+    protected ResponseEntity<Object> orderArchivedException(OrderArchivedException ex) {
+        ApiResponse<String, List<Object>> apiResponse = ApiResponse.<String, List<Object>>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(apiResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles failed preconditions of conditional requests.
+     * This exception occurs when the If-Match version no longer matches the resource.
+     *
+     * @param ex the exception thrown when the expected version does not match
+     * @return a ResponseEntity containing an ApiResponse with error details and a precondition failed status
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    protected ResponseEntity<Object> preconditionFailedException(PreconditionFailedException ex) {
+        ApiResponse<String, List<Object>> apiResponse = ApiResponse.<String, List<Object>>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(apiResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handles conditional requests sent without the required If-Match header.
+     *
+     * @param ex the exception thrown when the precondition is missing
+     * @return a ResponseEntity containing an ApiResponse with error details and a precondition required status
+     */
+    @ExceptionHandler(PreconditionRequiredException.class)
+    protected ResponseEntity<Object> preconditionRequiredException(PreconditionRequiredException ex) {
+        ApiResponse<String, List<Object>> apiResponse = ApiResponse.<String, List<Object>>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(apiResponse, HttpStatus.PRECONDITION_REQUIRED);
+    }
+
     /**
      * Handles optimistic locking failure exceptions.
      * This exception occurs when a concurrent update to a resource causes a conflict.
@@ -0,0 +1,16 @@
+package com.cams.inventory.management.handler;
+
+/**
+ * Exception thrown when a change is requested on an order that was moved to the order archive.
+ */
+public class OrderArchivedException extends RuntimeException {
+
+    /**
+     * Constructs a new OrderArchivedException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public OrderArchivedException(String message) {
+        super(message);
+    }
+}
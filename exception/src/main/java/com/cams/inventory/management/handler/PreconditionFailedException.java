@@ -0,0 +1,27 @@
+package com.cams.inventory.management.handler;
+
+/**
+ * Exception thrown when the version expected by a conditional request does not match the current version.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructs a new PreconditionFailedException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new PreconditionFailedException with the specified detail message
+     * and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
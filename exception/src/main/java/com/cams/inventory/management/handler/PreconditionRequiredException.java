@@ -0,0 +1,27 @@
+package com.cams.inventory.management.handler;
+
+/**
+ * Exception thrown when a conditional request is required but no precondition was supplied.
+ */
+public class PreconditionRequiredException extends RuntimeException {
+
+    /**
+     * Constructs a new PreconditionRequiredException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new PreconditionRequiredException with the specified detail message
+     * and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public PreconditionRequiredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}